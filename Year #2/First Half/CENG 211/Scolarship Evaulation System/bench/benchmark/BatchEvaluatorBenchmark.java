@@ -0,0 +1,180 @@
+package benchmark;
+
+import evaluator.BatchEvaluator;
+import evaluator.RuleBasedEvaluator;
+import evaluator.ScholarshipRules;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.stream.IntStream;
+import types.Application;
+import types.EvaluationResult;
+import util.ApplicantRows;
+import util.ApplicationParser;
+
+/**
+ * Benchmark comparing the two ways the program can evaluate the parsed rows with the rules
+ * file: building Applicant and Application objects and evaluating each with RuleBasedEvaluator,
+ * or loading the rows into columns and evaluating them with BatchEvaluator.
+ * Each operation starts from the same parsed rows of a generated applications file, so the cost
+ * of building objects or loading columns is measured along with the evaluation.
+ * Before timing, every result of the batch evaluator is checked against the rule engine's.
+ *
+ * Compile from the project directory:
+ *   javac -d out $(find src bench -name '*.java')
+ * Usage: java -cp out benchmark.BatchEvaluatorBenchmark [rulesFile] [applications]
+ */
+public class BatchEvaluatorBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASUREMENT_ITERATIONS = 10;
+
+    private static final String[] DOCUMENT_CODES = {"ENR", "REC", "SAV", "RSV", "GRP"};
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Optional rules file and number of applications
+     * @throws IOException if the rules file cannot be read or the applications file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        String rulesFile = args.length > 0 ? args[0] : "files/ScholarshipRules.properties";
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 300_000;
+
+        ScholarshipRules rules = ScholarshipRules.load(rulesFile);
+        RuleBasedEvaluator evaluator = new RuleBasedEvaluator(rules);
+        BatchEvaluator batch = new BatchEvaluator(rules);
+
+        Path csv = Files.createTempFile("applications", ".csv");
+        ApplicantRows rows;
+        try {
+            generate(csv, count, new SplittableRandom(42));
+            rows = ApplicationParser.parseRows(csv.toString());
+        } finally {
+            Files.delete(csv);
+        }
+        boolean[] none = new boolean[rows.size()];
+
+        EvaluationResult[] expected = evaluateBuilt(rows, none, evaluator);
+        EvaluationResult[] actual = batch.evaluate(rows.loadColumns(none), rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            if (!String.valueOf(expected[i]).equals(String.valueOf(actual[i]))) {
+                throw new IllegalStateException("Batch evaluator differs:\n  " + expected[i] + "\n  " + actual[i]);
+            }
+        }
+
+        System.out.printf(Locale.US, "Applications: %,d (results identical)%n", count);
+        double built = run("build + rule engine", () -> checksum(evaluateBuilt(rows, none, evaluator)));
+        double columnar = run("columns + batch", () -> checksum(batch.evaluate(rows.loadColumns(none), rows.size())));
+        System.out.printf(Locale.US, "columns + batch / build + rule engine: %.2f%n", columnar / built);
+    }
+
+    /**
+     * Builds the applications of the rows and evaluates them in parallel, as EvaluationStore does
+     * without a batch evaluator.
+     *
+     * @param rows The parsed rows
+     * @param skip Rows not to evaluate
+     * @param evaluator The rule engine
+     * @return The results by position of the applicant row
+     */
+    private static EvaluationResult[] evaluateBuilt(ApplicantRows rows, boolean[] skip, RuleBasedEvaluator evaluator) {
+        Application[] applications = rows.build(skip);
+        EvaluationResult[] results = new EvaluationResult[applications.length];
+        IntStream.range(0, applications.length).parallel().forEach(i -> {
+            if (applications[i] != null) {
+                results[i] = evaluator.evaluateResult(applications[i]);
+            }
+        });
+        return results;
+    }
+
+    /**
+     * Sums a checksum of results, so they cannot be optimized away.
+     *
+     * @param results The results, null for rows without one
+     * @return The checksum
+     */
+    private static long checksum(EvaluationResult[] results) {
+        long accepted = 0;
+        for (EvaluationResult result : results) {
+            if (result != null) {
+                accepted += result.isAccepted() ? result.getDuration().length() : 1;
+            }
+        }
+        return accepted;
+    }
+
+    /**
+     * Writes an applications file spread over all categories and rule outcomes.
+     *
+     * @param csv The file to write
+     * @param count Number of applications
+     * @param random Random generator
+     * @throws IOException if the file cannot be written
+     */
+    private static void generate(Path csv, int count, SplittableRandom random) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(csv, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < count; i++) {
+                int category = i % 3;
+                int id = (11 + 11 * category) * 1_000_000 + i;
+                String gpa = String.format(Locale.US, "%.2f", 2.0 + random.nextInt(201) / 100.0);
+                out.write("A," + id + ",Applicant " + id + "," + gpa + "," + random.nextInt(20_000) + "\n");
+                if (random.nextInt(10) > 0) {
+                    out.write("T," + id + ",Y\n");
+                }
+                for (String code : DOCUMENT_CODES) {
+                    if (random.nextInt(code.equals("ENR") ? 10 : 2) > 0) {
+                        out.write("D," + id + "," + code + ",12\n");
+                    }
+                }
+                out.write("I," + id + "," + random.nextInt(25_000) + "," + random.nextInt(6) + "\n");
+                int publications = random.nextInt(4);
+                for (int p = 0; p < publications; p++) {
+                    String impact = String.format(Locale.US, "%.2f", random.nextInt(300) / 100.0);
+                    out.write("P," + id + ",Paper " + p + "," + impact + "\n");
+                }
+            }
+        }
+    }
+
+    /**
+     * Times an operation after warming it up.
+     *
+     * @param name Name printed with the timing
+     * @param operation The operation, returning a checksum
+     * @return Average time of a measured iteration in milliseconds
+     */
+    private static double run(String name, Operation operation) {
+        long checksum = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            checksum += operation.run();
+        }
+        long total = 0;
+        for (int i = 0; i < MEASUREMENT_ITERATIONS; i++) {
+            long start = System.nanoTime();
+            checksum += operation.run();
+            total += System.nanoTime() - start;
+        }
+        double average = total / 1e6 / MEASUREMENT_ITERATIONS;
+        System.out.printf(Locale.US, "%-24s %10.3f ms/op (checksum %d)%n", name, average, checksum);
+        return average;
+    }
+
+    /**
+     * One measured operation.
+     */
+    @FunctionalInterface
+    private interface Operation {
+        /**
+         * Runs the operation once.
+         *
+         * @return Checksum of the result
+         */
+        long run();
+    }
+}
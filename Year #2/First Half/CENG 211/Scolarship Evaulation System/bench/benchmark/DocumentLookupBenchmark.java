@@ -0,0 +1,181 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+import model.Applicant;
+import model.Document;
+import types.DocumentType;
+
+/**
+ * Benchmark comparing the document index of Applicant with the linear scan it replaced,
+ * which walked the document list comparing type codes with String.equals.
+ * Each operation checks every applicant for the five document types the evaluators ask for.
+ *
+ * There is no build system to run JMH from, so this is a plain main method with
+ * warmup iterations and a checksum that keeps the JIT from removing the lookups.
+ *
+ * Compile from the project directory:
+ *   javac -d out $(find src bench -name '*.java')
+ * Usage: java -cp out benchmark.DocumentLookupBenchmark [applicants] [documentsPerApplicant]
+ */
+public class DocumentLookupBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASUREMENT_ITERATIONS = 10;
+
+    /** Codes checked per applicant, in the order the evaluators check them. */
+    private static final String[] CODES = {"ENR", "REC", "SAV", "RSV", "GRP"};
+
+    /** Codes drawn for the generated documents, including one the index does not know. */
+    private static final String[] GENERATED_CODES = {"ENR", "REC", "SAV", "RSV", "GRP", "OTH"};
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Optional number of applicants and maximum number of documents per applicant
+     */
+    public static void main(String[] args) {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int maxDocuments = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+
+        SplittableRandom random = new SplittableRandom(42);
+        Applicant[] applicants = new Applicant[count];
+        ArrayList<ArrayList<Document>> documentLists = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Applicant applicant = new Applicant(i + 1, "Applicant " + (i + 1), 3.0, 5000);
+            ArrayList<Document> documents = new ArrayList<>();
+            int documentCount = random.nextInt(maxDocuments + 1);
+            for (int d = 0; d < documentCount; d++) {
+                // New String instances, as the parser creates them, so equals cannot stop at identity
+                String code = new String(GENERATED_CODES[random.nextInt(GENERATED_CODES.length)]);
+                Document document = new Document(applicant.getApplicantID(), code, 12);
+                applicant.addDocument(document);
+                documents.add(new Document(applicant.getApplicantID(), new String(code), 12));
+            }
+            applicants[i] = applicant;
+            documentLists.add(documents);
+        }
+
+        DocumentType[] types = new DocumentType[CODES.length];
+        for (int t = 0; t < CODES.length; t++) {
+            types[t] = DocumentType.fromCode(CODES[t]);
+        }
+
+        System.out.printf(Locale.US, "Applicants: %,d, up to %d documents each%n", count, maxDocuments);
+        long expected = scan(documentLists);
+        double linear = run("linear scan", expected, () -> scan(documentLists));
+        run("hasDocument(String)", expected, () -> lookupByCode(applicants));
+        double bitset = run("hasDocument(DocumentType)", expected, () -> lookupByType(applicants, types));
+        System.out.printf(Locale.US, "speedup of the bit test over the scan: %.1fx%n", linear / bitset);
+    }
+
+    /**
+     * Times an operation after warming it up and checks its result.
+     *
+     * @param name Name printed with the timing
+     * @param expected Checksum the operation must return
+     * @param operation The operation
+     * @return Average time of a measured iteration in milliseconds
+     */
+    private static double run(String name, long expected, Operation operation) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            check(name, expected, operation.run());
+        }
+        long total = 0;
+        for (int i = 0; i < MEASUREMENT_ITERATIONS; i++) {
+            long start = System.nanoTime();
+            long checksum = operation.run();
+            total += System.nanoTime() - start;
+            check(name, expected, checksum);
+        }
+        double average = total / 1e6 / MEASUREMENT_ITERATIONS;
+        System.out.printf(Locale.US, "%-28s %10.3f ms/op%n", name, average);
+        return average;
+    }
+
+    /**
+     * Fails if an operation found different documents than the scan.
+     *
+     * @param name Name of the operation
+     * @param expected Checksum of the scan
+     * @param actual Checksum of the operation
+     */
+    private static void check(String name, long expected, long actual) {
+        if (actual != expected) {
+            throw new IllegalStateException(name + " returned " + actual + ", expected " + expected);
+        }
+    }
+
+    /**
+     * Checks every applicant by scanning the document list, as Applicant did before the index.
+     *
+     * @param documentLists Document list of each applicant
+     * @return Number of documents found
+     */
+    private static long scan(ArrayList<ArrayList<Document>> documentLists) {
+        long found = 0;
+        for (ArrayList<Document> documents : documentLists) {
+            for (String code : CODES) {
+                for (Document doc : documents) {
+                    if (doc.getDocumentType().equals(code)) {
+                        found++;
+                        break;
+                    }
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Checks every applicant by type code.
+     *
+     * @param applicants The applicants
+     * @return Number of documents found
+     */
+    private static long lookupByCode(Applicant[] applicants) {
+        long found = 0;
+        for (Applicant applicant : applicants) {
+            for (String code : CODES) {
+                if (applicant.hasDocument(code)) {
+                    found++;
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Checks every applicant by DocumentType, as the evaluators do.
+     *
+     * @param applicants The applicants
+     * @param types Types to check
+     * @return Number of documents found
+     */
+    private static long lookupByType(Applicant[] applicants, DocumentType[] types) {
+        long found = 0;
+        for (Applicant applicant : applicants) {
+            for (DocumentType type : types) {
+                if (applicant.hasDocument(type)) {
+                    found++;
+                }
+            }
+        }
+        return found;
+    }
+
+    /**
+     * One measured operation.
+     */
+    @FunctionalInterface
+    private interface Operation {
+        /**
+         * Runs the operation once.
+         *
+         * @return Checksum of the result
+         */
+        long run();
+    }
+}
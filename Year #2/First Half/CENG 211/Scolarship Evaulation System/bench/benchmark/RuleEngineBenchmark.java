@@ -0,0 +1,149 @@
+package benchmark;
+
+import evaluator.RuleBasedEvaluator;
+import evaluator.ScholarshipRules;
+import java.io.IOException;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import model.Applicant;
+import model.Document;
+import model.Publication;
+import types.Application;
+import types.EvaluationResult;
+import types.MeritApplication;
+import types.NeedApplication;
+import types.ResearchApplication;
+
+/**
+ * Benchmark comparing RuleBasedEvaluator, running the policy compiled from the rules file,
+ * with the handwritten Merit, Need and Research evaluators.
+ * Each operation evaluates a batch of generated applications of all three categories.
+ * Before timing, every result of the rule engine is checked against the handwritten one.
+ *
+ * Compile from the project directory:
+ *   javac -d out $(find src bench -name '*.java')
+ * Usage: java -cp out benchmark.RuleEngineBenchmark [rulesFile] [applications]
+ */
+public class RuleEngineBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASUREMENT_ITERATIONS = 10;
+
+    private static final String[] DOCUMENT_CODES = {"ENR", "REC", "SAV", "RSV", "GRP"};
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Optional rules file and number of applications
+     * @throws IOException if the rules file cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        String rulesFile = args.length > 0 ? args[0] : "files/ScholarshipRules.properties";
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 300_000;
+
+        RuleBasedEvaluator rules = new RuleBasedEvaluator(ScholarshipRules.load(rulesFile));
+        Application[] applications = generate(count, new SplittableRandom(42));
+
+        for (Application application : applications) {
+            String expected = application.evaluateResult().toString();
+            String actual = rules.evaluateResult(application).toString();
+            if (!expected.equals(actual)) {
+                throw new IllegalStateException("Rule engine differs:\n  " + expected + "\n  " + actual);
+            }
+        }
+
+        System.out.printf(Locale.US, "Applications: %,d (results identical)%n", count);
+        double handwritten = run("handwritten evaluators", () -> {
+            long accepted = 0;
+            for (Application application : applications) {
+                EvaluationResult result = application.evaluateResult();
+                accepted += result.isAccepted() ? result.getDuration().length() : 1;
+            }
+            return accepted;
+        });
+        double compiled = run("compiled rules", () -> {
+            long accepted = 0;
+            for (Application application : applications) {
+                EvaluationResult result = rules.evaluateResult(application);
+                accepted += result.isAccepted() ? result.getDuration().length() : 1;
+            }
+            return accepted;
+        });
+        System.out.printf(Locale.US, "compiled rules / handwritten: %.2f%n", compiled / handwritten);
+    }
+
+    /**
+     * Generates applications spread over all categories and rule outcomes.
+     *
+     * @param count Number of applications
+     * @param random Random generator
+     * @return The applications
+     */
+    private static Application[] generate(int count, SplittableRandom random) {
+        Application[] applications = new Application[count];
+        for (int i = 0; i < count; i++) {
+            int category = i % 3;
+            int id = (11 + 11 * category) * 1_000_000 + i;
+            double gpa = 2.0 + random.nextInt(201) / 100.0;
+            Applicant applicant = new Applicant(id, "Applicant " + id, gpa, random.nextInt(20_000));
+            if (random.nextInt(10) > 0) {
+                applicant.setTranscript("Y");
+            }
+            for (String code : DOCUMENT_CODES) {
+                if (random.nextInt(code.equals("ENR") ? 10 : 2) > 0) {
+                    applicant.addDocument(new Document(String.valueOf(id), code, 12));
+                }
+            }
+            applicant.setFamilyInfo(random.nextInt(25_000), random.nextInt(6));
+            int publications = random.nextInt(4);
+            for (int p = 0; p < publications; p++) {
+                applicant.addPublication(new Publication(String.valueOf(id), "Paper " + p, random.nextInt(300) / 100.0));
+            }
+
+            if (category == 0) {
+                applications[i] = new MeritApplication(applicant);
+            } else if (category == 1) {
+                applications[i] = new NeedApplication(applicant);
+            } else {
+                applications[i] = new ResearchApplication(applicant);
+            }
+        }
+        return applications;
+    }
+
+    /**
+     * Times an operation after warming it up.
+     *
+     * @param name Name printed with the timing
+     * @param operation The operation, returning a checksum
+     * @return Average time of a measured iteration in milliseconds
+     */
+    private static double run(String name, Operation operation) {
+        long checksum = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            checksum += operation.run();
+        }
+        long total = 0;
+        for (int i = 0; i < MEASUREMENT_ITERATIONS; i++) {
+            long start = System.nanoTime();
+            checksum += operation.run();
+            total += System.nanoTime() - start;
+        }
+        double average = total / 1e6 / MEASUREMENT_ITERATIONS;
+        System.out.printf(Locale.US, "%-24s %10.3f ms/op (checksum %d)%n", name, average, checksum);
+        return average;
+    }
+
+    /**
+     * One measured operation.
+     */
+    @FunctionalInterface
+    private interface Operation {
+        /**
+         * Runs the operation once.
+         *
+         * @return Checksum of the result
+         */
+        long run();
+    }
+}
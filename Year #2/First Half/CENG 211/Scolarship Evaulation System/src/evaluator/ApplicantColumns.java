@@ -0,0 +1,155 @@
+package evaluator;
+
+import java.util.Arrays;
+
+/**
+ * The applicants of one scholarship category in columns: one primitive array per value the
+ * rules can test, indexed by the applicant's position in the columns. The columns are filled
+ * from the parsed rows (see ApplicantRows.loadColumns), so no Applicant or Application objects
+ * are built, and are evaluated by a BatchEvaluator in loops over whole columns.
+ *
+ * Values are added in the same steps an Applicant is built: add with the basic information,
+ * then the optional transcript, family info, documents and publications. The data is not
+ * validated here; the caller adds only applicants that pass Applicant's checks.
+ */
+public final class ApplicantColumns {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final String category;
+    private int size;
+
+    int[] rows;                 // Position of the applicant row in the file
+    int[] ids;
+    String[] names;
+    double[] gpas;
+    int[] incomes;
+    boolean[] transcripts;      // True if the transcript status is "Y"
+    boolean[] familyInfos;
+    int[] familyIncomes;
+    int[] dependents;
+    int[] documentMasks;        // Bits of the known document types submitted
+    int[] publicationCounts;
+    double[] averageImpacts;    // 0.0 without publications
+
+    /**
+     * Constructs empty columns for a scholarship category.
+     *
+     * @param category the scholarship category of every applicant in the columns, e.g. "Merit"
+     * @throws IllegalArgumentException if category is null
+     */
+    public ApplicantColumns(String category) {
+        if (category == null) {
+            throw new IllegalArgumentException("Category cannot be null.");
+        }
+        this.category = category;
+        rows = new int[INITIAL_CAPACITY];
+        ids = new int[INITIAL_CAPACITY];
+        names = new String[INITIAL_CAPACITY];
+        gpas = new double[INITIAL_CAPACITY];
+        incomes = new int[INITIAL_CAPACITY];
+        transcripts = new boolean[INITIAL_CAPACITY];
+        familyInfos = new boolean[INITIAL_CAPACITY];
+        familyIncomes = new int[INITIAL_CAPACITY];
+        dependents = new int[INITIAL_CAPACITY];
+        documentMasks = new int[INITIAL_CAPACITY];
+        publicationCounts = new int[INITIAL_CAPACITY];
+        averageImpacts = new double[INITIAL_CAPACITY];
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Adds an applicant with its basic information and no transcript, family info,
+     * documents or publications.
+     *
+     * @param row position of the applicant row in the file, where its result belongs
+     * @param id the applicant ID
+     * @param name the applicant name, without surrounding whitespace
+     * @param gpa the GPA
+     * @param income the monthly income
+     * @return position of the applicant in the columns, for the setters
+     */
+    public int add(int row, int id, String name, double gpa, int income) {
+        if (size == ids.length) {
+            grow();
+        }
+        int index = size++;
+        rows[index] = row;
+        ids[index] = id;
+        names[index] = name;
+        gpas[index] = gpa;
+        incomes[index] = income;
+        return index;
+    }
+
+    /**
+     * Sets the transcript status of an applicant.
+     *
+     * @param index position returned by add
+     * @param status the transcript status, "Y" or "N"
+     */
+    public void setTranscript(int index, String status) {
+        transcripts[index] = "Y".equals(status);
+    }
+
+    /**
+     * Sets the family information of an applicant.
+     *
+     * @param index position returned by add
+     * @param familyIncome the family's income
+     * @param dependentCount the number of dependents
+     */
+    public void setFamilyInfo(int index, int familyIncome, int dependentCount) {
+        familyInfos[index] = true;
+        familyIncomes[index] = familyIncome;
+        dependents[index] = dependentCount;
+    }
+
+    /**
+     * Sets the documents of an applicant.
+     *
+     * @param index position returned by add
+     * @param documentMask bits of the known document types submitted (see DocumentType.getMask)
+     */
+    public void setDocuments(int index, int documentMask) {
+        documentMasks[index] = documentMask;
+    }
+
+    /**
+     * Sets the publications of an applicant.
+     *
+     * @param index position returned by add
+     * @param publicationCount the number of publications
+     * @param averageImpact the average impact factor, summed in file order as averageImpactOf does
+     */
+    public void setPublications(int index, int publicationCount, double averageImpact) {
+        publicationCounts[index] = publicationCount;
+        averageImpacts[index] = averageImpact;
+    }
+
+    /**
+     * Doubles the capacity of every column.
+     */
+    private void grow() {
+        int capacity = ids.length * 2;
+        rows = Arrays.copyOf(rows, capacity);
+        ids = Arrays.copyOf(ids, capacity);
+        names = Arrays.copyOf(names, capacity);
+        gpas = Arrays.copyOf(gpas, capacity);
+        incomes = Arrays.copyOf(incomes, capacity);
+        transcripts = Arrays.copyOf(transcripts, capacity);
+        familyInfos = Arrays.copyOf(familyInfos, capacity);
+        familyIncomes = Arrays.copyOf(familyIncomes, capacity);
+        dependents = Arrays.copyOf(dependents, capacity);
+        documentMasks = Arrays.copyOf(documentMasks, capacity);
+        publicationCounts = Arrays.copyOf(publicationCounts, capacity);
+        averageImpacts = Arrays.copyOf(averageImpacts, capacity);
+    }
+}
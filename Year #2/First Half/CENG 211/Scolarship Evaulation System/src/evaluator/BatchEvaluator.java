@@ -0,0 +1,97 @@
+package evaluator;
+
+import java.util.stream.IntStream;
+import types.EvaluationResult;
+import types.RejectionReason;
+import types.ScholarshipResultType;
+
+/**
+ * Columnar batch mode of the rule-based policy: evaluates applicants loaded into
+ * ApplicantColumns instead of one Application at a time.
+ *
+ * The columns of each category are cut into blocks, and the cells of a block in the category's
+ * compiled decision table (see ScholarshipRules) are found in one tight loop per tested feature
+ * over its primitive column, so results are those of a RuleBasedEvaluator with the same rules.
+ * Each cell then gives the rejection reason, type and duration of its applicant. Blocks are
+ * independent and are evaluated in parallel.
+ *
+ * This evaluator is stateless apart from its immutable rules and is thread-safe.
+ */
+public class BatchEvaluator {
+
+    /** Applicants per block: the cells of a block stay in the L1 cache between feature loops. */
+    private static final int BLOCK_SIZE = 1024;
+
+    private final ScholarshipRules rules;
+
+    /**
+     * Constructs a batch evaluator for compiled rules.
+     *
+     * @param rules the compiled policy
+     * @throws IllegalArgumentException if rules is null
+     */
+    public BatchEvaluator(ScholarshipRules rules) {
+        if (rules == null) {
+            throw new IllegalArgumentException("Rules cannot be null.");
+        }
+        this.rules = rules;
+    }
+
+    /**
+     * Evaluates the applicants in columns and writes each result at the position of the
+     * applicant's row.
+     *
+     * @param columns the applicants, in columns per category
+     * @param rowCount number of applicant rows the columns were loaded from
+     * @return by position of the applicant row, its result, or null if it is in no column
+     * @throws IllegalArgumentException if columns is null
+     * @throws IllegalStateException if the rules file defines no rules for a category of the columns
+     */
+    public EvaluationResult[] evaluate(ApplicantColumns[] columns, int rowCount) {
+        if (columns == null) {
+            throw new IllegalArgumentException("Columns cannot be null.");
+        }
+        EvaluationResult[] results = new EvaluationResult[rowCount];
+        for (ApplicantColumns categoryColumns : columns) {
+            ScholarshipRules.CategoryRules categoryRules = rules.forCategory(categoryColumns.getCategory());
+            if (categoryRules == null) {
+                throw new IllegalStateException("No rules defined for " + categoryColumns.getCategory());
+            }
+            int blocks = (categoryColumns.size() + BLOCK_SIZE - 1) / BLOCK_SIZE;
+            IntStream.range(0, blocks).parallel().forEach(block ->
+                    evaluateBlock(categoryRules, categoryColumns, block * BLOCK_SIZE, results));
+        }
+        return results;
+    }
+
+    /**
+     * Evaluates one block of a category's columns.
+     *
+     * @param categoryRules the compiled rules of the category
+     * @param columns the category's applicants
+     * @param from position of the block's first applicant in the columns
+     * @param results receives the results by position of the applicant row
+     */
+    private static void evaluateBlock(ScholarshipRules.CategoryRules categoryRules, ApplicantColumns columns,
+                                      int from, EvaluationResult[] results) {
+        int[] cells = new int[Math.min(BLOCK_SIZE, columns.size() - from)];
+        categoryRules.cellsOf(columns, from, cells);
+
+        String category = columns.getCategory();
+        for (int i = 0; i < cells.length; i++) {
+            int cell = cells[i];
+            RejectionReason rejectionReason = categoryRules.getRejectionReason(cell);
+            ScholarshipResultType type = ScholarshipResultType.NONE;
+            String duration = null;
+
+            if (rejectionReason == RejectionReason.NONE) {
+                type = categoryRules.getScholarshipType(cell);
+                duration = categoryRules.getDuration(cell, type);
+            }
+
+            int applicant = from + i;
+            results[columns.rows[applicant]] = new EvaluationResult(columns.ids[applicant], columns.names[applicant],
+                    category, rejectionReason, type, duration);
+        }
+    }
+}
@@ -1,7 +1,8 @@
 package evaluator;
 
-import model.Applicant;
+import model.ApplicantView;
 import types.Application;
+import types.DocumentType;
 import types.RejectionReason;
 import types.ScholarshipResultType;
 
@@ -51,7 +52,7 @@ public class MeritScholarshipEvaluator extends ScholarshipEvaluator {
      */
     @Override
     protected RejectionReason getSpecificRejectionReason(Application application) {
-        Applicant applicant = application.getApplicant();
+        ApplicantView applicant = application.getApplicantView();
         
         // Merit scholarship requires GPA ≥ 3.0
         if (applicant.getGpa() < HALF_SCHOLARSHIP_GPA) {
@@ -67,7 +68,7 @@ public class MeritScholarshipEvaluator extends ScholarshipEvaluator {
      */
     @Override
     public ScholarshipResultType getScholarshipType(Application application) {
-        Applicant applicant = application.getApplicant();
+        ApplicantView applicant = application.getApplicantView();
         double gpa = applicant.getGpa();
         
         if (gpa >= FULL_SCHOLARSHIP_GPA) {
@@ -86,10 +87,10 @@ public class MeritScholarshipEvaluator extends ScholarshipEvaluator {
      */
     @Override
     protected String getApplicationDuration(Application application) {
-        Applicant applicant = application.getApplicant();
+        ApplicantView applicant = application.getApplicantView();
         
         // If Recommendation Letter exists, 2 years; otherwise 1 year
-        if (applicant.hasDocument("REC")) {
+        if (applicant.hasDocument(DocumentType.REC)) {
             return DURATION_WITH_REC;
         }
         
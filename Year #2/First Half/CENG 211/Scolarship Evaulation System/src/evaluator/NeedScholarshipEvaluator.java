@@ -1,7 +1,8 @@
 package evaluator;
 
-import model.Applicant;
+import model.ApplicantView;
 import types.Application;
+import types.DocumentType;
 import types.RejectionReason;
 import types.ScholarshipResultType;
 
@@ -50,29 +51,27 @@ public class NeedScholarshipEvaluator extends ScholarshipEvaluator {
     }
 
     /**
-     * Helper method to calculate adjusted income thresholds based on applicant's situation.
+     * Helper method to calculate an adjusted income threshold based on applicant's situation.
      * Reduces code duplication by centralizing threshold calculation logic.
      * 
-     * @param applicant The applicant whose thresholds to calculate
-     * @return Array with [fullThreshold, halfThreshold]
+     * @param baseThreshold The unadjusted threshold
+     * @param applicant The applicant whose threshold to calculate
+     * @return The adjusted threshold
      */
-    private double[] calculateAdjustedThresholds(Applicant applicant) {
-        double fullThreshold = BASE_FULL_THRESHOLD;
-        double halfThreshold = BASE_HALF_THRESHOLD;
+    private double calculateAdjustedThreshold(double baseThreshold, ApplicantView applicant) {
+        double threshold = baseThreshold;
         
         // Adjust for Savings Document (SAV) - 20% increase
-        if (applicant.hasDocument("SAV")) {
-            fullThreshold *= SAVINGS_ADJUSTMENT_FACTOR;
-            halfThreshold *= SAVINGS_ADJUSTMENT_FACTOR;
+        if (applicant.hasDocument(DocumentType.SAV)) {
+            threshold *= SAVINGS_ADJUSTMENT_FACTOR;
         }
         
         // Adjust for dependents (3+) - additional 10% increase
         if (applicant.getDependents() >= MINIMUM_DEPENDENTS_FOR_ADJUSTMENT) {
-            fullThreshold *= DEPENDENTS_ADJUSTMENT_FACTOR;
-            halfThreshold *= DEPENDENTS_ADJUSTMENT_FACTOR;
+            threshold *= DEPENDENTS_ADJUSTMENT_FACTOR;
         }
         
-        return new double[] { fullThreshold, halfThreshold };
+        return threshold;
     }
 
     /**
@@ -81,9 +80,8 @@ public class NeedScholarshipEvaluator extends ScholarshipEvaluator {
      */
     @Override
     protected RejectionReason getSpecificRejectionReason(Application application) {
-        Applicant applicant = application.getApplicant();
-        double[] thresholds = calculateAdjustedThresholds(applicant);
-        double halfThreshold = thresholds[1];
+        ApplicantView applicant = application.getApplicantView();
+        double halfThreshold = calculateAdjustedThreshold(BASE_HALF_THRESHOLD, applicant);
         double income = applicant.getFamilyIncome();
         
         // Check if income exceeds threshold
@@ -100,10 +98,9 @@ public class NeedScholarshipEvaluator extends ScholarshipEvaluator {
      */
     @Override
     public ScholarshipResultType getScholarshipType(Application application) {
-        Applicant applicant = application.getApplicant();
-        double[] thresholds = calculateAdjustedThresholds(applicant);
-        double fullThreshold = thresholds[0];
-        double halfThreshold = thresholds[1];
+        ApplicantView applicant = application.getApplicantView();
+        double fullThreshold = calculateAdjustedThreshold(BASE_FULL_THRESHOLD, applicant);
+        double halfThreshold = calculateAdjustedThreshold(BASE_HALF_THRESHOLD, applicant);
         double income = applicant.getFamilyIncome();
         
         if (income <= fullThreshold) {
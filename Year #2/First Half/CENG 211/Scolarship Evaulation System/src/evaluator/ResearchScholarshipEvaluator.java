@@ -1,7 +1,8 @@
 package evaluator;
 
-import model.Applicant;
+import model.ApplicantView;
 import types.Application;
+import types.DocumentType;
 import types.RejectionReason;
 import types.ScholarshipResultType;
 
@@ -47,9 +48,6 @@ public class ResearchScholarshipEvaluator extends ScholarshipEvaluator {
     
     /** Extension duration for research supervisor approval (in months) */
     private static final int SUPERVISOR_APPROVAL_EXTENSION_MONTHS = 12;
-    
-    /** Conversion factor for months to years */
-    private static final int MONTHS_PER_YEAR = 12;
 
     /**
      * Constructs a research scholarship evaluator.
@@ -75,7 +73,7 @@ public class ResearchScholarshipEvaluator extends ScholarshipEvaluator {
      */
     @Override
     protected RejectionReason getSpecificRejectionReason(Application application) {
-        Applicant applicant = application.getApplicant();
+        ApplicantView applicant = application.getApplicantView();
         
         // Must have at least one publication or GRP
         if (!applicant.hasPublicationOrGRP()) {
@@ -97,7 +95,7 @@ public class ResearchScholarshipEvaluator extends ScholarshipEvaluator {
      */
     @Override
     public ScholarshipResultType getScholarshipType(Application application) {
-        Applicant applicant = application.getApplicant();
+        ApplicantView applicant = application.getApplicantView();
         double avgImpact = getAverageImpact(applicant);
         
         if (avgImpact >= FULL_SCHOLARSHIP_IMPACT) {
@@ -116,8 +114,15 @@ public class ResearchScholarshipEvaluator extends ScholarshipEvaluator {
      */
     @Override
     protected String getApplicationDuration(Application application) {
-        Applicant applicant = application.getApplicant();
-        ScholarshipResultType type = getScholarshipType(application);
+        return getApplicationDuration(application, getScholarshipType(application));
+    }
+
+    /**
+     * Calculates duration from an already determined scholarship type and the RSV document.
+     */
+    @Override
+    protected String getApplicationDuration(Application application, ScholarshipResultType type) {
+        ApplicantView applicant = application.getApplicantView();
         
         // Base duration
         int months;
@@ -128,39 +133,11 @@ public class ResearchScholarshipEvaluator extends ScholarshipEvaluator {
         }
         
         // If Research Supervisor Approval exists, add +1 year extension
-        if (applicant.hasDocument("RSV")) {
+        if (applicant.hasDocument(DocumentType.RSV)) {
             months += SUPERVISOR_APPROVAL_EXTENSION_MONTHS;
         }
         
         // Format output
         return formatDuration(months);
     }
-
-    /**
-     * Formats duration from months to human-readable string.
-     * <p>
-     * Conversion rules:
-     * <ul>
-     *   <li>Exact years: "X year" or "X years"</li>
-     *   <li>Mixed: "X year Y months" or "X years Y months"</li>
-     *   <li>Months only: "Y months"</li>
-     * </ul>
-     * 
-     * @param months total duration in months
-     * @return formatted duration string
-     */
-    private String formatDuration(int months) {
-        if (months >= MONTHS_PER_YEAR) {
-            int years = months / MONTHS_PER_YEAR;
-            int remainingMonths = months % MONTHS_PER_YEAR;
-            
-            if (remainingMonths == 0) {
-                return years + (years == 1 ? " year" : " years");
-            } else {
-                return years + (years == 1 ? " year" : " years") + " " + remainingMonths + " months";
-            }
-        }
-        
-        return months + " months";
-    }
 }
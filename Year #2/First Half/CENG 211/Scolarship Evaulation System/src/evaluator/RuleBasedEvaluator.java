@@ -0,0 +1,138 @@
+package evaluator;
+
+import model.ApplicantView;
+import types.Application;
+import types.EvaluationResult;
+import types.RejectionReason;
+import types.ScholarshipResultType;
+
+/**
+ * Evaluator that applies a policy loaded from a rules file instead of hardcoded rules.
+ * One instance evaluates applications of every category, using the compiled
+ * ScholarshipRules of the application's scholarship category.
+ *
+ * With the rules in files/ScholarshipRules.properties, results are the same as those of
+ * the Merit, Need and Research evaluators.
+ *
+ * This evaluator is stateless apart from its immutable rules and is thread-safe.
+ */
+public class RuleBasedEvaluator extends ScholarshipEvaluator {
+
+    private final ScholarshipRules rules;
+
+    /**
+     * Constructs an evaluator for compiled rules.
+     *
+     * @param rules the compiled policy
+     * @throws IllegalArgumentException if rules is null
+     */
+    public RuleBasedEvaluator(ScholarshipRules rules) {
+        super();
+        if (rules == null) {
+            throw new IllegalArgumentException("Rules cannot be null.");
+        }
+        this.rules = rules;
+    }
+
+    /**
+     * Copy constructor. The compiled rules are immutable and shared.
+     *
+     * @param other the evaluator to copy
+     * @throws IllegalArgumentException if other is null
+     */
+    public RuleBasedEvaluator(RuleBasedEvaluator other) {
+        this(other == null ? null : other.rules);
+    }
+
+    /**
+     * Evaluates an application once with the rules of its category.
+     * The applicant's cell in the category's decision table is found once, reading
+     * features only until the result is decided, and holds the rejection reason, type and duration.
+     */
+    @Override
+    public EvaluationResult evaluateResult(Application application) {
+        String category = application.getScholarshipCategory();
+        ScholarshipRules.CategoryRules categoryRules = rulesFor(category);
+        ApplicantView applicant = application.getApplicantView();
+        int cell = categoryRules.resultCellOf(applicant);
+
+        RejectionReason rejectionReason = categoryRules.getRejectionReason(cell);
+        ScholarshipResultType type = ScholarshipResultType.NONE;
+        String duration = null;
+
+        if (rejectionReason == RejectionReason.NONE) {
+            type = categoryRules.getScholarshipType(cell);
+            duration = categoryRules.getDuration(cell, type);
+        }
+
+        return new EvaluationResult(applicant.getId(), applicant.getName(),
+                category, rejectionReason, type, duration);
+    }
+
+    /**
+     * Checks the common and then the category's rejection rules, in rule order.
+     */
+    @Override
+    public RejectionReason getRejectionReason(Application application) {
+        ScholarshipRules.CategoryRules categoryRules = rulesFor(application);
+        return categoryRules.getRejectionReason(categoryRules.cellOf(application.getApplicantView()));
+    }
+
+    /**
+     * Checks only the category's own rejection rules.
+     */
+    @Override
+    protected RejectionReason getSpecificRejectionReason(Application application) {
+        ScholarshipRules.CategoryRules categoryRules = rulesFor(application);
+        return categoryRules.getSpecificRejectionReason(categoryRules.cellOf(application.getApplicantView()));
+    }
+
+    /**
+     * Determines scholarship type with the first matching award rule.
+     */
+    @Override
+    public ScholarshipResultType getScholarshipType(Application application) {
+        ScholarshipRules.CategoryRules categoryRules = rulesFor(application);
+        return categoryRules.getScholarshipType(categoryRules.cellOf(application.getApplicantView()));
+    }
+
+    @Override
+    protected String getApplicationDuration(Application application) {
+        return getApplicationDuration(application, getScholarshipType(application));
+    }
+
+    /**
+     * Looks up the duration for the type from the base months and matching extend rules.
+     */
+    @Override
+    protected String getApplicationDuration(Application application, ScholarshipResultType type) {
+        ScholarshipRules.CategoryRules categoryRules = rulesFor(application);
+        return categoryRules.getDuration(categoryRules.cellOf(application.getApplicantView()), type);
+    }
+
+    /**
+     * Finds the rules of an application's category.
+     *
+     * @param application the application
+     * @return the compiled rules of its category
+     * @throws IllegalStateException if the rules file defines no rules for the category
+     */
+    private ScholarshipRules.CategoryRules rulesFor(Application application) {
+        return rulesFor(application.getScholarshipCategory());
+    }
+
+    /**
+     * Finds the rules of a scholarship category.
+     *
+     * @param category the scholarship category
+     * @return the compiled rules of the category
+     * @throws IllegalStateException if the rules file defines no rules for the category
+     */
+    private ScholarshipRules.CategoryRules rulesFor(String category) {
+        ScholarshipRules.CategoryRules categoryRules = rules.forCategory(category);
+        if (categoryRules == null) {
+            throw new IllegalStateException("No rules defined for " + category);
+        }
+        return categoryRules;
+    }
+}
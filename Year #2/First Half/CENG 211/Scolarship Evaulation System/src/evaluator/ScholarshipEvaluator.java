@@ -1,8 +1,9 @@
 package evaluator;
 
-import model.Applicant;
-import model.Publication;
+import model.ApplicantView;
 import types.Application;
+import types.DocumentType;
+import types.EvaluationResult;
 import types.RejectionReason;
 import types.ScholarshipResultType;
 
@@ -15,6 +16,9 @@ import types.ScholarshipResultType;
  */
 public abstract class ScholarshipEvaluator {
 
+    /** Conversion factor for months to years */
+    private static final int MONTHS_PER_YEAR = 12;
+
     /**
      * Protected constructor for subclasses.
      * Evaluators are stateless and require no initialization.
@@ -31,29 +35,30 @@ public abstract class ScholarshipEvaluator {
      * @return Formatted evaluation result string
      */
     public String evaluate(Application application) {
-        Applicant applicant = application.getApplicant();
+        return evaluateResult(application).toString();
+    }
+
+    /**
+     * Evaluates an application once and collects the outcome.
+     * The rejection reason, type and duration are each determined exactly once.
+     * 
+     * @param application The application to evaluate
+     * @return Immutable evaluation result
+     */
+    public EvaluationResult evaluateResult(Application application) {
+        ApplicantView applicant = application.getApplicantView();
         
-        // Check if application is accepted
         RejectionReason rejectionReason = getRejectionReason(application);
-        boolean isAccepted = (rejectionReason == RejectionReason.NONE);
-        
-        // Build formatted output
-        StringBuilder result = new StringBuilder();
-        result.append(String.format("Applicant ID: %s, Name: %s, Scholarship: %s, Status: %s",
-                applicant.getApplicantID(),
-                applicant.getName(),
-                application.getScholarshipCategory(),
-                isAccepted ? "Accepted" : "Rejected"));
+        ScholarshipResultType type = ScholarshipResultType.NONE;
+        String duration = null;
         
-        if (isAccepted) {
-            ScholarshipResultType type = getScholarshipType(application);
-            String duration = getApplicationDuration(application);
-            result.append(String.format(", Type: %s, Duration: %s", type.getDisplay(), duration));
-        } else {
-            result.append(String.format(", Reason: %s", rejectionReason.getMessage()));
+        if (rejectionReason == RejectionReason.NONE) {
+            type = getScholarshipType(application);
+            duration = getApplicationDuration(application, type);
         }
         
-        return result.toString();
+        return new EvaluationResult(applicant.getId(), applicant.getName(),
+                application.getScholarshipCategory(), rejectionReason, type, duration);
     }
 
     /**
@@ -64,10 +69,10 @@ public abstract class ScholarshipEvaluator {
      * @return The rejection reason or NONE if accepted
      */
     public RejectionReason getRejectionReason(Application application) {
-        Applicant applicant = application.getApplicant();
+        ApplicantView applicant = application.getApplicantView();
         
         // Priority 1: Missing Enrollment Certificate
-        if (!applicant.hasDocument("ENR")) {
+        if (!applicant.hasDocument(DocumentType.ENR)) {
             return RejectionReason.MISSING_ENROLLMENT;
         }
         
@@ -112,6 +117,18 @@ public abstract class ScholarshipEvaluator {
      */
     protected abstract String getApplicationDuration(Application application);
 
+    /**
+     * Calculates the scholarship duration when the scholarship type is already known.
+     * Evaluators whose duration depends on the type override this to avoid determining it again.
+     * 
+     * @param application The application to evaluate
+     * @param type The scholarship type of the application
+     * @return Duration string (e.g., "2 years", "6 months")
+     */
+    protected String getApplicationDuration(Application application, ScholarshipResultType type) {
+        return getApplicationDuration(application);
+    }
+
     /**
      * Helper method: Calculates average impact factor of publications.
      * Used by Research scholarship evaluator.
@@ -119,16 +136,56 @@ public abstract class ScholarshipEvaluator {
      * @param applicant The applicant whose publications to analyze
      * @return Average impact factor or 0.0 if no publications
      */
-    protected double getAverageImpact(Applicant applicant) {
-        if (applicant.getPublications().isEmpty()) {
+    protected double getAverageImpact(ApplicantView applicant) {
+        return averageImpactOf(applicant);
+    }
+
+    /**
+     * Calculates the average impact factor of an applicant's publications.
+     * Shared by getAverageImpact and the averageImpact metric of ScholarshipRules.
+     * 
+     * @param applicant The applicant whose publications to analyze
+     * @return Average impact factor or 0.0 if no publications
+     */
+    static double averageImpactOf(ApplicantView applicant) {
+        int publicationCount = applicant.getPublicationCount();
+        if (publicationCount == 0) {
             return 0.0;
         }
         
         double totalImpact = 0.0;
-        for (Publication publication : applicant.getPublications()) {
-            totalImpact += publication.getImpactFactor();
+        for (int i = 0; i < publicationCount; i++) {
+            totalImpact += applicant.getPublicationImpactFactor(i);
+        }
+        
+        return totalImpact / publicationCount;
+    }
+
+    /**
+     * Formats duration from months to human-readable string.
+     * <p>
+     * Conversion rules:
+     * <ul>
+     *   <li>Exact years: "X year" or "X years"</li>
+     *   <li>Mixed: "X year Y months" or "X years Y months"</li>
+     *   <li>Months only: "Y months"</li>
+     * </ul>
+     * 
+     * @param months total duration in months
+     * @return formatted duration string
+     */
+    protected static String formatDuration(int months) {
+        if (months >= MONTHS_PER_YEAR) {
+            int years = months / MONTHS_PER_YEAR;
+            int remainingMonths = months % MONTHS_PER_YEAR;
+            
+            if (remainingMonths == 0) {
+                return years + (years == 1 ? " year" : " years");
+            } else {
+                return years + (years == 1 ? " year" : " years") + " " + remainingMonths + " months";
+            }
         }
         
-        return totalImpact / applicant.getPublications().size();
+        return months + " months";
     }
 }
@@ -0,0 +1,1330 @@
+package evaluator;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import model.ApplicantView;
+import types.DocumentType;
+import types.RejectionReason;
+import types.ScholarshipResultType;
+
+/**
+ * Declarative scholarship policy, compiled into flat decision tables.
+ * The rules are read from a properties file (see files/ScholarshipRules.properties for the
+ * format), so the policy can change without recompiling.
+ *
+ * Compilation turns every condition into the same shape: an interval test on one entry of a
+ * feature vector, e.g. "gpa < 2.5" tests gpa in [-Infinity, nextDown(2.5)] and "has ENR"
+ * tests the ENR flag in [1, 1]. The interval bounds split each feature into bands in which
+ * every condition gives the same answer, and the outcome of every combination of bands is
+ * computed once, at compile time, by running the rules in order. The adjusted thresholds
+ * and the extended durations are part of that outcome.
+ *
+ * An evaluation therefore tests no rule: it finds the band of each tested feature and looks
+ * the outcome up in one flat table per category, about as fast as the handwritten evaluators'
+ * chain of checks. Compilation also checks that the award rules cover every applicant the
+ * rejection rules accept.
+ *
+ * Instances are immutable and can be shared between threads.
+ */
+public final class ScholarshipRules {
+
+    /** Largest number of adjust or extend rules per category; their tables have 2^n entries. */
+    private static final int MAX_COMBINED_RULES = 8;
+
+    /** Largest number of cells of a category's decision table. */
+    private static final int MAX_CELLS = 1 << 20;
+
+    /** Scholarship categories of the applications; the rules file must define rules for each. */
+    private static final String[] REQUIRED_CATEGORIES = {"Merit", "Need", "Research"};
+
+    private static final String COMMON = "common";
+    private static final String ADJUSTED = "adjusted";
+
+    // Indices in the feature vector; yes/no features are 1.0 or 0.0
+    private static final int CONSTANT = 0;          // Always 0.0, tested by "always"
+    private static final int GPA = 1;
+    private static final int INCOME = 2;
+    private static final int FAMILY_INCOME = 3;
+    private static final int DEPENDENTS = 4;
+    private static final int PUBLICATION_COUNT = 5;
+    private static final int TRANSCRIPT = 6;
+    private static final int FAMILY_INFO = 7;
+    private static final int PUBLICATION_OR_GRP = 8;
+    private static final int AVERAGE_IMPACT = 9;
+    private static final int FIRST_DOCUMENT = 10;   // Followed by one flag per DocumentType
+    private static final DocumentType[] DOCUMENT_TYPES = DocumentType.values();
+    private static final int FEATURE_COUNT = FIRST_DOCUMENT + DOCUMENT_TYPES.length;
+
+    /** Compiled rules by category, matched ignoring case ("Merit" finds "merit"). */
+    private final Map<String, CategoryRules> categories;
+
+    /**
+     * Category names looked up so far with their rules, to skip the case-insensitive search.
+     * There are only a few categories and the names are usually the same String literals,
+     * so a scan comparing references first is cheaper than hashing. Replaced, never modified.
+     */
+    private volatile NamedRules[] lookedUp = new NamedRules[0];
+
+    /**
+     * Private constructor; use load or compile.
+     *
+     * @param categories Compiled rules by category
+     */
+    private ScholarshipRules(Map<String, CategoryRules> categories) {
+        this.categories = categories;
+    }
+
+    /**
+     * Reads and compiles the rules of a properties file.
+     *
+     * @param filename Path of the rules file
+     * @return The compiled rules
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if a rule is invalid or a category has no rules
+     */
+    public static ScholarshipRules load(String filename) throws IOException {
+        if (filename == null) {
+            throw new IllegalArgumentException("Rules filename cannot be null");
+        }
+        Properties properties = new Properties();
+        try (Reader reader = new InputStreamReader(new FileInputStream(filename), StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        return compile(properties);
+    }
+
+    /**
+     * Compiles rule definitions.
+     *
+     * @param properties Rule keys and values, in the format of the rules file
+     * @return The compiled rules
+     * @throws IllegalArgumentException if properties is null, a rule is invalid or a category has no rules
+     */
+    public static ScholarshipRules compile(Properties properties) {
+        if (properties == null) {
+            throw new IllegalArgumentException("Rule properties cannot be null");
+        }
+
+        Map<String, RuleDefinitions> definitions = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (String key : properties.stringPropertyNames()) {
+            String[] parts = key.split("\\.");
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid rule key: " + key);
+            }
+            definitions.computeIfAbsent(parts[0], category -> new RuleDefinitions())
+                    .add(key, parts[1], parts[2], properties.getProperty(key).trim());
+        }
+
+        RuleDefinitions common = definitions.remove(COMMON);
+        if (common == null) {
+            common = new RuleDefinitions();
+        }
+        if (!common.adjust.isEmpty() || !common.award.isEmpty() || !common.extend.isEmpty()
+                || common.monthsFull != null || common.monthsHalf != null) {
+            throw new IllegalArgumentException("Only reject rules can be common");
+        }
+        for (String category : REQUIRED_CATEGORIES) {
+            if (!definitions.containsKey(category)) {
+                throw new IllegalArgumentException("No rules defined for category " + category);
+            }
+        }
+
+        Map<String, CategoryRules> categories = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (Map.Entry<String, RuleDefinitions> entry : definitions.entrySet()) {
+            categories.put(entry.getKey(), new CategoryRules(entry.getKey(), common, entry.getValue()));
+        }
+        return new ScholarshipRules(categories);
+    }
+
+    /**
+     * Returns the compiled rules of a scholarship category.
+     *
+     * @param category The category, e.g. "Merit" (case is ignored)
+     * @return The rules, or null if the category has none
+     */
+    CategoryRules forCategory(String category) {
+        if (category == null) {
+            return null;
+        }
+        NamedRules[] names = lookedUp;
+        for (NamedRules named : names) {
+            if (named.name == category) {
+                return named.rules;
+            }
+        }
+        for (NamedRules named : names) {
+            if (named.name.equals(category)) {
+                return named.rules;
+            }
+        }
+        CategoryRules rules = categories.get(category);
+        if (rules != null) {
+            remember(category, rules);
+        }
+        return rules;
+    }
+
+    /**
+     * Adds a looked up category name to the names scanned first.
+     *
+     * @param category The category name as looked up
+     * @param rules Its rules
+     */
+    private synchronized void remember(String category, CategoryRules rules) {
+        NamedRules[] names = Arrays.copyOf(lookedUp, lookedUp.length + 1);
+        names[names.length - 1] = new NamedRules(category, rules);
+        lookedUp = names;
+    }
+
+    /**
+     * A category name as looked up, with the rules it resolved to.
+     */
+    private static final class NamedRules {
+
+        final String name;
+        final CategoryRules rules;
+
+        NamedRules(String name, CategoryRules rules) {
+            this.name = name;
+            this.rules = rules;
+        }
+    }
+
+    /**
+     * Compiled decision table of one category.
+     *
+     * The cut points of all conditions on a feature split its values into bands, and every
+     * condition gives the same answer for all values in a band. The bands of all tested
+     * features together select one cell of a flat table, which holds the precomputed outcome
+     * of every rule for that combination. Evaluating an applicant reads each tested feature
+     * once, finds its band with a few comparisons and looks the outcome up; no rule is tested.
+     *
+     * The tested documents come first and are read together: one lookup by the applicant's
+     * document mask gives their part of the cell. The other features are read in the order the
+     * rules first test them, and like the handwritten evaluators an evaluation stops early: once
+     * the bands read so far decide the result (e.g. a missing ENR), the remaining features are not read.
+     */
+    static final class CategoryRules {
+
+        private final int[] usedFeatures;       // Features tested by any rule, CONSTANT excluded:
+                                                // documents first, then the others, each in rule order
+        private final int documentFeatures;     // Number of documents among the used features
+        private final int[] documentCells;      // By document mask: the documents' part of the cell
+        private final double[][] cuts;          // Per used feature: band boundaries, increasing
+        private final long[][] countCuts;       // Per used count feature: the same boundaries as longs
+        private final int[] strides;            // Per used feature: cell index step of one band
+        private final RejectionReason[] reasons;            // Indexed by cell
+        private final RejectionReason[] specificReasons;    // Category's own rules only
+        private final ScholarshipResultType[] types;        // First matching award rule
+        private final String[] fullDurations;
+        private final String[] halfDurations;
+        private final int[][] settled;          // Per used feature but the last: by partial cell, a cell
+                                                // with the result of every cell it extends to, or -1
+
+        /**
+         * Compiles the rules of a category and fills its decision table.
+         *
+         * @param category The category name, for error messages
+         * @param common The common rules
+         * @param rules The category's rules
+         * @throws IllegalArgumentException if a rule is invalid, the rules test too many bands
+         *         or an accepted applicant matches no award rule
+         */
+        CategoryRules(String category, RuleDefinitions common, RuleDefinitions rules) {
+            if (rules.award.isEmpty()) {
+                throw new IllegalArgumentException("Category " + category + " has no award rules");
+            }
+            if (rules.monthsFull == null || rules.monthsHalf == null) {
+                throw new IllegalArgumentException("Category " + category + " needs months.FULL and months.HALF");
+            }
+            if (rules.adjust.size() > MAX_COMBINED_RULES || rules.extend.size() > MAX_COMBINED_RULES) {
+                throw new IllegalArgumentException("Category " + category + " has more than "
+                        + MAX_COMBINED_RULES + " adjust or extend rules");
+            }
+
+            // Adjustment factors, applied to adjusted thresholds in rule order
+            double[] factors = new double[rules.adjust.size()];
+            Condition[] adjustConditions = new Condition[factors.length];
+            int index = 0;
+            for (Definition definition : rules.adjust.values()) {
+                factors[index] = parseNumber(definition, definition.outcome);
+                adjustConditions[index] = Condition.compile(definition, null);
+                index++;
+            }
+
+            int commonRejectCount = common.reject.size();
+            int rejectCount = commonRejectCount + rules.reject.size();
+            Condition[] rejectConditions = new Condition[rejectCount];
+            RejectionReason[] rejectReasons = new RejectionReason[rejectCount];
+            index = 0;
+            for (Definition definition : concat(common.reject, rules.reject)) {
+                rejectReasons[index] = parseReason(definition);
+                rejectConditions[index] = Condition.compile(definition, factors);
+                index++;
+            }
+
+            Condition[] awardConditions = new Condition[rules.award.size()];
+            ScholarshipResultType[] awardTypes = new ScholarshipResultType[awardConditions.length];
+            index = 0;
+            for (Definition definition : rules.award.values()) {
+                awardTypes[index] = parseAwardType(definition);
+                awardConditions[index] = Condition.compile(definition, factors);
+                index++;
+            }
+
+            int[] extensions = new int[rules.extend.size()];
+            Condition[] extendConditions = new Condition[extensions.length];
+            index = 0;
+            for (Definition definition : rules.extend.values()) {
+                extensions[index] = parseMonths(definition.key, definition.outcome);
+                extendConditions[index] = Condition.compile(definition, null);
+                index++;
+            }
+            String[] fullByExtensions = durationTable(rules.monthsFull, extensions);
+            String[] halfByExtensions = durationTable(rules.monthsHalf, extensions);
+
+            Condition[][] tables = {
+                    Arrays.copyOfRange(rejectConditions, 0, commonRejectCount), adjustConditions,
+                    Arrays.copyOfRange(rejectConditions, commonRejectCount, rejectCount),
+                    awardConditions, extendConditions
+            };
+            usedFeatures = usedFeatures(tables);
+            cuts = new double[usedFeatures.length][];
+            countCuts = new long[usedFeatures.length][];
+            strides = new int[usedFeatures.length];
+            long cellCount = 1;
+            for (int i = 0; i < usedFeatures.length; i++) {
+                cuts[i] = cuts(usedFeatures[i], tables);
+                if (isCount(usedFeatures[i])) {
+                    countCuts[i] = countCuts(cuts[i]);
+                }
+                strides[i] = (int) cellCount;
+                cellCount *= bandCount(usedFeatures[i], cuts[i]);
+                if (cellCount > MAX_CELLS) {
+                    throw new IllegalArgumentException("Category " + category + " tests more than "
+                            + MAX_CELLS + " combinations of feature ranges");
+                }
+            }
+
+            int cells = (int) cellCount;
+            reasons = new RejectionReason[cells];
+            specificReasons = new RejectionReason[cells];
+            types = new ScholarshipResultType[cells];
+            fullDurations = new String[cells];
+            halfDurations = new String[cells];
+            double[] features = new double[FEATURE_COUNT];
+            for (int cell = 0; cell < cells; cell++) {
+                for (int i = 0; i < usedFeatures.length; i++) {
+                    int band = bandOf(cell, i);
+                    features[usedFeatures[i]] = representative(usedFeatures[i], cuts[i], band);
+                }
+                int adjustments = matchMask(adjustConditions, features);
+                reasons[cell] = firstMatch(rejectConditions, rejectReasons, 0, features, adjustments,
+                        RejectionReason.NONE);
+                specificReasons[cell] = firstMatch(rejectConditions, rejectReasons, commonRejectCount, features,
+                        adjustments, RejectionReason.NONE);
+                types[cell] = firstMatch(awardConditions, awardTypes, 0, features, adjustments,
+                        ScholarshipResultType.NONE);
+                int extended = matchMask(extendConditions, features);
+                fullDurations[cell] = fullByExtensions[extended];
+                halfDurations[cell] = halfByExtensions[extended];
+            }
+            checkAwardsCover(category);
+            documentFeatures = documentFeatures(usedFeatures);
+            documentCells = new int[1 << DOCUMENT_TYPES.length];
+            for (int mask = 0; mask < documentCells.length; mask++) {
+                for (int i = 0; i < documentFeatures; i++) {
+                    documentCells[mask] += strides[i] * ((mask >>> (usedFeatures[i] - FIRST_DOCUMENT)) & 1);
+                }
+            }
+            settled = settledCells();
+        }
+
+        /**
+         * Checks that every applicant the rejection rules accept matches an award rule, so no accepted
+         * result has the type NONE. Only cells valid data can reach are checked: GPA in [0, 4], counts
+         * not negative, no NaN. Features are checked independently of each other, so a combination
+         * the parser never produces (e.g. a family income without family info) must be covered too.
+         *
+         * @param category The category name, for the error message
+         * @throws IllegalArgumentException if a reachable accepted cell has no award
+         */
+        private void checkAwardsCover(String category) {
+            for (int cell = 0; cell < types.length; cell++) {
+                if (reasons[cell] == RejectionReason.NONE && types[cell] == ScholarshipResultType.NONE
+                        && isReachable(cell)) {
+                    throw new IllegalArgumentException("Category " + category
+                            + " accepts applicants that match no award rule: " + describe(cell));
+                }
+            }
+        }
+
+        /**
+         * Checks whether valid applicant data can fall into every band of a cell.
+         *
+         * @param cell The cell index
+         * @return true if each band has a value within the feature's range
+         */
+        private boolean isReachable(int cell) {
+            for (int i = 0; i < usedFeatures.length; i++) {
+                int band = bandOf(cell, i);
+                if (band > cuts[i].length) {
+                    return false; // NaN band
+                }
+                double smallest = Math.max(lowerBound(cuts[i], band), minimumOf(usedFeatures[i]));
+                if (!(smallest < upperBound(cuts[i], band) && smallest <= maximumOf(usedFeatures[i]))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Describes the bands of a cell for error messages, e.g. "has ENR, gpa in [3.0, 3.2)".
+         *
+         * @param cell The cell index
+         * @return The description
+         */
+        private String describe(int cell) {
+            StringBuilder description = new StringBuilder();
+            for (int i = 0; i < usedFeatures.length; i++) {
+                int feature = usedFeatures[i];
+                int band = bandOf(cell, i);
+                if (i > 0) {
+                    description.append(", ");
+                }
+                if (isFlag(feature)) {
+                    description.append(band == 1 ? "has " : "missing ").append(featureName(feature));
+                } else {
+                    double lower = Math.max(lowerBound(cuts[i], band), minimumOf(feature));
+                    double upper = upperBound(cuts[i], band);
+                    description.append(featureName(feature)).append(" in [")
+                            .append(isCount(feature) ? String.valueOf((long) lower) : String.valueOf(lower))
+                            .append(", ")
+                            .append(isCount(feature) && upper < Double.POSITIVE_INFINITY
+                                    ? String.valueOf((long) upper) : String.valueOf(upper))
+                            .append(")");
+                }
+            }
+            return description.toString();
+        }
+
+        /**
+         * Counts the documents at the start of the used features.
+         *
+         * @param usedFeatures The used features, documents first
+         * @return Number of documents
+         */
+        private static int documentFeatures(int[] usedFeatures) {
+            int count = 0;
+            while (count < usedFeatures.length && usedFeatures[count] >= FIRST_DOCUMENT) {
+                count++;
+            }
+            return count;
+        }
+
+        /**
+         * Finds, for every prefix of the used features, the band combinations that already decide
+         * the evaluation result. Built from the last feature back to the first: a partial cell is
+         * settled if every band of the next feature leads to a settled cell with the same result.
+         *
+         * @return Per used feature but the last, by partial cell, a settled cell or -1
+         */
+        private int[][] settledCells() {
+            int levels = Math.max(usedFeatures.length - 1, 0);
+            int[][] settledCells = new int[levels][];
+            int[] next = null; // Settled cells of the level after the current one; null means all cells
+            for (int i = levels - 1; i >= 0; i--) {
+                int nextStride = strides[i + 1];
+                int nextBands = bandCount(usedFeatures[i + 1], cuts[i + 1]);
+                settledCells[i] = new int[nextStride];
+                for (int partial = 0; partial < nextStride; partial++) {
+                    int first = next == null ? partial : next[partial];
+                    for (int band = 1; band < nextBands && first >= 0; band++) {
+                        int child = partial + band * nextStride;
+                        int cell = next == null ? child : next[child];
+                        if (cell < 0 || !sameResult(first, cell)) {
+                            first = -1;
+                        }
+                    }
+                    settledCells[i][partial] = first;
+                }
+                next = settledCells[i];
+            }
+            return settledCells;
+        }
+
+        /**
+         * Checks whether two cells give the same evaluation result.
+         *
+         * @param first A cell
+         * @param second Another cell
+         * @return true if the rejection reason and, for accepted cells, the type and duration are equal
+         */
+        private boolean sameResult(int first, int second) {
+            if (reasons[first] != reasons[second]) {
+                return false;
+            }
+            if (reasons[first] != RejectionReason.NONE) {
+                return true;
+            }
+            return types[first] == types[second]
+                    && getDuration(first, types[first]).equals(getDuration(second, types[second]));
+        }
+
+        /**
+         * Finds the cell of an applicant's features in the decision table.
+         * Every feature the rules test is read once; features no rule tests
+         * (such as the average impact factor) are not read at all.
+         *
+         * @param applicant The applicant
+         * @return The cell index
+         */
+        int cellOf(ApplicantView applicant) {
+            int cell = documentCells[applicant.getDocumentMask()];
+            for (int i = documentFeatures; i < usedFeatures.length; i++) {
+                cell += strides[i] * readBand(applicant, i);
+            }
+            return cell;
+        }
+
+        /**
+         * Finds a cell with the same evaluation result as the applicant's cell, reading features
+         * only until the result is decided. Only the rejection reason, and for an accepted
+         * applicant the type and duration, of the returned cell are those of the applicant.
+         *
+         * @param applicant The applicant
+         * @return A cell with the applicant's evaluation result
+         */
+        int resultCellOf(ApplicantView applicant) {
+            int last = usedFeatures.length - 1;
+            int cell = documentCells[applicant.getDocumentMask()];
+            if (documentFeatures > 0 && documentFeatures <= last) {
+                int settledCell = settled[documentFeatures - 1][cell];
+                if (settledCell >= 0) {
+                    return settledCell;
+                }
+            }
+            for (int i = documentFeatures; i < last; i++) {
+                cell += strides[i] * readBand(applicant, i);
+                int settledCell = settled[i][cell];
+                if (settledCell >= 0) {
+                    return settledCell;
+                }
+            }
+            return last < documentFeatures ? cell : cell + strides[last] * readBand(applicant, last);
+        }
+
+        /**
+         * Finds the cells of a range of applicants in columns, one feature at a time: the documents'
+         * part of every cell is looked up first, then each other tested feature adds its bands in
+         * one loop over its column. The loops have no early exit, so every tested feature is read,
+         * and give the same cells as cellOf.
+         *
+         * @param columns The applicants, all of this category
+         * @param from Position of the first applicant in the columns
+         * @param cells Receives the cell of the applicant at from + i at i, for every i in the array
+         */
+        void cellsOf(ApplicantColumns columns, int from, int[] cells) {
+            int count = cells.length;
+            int[] documentMasks = columns.documentMasks;
+            for (int i = 0; i < count; i++) {
+                cells[i] = documentCells[documentMasks[from + i]];
+            }
+            for (int f = documentFeatures; f < usedFeatures.length; f++) {
+                int stride = strides[f];
+                switch (usedFeatures[f]) {
+                    case GPA: addBands(cells, stride, cuts[f], columns.gpas, from); break;
+                    case INCOME: addCountBands(cells, stride, countCuts[f], columns.incomes, from); break;
+                    case FAMILY_INCOME: addCountBands(cells, stride, countCuts[f], columns.familyIncomes, from); break;
+                    case DEPENDENTS: addCountBands(cells, stride, countCuts[f], columns.dependents, from); break;
+                    case PUBLICATION_COUNT: addCountBands(cells, stride, countCuts[f], columns.publicationCounts, from); break;
+                    case AVERAGE_IMPACT: addBands(cells, stride, cuts[f], columns.averageImpacts, from); break;
+                    case TRANSCRIPT: addFlags(cells, stride, columns.transcripts, from); break;
+                    case FAMILY_INFO: addFlags(cells, stride, columns.familyInfos, from); break;
+                    case PUBLICATION_OR_GRP:
+                        int[] publicationCounts = columns.publicationCounts;
+                        int grpMask = DocumentType.GRP.getMask();
+                        for (int i = 0; i < count; i++) {
+                            boolean flag = publicationCounts[from + i] > 0 || (documentMasks[from + i] & grpMask) != 0;
+                            cells[i] += flag ? stride : 0;
+                        }
+                        break;
+                    default: throw new IllegalStateException("Document feature after the others: " + featureName(usedFeatures[f]));
+                }
+            }
+        }
+
+        /**
+         * Adds the bands of a metric column to cells.
+         *
+         * @param cells The partial cells
+         * @param stride Cell index step of one band
+         * @param cuts Cut points of the feature
+         * @param column The feature's column
+         * @param from Position in the column of the applicant of cells[0]
+         */
+        private static void addBands(int[] cells, int stride, double[] cuts, double[] column, int from) {
+            for (int i = 0; i < cells.length; i++) {
+                cells[i] += stride * band(cuts, column[from + i]);
+            }
+        }
+
+        /**
+         * Adds the bands of a count column to cells.
+         *
+         * @param cells The partial cells
+         * @param stride Cell index step of one band
+         * @param cuts Cut points of the feature, as returned by countCuts
+         * @param column The feature's column
+         * @param from Position in the column of the applicant of cells[0]
+         */
+        private static void addCountBands(int[] cells, int stride, long[] cuts, int[] column, int from) {
+            for (int i = 0; i < cells.length; i++) {
+                cells[i] += stride * countBand(cuts, column[from + i]);
+            }
+        }
+
+        /**
+         * Adds the bands of a yes/no column, 0 or 1, to cells.
+         *
+         * @param cells The partial cells
+         * @param stride Cell index step of one band
+         * @param column The feature's column
+         * @param from Position in the column of the applicant of cells[0]
+         */
+        private static void addFlags(int[] cells, int stride, boolean[] column, int from) {
+            for (int i = 0; i < cells.length; i++) {
+                cells[i] += column[from + i] ? stride : 0;
+            }
+        }
+
+        /**
+         * Gets the first matching rejection rule of a cell, common rules first.
+         *
+         * @param cell Cell returned by cellOf
+         * @return The rejection reason, or NONE if no rule matches
+         */
+        RejectionReason getRejectionReason(int cell) {
+            return reasons[cell];
+        }
+
+        /**
+         * Gets the first matching rejection rule of a cell among the category's own rules.
+         *
+         * @param cell Cell returned by cellOf
+         * @return The rejection reason, or NONE if no rule matches
+         */
+        RejectionReason getSpecificRejectionReason(int cell) {
+            return specificReasons[cell];
+        }
+
+        /**
+         * Gets the first matching award rule of a cell.
+         *
+         * @param cell Cell returned by cellOf
+         * @return The scholarship type, or NONE if no rule matches
+         */
+        ScholarshipResultType getScholarshipType(int cell) {
+            return types[cell];
+        }
+
+        /**
+         * Gets the duration of a scholarship from the base months and the matching extend rules of a cell.
+         *
+         * @param cell Cell returned by cellOf
+         * @param type The scholarship type; anything but FULL uses the HALF duration
+         * @return Duration string (e.g., "2 years", "6 months")
+         */
+        String getDuration(int cell, ScholarshipResultType type) {
+            return (type == ScholarshipResultType.FULL ? fullDurations : halfDurations)[cell];
+        }
+
+        /**
+         * Gets the band of a used feature in a cell.
+         *
+         * @param cell The cell index
+         * @param i Position of the feature in usedFeatures
+         * @return The band
+         */
+        private int bandOf(int cell, int i) {
+            return cell / strides[i] % bandCount(usedFeatures[i], cuts[i]);
+        }
+
+        /**
+         * Finds the band of a value: the number of cut points not above it.
+         * NaN, which is in no interval, has a band of its own after the others.
+         *
+         * @param cuts Cut points of the feature, increasing
+         * @param value The feature value
+         * @return The band
+         */
+        private static int band(double[] cuts, double value) {
+            if (value != value) {
+                return cuts.length + 1;
+            }
+            int band = 0;
+            for (double cut : cuts) {
+                band += value >= cut ? 1 : 0;
+            }
+            return band;
+        }
+
+        /**
+         * Finds the band of a count without branches: the sign of cut - 1 - value is the
+         * result of value >= cut, and with cuts limited to [0, 2^31] the difference cannot overflow.
+         * A data-dependent branch per cut would be mispredicted about every other applicant.
+         *
+         * @param cuts Cut points of the feature, as returned by countCuts
+         * @param value The count, not negative
+         * @return The band
+         */
+        private static int countBand(long[] cuts, int value) {
+            int band = 0;
+            for (long cut : cuts) {
+                band += (int) ((cut - 1 - value) >>> 63);
+            }
+            return band;
+        }
+
+        /**
+         * Converts the cut points of a count to longs in [0, 2^31]. A count is never negative and
+         * fits an int, so cuts below 0 or above 2^31 compare the same as 0 and 2^31.
+         *
+         * @param cuts Cut points of the count, whole numbers
+         * @return The cut points as longs
+         */
+        private static long[] countCuts(double[] cuts) {
+            long[] countCuts = new long[cuts.length];
+            for (int i = 0; i < cuts.length; i++) {
+                countCuts[i] = (long) Math.min(Math.max(cuts[i], 0.0), Integer.MAX_VALUE + 1.0);
+            }
+            return countCuts;
+        }
+
+        /**
+         * Checks whether a feature is a count: a whole number, never negative.
+         *
+         * @param feature Index of the feature
+         * @return true for income, family income, dependents and the publication count
+         */
+        private static boolean isCount(int feature) {
+            return feature == INCOME || feature == FAMILY_INCOME || feature == DEPENDENTS
+                    || feature == PUBLICATION_COUNT;
+        }
+
+        /**
+         * Counts the bands of a feature. Only the real-valued features, GPA and the
+         * average impact factor, get the band for NaN.
+         *
+         * @param feature Index of the feature
+         * @param cuts Cut points of the feature
+         * @return Number of bands
+         */
+        private static int bandCount(int feature, double[] cuts) {
+            return cuts.length + (feature == GPA || feature == AVERAGE_IMPACT ? 2 : 1);
+        }
+
+        /**
+         * Picks a value of a band. All values of a band give the same answer to every condition,
+         * so the outcome for this value is the outcome for the whole band.
+         * The value is the smallest one the feature can take in the band if there is one.
+         *
+         * @param feature Index of the feature
+         * @param cuts Cut points of the feature
+         * @param band The band
+         * @return A value in the band
+         */
+        private static double representative(int feature, double[] cuts, int band) {
+            if (band > cuts.length) {
+                return Double.NaN;
+            }
+            double lower = lowerBound(cuts, band);
+            double smallest = Math.max(lower, minimumOf(feature));
+            return smallest < upperBound(cuts, band) ? smallest : lower;
+        }
+
+        /**
+         * Gets the smallest value of a band, not counting the feature's range.
+         *
+         * @param cuts Cut points of the feature
+         * @param band A band other than the NaN band
+         * @return The lower bound, inclusive
+         */
+        private static double lowerBound(double[] cuts, int band) {
+            return band == 0 ? Double.NEGATIVE_INFINITY : cuts[band - 1];
+        }
+
+        /**
+         * Gets the end of a band, not counting the feature's range.
+         *
+         * @param cuts Cut points of the feature
+         * @param band A band other than the NaN band
+         * @return The upper bound, exclusive
+         */
+        private static double upperBound(double[] cuts, int band) {
+            return band == cuts.length ? Double.POSITIVE_INFINITY : cuts[band];
+        }
+
+        /**
+         * Gets the smallest value a feature can take for a valid applicant.
+         *
+         * @param feature Index of the feature
+         * @return The smallest value
+         */
+        private static double minimumOf(int feature) {
+            return feature == AVERAGE_IMPACT ? Double.NEGATIVE_INFINITY : 0.0;
+        }
+
+        /**
+         * Gets the largest value a feature can take for a valid applicant.
+         *
+         * @param feature Index of the feature
+         * @return The largest value
+         */
+        private static double maximumOf(int feature) {
+            if (feature == GPA) {
+                return 4.0;
+            }
+            if (isCount(feature)) {
+                return Integer.MAX_VALUE;
+            }
+            return isFlag(feature) ? 1.0 : Double.POSITIVE_INFINITY;
+        }
+
+        /**
+         * Checks whether a feature is a yes/no flag, 1.0 or 0.0.
+         *
+         * @param feature Index of the feature
+         * @return true for the transcript, family info, publication or GRP and document flags
+         */
+        private static boolean isFlag(int feature) {
+            return feature == TRANSCRIPT || feature == FAMILY_INFO || feature == PUBLICATION_OR_GRP
+                    || feature >= FIRST_DOCUMENT;
+        }
+
+        /**
+         * Gets the name a feature has in the rules file.
+         *
+         * @param feature Index of the feature
+         * @return The metric, flag or document name
+         */
+        private static String featureName(int feature) {
+            switch (feature) {
+                case GPA: return "gpa";
+                case INCOME: return "income";
+                case FAMILY_INCOME: return "familyIncome";
+                case DEPENDENTS: return "dependents";
+                case PUBLICATION_COUNT: return "publicationCount";
+                case AVERAGE_IMPACT: return "averageImpact";
+                case TRANSCRIPT: return "transcript";
+                case FAMILY_INFO: return "familyInfo";
+                case PUBLICATION_OR_GRP: return "publicationOrGRP";
+                default: return DOCUMENT_TYPES[feature - FIRST_DOCUMENT].name();
+            }
+        }
+
+        /**
+         * Collects the cut points of the conditions on one feature: the lower bound of every
+         * interval and the value just above its upper bound. Yes/no features are 0 or 1, so
+         * their only cut is 1; counts are integers, so their cuts are rounded up.
+         *
+         * @param feature Index of the feature
+         * @param tables The condition tables
+         * @return The distinct cut points, increasing
+         */
+        private static double[] cuts(int feature, Condition[][] tables) {
+            if (isFlag(feature)) {
+                return new double[] {1.0};
+            }
+            boolean integer = isCount(feature);
+            TreeSet<Double> points = new TreeSet<>();
+            for (Condition[] conditions : tables) {
+                for (Condition condition : conditions) {
+                    if (condition.feature == feature) {
+                        condition.addCuts(points);
+                    }
+                }
+            }
+            double[] cuts = new double[points.size()];
+            int count = 0;
+            for (double point : points) {
+                double cut = integer ? Math.ceil(point) : point;
+                if (count == 0 || cut > cuts[count - 1]) {
+                    cuts[count++] = cut;
+                }
+            }
+            return Arrays.copyOf(cuts, count);
+        }
+
+        /**
+         * Finds the outcome of the first condition of a table that holds.
+         *
+         * @param conditions The conditions
+         * @param outcomes The outcome of each condition
+         * @param from Position of the first condition to test
+         * @param features Feature vector
+         * @param adjustments Mask of the matching adjust rules
+         * @param none Outcome if no condition holds
+         * @param <T> Type of the outcomes
+         * @return The outcome
+         */
+        private static <T> T firstMatch(Condition[] conditions, T[] outcomes, int from, double[] features,
+                                        int adjustments, T none) {
+            for (int i = from; i < conditions.length; i++) {
+                if (conditions[i].test(features, adjustments)) {
+                    return outcomes[i];
+                }
+            }
+            return none;
+        }
+
+        /**
+         * Tests every condition of an adjust or extend table.
+         *
+         * @param conditions The conditions, which have no adjusted thresholds
+         * @param features Feature vector
+         * @return Bit mask of the conditions that hold
+         */
+        private static int matchMask(Condition[] conditions, double[] features) {
+            int mask = 0;
+            for (int i = 0; i < conditions.length; i++) {
+                if (conditions[i].test(features, 0)) {
+                    mask |= 1 << i;
+                }
+            }
+            return mask;
+        }
+
+        /**
+         * Lists the features tested by any condition, except the constant tested by "always".
+         *
+         * @param tables The condition tables, in the order the rules are checked
+         * @return Indices of the tested features, documents first, each in the order they are first tested
+         */
+        private static int[] usedFeatures(Condition[][] tables) {
+            boolean[] used = new boolean[FEATURE_COUNT];
+            used[CONSTANT] = true;
+            int[] features = new int[FEATURE_COUNT];
+            int count = 0;
+            for (Condition[] conditions : tables) {
+                for (Condition condition : conditions) {
+                    if (!used[condition.feature]) {
+                        used[condition.feature] = true;
+                        features[count++] = condition.feature;
+                    }
+                }
+            }
+            int[] ordered = new int[count];
+            int position = 0;
+            for (int pass = 0; pass < 2; pass++) {
+                for (int i = 0; i < count; i++) {
+                    if ((features[i] >= FIRST_DOCUMENT) == (pass == 0)) {
+                        ordered[position++] = features[i];
+                    }
+                }
+            }
+            return ordered;
+        }
+
+        /**
+         * Reads one tested feature of an applicant and finds its band.
+         * Yes/no features are their own band, 0 or 1, so only metrics are compared with cut points.
+         *
+         * @param applicant The applicant
+         * @param i Position of the feature in usedFeatures
+         * @return The band
+         */
+        private int readBand(ApplicantView applicant, int i) {
+            int feature = usedFeatures[i];
+            switch (feature) {
+                case GPA: return band(cuts[i], applicant.getGpa());
+                case INCOME: return countBand(countCuts[i], applicant.getIncome());
+                case FAMILY_INCOME: return countBand(countCuts[i], applicant.getFamilyIncome());
+                case DEPENDENTS: return countBand(countCuts[i], applicant.getDependents());
+                case PUBLICATION_COUNT: return countBand(countCuts[i], applicant.getPublicationCount());
+                case AVERAGE_IMPACT: return band(cuts[i], ScholarshipEvaluator.averageImpactOf(applicant));
+                case TRANSCRIPT: return applicant.getTranscriptValidation() ? 1 : 0;
+                case FAMILY_INFO: return applicant.hasFamilyInfo() ? 1 : 0;
+                case PUBLICATION_OR_GRP: return applicant.hasPublicationOrGRP() ? 1 : 0;
+                default: return (applicant.getDocumentMask() >>> (feature - FIRST_DOCUMENT)) & 1; // Bit = ordinal
+            }
+        }
+    }
+
+    /**
+     * A compiled condition: whether one feature lies in an interval, or outside it if negated.
+     * The bounds are indexed by the mask of matching adjust rules, so an adjusted threshold is
+     * a lookup; bounds of conditions without adjusted thresholds are the same for every mask.
+     */
+    static final class Condition {
+
+        private final int feature;
+        private final double[] lowerBounds;
+        private final double[] upperBounds;
+        private final boolean negated;
+
+        private Condition(int feature, double[] lowerBounds, double[] upperBounds, boolean negated) {
+            this.feature = feature;
+            this.lowerBounds = lowerBounds;
+            this.upperBounds = upperBounds;
+            this.negated = negated;
+        }
+
+        /**
+         * Tests a feature vector.
+         * A NaN feature is in no interval, so like the comparison it came from,
+         * only a negated condition ("!=") holds for it.
+         *
+         * @param features Feature vector
+         * @param adjustments Bit mask of the category's adjust rules that match
+         * @return true if the condition holds
+         */
+        boolean test(double[] features, int adjustments) {
+            double value = features[feature];
+            return (value >= lowerBounds[adjustments] && value <= upperBounds[adjustments]) != negated;
+        }
+
+        /**
+         * Adds the cut points of this condition: every finite lower bound, and the value just
+         * above every finite upper bound, for each mask of adjust rules.
+         *
+         * @param points Receives the cut points
+         */
+        void addCuts(Set<Double> points) {
+            for (int mask = 0; mask < lowerBounds.length; mask++) {
+                if (lowerBounds[mask] != Double.NEGATIVE_INFINITY) {
+                    points.add(lowerBounds[mask]);
+                }
+                if (upperBounds[mask] != Double.POSITIVE_INFINITY) {
+                    points.add(Math.nextUp(upperBounds[mask]));
+                }
+            }
+        }
+
+        /**
+         * Compiles the condition of a rule.
+         *
+         * @param definition The rule
+         * @param factors Adjustment factors of the category, or null if adjusted thresholds are not allowed
+         * @return The compiled condition
+         * @throws IllegalArgumentException if the condition is invalid
+         */
+        static Condition compile(Definition definition, double[] factors) {
+            String[] tokens = definition.condition.split("\\s+");
+            int masks = 1 << (factors == null ? 0 : factors.length);
+
+            if (tokens.length == 1 && tokens[0].equals("always")) {
+                return interval(CONSTANT, masks, Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, false);
+            }
+
+            if (tokens.length == 2 && (tokens[0].equals("has") || tokens[0].equals("missing"))) {
+                double flag = tokens[0].equals("has") ? 1.0 : 0.0;
+                return interval(parseFlag(definition, tokens[1]), masks, flag, flag, false);
+            }
+
+            if (tokens.length == 3 || (tokens.length == 4 && tokens[3].equals(ADJUSTED))) {
+                boolean adjusted = (tokens.length == 4);
+                if (adjusted && factors == null) {
+                    throw new IllegalArgumentException("Adjusted thresholds are only allowed in reject and award rules: "
+                            + definition);
+                }
+                int feature = parseMetric(definition, tokens[0]);
+                String operator = tokens[1];
+                double value = parseNumber(definition, tokens[2]);
+
+                double[] lowerBounds = new double[masks];
+                double[] upperBounds = new double[masks];
+                boolean negated = false;
+                for (int mask = 0; mask < masks; mask++) {
+                    double threshold = adjusted ? adjust(value, factors, mask) : value;
+                    if (!Double.isFinite(threshold)) {
+                        throw new IllegalArgumentException("Threshold must be finite in rule: " + definition);
+                    }
+                    // Strict comparisons use the neighbouring double, which is exact for finite thresholds
+                    switch (operator) {
+                        case "<":  lowerBounds[mask] = Double.NEGATIVE_INFINITY; upperBounds[mask] = Math.nextDown(threshold); break;
+                        case "<=": lowerBounds[mask] = Double.NEGATIVE_INFINITY; upperBounds[mask] = threshold; break;
+                        case ">":  lowerBounds[mask] = Math.nextUp(threshold); upperBounds[mask] = Double.POSITIVE_INFINITY; break;
+                        case ">=": lowerBounds[mask] = threshold; upperBounds[mask] = Double.POSITIVE_INFINITY; break;
+                        case "==": lowerBounds[mask] = threshold; upperBounds[mask] = threshold; break;
+                        case "!=": lowerBounds[mask] = threshold; upperBounds[mask] = threshold; negated = true; break;
+                        default: throw new IllegalArgumentException("Unknown operator '" + operator + "' in rule: " + definition);
+                    }
+                }
+                return new Condition(feature, lowerBounds, upperBounds, negated);
+            }
+
+            throw new IllegalArgumentException("Invalid condition in rule: " + definition);
+        }
+
+        /**
+         * Creates a condition with the same interval for every mask.
+         *
+         * @param feature Index of the feature
+         * @param masks Number of adjust rule masks
+         * @param lower Lower bound
+         * @param upper Upper bound
+         * @param negated Whether the condition holds outside the interval
+         * @return The condition
+         */
+        private static Condition interval(int feature, int masks, double lower, double upper, boolean negated) {
+            double[] lowerBounds = new double[masks];
+            double[] upperBounds = new double[masks];
+            Arrays.fill(lowerBounds, lower);
+            Arrays.fill(upperBounds, upper);
+            return new Condition(feature, lowerBounds, upperBounds, negated);
+        }
+
+        /**
+         * Applies the factors of the matching adjust rules to a threshold.
+         * Factors are multiplied in rule order, one at a time, as the handwritten evaluators do.
+         *
+         * @param value The unadjusted threshold
+         * @param factors Adjustment factors of the category
+         * @param mask Bit mask of the matching adjust rules
+         * @return The adjusted threshold
+         */
+        private static double adjust(double value, double[] factors, int mask) {
+            double threshold = value;
+            for (int i = 0; i < factors.length; i++) {
+                if ((mask & (1 << i)) != 0) {
+                    threshold *= factors[i];
+                }
+            }
+            return threshold;
+        }
+
+        /**
+         * Resolves the name of a yes/no feature.
+         *
+         * @param definition The rule, for error messages
+         * @param name A document code, "transcript", "familyInfo" or "publicationOrGRP"
+         * @return Index of the feature
+         */
+        private static int parseFlag(Definition definition, String name) {
+            switch (name) {
+                case "transcript": return TRANSCRIPT;
+                case "familyInfo": return FAMILY_INFO;
+                case "publicationOrGRP": return PUBLICATION_OR_GRP;
+                default:
+                    DocumentType type = DocumentType.fromCode(name);
+                    if (type == null) {
+                        throw new IllegalArgumentException("Unknown document or property '" + name
+                                + "' in rule: " + definition);
+                    }
+                    return FIRST_DOCUMENT + type.ordinal();
+            }
+        }
+
+        /**
+         * Resolves the name of a metric.
+         *
+         * @param definition The rule, for error messages
+         * @param name The metric name
+         * @return Index of the feature
+         */
+        private static int parseMetric(Definition definition, String name) {
+            switch (name) {
+                case "gpa": return GPA;
+                case "income": return INCOME;
+                case "familyIncome": return FAMILY_INCOME;
+                case "dependents": return DEPENDENTS;
+                case "publicationCount": return PUBLICATION_COUNT;
+                case "averageImpact": return AVERAGE_IMPACT;
+                default: throw new IllegalArgumentException("Unknown metric '" + name + "' in rule: " + definition);
+            }
+        }
+    }
+
+    /**
+     * Rule definitions of one category as read from the file, ordered by rule number.
+     */
+    private static final class RuleDefinitions {
+
+        final TreeMap<Integer, Definition> reject = new TreeMap<>();
+        final TreeMap<Integer, Definition> adjust = new TreeMap<>();
+        final TreeMap<Integer, Definition> award = new TreeMap<>();
+        final TreeMap<Integer, Definition> extend = new TreeMap<>();
+        Integer monthsFull;
+        Integer monthsHalf;
+
+        /**
+         * Adds one rule.
+         *
+         * @param key The full rule key, for error messages
+         * @param kind The rule kind (reject, adjust, award, months, extend)
+         * @param qualifier The rule number, or FULL/HALF for months
+         * @param value The rule value
+         * @throws IllegalArgumentException if the rule is invalid
+         */
+        void add(String key, String kind, String qualifier, String value) {
+            if (kind.equals("months")) {
+                int months = parseMonths(key, value);
+                if (qualifier.equals("FULL")) {
+                    monthsFull = months;
+                } else if (qualifier.equals("HALF")) {
+                    monthsHalf = months;
+                } else {
+                    throw new IllegalArgumentException("Months must be given for FULL or HALF: " + key);
+                }
+                return;
+            }
+
+            TreeMap<Integer, Definition> rules;
+            switch (kind) {
+                case "reject": rules = reject; break;
+                case "adjust": rules = adjust; break;
+                case "award": rules = award; break;
+                case "extend": rules = extend; break;
+                default: throw new IllegalArgumentException("Unknown rule kind '" + kind + "': " + key);
+            }
+
+            int number;
+            try {
+                number = Integer.parseInt(qualifier);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Rule number must be an integer: " + key);
+            }
+            int colon = value.indexOf(':');
+            if (colon < 0) {
+                throw new IllegalArgumentException("Rule must be 'outcome: condition': " + key + " = " + value);
+            }
+            rules.put(number, new Definition(key, value.substring(0, colon).trim(), value.substring(colon + 1).trim()));
+        }
+    }
+
+    /**
+     * One rule as read from the file.
+     */
+    private static final class Definition {
+
+        final String key;
+        final String outcome;
+        final String condition;
+
+        Definition(String key, String outcome, String condition) {
+            this.key = key;
+            this.outcome = outcome;
+            this.condition = condition;
+        }
+
+        @Override
+        public String toString() {
+            return key + " = " + outcome + ": " + condition;
+        }
+    }
+
+    /**
+     * Lists the common rules followed by the category's rules.
+     *
+     * @param common The common rules
+     * @param specific The category's rules
+     * @return The rules in checking order
+     */
+    private static List<Definition> concat(TreeMap<Integer, Definition> common, TreeMap<Integer, Definition> specific) {
+        List<Definition> all = new ArrayList<>(common.values());
+        all.addAll(specific.values());
+        return all;
+    }
+
+    /**
+     * Precomputes the duration string for every combination of matching extend rules.
+     *
+     * @param baseMonths Base duration in months
+     * @param extensions Months added by each extend rule
+     * @return Duration strings indexed by the mask of matching extend rules
+     */
+    private static String[] durationTable(int baseMonths, int[] extensions) {
+        String[] durations = new String[1 << extensions.length];
+        for (int mask = 0; mask < durations.length; mask++) {
+            int months = baseMonths;
+            for (int i = 0; i < extensions.length; i++) {
+                if ((mask & (1 << i)) != 0) {
+                    months += extensions[i];
+                }
+            }
+            durations[mask] = ScholarshipEvaluator.formatDuration(months);
+        }
+        return durations;
+    }
+
+    /**
+     * Parses the outcome of a reject rule.
+     *
+     * @param definition The rule
+     * @return The rejection reason
+     */
+    private static RejectionReason parseReason(Definition definition) {
+        try {
+            RejectionReason reason = RejectionReason.valueOf(definition.outcome);
+            if (reason != RejectionReason.NONE) {
+                return reason;
+            }
+        } catch (IllegalArgumentException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Unknown rejection reason in rule: " + definition);
+    }
+
+    /**
+     * Parses the outcome of an award rule.
+     *
+     * @param definition The rule
+     * @return FULL or HALF
+     */
+    private static ScholarshipResultType parseAwardType(Definition definition) {
+        if (definition.outcome.equals("FULL")) {
+            return ScholarshipResultType.FULL;
+        }
+        if (definition.outcome.equals("HALF")) {
+            return ScholarshipResultType.HALF;
+        }
+        throw new IllegalArgumentException("Award must be FULL or HALF in rule: " + definition);
+    }
+
+    /**
+     * Parses a number of a rule.
+     *
+     * @param definition The rule, for error messages
+     * @param text The number
+     * @return The value
+     */
+    private static double parseNumber(Definition definition, String text) {
+        try {
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number '" + text + "' in rule: " + definition);
+        }
+    }
+
+    /**
+     * Parses a duration in months.
+     *
+     * @param key The rule key, for error messages
+     * @param text The number of months
+     * @return The months
+     */
+    private static int parseMonths(String key, String text) {
+        try {
+            int months = Integer.parseInt(text.trim());
+            if (months >= 0) {
+                return months;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Months must be a non-negative integer: " + key + " = " + text);
+    }
+}
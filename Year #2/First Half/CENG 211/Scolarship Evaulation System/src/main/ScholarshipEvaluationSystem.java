@@ -1,10 +1,16 @@
 package main;
 
-import java.util.ArrayList;
-import java.util.Collections;
+import evaluator.BatchEvaluator;
+import evaluator.ScholarshipRules;
+import java.io.File;
+import java.io.IOException;
 import java.util.Comparator;
+import java.util.List;
 import types.Application;
+import types.EvaluationResult;
+import util.ApplicantRows;
 import util.ApplicationParser;
+import util.EvaluationStore;
 
 /**
  * Main application for Scholarship Evaluation System.
@@ -16,71 +22,114 @@ public class ScholarshipEvaluationSystem {
      * Main entry point for the scholarship evaluation system.
      * 
      * Process Flow:
-     * 1. Read scholarship applications from CSV file
-     * 2. Evaluate each application using polymorphic evaluate() method
+     * 1. Read the rows of the scholarship applications from CSV file
+     * 2. Evaluate each application exactly once, in parallel: with the policy of the rules file in
+     *    columnar batch mode, loading the applicants into columns without building them, or with the
+     *    built-in evaluators through polymorphic evaluateResult() if the file was removed.
+     *    Results of the previous run are reused, without loading the applicant, for applicants
+     *    whose rows and policy did not change.
      * 3. Sort results by applicant ID
-     * 4. Display formatted results
+     * 4. Display formatted results and the summary from the collected results
      * 
      * @param args command line arguments (not used)
      */
     public static void main(String[] args) {
         // Configuration
         final String CSV_FILENAME = "files\\ScholarshipApplications.csv";
+        final String RULES_FILENAME = "files\\ScholarshipRules.properties";
+        final String STATE_FILENAME = "files\\EvaluationState.dat";
         
-        // Step 1: Read applications from CSV file
+        // Load the evaluation policy first, so a broken rules file is reported before any work
+        BatchEvaluator batch = loadBatchEvaluator(RULES_FILENAME);
+        
+        // Step 1: Read the rows of the applications from CSV file
         System.out.println("Reading scholarship applications from " + CSV_FILENAME + "...");
-        ArrayList<Application> applications = ApplicationParser.parse(CSV_FILENAME);
+        ApplicantRows rows = ApplicationParser.parseRows(CSV_FILENAME);
+        
+        // Step 2: Evaluate all applications across cores; applications share no state.
+        // Applicants whose rows did not change since the last run are not even loaded: they keep their stored result.
+        // Without state, an empty store evaluates every applicant and is not saved.
+        EvaluationStore store = EvaluationStore.loadForPolicy(STATE_FILENAME, RULES_FILENAME);
+        EvaluationStore evaluationStore = store != null ? store : EvaluationStore.empty(0);
+        List<EvaluationResult> results;
+        if (batch != null) {
+            results = evaluationStore.evaluate(rows, batch);
+        } 
+        else {
+            results = evaluationStore.evaluate(rows, Application::evaluateResult);
+        }
         
-        // Validate data was loaded successfully
-        if (applications.isEmpty()) {
+        // Validate data was loaded successfully. Applicants are checked during evaluation,
+        // so their count is known only now: every valid application has exactly one result.
+        if (results.isEmpty()) {
             System.err.println("ERROR: No scholarship applications found or file could not be read.");
             System.err.println("Please ensure '" + CSV_FILENAME + "' exists in the current directory.");
             System.exit(1);
         }
         
-        System.out.println("Loaded " + applications.size() + " applications.");
+        System.out.println("Loaded " + results.size() + " applications.");
         System.out.println("Evaluating applications...\n");
         
-        // Step 2: Evaluate all applications
-        for (Application application : applications) {
-            application.evaluate();
-        }
-        
-        // Step 3: Sort applications by Applicant ID (11xxx, 22xxx, 33xxx)
-        Collections.sort(applications, new Comparator<Application>() {
-            @Override
-            public int compare(Application a1, Application a2) {
-                return Integer.compare(a1.getApplicant().getId(), 
-                                     a2.getApplicant().getId());
-            }
-        });
+        // Step 3: Sort by Applicant ID (11xxx, 22xxx, 33xxx); the stable sort keeps file order for equal IDs
+        results.sort(Comparator.comparingInt(EvaluationResult::getApplicantId));
         
         // Step 4: Print results
-        for (Application application : applications) {
-            System.out.println(application.evaluate());
+        for (EvaluationResult result : results) {
+            System.out.println(result);
         }
         
         // Summary statistics (bonus - shows good programming practice)
-        printSummary(applications);
+        printSummary(results);
+        
+        // Keep the results for the next run; failing to do so only costs time next run
+        if (store != null) {
+            try {
+                store.save(STATE_FILENAME);
+            } catch (IOException e) {
+                System.err.println("Warning: Could not save evaluation state to '" + STATE_FILENAME + "': " + e.getMessage());
+            }
+        }
+    }
+    
+    /**
+     * Loads the evaluation policy from the rules file.
+     * Exits with an error if the file exists but cannot be read or contains an invalid rule.
+     * 
+     * @param rulesFilename path of the rules file
+     * @return a batch evaluator of the rules, or null to use each application's built-in evaluator
+     *         if the file does not exist
+     */
+    private static BatchEvaluator loadBatchEvaluator(String rulesFilename) {
+        if (!new File(rulesFilename).exists()) {
+            return null;
+        }
+        
+        try {
+            return new BatchEvaluator(ScholarshipRules.load(rulesFilename));
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println("ERROR: Could not load evaluation rules from '" + rulesFilename + "': " + e.getMessage());
+            System.exit(1);
+            return null;
+        }
     }
     
     /**
      * Prints summary statistics of the evaluation process.
      * Provides overview of acceptance rates and scholarship distribution.
      * 
-     * @param applications the list of evaluated applications
+     * @param results the evaluation results of all applications
      */
-    private static void printSummary(ArrayList<Application> applications) {
-        int totalApplications = applications.size();
+    private static void printSummary(List<EvaluationResult> results) {
+        int totalApplications = results.size();
         int acceptedCount = 0;
         int rejectedCount = 0;
         int fullScholarships = 0;
         int halfScholarships = 0;
         
-        for (Application application : applications) {
-            if (application.isAccepted()) {
+        for (EvaluationResult result : results) {
+            if (result.isAccepted()) {
                 acceptedCount++;
-                String typeDisplay = application.getType().getDisplay();
+                String typeDisplay = result.getType().getDisplay();
                 if ("Full".equals(typeDisplay)) {
                     fullScholarships++;
                 } 
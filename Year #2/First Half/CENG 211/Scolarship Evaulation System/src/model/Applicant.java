@@ -2,6 +2,8 @@ package model;
 
 import java.util.ArrayList;
 
+import types.DocumentType;
+
 /**
  * Represents an applicant for a scholarship program.
  * Contains all personal information, documents, and publications
@@ -15,6 +17,9 @@ import java.util.ArrayList;
  * - Defensive copying for ArrayList collections
  * - Input validation in constructors and setters
  * - Support for copy construction (deep copy)
+ * - Copy-free read access through a read-only ApplicantView (asView)
+ * - Document index: a bit per known DocumentType and the first document of each type,
+ *   so document checks do not scan the document list
  */
 public class Applicant {
     private final int id;
@@ -27,6 +32,9 @@ public class Applicant {
     private boolean hasFamilyInfo;
     private ArrayList<Document> documents;
     private ArrayList<Publication> publications;
+    private int documentMask;                 // Bits of the known document types submitted
+    private Document[] firstDocumentByType;   // Indexed by DocumentType ordinal
+    private final ApplicantView view = new ReadOnlyView();
 
     /**
      * Constructs an Applicant with basic information.
@@ -39,27 +47,70 @@ public class Applicant {
      */
     public Applicant(int id, String name , double gpa, int income){
 
+        checkBasicInfo(id, name, gpa, income);
+
+        this.id = id;
+        this.name = name.trim();
+        this.gpa = gpa;
+        this.income = income;
+        documents = new ArrayList<>();
+        publications = new ArrayList<>();
+        firstDocumentByType = new Document[DocumentType.values().length];
+        transcriptStatus = "";
+        hasFamilyInfo = false;
+    }
+
+    /**
+     * Validates the basic information of an applicant as the constructor does,
+     * so applicant data can be checked without building an Applicant.
+     *
+     * @param id the applicant's unique identifier (must be positive)
+     * @param name the applicant's full name (cannot be null or empty)
+     * @param gpa the applicant's grade point average (must be between 0.0 and 4.0)
+     * @param income the applicant's monthly income (must be non-negative)
+     * @throws IllegalArgumentException if any parameter is invalid
+     */
+    public static void checkBasicInfo(int id, String name, double gpa, int income) {
         if (id <= 0) {
             throw new IllegalArgumentException("Applicant ID must be positive: " + id);
         }
         if (name == null || name.trim().isEmpty()) {
             throw new IllegalArgumentException("Name cannot be null or empty");
         }
-        if (gpa < 0.0 || gpa > 4.0) {
+        if (!(gpa >= 0.0 && gpa <= 4.0)) { // Also rejects NaN
             throw new IllegalArgumentException("GPA must be between 0.0 and 4.0: " + gpa);
         }
         if (income < 0) {
             throw new IllegalArgumentException("Income cannot be negative: " + income);
         }
+    }
 
-        this.id = id;
-        this.name = name.trim();
-        this.gpa = gpa;
-        this.income = income;
-        documents = new ArrayList<>();
-        publications = new ArrayList<>();
-        transcriptStatus = "";
-        hasFamilyInfo = false;
+    /**
+     * Validates a transcript status as setTranscript does.
+     *
+     * @param status the transcript status
+     * @throws IllegalArgumentException if the status is not "Y" or "N"
+     */
+    public static void checkTranscript(String status) {
+        if (status == null || (!status.equals("Y") && !status.equals("N"))) {
+            throw new IllegalArgumentException("Transcript status must be 'Y' or 'N': " + status);
+        }
+    }
+
+    /**
+     * Validates family information as setFamilyInfo does.
+     *
+     * @param familyIncome the family's income (must be non-negative)
+     * @param dependents the number of dependents (must be non-negative)
+     * @throws IllegalArgumentException if either value is negative
+     */
+    public static void checkFamilyInfo(int familyIncome, int dependents) {
+        if (familyIncome < 0) {
+            throw new IllegalArgumentException("Family income cannot be negative: " + familyIncome);
+        }
+        if (dependents < 0) {
+            throw new IllegalArgumentException("Dependents cannot be negative: " + dependents);
+        }
     }
 
     /**
@@ -83,7 +134,10 @@ public class Applicant {
         this.hasFamilyInfo = other.hasFamilyInfo;
         this.documents = documentsCopy(other.documents);
         this.publications = publicationsCopy(other.publications);
-
+        this.firstDocumentByType = new Document[DocumentType.values().length];
+        for (Document doc : this.documents) {
+            indexDocument(doc);
+        }
     }
 
     /**
@@ -155,20 +209,21 @@ public class Applicant {
         return publicationsCopy(publications);
     }
 
+    public int getPublicationCount() {
+        return publications.size();
+    }
+
+    public double getPublicationImpactFactor(int index) {
+        return publications.get(index).getImpactFactor();
+    }
+
     public void setTranscript(String status) {
-        if (status == null || (!status.equals("Y") && !status.equals("N"))) {
-            throw new IllegalArgumentException("Transcript status must be 'Y' or 'N': " + status);
-        }
+        checkTranscript(status);
         this.transcriptStatus = status;
     }
 
     public void setFamilyInfo(int familyIncome, int dependents) {
-        if (familyIncome < 0) {
-            throw new IllegalArgumentException("Family income cannot be negative: " + familyIncome);
-        }
-        if (dependents < 0) {
-            throw new IllegalArgumentException("Dependents cannot be negative: " + dependents);
-        }
+        checkFamilyInfo(familyIncome, dependents);
         this.familyIncome = familyIncome;
         this.dependents = dependents;
         this.hasFamilyInfo = true;
@@ -177,6 +232,21 @@ public class Applicant {
     public void addDocument(Document doc) {
         if (doc != null) {
             this.documents.add(doc);
+            indexDocument(doc);
+        }
+    }
+
+    /**
+     * Records a document of a known type in the document index.
+     * Only the first document of each type is kept, matching the order of a list scan.
+     * 
+     * @param doc the document just added to the list
+     */
+    private void indexDocument(Document doc) {
+        DocumentType type = doc.getType();
+        if (type != null && firstDocumentByType[type.ordinal()] == null) {
+            firstDocumentByType[type.ordinal()] = doc;
+            documentMask |= type.getMask();
         }
     }
 
@@ -186,19 +256,44 @@ public class Applicant {
         }
     }
 
+    public boolean hasDocument(DocumentType documentType) {
+        return documentType != null && (documentMask & documentType.getMask()) != 0;
+    }
+
+    public int getDocumentMask() {
+        return documentMask;
+    }
+
     public boolean hasDocument(String documentType) {
-        if (documentType == null) {
-            return false;
+        DocumentType type = DocumentType.fromCode(documentType);
+        if (type != null) {
+            return hasDocument(type);
         }
-        for (Document doc : documents) {
-            if (doc.getDocumentType().equals(documentType)) {
-                return true;
-            }
+        return findDocument(documentType) != null;
+    }
+
+    public Document getDocument(DocumentType documentType) {
+        if (documentType == null) {
+            return null; // Defensive programming
         }
-        return false;
+        return firstDocumentByType[documentType.ordinal()];
     }
 
     public Document getDocument(String documentType) {
+        DocumentType type = DocumentType.fromCode(documentType);
+        if (type != null) {
+            return getDocument(type);
+        }
+        return findDocument(documentType);
+    }
+
+    /**
+     * Scans the document list for a type that has no DocumentType.
+     * 
+     * @param documentType the type code
+     * @return the first document with that code, or null if none
+     */
+    private Document findDocument(String documentType) {
         if (documentType == null) {
             return null; // Defensive programming
         }
@@ -210,6 +305,16 @@ public class Applicant {
         return null;
     }
 
+    /**
+     * Returns a read-only view of this applicant that reads the data in place.
+     * The view is a separate object, so it cannot be cast back to Applicant to modify it.
+     * 
+     * @return the read-only view of this applicant
+     */
+    public ApplicantView asView() {
+        return view;
+    }
+
     public String getApplicantID() {
         return String.valueOf(id);
     }
@@ -222,7 +327,7 @@ public class Applicant {
         if (!publications.isEmpty()) {
             return true;
         }
-        return hasDocument("GRP");
+        return hasDocument(DocumentType.GRP);
     }
 
     @Override
@@ -244,4 +349,85 @@ public class Applicant {
         return output;
     }
 
+    /**
+     * Read-only ApplicantView of the enclosing applicant.
+     * Every method delegates to the applicant, which has no mutators reachable through the view.
+     */
+    private final class ReadOnlyView implements ApplicantView {
+
+        @Override
+        public int getId() {
+            return id;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public double getGpa() {
+            return gpa;
+        }
+
+        @Override
+        public int getIncome() {
+            return income;
+        }
+
+        @Override
+        public boolean getTranscriptValidation() {
+            return Applicant.this.getTranscriptValidation();
+        }
+
+        @Override
+        public boolean hasFamilyInfo() {
+            return hasFamilyInfo;
+        }
+
+        @Override
+        public int getFamilyIncome() {
+            return familyIncome;
+        }
+
+        @Override
+        public int getDependents() {
+            return dependents;
+        }
+
+        @Override
+        public boolean hasDocument(DocumentType documentType) {
+            return Applicant.this.hasDocument(documentType);
+        }
+
+        @Override
+        public boolean hasDocument(String documentType) {
+            return Applicant.this.hasDocument(documentType);
+        }
+
+        @Override
+        public int getDocumentMask() {
+            return documentMask;
+        }
+
+        @Override
+        public boolean hasPublicationOrGRP() {
+            return Applicant.this.hasPublicationOrGRP();
+        }
+
+        @Override
+        public int getPublicationCount() {
+            return publications.size();
+        }
+
+        @Override
+        public double getPublicationImpactFactor(int index) {
+            return publications.get(index).getImpactFactor();
+        }
+
+        @Override
+        public String toString() {
+            return Applicant.this.toString();
+        }
+    }
 }
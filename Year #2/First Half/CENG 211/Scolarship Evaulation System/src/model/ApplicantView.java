@@ -0,0 +1,84 @@
+package model;
+
+import types.DocumentType;
+
+/**
+ * Read-only view of an applicant, used by the evaluators.
+ * Unlike the getters of Applicant that return defensive copies, every method here
+ * reads the applicant's data in place, so evaluating an application copies nothing.
+ *
+ * Views are obtained from Applicant.asView(); they are not Applicant objects,
+ * so a view cannot be cast back to Applicant to modify it.
+ */
+public interface ApplicantView {
+
+    int getId();
+
+    String getName();
+
+    double getGpa();
+
+    int getIncome();
+
+    /**
+     * Checks if the applicant submitted a valid transcript.
+     *
+     * @return true if the transcript status is "Y"
+     */
+    boolean getTranscriptValidation();
+
+    boolean hasFamilyInfo();
+
+    int getFamilyIncome();
+
+    int getDependents();
+
+    /**
+     * Checks if the applicant submitted a document of the given type.
+     * This is a single bit test.
+     *
+     * @param documentType the type of document
+     * @return true if such a document exists, false if documentType is null
+     */
+    boolean hasDocument(DocumentType documentType);
+
+    /**
+     * Checks if the applicant submitted a document with the given type code.
+     * Known codes are looked up like hasDocument(DocumentType); other codes scan the documents.
+     *
+     * @param documentType the type code of the document (ENR, REC, SAV, RSV, GRP)
+     * @return true if such a document exists
+     */
+    boolean hasDocument(String documentType);
+
+    /**
+     * Returns the document types the applicant submitted as a bit mask.
+     * A type is present if its DocumentType.getMask() bit is set.
+     *
+     * @return bits of the submitted document types
+     */
+    int getDocumentMask();
+
+    /**
+     * Checks if the applicant has at least one publication or a grant proposal (GRP).
+     *
+     * @return true if a publication or GRP document exists
+     */
+    boolean hasPublicationOrGRP();
+
+    /**
+     * Returns the number of publications of the applicant.
+     *
+     * @return number of publications
+     */
+    int getPublicationCount();
+
+    /**
+     * Returns the impact factor of one publication, without copying the publication.
+     *
+     * @param index index of the publication, from 0 to getPublicationCount() - 1
+     * @return the impact factor
+     * @throws IndexOutOfBoundsException if index is out of range
+     */
+    double getPublicationImpactFactor(int index);
+}
@@ -1,5 +1,7 @@
 package model;
 
+import types.DocumentType;
+
 /**
  * Represents a supporting document submitted with a scholarship application.
  * Documents are used to verify eligibility and determine scholarship duration.
@@ -11,12 +13,17 @@ package model;
  * - RSV: Research Supervisor Approval (for research grants)
  * - GRP: Grant Proposal (for research grants)
  * 
+ * The type code is interned into a DocumentType when the document is created,
+ * so applicants can index their documents without comparing strings.
+ * Codes of other types are kept as they are, with no DocumentType.
+ * 
  * This class is immutable - all fields are final.
  */
 public class Document {
     private final String applicantID;
     private final String documentType;   // ENR, REC, SAV, RSV, GRP
     private final int durationInMonths;
+    private final DocumentType type;     // null for unknown codes
 
     /**
      * Constructs a Document with the specified details.
@@ -27,7 +34,8 @@ public class Document {
      */
     public Document(String applicantID, String documentType, int durationInMonths) {
         this.applicantID = applicantID;
-        this.documentType = documentType;
+        this.type = DocumentType.fromCode(documentType);
+        this.documentType = (type != null) ? type.getCode() : documentType;
         this.durationInMonths = durationInMonths;
     }
 
@@ -40,6 +48,7 @@ public class Document {
         this.applicantID = other.applicantID;
         this.documentType = other.documentType;
         this.durationInMonths = other.durationInMonths;
+        this.type = other.type;
     }
 
     public String getApplicantID() {
@@ -54,6 +63,15 @@ public class Document {
         return durationInMonths;
     }
 
+    /**
+     * Returns the interned type of this document.
+     * 
+     * @return the document type, or null if the code is not a known type
+     */
+    public DocumentType getType() {
+        return type;
+    }
+
 
     @Override
     public String toString() {
@@ -23,8 +23,12 @@ public class Publication {
      * @param applicantID the ID of the applicant who authored this publication
      * @param title the title of the publication
      * @param impactFactor the impact factor of the publication (quality metric)
+     * @throws IllegalArgumentException if impactFactor is NaN or infinite
      */
     public Publication(String applicantID, String title, double impactFactor) {
+        if (!Double.isFinite(impactFactor)) {
+            throw new IllegalArgumentException("Impact factor must be a finite number: " + impactFactor);
+        }
         this.applicantID = applicantID;
         this.title = title;
         this.impactFactor = impactFactor;
@@ -2,6 +2,7 @@ package types;
 
 import evaluator.ScholarshipEvaluator;
 import model.Applicant;
+import model.ApplicantView;
 
 /**
  * Abstract base class representing a scholarship application.
@@ -63,6 +64,17 @@ public abstract class Application {
         return new Applicant(applicant);
     }
 
+    /**
+     * Returns a read-only view of the applicant without copying it.
+     * Used by the evaluators, which only read the applicant.
+     * The view is not the applicant itself, so it cannot be cast back to Applicant to modify it.
+     * 
+     * @return the applicant as a read-only view
+     */
+    public ApplicantView getApplicantView() {
+        return applicant.asView();
+    }
+
     /**
      * Returns the category of this scholarship application.
      * Must be implemented by each concrete subclass.
@@ -84,6 +96,20 @@ public abstract class Application {
         return evaluator.evaluate(this);
     }
 
+    /**
+     * Evaluates this application once and returns the immutable outcome.
+     * Prefer this over calling evaluate(), isAccepted() and getType() separately,
+     * each of which evaluates the application again.
+     * 
+     * @return The evaluation result
+     */
+    public EvaluationResult evaluateResult() {
+        if (evaluator == null) {
+            throw new IllegalStateException("Evaluator not initialized for " + getScholarshipCategory());
+        }
+        return evaluator.evaluateResult(this);
+    }
+
     /**
      * Checks if the application was accepted.
      * Used for summary statistics.
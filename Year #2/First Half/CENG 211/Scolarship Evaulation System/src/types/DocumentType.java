@@ -0,0 +1,70 @@
+package types;
+
+/**
+ * Enum representing the known supporting document types.
+ * Each type owns one bit, so the set of documents an applicant submitted
+ * fits in a single int and checking for a document is one bit test.
+ */
+public enum DocumentType {
+    ENR("Enrollment Certificate"),
+    REC("Recommendation Letter"),
+    SAV("Savings Document"),
+    RSV("Research Supervisor Approval"),
+    GRP("Grant Proposal");
+
+    private final String description;
+    private final int mask;
+
+    DocumentType(String description) {
+        this.description = description;
+        this.mask = 1 << ordinal();
+    }
+
+    /**
+     * Returns the code of the type as it appears in the CSV file.
+     *
+     * @return the code (e.g., "ENR")
+     */
+    public String getCode() {
+        return name();
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /**
+     * Returns the bit of this type in a document mask.
+     *
+     * @return a mask with only this type's bit set
+     */
+    public int getMask() {
+        return mask;
+    }
+
+    /**
+     * Looks up a type by its CSV code.
+     * Unlike valueOf, an unknown code is not an error, since documents of other types are kept as they are.
+     *
+     * @param code the document code (e.g., "ENR")
+     * @return the matching type, or null if code is null or unknown
+     */
+    public static DocumentType fromCode(String code) {
+        if (code == null) {
+            return null;
+        }
+        switch (code) {
+            case "ENR": return ENR;
+            case "REC": return REC;
+            case "SAV": return SAV;
+            case "RSV": return RSV;
+            case "GRP": return GRP;
+            default: return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return name();
+    }
+}
@@ -0,0 +1,118 @@
+package types;
+
+/**
+ * Immutable outcome of evaluating one scholarship application.
+ * Holds everything needed to print the result line and the summary,
+ * so an application is evaluated exactly once.
+ *
+ * Rejected results have type NONE and no duration.
+ */
+public final class EvaluationResult {
+
+    private final int applicantId;
+    private final String applicantName;
+    private final String scholarshipCategory;
+    private final RejectionReason rejectionReason;
+    private final ScholarshipResultType type;
+    private final String duration;
+
+    /**
+     * Constructs an EvaluationResult.
+     *
+     * @param applicantId the applicant's unique identifier
+     * @param applicantName the applicant's full name
+     * @param scholarshipCategory the scholarship category ("Merit", "Need", or "Research")
+     * @param rejectionReason the rejection reason, or NONE if accepted
+     * @param type the scholarship type of an accepted application (ignored if rejected)
+     * @param duration the scholarship duration of an accepted application (ignored if rejected)
+     * @throws IllegalArgumentException if a required value is null
+     */
+    public EvaluationResult(int applicantId, String applicantName, String scholarshipCategory,
+                            RejectionReason rejectionReason, ScholarshipResultType type, String duration) {
+        if (applicantName == null) {
+            throw new IllegalArgumentException("Applicant name cannot be null.");
+        }
+        if (scholarshipCategory == null) {
+            throw new IllegalArgumentException("Scholarship category cannot be null.");
+        }
+        if (rejectionReason == null) {
+            throw new IllegalArgumentException("Rejection reason cannot be null.");
+        }
+
+        boolean accepted = (rejectionReason == RejectionReason.NONE);
+        if (accepted && (type == null || type == ScholarshipResultType.NONE)) {
+            throw new IllegalArgumentException("Accepted result must have a Full or Half type.");
+        }
+        if (accepted && duration == null) {
+            throw new IllegalArgumentException("Accepted result must have a duration.");
+        }
+
+        this.applicantId = applicantId;
+        this.applicantName = applicantName;
+        this.scholarshipCategory = scholarshipCategory;
+        this.rejectionReason = rejectionReason;
+        this.type = accepted ? type : ScholarshipResultType.NONE;
+        this.duration = accepted ? duration : null;
+    }
+
+    public int getApplicantId() {
+        return applicantId;
+    }
+
+    public String getApplicantName() {
+        return applicantName;
+    }
+
+    public String getScholarshipCategory() {
+        return scholarshipCategory;
+    }
+
+    /**
+     * Checks if the application was accepted.
+     *
+     * @return true if accepted, false if rejected
+     */
+    public boolean isAccepted() {
+        return rejectionReason == RejectionReason.NONE;
+    }
+
+    public RejectionReason getRejectionReason() {
+        return rejectionReason;
+    }
+
+    public ScholarshipResultType getType() {
+        return type;
+    }
+
+    /**
+     * Returns the scholarship duration.
+     *
+     * @return Duration string (e.g., "2 years", "6 months"), or null if rejected
+     */
+    public String getDuration() {
+        return duration;
+    }
+
+    /**
+     * Formats the result as one output line.
+     *
+     * @return Formatted evaluation result string
+     */
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder();
+        result.append("Applicant ID: ").append(applicantId)
+              .append(", Name: ").append(applicantName)
+              .append(", Scholarship: ").append(scholarshipCategory)
+              .append(", Status: ").append(isAccepted() ? "Accepted" : "Rejected");
+
+        if (isAccepted()) {
+            result.append(", Type: ").append(type.getDisplay())
+                  .append(", Duration: ").append(duration);
+        } else {
+            result.append(", Reason: ").append(rejectionReason.getMessage());
+        }
+
+        return result.toString();
+    }
+}
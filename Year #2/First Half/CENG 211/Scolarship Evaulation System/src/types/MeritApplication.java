@@ -9,6 +9,9 @@ import model.Applicant;
  */
 public class MeritApplication extends Application {
 
+    /** Scholarship category of every MeritApplication. */
+    public static final String CATEGORY = "Merit";
+
     /**
      * Constructs a MeritApplication with the given applicant.
      * 
@@ -33,6 +36,6 @@ public class MeritApplication extends Application {
 
     @Override
     public String getScholarshipCategory() {
-        return "Merit";
+        return CATEGORY;
     }
 }
\ No newline at end of file
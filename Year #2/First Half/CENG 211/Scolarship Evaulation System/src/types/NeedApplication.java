@@ -9,6 +9,9 @@ import model.Applicant;
  */
 public class NeedApplication extends Application {
 
+    /** Scholarship category of every NeedApplication. */
+    public static final String CATEGORY = "Need";
+
     /**
      * Constructs a NeedApplication with the given applicant.
      * 
@@ -43,6 +46,6 @@ public class NeedApplication extends Application {
 
     @Override
     public String getScholarshipCategory() {
-        return "Need";
+        return CATEGORY;
     }
 }
\ No newline at end of file
@@ -9,6 +9,9 @@ import model.Applicant;
  */
 public class ResearchApplication extends Application {
 
+    /** Scholarship category of every ResearchApplication. */
+    public static final String CATEGORY = "Research";
+
     /**
      * Constructs a ResearchApplication with the given applicant.
      * 
@@ -33,6 +36,6 @@ public class ResearchApplication extends Application {
 
     @Override
     public String getScholarshipCategory() {
-        return "Research";
+        return CATEGORY;
     }
 }
\ No newline at end of file
@@ -0,0 +1,432 @@
+package util;
+
+import evaluator.ApplicantColumns;
+import java.util.ArrayList;
+import model.Applicant;
+import model.Document;
+import model.Publication;
+import types.Application;
+import types.DocumentType;
+import types.MeritApplication;
+import types.NeedApplication;
+import types.ResearchApplication;
+
+/**
+ * The parsed rows of an applications file, grouped by applicant, in file order.
+ * Each applicant can be hashed from its rows alone and is only turned into Applicant and
+ * Application objects when built, so applicants whose rows did not change since the
+ * last run need not be built at all (see EvaluationStore). Applicants can also be loaded
+ * into ApplicantColumns, for the columnar BatchEvaluator, without building any object.
+ */
+public class ApplicantRows {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /** Scholarship categories by the index categoryIndexOf gives their ID prefix. */
+    private static final String[] CATEGORIES = {
+            MeritApplication.CATEGORY, NeedApplication.CATEGORY, ResearchApplication.CATEGORY};
+
+    private final ArrayList<ApplicationParser.ApplicantData> applicants;
+    private final IntKeyedMap<String> transcripts;
+    private final IntKeyedMap<ApplicationParser.FamilyInfoData> familyInfos;
+    private final IntKeyedMap<ArrayList<Document>> documents;
+    private final IntKeyedMap<ArrayList<Publication>> publications;
+
+    /**
+     * Constructs the rows of a file.
+     *
+     * @param applicants the applicant rows, in file order
+     * @param transcripts the first transcript status of each applicant ID
+     * @param familyInfos the first family info of each applicant ID
+     * @param documents the documents of each applicant ID, in file order
+     * @param publications the publications of each applicant ID, in file order
+     */
+    ApplicantRows(ArrayList<ApplicationParser.ApplicantData> applicants, IntKeyedMap<String> transcripts,
+                  IntKeyedMap<ApplicationParser.FamilyInfoData> familyInfos,
+                  IntKeyedMap<ArrayList<Document>> documents, IntKeyedMap<ArrayList<Publication>> publications) {
+        this.applicants = applicants;
+        this.transcripts = transcripts;
+        this.familyInfos = familyInfos;
+        this.documents = documents;
+        this.publications = publications;
+    }
+
+    /**
+     * Creates the rows of a file that has none.
+     *
+     * @return the empty rows
+     */
+    static ApplicantRows empty() {
+        return new ApplicantRows(new ArrayList<>(), new IntKeyedMap<>(), new IntKeyedMap<>(),
+                new IntKeyedMap<>(), new IntKeyedMap<>());
+    }
+
+    /**
+     * Returns the number of applicant rows, valid or not.
+     *
+     * @return the number of applicants
+     */
+    public int size() {
+        return applicants.size();
+    }
+
+    /**
+     * Returns the ID of an applicant row.
+     *
+     * @param index position of the applicant row in the file, from 0
+     * @return the applicant ID as written
+     */
+    public int getId(int index) {
+        return applicants.get(index).id;
+    }
+
+    /**
+     * Returns the name of an applicant row as an Applicant stores it, without surrounding whitespace.
+     *
+     * @param index position of the applicant row in the file, from 0
+     * @return the applicant name
+     */
+    public String getName(int index) {
+        return applicants.get(index).name.trim();
+    }
+
+    /**
+     * Computes the 64-bit FNV-1a hash of all rows of an applicant: the applicant row, its first
+     * transcript and family info rows, and all its document and publication rows in file order.
+     * No objects are built, so unchanged applicants can be recognized before building them.
+     *
+     * @param index position of the applicant row in the file, from 0
+     * @return the content hash
+     */
+    public long contentHash(int index) {
+        ApplicationParser.ApplicantData data = applicants.get(index);
+        long hash = FNV_OFFSET_BASIS;
+        hash = mix(hash, data.id);
+        hash = mix(hash, data.name);
+        hash = mix(hash, Double.doubleToLongBits(data.gpa));
+        hash = mix(hash, data.income);
+
+        String transcript = transcripts.get(data.id);
+        hash = mix(hash, transcript == null ? 0 : 1);
+        if (transcript != null) {
+            hash = mix(hash, transcript);
+        }
+
+        ApplicationParser.FamilyInfoData familyInfo = familyInfos.get(data.id);
+        hash = mix(hash, familyInfo == null ? 0 : 1);
+        if (familyInfo != null) {
+            hash = mix(hash, familyInfo.familyIncome);
+            hash = mix(hash, familyInfo.dependents);
+        }
+
+        ArrayList<Document> documentRows = documents.get(data.id);
+        hash = mix(hash, documentRows == null ? 0 : documentRows.size());
+        if (documentRows != null) {
+            for (Document document : documentRows) {
+                hash = mix(hash, document.getDocumentType());
+                hash = mix(hash, document.getDurationInMonths());
+            }
+        }
+
+        ArrayList<Publication> publicationRows = publications.get(data.id);
+        hash = mix(hash, publicationRows == null ? 0 : publicationRows.size());
+        if (publicationRows != null) {
+            for (Publication publication : publicationRows) {
+                hash = mix(hash, publication.getTitle());
+                hash = mix(hash, Double.doubleToLongBits(publication.getImpactFactor()));
+            }
+        }
+        return hash;
+    }
+
+    /**
+     * Builds the applications of all applicant rows, skipping invalid ones with a warning.
+     *
+     * @return the applications, in file order
+     */
+    public ArrayList<Application> buildAll() {
+        ArrayList<Application> applications = new ArrayList<>();
+        for (Application app : build(new boolean[applicants.size()])) {
+            if (app != null) {
+                applications.add(app);
+            }
+        }
+        return applications;
+    }
+
+    /**
+     * Builds the applications of the applicant rows that are not skipped.
+     * All applicants are built before any application is created, so warnings about invalid
+     * applicant data print before warnings about unknown application types, each in file order.
+     *
+     * @param skip by position of the applicant row, true if it is not to be built
+     * @return by position of the applicant row, its application, or null if it was skipped or is invalid
+     * @throws IllegalArgumentException if skip does not have one entry per applicant row
+     */
+    public Application[] build(boolean[] skip) {
+        if (skip == null || skip.length != applicants.size()) {
+            throw new IllegalArgumentException("Skip flags must be given for every applicant row");
+        }
+
+        // Build Applicant objects from parsed data
+        Applicant[] built = new Applicant[skip.length];
+        for (int i = 0; i < skip.length; i++) {
+            if (!skip[i]) {
+                built[i] = buildApplicant(applicants.get(i));
+            }
+        }
+
+        // Create Application objects using Factory Pattern
+        Application[] applications = new Application[skip.length];
+        for (int i = 0; i < skip.length; i++) {
+            if (built[i] != null) {
+                applications[i] = createApplication(built[i]);
+            }
+        }
+        return applications;
+    }
+
+    /**
+     * Builds the Applicant of an applicant row with its transcript, family info, documents and publications.
+     *
+     * @param appData the applicant row
+     * @return the applicant, or null with a warning if the data is invalid
+     */
+    private Applicant buildApplicant(ApplicationParser.ApplicantData appData) {
+        try {
+            Applicant applicant = new Applicant(appData.id, appData.name, appData.gpa, appData.income);
+
+            // Add transcript info
+            String transcriptStatus = transcripts.get(appData.id);
+            if (transcriptStatus != null) {
+                applicant.setTranscript(transcriptStatus);
+            }
+
+            // Add family info
+            ApplicationParser.FamilyInfoData f = familyInfos.get(appData.id);
+            if (f != null) {
+                applicant.setFamilyInfo(f.familyIncome, f.dependents);
+            }
+
+            // Add documents
+            ArrayList<Document> documentRows = documents.get(appData.id);
+            if (documentRows != null) {
+                for (Document doc : documentRows) {
+                    applicant.addDocument(doc);
+                }
+            }
+
+            // Add publications
+            ArrayList<Publication> publicationRows = publications.get(appData.id);
+            if (publicationRows != null) {
+                for (Publication pub : publicationRows) {
+                    applicant.addPublication(pub);
+                }
+            }
+            return applicant;
+
+        } catch (IllegalArgumentException e) {
+            System.err.println("Warning: Invalid applicant data for ID " + appData.id + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Loads the applicant rows that are not skipped into columns, one per scholarship category,
+     * without building Applicant or Application objects. Applicants are checked with the same
+     * checks and in the same order as build, so the same applicants are left out with the same
+     * warnings, and the columns hold the values their Applicant would have.
+     *
+     * @param skip by position of the applicant row, true if it is not to be loaded
+     * @return the columns of the Merit, Need and Research applicants, each in file order
+     * @throws IllegalArgumentException if skip does not have one entry per applicant row
+     */
+    public ApplicantColumns[] loadColumns(boolean[] skip) {
+        if (skip == null || skip.length != applicants.size()) {
+            throw new IllegalArgumentException("Skip flags must be given for every applicant row");
+        }
+
+        // Check all applicants first, as build does
+        boolean[] valid = new boolean[skip.length];
+        for (int i = 0; i < skip.length; i++) {
+            valid[i] = !skip[i] && checkApplicant(applicants.get(i));
+        }
+
+        ApplicantColumns[] columns = new ApplicantColumns[CATEGORIES.length];
+        for (int c = 0; c < CATEGORIES.length; c++) {
+            columns[c] = new ApplicantColumns(CATEGORIES[c]);
+        }
+        for (int i = 0; i < skip.length; i++) {
+            if (!valid[i]) {
+                continue;
+            }
+            ApplicationParser.ApplicantData appData = applicants.get(i);
+            int category = categoryIndexOf(appData.id);
+            if (category < 0) {
+                System.err.println("Warning: Unknown application type for ID: " + appData.id);
+                continue;
+            }
+            loadApplicant(columns[category], i, appData);
+        }
+        return columns;
+    }
+
+    /**
+     * Checks an applicant row with its transcript and family info as building its Applicant would.
+     *
+     * @param appData the applicant row
+     * @return true if the data is valid; false with the same warning as buildApplicant otherwise
+     */
+    private boolean checkApplicant(ApplicationParser.ApplicantData appData) {
+        try {
+            Applicant.checkBasicInfo(appData.id, appData.name, appData.gpa, appData.income);
+
+            String transcriptStatus = transcripts.get(appData.id);
+            if (transcriptStatus != null) {
+                Applicant.checkTranscript(transcriptStatus);
+            }
+
+            ApplicationParser.FamilyInfoData f = familyInfos.get(appData.id);
+            if (f != null) {
+                Applicant.checkFamilyInfo(f.familyIncome, f.dependents);
+            }
+            return true;
+
+        } catch (IllegalArgumentException e) {
+            System.err.println("Warning: Invalid applicant data for ID " + appData.id + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Adds a valid applicant row with its transcript, family info, documents and publications to columns.
+     *
+     * @param columns the columns of the applicant's category
+     * @param row position of the applicant row in the file
+     * @param appData the applicant row
+     */
+    private void loadApplicant(ApplicantColumns columns, int row, ApplicationParser.ApplicantData appData) {
+        int index = columns.add(row, appData.id, appData.name.trim(), appData.gpa, appData.income);
+
+        String transcriptStatus = transcripts.get(appData.id);
+        if (transcriptStatus != null) {
+            columns.setTranscript(index, transcriptStatus);
+        }
+
+        ApplicationParser.FamilyInfoData f = familyInfos.get(appData.id);
+        if (f != null) {
+            columns.setFamilyInfo(index, f.familyIncome, f.dependents);
+        }
+
+        ArrayList<Document> documentRows = documents.get(appData.id);
+        if (documentRows != null) {
+            int documentMask = 0;
+            for (Document doc : documentRows) {
+                DocumentType type = doc.getType();
+                if (type != null) {
+                    documentMask |= type.getMask();
+                }
+            }
+            columns.setDocuments(index, documentMask);
+        }
+
+        ArrayList<Publication> publicationRows = publications.get(appData.id);
+        if (publicationRows != null && !publicationRows.isEmpty()) {
+            double totalImpact = 0.0;
+            for (Publication pub : publicationRows) {
+                totalImpact += pub.getImpactFactor();
+            }
+            columns.setPublications(index, publicationRows.size(), totalImpact / publicationRows.size());
+        }
+    }
+
+    /**
+     * Creates appropriate Application subclass based on applicant ID prefix.
+     *
+     * @param applicant the Applicant object
+     * @return appropriate Application subclass, or null if ID format unknown
+     */
+    private static Application createApplication(Applicant applicant) {
+        switch (categoryIndexOf(applicant.getId())) {
+            case 0: return new MeritApplication(applicant);
+            case 1: return new NeedApplication(applicant);
+            case 2: return new ResearchApplication(applicant);
+            default:
+                System.err.println("Warning: Unknown application type for ID: " + applicant.getId());
+                return null;
+        }
+    }
+
+    /**
+     * Finds the scholarship category of an applicant ID from its prefix.
+     *
+     * ID Prefix mapping:
+     * - 11xxx -> MeritApplication
+     * - 22xxx -> NeedApplication
+     * - 33xxx -> ResearchApplication
+     *
+     * @param id the applicant ID
+     * @return index of the category in CATEGORIES, or -1 if ID format unknown
+     */
+    private static int categoryIndexOf(int id) {
+        String idStr = String.valueOf(id);
+
+        // Determine application type based on ID prefix (first 2 digits)
+        if (idStr.length() >= 2) {
+            String prefix = idStr.substring(0, 2);
+
+            if (prefix.equals("11")) {
+                return 0;
+            } else if (prefix.equals("22")) {
+                return 1;
+            } else if (prefix.equals("33")) {
+                return 2;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Adds the four bytes of an int to an FNV-1a hash.
+     *
+     * @param hash the hash so far
+     * @param value the value
+     * @return the new hash
+     */
+    private static long mix(long hash, int value) {
+        for (int shift = 0; shift < 32; shift += 8) {
+            hash = (hash ^ ((value >>> shift) & 0xff)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * Adds the eight bytes of a long to an FNV-1a hash.
+     *
+     * @param hash the hash so far
+     * @param value the value
+     * @return the new hash
+     */
+    private static long mix(long hash, long value) {
+        return mix(mix(hash, (int) value), (int) (value >>> 32));
+    }
+
+    /**
+     * Adds a string and its length to an FNV-1a hash, so adjacent strings cannot run together.
+     * The two bytes of each UTF-16 char are hashed, so no byte array is allocated.
+     *
+     * @param hash the hash so far
+     * @param value the string
+     * @return the new hash
+     */
+    private static long mix(long hash, String value) {
+        hash = mix(hash, value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            hash = (hash ^ (c & 0xff)) * FNV_PRIME;
+            hash = (hash ^ (c >>> 8)) * FNV_PRIME;
+        }
+        return hash;
+    }
+}
@@ -1,24 +1,31 @@
 package util;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
-import java.util.StringTokenizer;
-import model.Applicant;
+import java.util.stream.IntStream;
 import model.Document;
 import model.Publication;
 import types.Application;
-import types.MeritApplication;
-import types.NeedApplication;
-import types.ResearchApplication;
 
 /**
  * Parser class for reading CSV files and creating Application objects.
- * Uses StringTokenizer for robust CSV parsing with proper delimiter handling.
+ * Streams the file through ChunkedCsvReader, which splits lines and fields and parses
+ * numbers directly from the bytes it reads. Large files are split at line boundaries
+ * and the ranges are parsed in parallel, then merged in file order.
  */
 public class ApplicationParser {
     
+    /** Files at least this large are split into ranges parsed in parallel. */
+    private static final long MIN_PARALLEL_FILE_SIZE = 8L << 20;
+    
+    /** Smallest range given to a parallel worker. */
+    private static final long MIN_RANGE_SIZE = 4L << 20;
+    
     /**
      * Parses scholarship applications from CSV file and creates Application objects.
      * 
@@ -34,215 +41,322 @@ public class ApplicationParser {
      * @throws IllegalArgumentException if filename is null or empty
      */
     public static ArrayList<Application> parse(String filename) {
+        return parseRows(filename).buildAll();
+    }
+    
+    /**
+     * Parses the rows of a CSV file and groups them by applicant, without building
+     * Applicant or Application objects. Warnings about invalid rows are printed here;
+     * warnings about invalid applicants are printed when they are built.
+     * 
+     * @param filename path to the CSV file
+     * @return the rows of every applicant, empty if file cannot be read
+     * @throws IllegalArgumentException if filename is null or empty
+     */
+    public static ApplicantRows parseRows(String filename) {
         // Input validation
         if (filename == null || filename.trim().isEmpty()) {
             throw new IllegalArgumentException("Filename cannot be null or empty");
         }
         
-        // ArrayLists to store all data (using only ArrayList, no HashMap)
-        ArrayList<ApplicantData> applicantDataList = new ArrayList<>();
-        ArrayList<TranscriptData> transcriptList = new ArrayList<>();
-        ArrayList<FamilyInfoData> familyInfoList = new ArrayList<>();
-        ArrayList<Document> documentsList = new ArrayList<>();
-        ArrayList<Publication> publicationsList = new ArrayList<>();
+        // Rows of every range of the file, in file order
+        ParsedRows[] ranges;
+        try (FileInputStream input = new FileInputStream(filename)) {
+            ranges = parseRanges(input.getChannel());
+        } catch (IOException e) {
+            System.err.println("Error reading file: " + e.getMessage());
+            return ApplicantRows.empty(); // Return no rows on file error
+        }
         
-        int lineNumber = 0;
+        // Merge the ranges: applicants keep file order, the first transcript and family info
+        // row of an ID wins, and documents and publications are appended range by range
+        ParsedRows rows = ranges[0];
+        int firstLine = 0;
+        for (int r = 0; r < ranges.length; r++) {
+            ranges[r].printWarnings(firstLine);
+            firstLine += ranges[r].lineCount;
+            if (r > 0) {
+                rows.append(ranges[r]);
+            }
+        }
+        return new ApplicantRows(rows.applicants, rows.transcripts, rows.familyInfos, rows.documents,
+                rows.publications);
+    }
+    
+    /**
+     * Splits a file into ranges at line boundaries and parses every range.
+     * Small files, or a single core, use one range parsed on the calling thread.
+     * 
+     * @param channel the channel of the CSV file
+     * @return the rows of every range, in file order
+     * @throws IOException if the file cannot be read
+     */
+    private static ParsedRows[] parseRanges(FileChannel channel) throws IOException {
+        long size = channel.size();
+        int rangeCount = 1;
+        if (size >= MIN_PARALLEL_FILE_SIZE) {
+            rangeCount = (int) Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), size / MIN_RANGE_SIZE));
+        }
         
-        // Read CSV file with comprehensive error handling
-        try (BufferedReader inputStream = new BufferedReader(new FileReader(filename))) {
-            String line;
-            
-            while ((line = inputStream.readLine()) != null) {
-                lineNumber++;
-                line = line.trim();
-                
-                // Skip empty lines
-                if (line.isEmpty()) {
-                    continue;
-                }
-                
-                try {
-                    // Parse line using StringTokenizer
-                    StringTokenizer tokenizer = new StringTokenizer(line, ",");
-                    if (!tokenizer.hasMoreTokens()) {
-                        continue; // Skip lines with no tokens
-                    }
-                    
-                    String prefix = tokenizer.nextToken().trim();
-                    
-                    // Process based on row type
-                    switch (prefix) {
-                        case "A": // Applicant Info: A,ID,Name,GPA,Income
-                            if (tokenizer.countTokens() >= 4) {
-                                int id = Integer.parseInt(tokenizer.nextToken().trim());
-                                String name = tokenizer.nextToken().trim();
-                                double gpa = Double.parseDouble(tokenizer.nextToken().trim());
-                                int income = Integer.parseInt(tokenizer.nextToken().trim());
-                                
-                                applicantDataList.add(new ApplicantData(id, name, gpa, income));
-                            } else {
-                                System.err.println("Warning: Line " + lineNumber + " - Incomplete applicant data, skipping");
-                            }
-                            break;
-                            
-                        case "T": // Transcript: T,ID,Status
-                            if (tokenizer.countTokens() >= 2) {
-                                int id = Integer.parseInt(tokenizer.nextToken().trim());
-                                String status = tokenizer.nextToken().trim();
-                                transcriptList.add(new TranscriptData(id, status));
-                            } else {
-                                System.err.println("Warning: Line " + lineNumber + " - Incomplete transcript data, skipping");
-                            }
-                            break;
-                            
-                        case "I": // Family Info: I,ID,FamilyIncome,Dependents
-                            if (tokenizer.countTokens() >= 3) {
-                                int id = Integer.parseInt(tokenizer.nextToken().trim());
-                                int familyIncome = Integer.parseInt(tokenizer.nextToken().trim());
-                                int dependents = Integer.parseInt(tokenizer.nextToken().trim());
-                                
-                                familyInfoList.add(new FamilyInfoData(id, familyIncome, dependents));
-                            } else {
-                                System.err.println("Warning: Line " + lineNumber + " - Incomplete family info data, skipping");
-                            }
-                            break;
-                            
-                        case "D": // Document: D,ID,DocType,Duration
-                            if (tokenizer.countTokens() >= 3) {
-                                String applicantId = tokenizer.nextToken().trim();
-                                String docType = tokenizer.nextToken().trim();
-                                int duration = Integer.parseInt(tokenizer.nextToken().trim());
-                                
-                                documentsList.add(new Document(applicantId, docType, duration));
-                            } else {
-                                System.err.println("Warning: Line " + lineNumber + " - Incomplete document data, skipping");
-                            }
-                            break;
-                            
-                        case "P": // Publication: P,ID,Title,ImpactFactor
-                            if (tokenizer.countTokens() >= 3) {
-                                String applicantId = tokenizer.nextToken().trim();
-                                String title = tokenizer.nextToken().trim();
-                                double impact = Double.parseDouble(tokenizer.nextToken().trim());
-                                
-                                publicationsList.add(new Publication(applicantId, title, impact));
-                            } else {
-                                System.err.println("Warning: Line " + lineNumber + " - Incomplete publication data, skipping");
-                            }
-                            break;
-                            
-                        default:
-                            System.err.println("Warning: Line " + lineNumber + " - Unknown prefix: " + prefix);
-                            break;
-                    }
-                    
-                } catch (NumberFormatException e) {
-                    System.err.println("Warning: Line " + lineNumber + " - Number format error: " + e.getMessage());
-                } catch (Exception e) {
-                    System.err.println("Warning: Line " + lineNumber + " - Error parsing: " + e.getMessage());
+        // A range starts right after a "\n", so it never splits a line or a "\r\n" pair
+        long[] bounds = new long[rangeCount + 1];
+        bounds[rangeCount] = size;
+        for (int r = 1; r < rangeCount; r++) {
+            bounds[r] = Math.max(bounds[r - 1], nextLineStart(channel, size * r / rangeCount, size));
+        }
+        
+        if (rangeCount == 1) {
+            return new ParsedRows[] { parseRange(channel, 0, size) };
+        }
+        try {
+            return IntStream.range(0, rangeCount).parallel()
+                    .mapToObj(r -> {
+                        try {
+                            return parseRange(channel, bounds[r], bounds[r + 1]);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    })
+                    .toArray(ParsedRows[]::new);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+    
+    /**
+     * Finds the start of the first line that begins at or after a position.
+     * 
+     * @param channel the channel of the CSV file
+     * @param position the position to search from
+     * @param size size of the file
+     * @return position right after the next "\n", or size if there is none
+     * @throws IOException if the file cannot be read
+     */
+    private static long nextLineStart(FileChannel channel, long position, long size) throws IOException {
+        if (position == 0) {
+            return 0;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(8192);
+        long start = position - 1; // The byte before position may already end a line
+        while (start < size) {
+            buffer.clear();
+            int read = channel.read(buffer, start);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return start + i + 1;
                 }
             }
-            
-        } catch (IOException e) {
-            System.err.println("Error reading file: " + e.getMessage());
-            return new ArrayList<>(); // Return empty list on file error
+            start += read;
         }
+        return size;
+    }
+    
+    /**
+     * Parses one range of the file. Warnings are kept with range-relative line numbers
+     * until the ranges are merged, so they print in file order with file line numbers.
+     * 
+     * @param channel the channel of the CSV file
+     * @param start position of the first byte of the range, at the start of a line
+     * @param end position after the last byte of the range
+     * @return the rows of the range
+     * @throws IOException if the file cannot be read
+     */
+    private static ParsedRows parseRange(FileChannel channel, long start, long end) throws IOException {
+        ParsedRows rows = new ParsedRows();
+        // The platform charset, as FileReader used
+        ChunkedCsvReader reader = new ChunkedCsvReader(channel, start, end, ChunkedCsvReader.DEFAULT_CHUNK_SIZE,
+                Charset.defaultCharset());
         
-        // Build Applicant objects from parsed data
-        ArrayList<Applicant> applicants = new ArrayList<>();
-        
-        for (ApplicantData appData : applicantDataList) {
+        while (reader.nextLine()) {
+            int lineNumber = reader.getLineNumber();
+            
+            // Skip empty lines and lines with no tokens
+            if (!reader.hasMoreTokens()) {
+                continue;
+            }
+            
             try {
-                Applicant applicant = new Applicant(appData.id, appData.name, appData.gpa, appData.income);
+                char prefix = reader.nextChar();
                 
-                // Add transcript info
-                for (TranscriptData t : transcriptList) {
-                    if (t.applicantId == appData.id) {
-                        applicant.setTranscript(t.status);
+                // Process based on row type
+                switch (prefix) {
+                    case 'A': // Applicant Info: A,ID,Name,GPA,Income
+                        if (reader.countTokens() >= 4) {
+                            int id = reader.nextInt();
+                            String name = reader.nextString();
+                            double gpa = reader.nextDouble();
+                            int income = reader.nextInt();
+                            
+                            rows.applicants.add(new ApplicantData(id, name, gpa, income));
+                        } else {
+                            rows.warn(lineNumber, "Incomplete applicant data, skipping");
+                        }
                         break;
-                    }
-                }
-                
-                // Add family info
-                for (FamilyInfoData f : familyInfoList) {
-                    if (f.applicantId == appData.id) {
-                        applicant.setFamilyInfo(f.familyIncome, f.dependents);
+                        
+                    case 'T': // Transcript: T,ID,Status
+                        if (reader.countTokens() >= 2) {
+                            int id = reader.nextInt();
+                            String status = reader.nextString();
+                            rows.transcripts.putIfAbsent(id, status); // First transcript row wins
+                        } else {
+                            rows.warn(lineNumber, "Incomplete transcript data, skipping");
+                        }
+                        break;
+                        
+                    case 'I': // Family Info: I,ID,FamilyIncome,Dependents
+                        if (reader.countTokens() >= 3) {
+                            int id = reader.nextInt();
+                            int familyIncome = reader.nextInt();
+                            int dependents = reader.nextInt();
+                            
+                            rows.familyInfos.putIfAbsent(id, new FamilyInfoData(familyIncome, dependents)); // First row wins
+                        } else {
+                            rows.warn(lineNumber, "Incomplete family info data, skipping");
+                        }
+                        break;
+                        
+                    case 'D': // Document: D,ID,DocType,Duration
+                        if (reader.countTokens() >= 3) {
+                            String applicantId = reader.nextString();
+                            String docType = reader.nextString();
+                            int duration = reader.nextInt();
+                            
+                            addToGroup(rows.documents, applicantId, new Document(applicantId, docType, duration));
+                        } else {
+                            rows.warn(lineNumber, "Incomplete document data, skipping");
+                        }
+                        break;
+                        
+                    case 'P': // Publication: P,ID,Title,ImpactFactor
+                        if (reader.countTokens() >= 3) {
+                            String applicantId = reader.nextString();
+                            String title = reader.nextString();
+                            double impact = reader.nextDouble();
+                            
+                            addToGroup(rows.publications, applicantId, new Publication(applicantId, title, impact));
+                        } else {
+                            rows.warn(lineNumber, "Incomplete publication data, skipping");
+                        }
+                        break;
+                        
+                    default:
+                        rows.warn(lineNumber, "Unknown prefix: " + reader.previousToken());
                         break;
-                    }
-                }
-                
-                // Add documents
-                for (Document doc : documentsList) {
-                    if (doc.getApplicantID().equals(String.valueOf(appData.id))) {
-                        applicant.addDocument(doc);
-                    }
-                }
-                
-                // Add publications
-                for (Publication pub : publicationsList) {
-                    if (pub.getApplicantID().equals(String.valueOf(appData.id))) {
-                        applicant.addPublication(pub);
-                    }
                 }
                 
-                applicants.add(applicant);
-                
-            } catch (IllegalArgumentException e) {
-                System.err.println("Warning: Invalid applicant data for ID " + appData.id + ": " + e.getMessage());
+            } catch (NumberFormatException e) {
+                rows.warn(lineNumber, "Number format error: " + e.getMessage());
+            } catch (Exception e) {
+                rows.warn(lineNumber, "Error parsing: " + e.getMessage());
             }
         }
         
-        // Create Application objects using Factory Pattern
-        ArrayList<Application> applications = new ArrayList<>();
-        
-        for (Applicant applicant : applicants) {
-            Application app = createApplication(applicant);
-            if (app != null) {
-                applications.add(app);
-            }
+        rows.lineCount = reader.getLineNumber();
+        return rows;
+    }
+    
+    /**
+     * Adds a row to the group of its applicant.
+     * Document and publication rows keep their applicant ID as text and only joined an
+     * applicant whose ID prints exactly as that text, so other IDs (e.g. "011") join no group.
+     * 
+     * @param groups rows grouped by applicant ID
+     * @param applicantId the applicant ID as written in the row
+     * @param row the row to add
+     * @param <T> type of the rows
+     */
+    private static <T> void addToGroup(IntKeyedMap<ArrayList<T>> groups, String applicantId, T row) {
+        int id;
+        try {
+            id = Integer.parseInt(applicantId);
+        } catch (NumberFormatException e) {
+            return; // Not a number, so it matches no applicant
+        }
+        if (!Integer.toString(id).equals(applicantId)) {
+            return;
         }
         
-        return applications;
+        ArrayList<T> group = groups.get(id);
+        if (group == null) {
+            group = new ArrayList<>();
+            groups.putIfAbsent(id, group);
+        }
+        group.add(row);
     }
     
+    // Inner helper classes for temporary data storage
+    
     /**
-     * Creates appropriate Application subclass based on applicant ID prefix.
-     * 
-     * ID Prefix mapping:
-     * - 11xxx -> MeritApplication
-     * - 22xxx -> NeedApplication
-     * - 33xxx -> ResearchApplication
-     * 
-     * @param applicant the Applicant object
-     * @return appropriate Application subclass, or null if ID format unknown
+     * Helper class to store the rows of one range of the file, grouped by applicant ID.
      */
-    private static Application createApplication(Applicant applicant) {
-        int id = applicant.getId();
-        String idStr = String.valueOf(id);
+    private static class ParsedRows {
+        final ArrayList<ApplicantData> applicants = new ArrayList<>();
+        final IntKeyedMap<String> transcripts = new IntKeyedMap<>();
+        final IntKeyedMap<FamilyInfoData> familyInfos = new IntKeyedMap<>();
+        final IntKeyedMap<ArrayList<Document>> documents = new IntKeyedMap<>();
+        final IntKeyedMap<ArrayList<Publication>> publications = new IntKeyedMap<>();
+        final ArrayList<Integer> warningLines = new ArrayList<>();
+        final ArrayList<String> warnings = new ArrayList<>();
+        int lineCount;
         
-        // Determine application type based on ID prefix (first 2 digits)
-        if (idStr.length() >= 2) {
-            String prefix = idStr.substring(0, 2);
-            
-            if (prefix.equals("11")) {
-                return new MeritApplication(applicant);
-            } else if (prefix.equals("22")) {
-                return new NeedApplication(applicant);
-            } else if (prefix.equals("33")) {
-                return new ResearchApplication(applicant);
+        /**
+         * Records a warning about a line of this range.
+         * 
+         * @param lineNumber range-relative line number
+         * @param message the warning
+         */
+        void warn(int lineNumber, String message) {
+            warningLines.add(lineNumber);
+            warnings.add(message);
+        }
+        
+        /**
+         * Prints the warnings of this range with file line numbers.
+         * 
+         * @param firstLine number of lines in the file before this range
+         */
+        void printWarnings(int firstLine) {
+            for (int i = 0; i < warnings.size(); i++) {
+                System.err.println("Warning: Line " + (firstLine + warningLines.get(i)) + " - " + warnings.get(i));
             }
         }
         
-        System.err.println("Warning: Unknown application type for ID: " + id);
-        return null;
+        /**
+         * Appends the rows of the range that follows this one.
+         * 
+         * @param next the rows of the next range
+         */
+        void append(ParsedRows next) {
+            applicants.addAll(next.applicants);
+            next.transcripts.forEach((status, id) -> transcripts.putIfAbsent(id, status));
+            next.familyInfos.forEach((info, id) -> familyInfos.putIfAbsent(id, info));
+            next.documents.forEach((group, id) -> appendGroup(documents, id, group));
+            next.publications.forEach((group, id) -> appendGroup(publications, id, group));
+        }
+        
+        /**
+         * Appends a group of rows to the group with the same applicant ID.
+         * 
+         * @param groups rows grouped by applicant ID
+         * @param id the applicant ID
+         * @param group the rows to append
+         * @param <T> type of the rows
+         */
+        private static <T> void appendGroup(IntKeyedMap<ArrayList<T>> groups, int id, ArrayList<T> group) {
+            ArrayList<T> existing = groups.putIfAbsent(id, group);
+            if (existing != null) {
+                existing.addAll(group);
+            }
+        }
     }
     
-    // Inner helper classes for temporary data storage
-    
     /**
      * Helper class to store applicant basic data during parsing.
      */
-    private static class ApplicantData {
+    static class ApplicantData {
         final int id;
         final String name;
         final double gpa;
@@ -256,29 +370,14 @@ public class ApplicationParser {
         }
     }
     
-    /**
-     * Helper class to store transcript data during parsing.
-     */
-    private static class TranscriptData {
-        final int applicantId;
-        final String status;
-        
-        TranscriptData(int applicantId, String status) {
-            this.applicantId = applicantId;
-            this.status = status;
-        }
-    }
-    
     /**
      * Helper class to store family information during parsing.
      */
-    private static class FamilyInfoData {
-        final int applicantId;
+    static class FamilyInfoData {
         final int familyIncome;
         final int dependents;
         
-        FamilyInfoData(int applicantId, int familyIncome, int dependents) {
-            this.applicantId = applicantId;
+        FamilyInfoData(int familyIncome, int dependents) {
             this.familyIncome = familyIncome;
             this.dependents = dependents;
         }
@@ -0,0 +1,403 @@
+package util;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * Streaming reader for a byte range of a comma-separated file.
+ * Reads the range through positional FileChannel reads in large chunks, so several readers
+ * can share one channel, and splits lines and fields inside the chunk without creating a
+ * String per line or per field.
+ *
+ * Lines and fields follow the rules ApplicationParser used with BufferedReader and StringTokenizer:
+ * - Lines end at "\n", "\r" or "\r\n" and are trimmed
+ * - Fields are the non-empty runs between commas (empty fields are skipped) and are trimmed
+ * - Numbers are parsed straight from the bytes; anything the fast path does not cover falls back
+ *   to Integer.parseInt / Double.parseDouble, so results and error messages are the same
+ *
+ * Text fields are decoded with the given charset, which must encode ASCII characters as single
+ * ASCII bytes (UTF-8, ISO-8859-x, windows-125x, ...). This class is not thread-safe; use one reader per thread.
+ */
+public class ChunkedCsvReader {
+
+    /** Default number of bytes read from the file at a time. */
+    public static final int DEFAULT_CHUNK_SIZE = 1 << 20;
+
+    /** Largest number of decimal digits whose value is exact in a double. */
+    private static final int MAX_EXACT_DIGITS = 15;
+
+    /** Powers of ten that are exact in a double. */
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private final FileChannel channel;
+    private final Charset charset;
+    private final long end;
+    private long position;
+    private boolean endOfInput;
+
+    private byte[] buffer;
+    private int unreadStart;
+    private int bufferLimit;
+
+    private int lineNumber;
+    private int[] tokenStarts = new int[8];
+    private int[] tokenEnds = new int[8];
+    private int tokenCount;
+    private int nextToken;
+
+    /**
+     * Constructs a reader for the bytes from start (inclusive) to end (exclusive) of a file.
+     * The range must begin at the start of a line. The channel is not closed by this reader.
+     *
+     * @param channel the file channel to read from
+     * @param start position of the first byte
+     * @param end position after the last byte
+     * @param chunkSize number of bytes read at a time
+     * @param charset the charset of the file
+     * @throws IllegalArgumentException if channel or charset is null, the range is invalid or chunkSize is not positive
+     */
+    public ChunkedCsvReader(FileChannel channel, long start, long end, int chunkSize, Charset charset) {
+        if (channel == null) {
+            throw new IllegalArgumentException("Channel cannot be null");
+        }
+        if (charset == null) {
+            throw new IllegalArgumentException("Charset cannot be null");
+        }
+        if (start < 0 || end < start) {
+            throw new IllegalArgumentException("Invalid byte range: " + start + " to " + end);
+        }
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+
+        this.channel = channel;
+        this.charset = charset;
+        this.position = start;
+        this.end = end;
+        this.endOfInput = (start == end);
+        this.buffer = new byte[(int) Math.min(chunkSize, Math.max(end - start, 1))];
+    }
+
+    /**
+     * Advances to the next line.
+     *
+     * @return true if a line was read, false at the end of the range
+     * @throws IOException if the file cannot be read
+     */
+    public boolean nextLine() throws IOException {
+        int scanned = 0; // Unread bytes already known to contain no line terminator
+        while (true) {
+            int terminator = -1;
+            for (int i = unreadStart + scanned; i < bufferLimit; i++) {
+                if (buffer[i] == '\n' || buffer[i] == '\r') {
+                    terminator = i;
+                    break;
+                }
+            }
+
+            if (terminator >= 0) {
+                boolean carriageReturn = (buffer[terminator] == '\r');
+                if (carriageReturn && terminator + 1 == bufferLimit && !endOfInput) {
+                    // A "\n" may follow in the next chunk
+                    scanned = terminator - unreadStart;
+                    fill();
+                    continue;
+                }
+                int next = terminator + 1;
+                if (carriageReturn && next < bufferLimit && buffer[next] == '\n') {
+                    next++;
+                }
+                tokenizeLine(unreadStart, terminator);
+                unreadStart = next;
+                return true;
+            }
+
+            if (endOfInput) {
+                if (unreadStart == bufferLimit) {
+                    return false;
+                }
+                tokenizeLine(unreadStart, bufferLimit);
+                unreadStart = bufferLimit;
+                return true;
+            }
+
+            scanned = bufferLimit - unreadStart;
+            fill();
+        }
+    }
+
+    /**
+     * Moves the unread bytes to the front of the buffer and reads the next chunk after them.
+     * The buffer grows when a single line does not fit in it.
+     *
+     * @throws IOException if the file cannot be read
+     */
+    private void fill() throws IOException {
+        int unread = bufferLimit - unreadStart;
+        if (unreadStart == 0 && bufferLimit == buffer.length) {
+            byte[] larger = new byte[buffer.length * 2];
+            System.arraycopy(buffer, 0, larger, 0, unread);
+            buffer = larger;
+        } else {
+            System.arraycopy(buffer, unreadStart, buffer, 0, unread);
+        }
+        unreadStart = 0;
+        bufferLimit = unread;
+
+        int length = (int) Math.min(buffer.length - bufferLimit, end - position);
+        ByteBuffer target = ByteBuffer.wrap(buffer, bufferLimit, length);
+        while (target.hasRemaining()) {
+            int read = channel.read(target, position);
+            if (read < 0) {
+                endOfInput = true; // The file is shorter than expected
+                break;
+            }
+            position += read;
+        }
+        bufferLimit = target.position();
+        if (position >= end) {
+            endOfInput = true;
+        }
+    }
+
+    /**
+     * Trims a line and records the trimmed bounds of its fields.
+     *
+     * @param start index of the first byte of the line
+     * @param limit index after the last byte of the line
+     */
+    private void tokenizeLine(int start, int limit) {
+        lineNumber++;
+        tokenCount = 0;
+        nextToken = 0;
+
+        while (start < limit && isWhitespace(buffer[start])) {
+            start++;
+        }
+        while (limit > start && isWhitespace(buffer[limit - 1])) {
+            limit--;
+        }
+
+        int i = start;
+        while (i < limit) {
+            if (buffer[i] == ',') {
+                i++;
+                continue;
+            }
+            int tokenStart = i;
+            while (i < limit && buffer[i] != ',') {
+                i++;
+            }
+            int tokenEnd = i;
+            while (tokenStart < tokenEnd && isWhitespace(buffer[tokenStart])) {
+                tokenStart++;
+            }
+            while (tokenEnd > tokenStart && isWhitespace(buffer[tokenEnd - 1])) {
+                tokenEnd--;
+            }
+            addToken(tokenStart, tokenEnd);
+        }
+    }
+
+    /**
+     * Records the bounds of a field, growing the bound arrays if needed.
+     *
+     * @param start index of the first byte of the field
+     * @param limit index after the last byte of the field
+     */
+    private void addToken(int start, int limit) {
+        if (tokenCount == tokenStarts.length) {
+            tokenStarts = Arrays.copyOf(tokenStarts, tokenCount * 2);
+            tokenEnds = Arrays.copyOf(tokenEnds, tokenCount * 2);
+        }
+        tokenStarts[tokenCount] = start;
+        tokenEnds[tokenCount] = limit;
+        tokenCount++;
+    }
+
+    /**
+     * Checks if a byte is removed by String.trim().
+     * In the supported charsets, bytes above 0x7F are never part of a whitespace character.
+     *
+     * @param b the byte
+     * @return true if the byte is a control character or space
+     */
+    private static boolean isWhitespace(byte b) {
+        return (b & 0xFF) <= ' ';
+    }
+
+    /**
+     * Returns the number of the current line, counting from 1 at the start of the range.
+     *
+     * @return the line number
+     */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Returns the number of fields left on the current line.
+     *
+     * @return number of unread fields
+     */
+    public int countTokens() {
+        return tokenCount - nextToken;
+    }
+
+    /**
+     * Checks if the current line has unread fields.
+     *
+     * @return true if a field is left
+     */
+    public boolean hasMoreTokens() {
+        return nextToken < tokenCount;
+    }
+
+    /**
+     * Reads the next field as a single ASCII character without creating a String.
+     *
+     * @return the character, or 0 if the field is not exactly one ASCII character
+     * @throws NoSuchElementException if no field is left
+     */
+    public char nextChar() {
+        int token = advance();
+        int start = tokenStarts[token];
+        if (tokenEnds[token] - start == 1 && buffer[start] >= 0) {
+            return (char) buffer[start];
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the field read last as a String, e.g. for a warning.
+     *
+     * @return the previous field
+     * @throws NoSuchElementException if no field was read on this line
+     */
+    public String previousToken() {
+        if (nextToken == 0) {
+            throw new NoSuchElementException();
+        }
+        return decode(nextToken - 1);
+    }
+
+    /**
+     * Reads the next field as text.
+     *
+     * @return the field
+     * @throws NoSuchElementException if no field is left
+     */
+    public String nextString() {
+        return decode(advance());
+    }
+
+    /**
+     * Reads the next field as an int.
+     *
+     * @return the value
+     * @throws NumberFormatException if the field is not an int, with Integer.parseInt's message
+     * @throws NoSuchElementException if no field is left
+     */
+    public int nextInt() {
+        int token = advance();
+        int i = tokenStarts[token];
+        int limit = tokenEnds[token];
+
+        boolean negative = false;
+        if (i < limit && (buffer[i] == '-' || buffer[i] == '+')) {
+            negative = (buffer[i] == '-');
+            i++;
+        }
+        int digits = limit - i;
+        if (digits == 0 || digits > 9) { // Nine digits cannot overflow
+            return Integer.parseInt(decode(token));
+        }
+
+        int value = 0;
+        for (; i < limit; i++) {
+            int digit = buffer[i] - '0';
+            if (digit < 0 || digit > 9) {
+                return Integer.parseInt(decode(token));
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Reads the next field as a double.
+     * Plain decimals with at most 15 significant digits are converted exactly from the bytes
+     * (an exact integer divided by an exact power of ten is correctly rounded).
+     *
+     * @return the value
+     * @throws NumberFormatException if the field is not a number, with Double.parseDouble's message
+     * @throws NoSuchElementException if no field is left
+     */
+    public double nextDouble() {
+        int token = advance();
+        int i = tokenStarts[token];
+        int limit = tokenEnds[token];
+
+        boolean negative = false;
+        if (i < limit && (buffer[i] == '-' || buffer[i] == '+')) {
+            negative = (buffer[i] == '-');
+            i++;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = -1; // -1 until the decimal point is seen
+        for (; i < limit; i++) {
+            byte b = buffer[i];
+            if (b == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+                continue;
+            }
+            int digit = b - '0';
+            if (digit < 0 || digit > 9 || digits == MAX_EXACT_DIGITS) {
+                return Double.parseDouble(decode(token));
+            }
+            mantissa = mantissa * 10 + digit;
+            digits++;
+            if (fractionDigits >= 0) {
+                fractionDigits++;
+            }
+        }
+        if (digits == 0) {
+            return Double.parseDouble(decode(token));
+        }
+
+        double value = mantissa / POWERS_OF_TEN[Math.max(fractionDigits, 0)];
+        return negative ? -value : value;
+    }
+
+    /**
+     * Moves past the next field.
+     *
+     * @return index of the field
+     * @throws NoSuchElementException if no field is left
+     */
+    private int advance() {
+        if (nextToken >= tokenCount) {
+            throw new NoSuchElementException();
+        }
+        return nextToken++;
+    }
+
+    /**
+     * Decodes a field of the current line.
+     *
+     * @param token index of the field
+     * @return the field as a String
+     */
+    private String decode(int token) {
+        return new String(buffer, tokenStarts[token], tokenEnds[token] - tokenStarts[token], charset);
+    }
+}
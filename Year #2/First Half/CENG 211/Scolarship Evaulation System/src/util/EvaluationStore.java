@@ -0,0 +1,396 @@
+package util;
+
+import evaluator.BatchEvaluator;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import types.Application;
+import types.EvaluationResult;
+import types.RejectionReason;
+import types.ScholarshipResultType;
+
+/**
+ * Evaluation results of the previous run, kept in a local file so that only applicants
+ * whose data changed are built and evaluated again.
+ *
+ * Each result is stored with the applicant ID and a 64-bit FNV-1a hash of all the applicant's
+ * rows in the applications file (see ApplicantRows.contentHash). The hashes are computed from
+ * the parsed rows, so an applicant whose hash matches a stored one is neither built into
+ * Applicant and Application objects nor evaluated: its result is rebuilt from the store and
+ * the applicant's name in the rows. The whole file also records a fingerprint of the evaluation
+ * policy, and is ignored if the policy changed.
+ *
+ * Stored results are held in arrays sorted by applicant ID rather than one object per result,
+ * and categories and durations, of which there are only a few, are shared strings, so loading
+ * the previous run allocates little beyond what the evaluation itself would.
+ *
+ * File format (big-endian): magic "SEST", format version, policy fingerprint, the count and
+ * strings of a table of the categories and durations, entry count, then per entry, in
+ * increasing applicant ID, the applicant ID, content hash, category index in the table,
+ * rejection reason and type ordinals, and duration index in the table (-1 if rejected).
+ *
+ * Lookups during evaluate are read-only, so evaluate can evaluate in parallel.
+ */
+public class EvaluationStore {
+
+    private static final int MAGIC = 0x53455354;   // "SEST"
+    private static final int FORMAT_VERSION = 2;
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static final RejectionReason[] REASONS = RejectionReason.values();
+    private static final ScholarshipResultType[] TYPES = ScholarshipResultType.values();
+
+    private final long policyFingerprint;
+
+    /** Results of the previous run, sorted by applicant ID; applicants sharing an ID are adjacent. */
+    private final int[] previousIds;
+    private final long[] previousHashes;
+    private final String[] previousCategories;
+    private final RejectionReason[] previousReasons;
+    private final ScholarshipResultType[] previousTypes;
+    private final String[] previousDurations;
+
+    /** Hashes and results of the last evaluate call, written by save. */
+    private long[] hashes = new long[0];
+    private EvaluationResult[] results = new EvaluationResult[0];
+    private int reused;
+
+    /**
+     * Constructs a store.
+     *
+     * @param policyFingerprint fingerprint of the evaluation policy
+     * @param count number of results of the previous run
+     */
+    private EvaluationStore(long policyFingerprint, int count) {
+        this.policyFingerprint = policyFingerprint;
+        previousIds = new int[count];
+        previousHashes = new long[count];
+        previousCategories = new String[count];
+        previousReasons = new RejectionReason[count];
+        previousTypes = new ScholarshipResultType[count];
+        previousDurations = new String[count];
+    }
+
+    /**
+     * Creates a store without previous results.
+     *
+     * @param policyFingerprint fingerprint of the evaluation policy
+     * @return the empty store
+     */
+    public static EvaluationStore empty(long policyFingerprint) {
+        return new EvaluationStore(policyFingerprint, 0);
+    }
+
+    /**
+     * Loads the results of the previous run.
+     * A missing file, or a file written for another policy, gives an empty store.
+     * An unreadable or corrupt file gives an empty store with a warning.
+     *
+     * @param filename path of the state file
+     * @param policyFingerprint fingerprint of the evaluation policy of this run
+     * @return the store
+     */
+    public static EvaluationStore load(String filename, long policyFingerprint) {
+        File file = new File(filename);
+        if (!file.exists()) {
+            return empty(policyFingerprint);
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION) {
+                throw new IOException("not an evaluation state file of this version");
+            }
+            if (in.readLong() != policyFingerprint) {
+                return empty(policyFingerprint);   // Policy changed, everything is evaluated again
+            }
+
+            String[] table = new String[readCount(in, "string count", file.length())];
+            for (int i = 0; i < table.length; i++) {
+                table[i] = in.readUTF();
+            }
+
+            int count = readCount(in, "entry count", file.length());
+            EvaluationStore store = new EvaluationStore(policyFingerprint, count);
+            for (int i = 0; i < count; i++) {
+                int id = in.readInt();
+                long hash = in.readLong();
+                int category = in.readInt();
+                int reason = in.readUnsignedByte();
+                int type = in.readUnsignedByte();
+                int duration = in.readInt();
+                if ((i > 0 && id < store.previousIds[i - 1]) || category < 0 || category >= table.length
+                        || reason >= REASONS.length || type >= TYPES.length || duration < -1 || duration >= table.length) {
+                    throw new IOException("invalid result of applicant " + id);
+                }
+                store.previousIds[i] = id;
+                store.previousHashes[i] = hash;
+                store.previousCategories[i] = table[category];
+                store.previousReasons[i] = REASONS[reason];
+                store.previousTypes[i] = TYPES[type];
+                store.previousDurations[i] = duration < 0 ? null : table[duration];
+            }
+            return store;
+        } catch (EOFException e) {
+            System.err.println("Warning: Ignoring evaluation state file '" + filename + "': file is truncated");
+        } catch (IOException e) {
+            System.err.println("Warning: Ignoring evaluation state file '" + filename + "': " + e.getMessage());
+        }
+        return empty(policyFingerprint);
+    }
+
+    /**
+     * Loads the results of the previous run for the evaluation policy of this program with a rules file.
+     *
+     * @param filename path of the state file
+     * @param rulesFilename path of the rules file, part of the policy if it exists
+     * @return the store, or null (evaluate everything, store nothing) with a warning if the policy
+     *         cannot be fingerprinted
+     * @see PolicyFingerprint
+     */
+    public static EvaluationStore loadForPolicy(String filename, String rulesFilename) {
+        try {
+            return load(filename, PolicyFingerprint.compute(rulesFilename));
+        } catch (IOException e) {
+            System.err.println("Warning: Evaluation state disabled, policy cannot be fingerprinted: " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Evaluates the applicants of a file, reusing the previous result of each applicant whose rows
+     * did not change. Only new or changed applicants are built, in file order so that warnings about
+     * invalid applicants print in file order, and then evaluated in parallel.
+     * The results of this call replace the stored results on the next save.
+     *
+     * @param rows the parsed rows of the applications file
+     * @param evaluation evaluates one application; called only for new or changed applicants
+     * @return the results of the valid applicants, in file order
+     * @throws IllegalArgumentException if rows or evaluation is null
+     */
+    public List<EvaluationResult> evaluate(ApplicantRows rows,
+                                           Function<? super Application, EvaluationResult> evaluation) {
+        if (rows == null || evaluation == null) {
+            throw new IllegalArgumentException("Rows and evaluation cannot be null.");
+        }
+        return evaluateReusing(rows, unchanged -> {
+            Application[] built = rows.build(unchanged);
+            EvaluationResult[] evaluated = new EvaluationResult[built.length];
+            IntStream.range(0, built.length).parallel().forEach(i -> {
+                if (built[i] != null) {
+                    evaluated[i] = evaluation.apply(built[i]);
+                }
+            });
+            return evaluated;
+        });
+    }
+
+    /**
+     * Evaluates the applicants of a file in columnar batch mode, reusing the previous result of
+     * each applicant whose rows did not change. Only new or changed applicants are loaded into
+     * columns, with the same warnings as building them, and evaluated by the batch evaluator.
+     * The results of this call replace the stored results on the next save.
+     *
+     * @param rows the parsed rows of the applications file
+     * @param batch evaluates the columns of the new or changed applicants
+     * @return the results of the valid applicants, in file order
+     * @throws IllegalArgumentException if rows or batch is null
+     */
+    public List<EvaluationResult> evaluate(ApplicantRows rows, BatchEvaluator batch) {
+        if (rows == null || batch == null) {
+            throw new IllegalArgumentException("Rows and batch evaluator cannot be null.");
+        }
+        return evaluateReusing(rows, unchanged -> batch.evaluate(rows.loadColumns(unchanged), rows.size()));
+    }
+
+    /**
+     * Evaluates the applicants of a file, reusing the previous result of each applicant whose
+     * rows did not change and evaluating the others together.
+     *
+     * @param rows the parsed rows of the applications file
+     * @param evaluateChanged given which rows are unchanged, evaluates the others; returns by
+     *                        position of the applicant row its result, or null if it is invalid or unchanged
+     * @return the results of the valid applicants, in file order
+     */
+    private List<EvaluationResult> evaluateReusing(ApplicantRows rows,
+                                                   Function<boolean[], EvaluationResult[]> evaluateChanged) {
+        int count = rows.size();
+        long[] rowHashes = new long[count];
+        int[] found = new int[count];       // Position of the stored result, or -1
+        boolean[] unchanged = new boolean[count];
+        IntStream.range(0, count).parallel().forEach(i -> {
+            rowHashes[i] = rows.contentHash(i);
+            found[i] = find(rows.getId(i), rowHashes[i]);
+            unchanged[i] = found[i] >= 0;
+        });
+        EvaluationResult[] evaluated = evaluateChanged.apply(unchanged);
+
+        EvaluationResult[] rowResults = new EvaluationResult[count];
+        IntStream.range(0, count).parallel().forEach(i -> {
+            int stored = found[i];
+            if (stored >= 0) {
+                rowResults[i] = new EvaluationResult(rows.getId(i), rows.getName(i), previousCategories[stored],
+                        previousReasons[stored], previousTypes[stored], previousDurations[stored]);
+            } else {
+                rowResults[i] = evaluated[i];
+            }
+        });
+
+        // Keep the results and hashes of the valid applicants
+        List<EvaluationResult> batchResults = new ArrayList<>(count);
+        long[] batchHashes = new long[count];
+        int reusedCount = 0;
+        for (int i = 0; i < count; i++) {
+            if (rowResults[i] != null) {
+                batchHashes[batchResults.size()] = rowHashes[i];
+                batchResults.add(rowResults[i]);
+                if (unchanged[i]) {
+                    reusedCount++;
+                }
+            }
+        }
+
+        hashes = Arrays.copyOf(batchHashes, batchResults.size());
+        results = batchResults.toArray(new EvaluationResult[0]);
+        reused = reusedCount;
+        return batchResults;
+    }
+
+    /**
+     * Finds the stored result of an applicant with a content hash.
+     *
+     * @param id the applicant ID
+     * @param hash the content hash of the applicant's rows
+     * @return position of the stored result, or -1 if there is none
+     */
+    private int find(int id, long hash) {
+        int low = 0;
+        int high = previousIds.length;
+        while (low < high) {    // First position with an ID not below id
+            int middle = (low + high) >>> 1;
+            if (previousIds[middle] < id) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        for (int i = low; i < previousIds.length && previousIds[i] == id; i++) {
+            if (previousHashes[i] == hash) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns how many results of the last evaluate call were reused from the previous run.
+     *
+     * @return number of reused results
+     */
+    public int getReusedCount() {
+        return reused;
+    }
+
+    /**
+     * Writes the results of the last evaluate call.
+     * The file is written next to the target and then moved over it,
+     * so an interrupted save leaves the previous file intact.
+     *
+     * @param filename path of the state file
+     * @throws IOException if the file cannot be written
+     */
+    public void save(String filename) throws IOException {
+        File target = new File(filename);
+        File temporary = new File(filename + ".tmp");
+
+        // Entries by increasing applicant ID, results of the same ID in evaluation order;
+        // IDs are positive, so ID and position pack into one sortable long
+        long[] order = new long[results.length];
+        for (int i = 0; i < results.length; i++) {
+            order[i] = ((long) results[i].getApplicantId() << 32) | i;
+        }
+        Arrays.sort(order);
+
+        Map<String, Integer> table = new LinkedHashMap<>();
+        for (EvaluationResult result : results) {
+            table.putIfAbsent(result.getScholarshipCategory(), table.size());
+            if (result.getDuration() != null) {
+                table.putIfAbsent(result.getDuration(), table.size());
+            }
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temporary)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(FORMAT_VERSION);
+            out.writeLong(policyFingerprint);
+            out.writeInt(table.size());
+            for (String value : table.keySet()) {
+                out.writeUTF(value);
+            }
+            out.writeInt(results.length);
+            for (long packed : order) {
+                int i = (int) packed;
+                EvaluationResult result = results[i];
+                out.writeInt(result.getApplicantId());
+                out.writeLong(hashes[i]);
+                out.writeInt(table.get(result.getScholarshipCategory()));
+                out.writeByte(result.getRejectionReason().ordinal());
+                out.writeByte(result.getType().ordinal());
+                out.writeInt(result.getDuration() == null ? -1 : table.get(result.getDuration()));
+            }
+        }
+
+        Files.move(temporary.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Reads a count of the state file.
+     *
+     * @param in the input
+     * @param what what is counted, for the error message
+     * @param fileLength length of the file, which no valid count exceeds
+     * @return the count
+     * @throws IOException if the count cannot be read or is invalid
+     */
+    private static int readCount(DataInputStream in, String what, long fileLength) throws IOException {
+        int count = in.readInt();
+        if (count < 0 || count > fileLength) {
+            throw new IOException("invalid " + what + " " + count);
+        }
+        return count;
+    }
+
+    /**
+     * Computes the FNV-1a hash of data, e.g. a rules file, for use as a policy fingerprint.
+     *
+     * @param data the data
+     * @return the hash
+     * @throws IllegalArgumentException if data is null
+     */
+    public static long fingerprint(byte[] data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Data cannot be null.");
+        }
+        long hash = FNV_OFFSET_BASIS;
+        for (byte b : data) {
+            hash = (hash ^ (b & 0xff)) * FNV_PRIME;
+        }
+        return hash;
+    }
+}
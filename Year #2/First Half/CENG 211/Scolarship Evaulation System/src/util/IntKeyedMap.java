@@ -0,0 +1,175 @@
+package util;
+
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Hash map from primitive int keys to values, without boxing the keys.
+ * Keys are kept in a flat int array with open addressing and linear probing,
+ * so a lookup touches one or two adjacent slots instead of following node pointers.
+ *
+ * Used by ApplicationParser to group CSV rows by applicant ID in linear time.
+ * Entries cannot be removed and null values are not allowed.
+ * This class is not thread-safe.
+ *
+ * @param <V> type of the values
+ */
+public class IntKeyedMap<V> {
+
+    /** Smallest number of slots, a power of two. */
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] keys;
+    private Object[] values;
+    private int size;
+    private int mask;
+
+    /**
+     * Constructs an empty map.
+     */
+    public IntKeyedMap() {
+        this(MIN_CAPACITY / 2);
+    }
+
+    /**
+     * Constructs an empty map that holds the given number of entries without growing.
+     *
+     * @param expectedSize expected number of entries
+     * @throws IllegalArgumentException if expectedSize is negative
+     */
+    public IntKeyedMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size cannot be negative: " + expectedSize);
+        }
+        int capacity = MIN_CAPACITY;
+        while (capacity < 2L * expectedSize) { // Keep the table at most half full
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    /**
+     * Returns the value of a key.
+     *
+     * @param key the key
+     * @return the value, or null if the key is not in the map
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        for (int slot = slotOf(key); values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return (V) values[slot];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks if a key is in the map.
+     *
+     * @param key the key
+     * @return true if the key has a value
+     */
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Adds a value for a key unless the key already has one.
+     *
+     * @param key the key
+     * @param value the value to add
+     * @return the value the key already had, or null if the value was added
+     * @throws IllegalArgumentException if value is null
+     */
+    @SuppressWarnings("unchecked")
+    public V putIfAbsent(int key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Value cannot be null");
+        }
+        int slot = slotOf(key);
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                return (V) values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        if (2 * size > values.length) {
+            grow();
+        }
+        return null;
+    }
+
+    /**
+     * Returns the number of keys in the map.
+     *
+     * @return number of entries
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Passes every entry to an action, in no particular order.
+     *
+     * @param action the action, called with the value and the key of each entry
+     * @throws IllegalArgumentException if action is null
+     */
+    @SuppressWarnings("unchecked")
+    public void forEach(ObjIntConsumer<? super V> action) {
+        if (action == null) {
+            throw new IllegalArgumentException("Action cannot be null");
+        }
+        for (int slot = 0; slot < values.length; slot++) {
+            if (values[slot] != null) {
+                action.accept((V) values[slot], keys[slot]);
+            }
+        }
+    }
+
+    /**
+     * Finds the first slot to probe for a key.
+     * The key is multiplied by the golden ratio so that sequential IDs spread over the table.
+     *
+     * @param key the key
+     * @return index of the slot
+     */
+    private int slotOf(int key) {
+        int hash = key * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+
+    /**
+     * Creates empty tables with the given number of slots.
+     *
+     * @param capacity number of slots, a power of two
+     */
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Doubles the number of slots and reinserts every entry.
+     */
+    private void grow() {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(oldValues.length * 2);
+
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = slotOf(oldKeys[i]);
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.CodeSource;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Fingerprint of the evaluation policy, so that results stored by an EvaluationStore are not
+ * reused after the policy changed: the rules file if it exists, and the name and content of
+ * every class file in the packages whose code decides evaluation results, whether the classes
+ * are loaded from a directory or a jar.
+ */
+public class PolicyFingerprint {
+
+    /**
+     * Packages whose code decides evaluation results. Every class file in them is part of the
+     * policy fingerprint, so results stored by an older build of the program are not reused.
+     */
+    private static final String[] POLICY_PACKAGES = {"evaluator", "model", "types", "util"};
+
+    /**
+     * Fingerprints the evaluation policy of this program with a rules file.
+     *
+     * @param rulesFilename path of the rules file, part of the policy if it exists
+     * @return the policy fingerprint
+     * @throws IOException if the rules file or the class files cannot be read
+     * @throws IllegalArgumentException if rulesFilename is null
+     */
+    public static long compute(String rulesFilename) throws IOException {
+        if (rulesFilename == null) {
+            throw new IllegalArgumentException("Rules filename cannot be null.");
+        }
+        ByteArrayOutputStream policy = new ByteArrayOutputStream();
+        File rulesFile = new File(rulesFilename);
+        if (rulesFile.exists()) {
+            policy.write(Files.readAllBytes(rulesFile.toPath()));
+        }
+
+        Path classRoot = classRoot();
+        if (Files.isDirectory(classRoot)) {
+            writeClassFiles(classRoot, policy);
+        }
+        else {
+            try (FileSystem jar = FileSystems.newFileSystem(classRoot, (ClassLoader) null)) {
+                writeClassFiles(jar.getPath("/"), policy);
+            }
+        }
+        return EvaluationStore.fingerprint(policy.toByteArray());
+    }
+
+    /**
+     * Finds the directory or jar the program's classes are loaded from.
+     *
+     * @return the class directory or jar file
+     * @throws IOException if the location is unknown
+     */
+    private static Path classRoot() throws IOException {
+        CodeSource source = PolicyFingerprint.class.getProtectionDomain().getCodeSource();
+        if (source == null || source.getLocation() == null) {
+            throw new IOException("location of the class files is unknown");
+        }
+        try {
+            return Paths.get(source.getLocation().toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            throw new IOException("class files are not in a local directory or jar: " + source.getLocation());
+        }
+    }
+
+    /**
+     * Writes the name and content of every class file in the policy packages, in name order.
+     *
+     * @param classRoot root of the class files
+     * @param policy receives the names and contents
+     * @throws IOException if a package directory or class file cannot be read
+     */
+    private static void writeClassFiles(Path classRoot, ByteArrayOutputStream policy) throws IOException {
+        for (String packageName : POLICY_PACKAGES) {
+            Path packageDirectory = classRoot.resolve(packageName);
+            if (!Files.isDirectory(packageDirectory)) {
+                throw new IOException("package directory not found: " + packageName);
+            }
+
+            List<Path> classFiles;
+            try (Stream<Path> files = Files.list(packageDirectory)) {
+                classFiles = files.filter(file -> file.getFileName().toString().endsWith(".class"))
+                        .sorted(Comparator.comparing(file -> file.getFileName().toString()))
+                        .collect(Collectors.toList());
+            }
+            for (Path classFile : classFiles) {
+                policy.write((packageName + "/" + classFile.getFileName() + "\n").getBytes(StandardCharsets.UTF_8));
+                policy.write(Files.readAllBytes(classFile));
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+package evaluator;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+
+/**
+ * Tests that ScholarshipRules.compile rejects award tables with gaps, i.e. rules under which
+ * an accepted applicant would get the type NONE. Each test changes the shipped rules file.
+ *
+ * Compile and run from the project directory:
+ *   javac -d out $(find src test -name '*.java')
+ *   java -cp out evaluator.ScholarshipRulesTest [rulesFile]
+ */
+public class ScholarshipRulesTest {
+
+    private static int failures = 0;
+
+    /**
+     * Runs the tests.
+     *
+     * @param args Optional rules file, files/ScholarshipRules.properties by default
+     * @throws IOException if the rules file cannot be read
+     */
+    public static void main(String[] args) throws IOException {
+        String rulesFile = args.length > 0 ? args[0] : "files/ScholarshipRules.properties";
+        Properties shipped = new Properties();
+        try (Reader reader = new InputStreamReader(new FileInputStream(rulesFile), StandardCharsets.UTF_8)) {
+            shipped.load(reader);
+        }
+
+        expectCompiles("shipped rules", shipped);
+
+        // Merit accepts gpa >= 3.00 but only awards gpa >= 3.20
+        Properties meritGap = copy(shipped);
+        meritGap.remove("merit.award.2");
+        expectGap("merit without HALF award", meritGap, "gpa in [3.0, 3.2)");
+
+        // Need rejects family income above 15000 but only awards up to 12000
+        Properties needGap = copy(shipped);
+        needGap.setProperty("need.award.2", "HALF: familyIncome <= 12000 adjusted");
+        expectGap("need HALF award below the rejection threshold", needGap, "familyIncome in [12001, ");
+
+        // Research awards nothing between the rejection threshold and the HALF threshold
+        Properties researchGap = copy(shipped);
+        researchGap.setProperty("research.award.2", "HALF: averageImpact >= 1.20");
+        expectGap("research HALF award above the rejection threshold", researchGap, "averageImpact in [1.0, 1.2)");
+
+        // A gap only above the largest GPA cannot be reached by a valid applicant
+        Properties unreachableGap = copy(shipped);
+        unreachableGap.setProperty("merit.award.1", "FULL: gpa > 4.50");
+        unreachableGap.setProperty("merit.award.2", "HALF: gpa <= 4.00");
+        expectCompiles("gap above GPA 4.0", unreachableGap);
+
+        if (failures > 0) {
+            System.out.println(failures + " test(s) failed");
+            System.exit(1);
+        }
+        System.out.println("All tests passed");
+    }
+
+    /**
+     * Checks that rules compile.
+     *
+     * @param name Test name
+     * @param properties The rules
+     */
+    private static void expectCompiles(String name, Properties properties) {
+        try {
+            ScholarshipRules.compile(properties);
+            pass(name);
+        } catch (IllegalArgumentException e) {
+            fail(name, "unexpected error: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Checks that rules are rejected for a gap in the award rules.
+     *
+     * @param name Test name
+     * @param properties The rules
+     * @param expectedBand Part of the description of the uncovered bands the error must contain
+     */
+    private static void expectGap(String name, Properties properties, String expectedBand) {
+        try {
+            ScholarshipRules.compile(properties);
+            fail(name, "compiled, expected an error for the gap");
+        } catch (IllegalArgumentException e) {
+            if (e.getMessage().contains("match no award rule") && e.getMessage().contains(expectedBand)) {
+                pass(name);
+            } else {
+                fail(name, "unexpected error: " + e.getMessage());
+            }
+        }
+    }
+
+    private static Properties copy(Properties properties) {
+        Properties copy = new Properties();
+        copy.putAll(properties);
+        return copy;
+    }
+
+    private static void pass(String name) {
+        System.out.println("PASS " + name);
+    }
+
+    private static void fail(String name, String message) {
+        System.out.println("FAIL " + name + ": " + message);
+        failures++;
+    }
+}
@@ -0,0 +1,97 @@
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Minimal benchmark harness for the tournament pipeline.
+ * Runs an operation for a number of warmup iterations, then measures the average time per
+ * operation, the throughput and the bytes allocated per operation.
+ *
+ * Allocation is measured with com.sun.management.ThreadMXBean over all live threads,
+ * so work done on the common fork-join pool is counted as well.
+ */
+public class BenchmarkHarness {
+
+    /** Keeps benchmark results alive so that the JIT cannot remove the measured work. */
+    private static volatile Object sink;
+
+    private final int warmupIterations;
+    private final int measurementIterations;
+    private final com.sun.management.ThreadMXBean threads;
+
+    /**
+     * Constructor to create a BenchmarkHarness object.
+     *
+     * @param warmupIterations Number of iterations run before measuring
+     * @param measurementIterations Number of measured iterations
+     * @throws IllegalArgumentException if an iteration count is invalid
+     */
+    public BenchmarkHarness(int warmupIterations, int measurementIterations) {
+        if (warmupIterations < 0) {
+            throw new IllegalArgumentException("Warmup iterations cannot be negative");
+        }
+        if (measurementIterations <= 0) {
+            throw new IllegalArgumentException("Measurement iterations must be positive");
+        }
+
+        this.warmupIterations = warmupIterations;
+        this.measurementIterations = measurementIterations;
+        this.threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        if (threads.isThreadAllocatedMemorySupported()) {
+            threads.setThreadAllocatedMemoryEnabled(true);
+        }
+    }
+
+    /**
+     * Runs and measures an operation, then prints one result line.
+     *
+     * @param name Name printed in front of the result
+     * @param operation The operation to measure; its result is kept alive
+     * @return Average time per operation in nanoseconds
+     * @throws IllegalArgumentException if name or operation is null
+     */
+    public double run(String name, Supplier<?> operation) {
+        if (name == null || operation == null) {
+            throw new IllegalArgumentException("Name and operation cannot be null");
+        }
+
+        for (int i = 0; i < warmupIterations; i++) {
+            sink = operation.get();
+        }
+
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < measurementIterations; i++) {
+            sink = operation.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = allocatedBefore < 0 ? -1 : allocatedBytes() - allocatedBefore;
+
+        double nanosPerOperation = (double) elapsed / measurementIterations;
+        System.out.println(String.format(Locale.US, "%-40s %14.3f ms/op %14.2f ops/s %16s B/op",
+                name,
+                nanosPerOperation / 1_000_000,
+                1_000_000_000 / nanosPerOperation,
+                allocated < 0 ? "n/a" : String.format(Locale.US, "%,d", allocated / measurementIterations)));
+        return nanosPerOperation;
+    }
+
+    /**
+     * Sums the bytes allocated so far by all live threads.
+     *
+     * @return Allocated bytes, or -1 if the JVM cannot measure allocation
+     */
+    private long allocatedBytes() {
+        if (!threads.isThreadAllocatedMemorySupported() || !threads.isThreadAllocatedMemoryEnabled()) {
+            return -1;
+        }
+
+        long total = 0;
+        for (long bytes : threads.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+            if (bytes > 0) {
+                total += bytes;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,116 @@
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.SplittableRandom;
+
+/**
+ * Generates synthetic gamers and games CSV files with the same schemas as
+ * files/gamers.csv and files/games.csv, for benchmarks at large roster sizes.
+ *
+ * Usage: java CsvGenerator outputDirectory gamerCount [gameCount] [seed]
+ */
+public class CsvGenerator {
+
+    private static final String[] NICKNAMES = {"Echo", "Spark", "Blaze", "Shadow", "Viper", "Nova", "Ghost", "Frost"};
+    private static final String[] FIRST_NAMES = {"Ava", "Emma", "Liam", "Noah", "Mia", "Ethan", "Zoe", "Lucas"};
+    private static final String[] LAST_NAMES = {"Smith", "Taylor", "Brown", "Wilson", "Clark", "Lewis", "Young", "King"};
+    private static final String[] GAME_NAMES = {"Valorant", "League of Legends", "Dota 2", "Overwatch", "Fortnite",
+            "Apex Legends", "Rocket League", "Counter-Strike", "Rainbow Six", "PUBG"};
+
+    private static final int MIN_BASE_POINT = 5;
+    private static final int MAX_BASE_POINT = 20;
+    private static final int MAX_EXPERIENCE_YEARS = 15;
+
+    /**
+     * Writes a gamers CSV file.
+     * Format: ID, Nickname, Name, Phone, ExperienceYears
+     *
+     * @param file Path of the file to write
+     * @param gamerCount Number of gamers
+     * @param seed Seed of the generated values
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if file is null or gamerCount is negative
+     */
+    public static void writeGamers(Path file, int gamerCount, long seed) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("File cannot be null");
+        }
+        if (gamerCount < 0) {
+            throw new IllegalArgumentException("Gamer count cannot be negative");
+        }
+
+        SplittableRandom random = new SplittableRandom(seed);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("ID,Nickname,Name,Phone,ExperienceYears\n");
+            StringBuilder line = new StringBuilder(64);
+            for (int i = 1; i <= gamerCount; i++) {
+                line.setLength(0);
+                line.append(i).append(',')
+                        .append(NICKNAMES[random.nextInt(NICKNAMES.length)]).append(i).append(',')
+                        .append(FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]).append(' ')
+                        .append(LAST_NAMES[random.nextInt(LAST_NAMES.length)]).append(',')
+                        .append("555-").append(100 + random.nextInt(900)).append('-')
+                        .append(1000 + random.nextInt(9000)).append(',')
+                        .append(random.nextInt(MAX_EXPERIENCE_YEARS + 1)).append('\n');
+                writer.append(line);
+            }
+        }
+    }
+
+    /**
+     * Writes a games CSV file.
+     * Format: ID, GameName, BasePointPerRound
+     *
+     * @param file Path of the file to write
+     * @param gameCount Number of games
+     * @param seed Seed of the generated values
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if file is null or gameCount is negative
+     */
+    public static void writeGames(Path file, int gameCount, long seed) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("File cannot be null");
+        }
+        if (gameCount < 0) {
+            throw new IllegalArgumentException("Game count cannot be negative");
+        }
+
+        SplittableRandom random = new SplittableRandom(seed);
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("ID,GameName,BasePointPerRound\n");
+            for (int i = 1; i <= gameCount; i++) {
+                String name = GAME_NAMES[(i - 1) % GAME_NAMES.length];
+                if (i > GAME_NAMES.length) {
+                    name = name + " " + ((i - 1) / GAME_NAMES.length + 1);
+                }
+                writer.write(i + "," + name + "," + random.nextInt(MIN_BASE_POINT, MAX_BASE_POINT + 1) + "\n");
+            }
+        }
+    }
+
+    /**
+     * Generates gamers.csv and games.csv in a directory.
+     *
+     * @param args Output directory, gamer count, optional game count and seed
+     * @throws IOException if a file cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: java CsvGenerator outputDirectory gamerCount [gameCount] [seed]");
+            return;
+        }
+
+        Path directory = Paths.get(args[0]);
+        int gamerCount = Integer.parseInt(args[1]);
+        int gameCount = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 42L;
+
+        Files.createDirectories(directory);
+        writeGamers(directory.resolve("gamers.csv"), gamerCount, seed);
+        writeGames(directory.resolve("games.csv"), gameCount, seed + 1);
+        System.out.printf("Wrote %,d gamers and %,d games to %s%n", gamerCount, gameCount, directory);
+    }
+}
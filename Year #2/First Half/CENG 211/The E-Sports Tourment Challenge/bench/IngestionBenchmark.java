@@ -0,0 +1,100 @@
+import java.util.SplittableRandom;
+
+/**
+ * Benchmark of MatchIngestor throughput and latency for different queue capacities and batch sizes.
+ * A single producer submits pre-generated events as fast as it can, so a small queue shows
+ * backpressure and a batch size of 1 shows the cost of applying events one by one.
+ *
+ * Usage: java IngestionBenchmark [gamerCount] [eventCount] [seed]
+ */
+public class IngestionBenchmark {
+
+    private static final int[] CAPACITIES = {64, 8192};
+    private static final int[] BATCH_SIZES = {1, 64, 1024};
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Optional gamer count, event count and seed
+     * @throws InterruptedException if interrupted while submitting events
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int gamerCount = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int eventCount = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42L;
+
+        Game[] games = FileIO.readGames("files/games.csv");
+        Gamer[] gamers = new Gamer[gamerCount];
+        for (int i = 0; i < gamerCount; i++) {
+            gamers[i] = new Gamer(i + 1, "Gamer" + i, "Bench Gamer", "555-000-0000", i % 15);
+        }
+        MatchManagement matchManagement = new MatchManagement(gamers, games);
+        matchManagement.generateMatchesParallel(seed);
+        MatchStore store = matchManagement.getMatchStore();
+        PointsBoard board = new PointsBoard(gamers, store);
+        String[] events = createEvents(gamers, games, eventCount, seed);
+
+        System.out.printf("Gamers: %,d, events: %,d%n", gamerCount, eventCount);
+        // The first run only warms up the JIT
+        run(store, board, events, CAPACITIES[1], BATCH_SIZES[1]);
+        for (int capacity : CAPACITIES) {
+            for (int batchSize : BATCH_SIZES) {
+                IngestionMetrics metrics = run(store, board, events, capacity, batchSize);
+                System.out.printf("capacity %,6d batch %,5d: %,10.0f events/s   p50 <= %,9.1f us   p99 <= %,9.1f us   %,9d waits%n",
+                        capacity, batchSize, metrics.getThroughput(), metrics.getLatencyPercentileMicros(50),
+                        metrics.getLatencyPercentileMicros(99), metrics.getBackpressureWaits());
+            }
+        }
+    }
+
+    /**
+     * Ingests all events into a new ingestor and waits until they are applied.
+     *
+     * @param store Store of the generated tournament
+     * @param board PointsBoard of the generated tournament
+     * @param events Event lines
+     * @param capacity Queue capacity
+     * @param batchSize Maximum batch size
+     * @return Metrics after all events are applied
+     * @throws InterruptedException if interrupted while submitting events
+     */
+    private static IngestionMetrics run(MatchStore store, PointsBoard board, String[] events,
+                                        int capacity, int batchSize) throws InterruptedException {
+        MatchIngestor ingestor = new MatchIngestor(store, board, capacity, batchSize);
+        ingestor.start();
+        for (String event : events) {
+            ingestor.submit(event);
+        }
+        ingestor.close();
+        return ingestor.getMetrics();
+    }
+
+    /**
+     * Creates random valid event lines.
+     *
+     * @param gamers Gamers of the tournament
+     * @param games Games of the catalog
+     * @param eventCount Number of events
+     * @param seed Seed of the events
+     * @return Event lines
+     */
+    private static String[] createEvents(Gamer[] gamers, Game[] games, int eventCount, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        DistinctSampler sampler = new DistinctSampler(games.length, Match.NUM_GAMES);
+        int[] selected = new int[Match.NUM_GAMES];
+        String[] events = new String[eventCount];
+        for (int i = 0; i < eventCount; i++) {
+            sampler.sample(random, selected);
+            StringBuilder event = new StringBuilder();
+            event.append(gamers[random.nextInt(gamers.length)].getId());
+            for (int k = 0; k < Match.NUM_GAMES; k++) {
+                event.append(',').append(games[selected[k]].getId());
+            }
+            for (int k = 0; k < Match.NUM_GAMES; k++) {
+                event.append(',').append(random.nextInt(Match.MAX_ROUNDS) + Match.MIN_ROUNDS);
+            }
+            events[i] = event.toString();
+        }
+        return events;
+    }
+}
@@ -0,0 +1,166 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Benchmark comparing the ranked leaderboard of PointsBoard with sorting the totals on every request.
+ * Each request records one match for a random gamer and then asks for the top 10 gamers,
+ * the rank and percentile of a gamer, and the number of gamers between 3800 and 4400 points.
+ *
+ * The sorting baseline only answers with point values, not gamer indices, which favors it.
+ *
+ * Usage: java LeaderboardBenchmark [gamerCount] [seed]
+ */
+public class LeaderboardBenchmark {
+
+    private static final int TOP_K = 10;
+    private static final int RANGE_MIN = 3800;
+    private static final int RANGE_MAX = 4400;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    /** Keeps benchmark results alive so that the JIT cannot remove the measured work. */
+    private static long sink;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Optional gamer count and seed
+     */
+    public static void main(String[] args) {
+        int gamerCount = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        long seed = args.length > 1 ? Long.parseLong(args[1]) : 42L;
+
+        Game[] games = FileIO.readGames("files/games.csv");
+        Gamer[] gamers = createGamers(gamerCount);
+        MatchManagement matchManagement = new MatchManagement(gamers, games);
+        matchManagement.generateMatchesParallel(seed);
+        MatchStore store = matchManagement.getMatchStore();
+        PointsBoard board = new PointsBoard(gamers, store);
+
+        int indexedRequests = 200_000;
+        int sortedRequests = Math.max(10, (int) (20_000_000L / gamerCount));
+
+        System.out.printf("Gamers: %,d%n", gamerCount);
+        for (int round = 0; round < WARMUP_ROUNDS + MEASURED_ROUNDS; round++) {
+            String label = round < WARMUP_ROUNDS ? "warmup" : "measure";
+            double indexed = runIndexed(new PointsBoard(board), store, indexedRequests, seed + round);
+            double sorted = runSorted(board, store, sortedRequests, seed + round);
+            System.out.printf("%-8s ranked index: %,12.0f ns/request   sort per request: %,14.0f ns/request   speedup: %,.0fx%n",
+                    label, indexed, sorted, sorted / indexed);
+        }
+        System.out.println("(checksum " + sink + ")");
+    }
+
+    /**
+     * Creates synthetic gamers with distinct ids and nicknames.
+     *
+     * @param gamerCount Number of gamers
+     * @return Array of gamers
+     */
+    private static Gamer[] createGamers(int gamerCount) {
+        Gamer[] gamers = new Gamer[gamerCount];
+        for (int i = 0; i < gamerCount; i++) {
+            gamers[i] = new Gamer(i + 1, "Gamer" + i, "Bench Gamer", "555-000-0000", i % 15);
+        }
+        return gamers;
+    }
+
+    /**
+     * Serves requests from the ranked index of PointsBoard.
+     *
+     * @param board Board to record matches into
+     * @param store Store supplying the recorded matches
+     * @param requests Number of requests
+     * @param seed Seed of the request stream
+     * @return Average time per request in nanoseconds
+     */
+    private static double runIndexed(PointsBoard board, MatchStore store, int requests, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int gamerCount = store.getGamerCount();
+        Match[] recorded = sampleMatches(store, random);
+
+        long start = System.nanoTime();
+        for (int request = 0; request < requests; request++) {
+            int gamer = random.nextInt(gamerCount);
+            board.recordMatch(gamer, recorded[request & (recorded.length - 1)]);
+
+            int[] top = board.getTopGamers(TOP_K);
+            sink += top[0];
+            sink += board.getRank(gamer);
+            sink += (long) board.getPercentile(gamer);
+            sink += board.countGamersInRange(RANGE_MIN, RANGE_MAX);
+        }
+        return (double) (System.nanoTime() - start) / requests;
+    }
+
+    /**
+     * Serves the same kind of requests by sorting a copy of the totals on every request.
+     *
+     * @param board Board supplying the initial totals
+     * @param store Store supplying the recorded matches
+     * @param requests Number of requests
+     * @param seed Seed of the request stream
+     * @return Average time per request in nanoseconds
+     */
+    private static double runSorted(PointsBoard board, MatchStore store, int requests, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        int gamerCount = store.getGamerCount();
+        Match[] recorded = sampleMatches(store, random);
+        int[] totals = new int[gamerCount];
+        for (int i = 0; i < gamerCount; i++) {
+            totals[i] = board.getTotalPoints(i);
+        }
+
+        long start = System.nanoTime();
+        for (int request = 0; request < requests; request++) {
+            int gamer = random.nextInt(gamerCount);
+            totals[gamer] += recorded[request & (recorded.length - 1)].getMatchPoints();
+
+            int[] sorted = totals.clone();
+            Arrays.sort(sorted);
+            sink += sorted[gamerCount - Math.min(TOP_K, gamerCount)];
+            int atLeast = gamerCount - lowerBound(sorted, totals[gamer]);
+            sink += atLeast;
+            sink += (long) ((double) (gamerCount - atLeast) / gamerCount * 100);
+            sink += lowerBound(sorted, RANGE_MAX + 1) - lowerBound(sorted, RANGE_MIN);
+        }
+        return (double) (System.nanoTime() - start) / requests;
+    }
+
+    /**
+     * Picks a power-of-two number of matches to record during a run.
+     *
+     * @param store Store to pick matches from
+     * @param random Source of randomness
+     * @return Matches to record
+     */
+    private static Match[] sampleMatches(MatchStore store, SplittableRandom random) {
+        Match[] matches = new Match[1024];
+        for (int i = 0; i < matches.length; i++) {
+            matches[i] = store.toMatch(random.nextInt(store.size()));
+        }
+        return matches;
+    }
+
+    /**
+     * Finds the first position in a sorted array holding a value not less than the key.
+     *
+     * @param sorted Array sorted in ascending order
+     * @param key The key
+     * @return Position of the first value greater than or equal to key
+     */
+    private static int lowerBound(int[] sorted, int key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (sorted[middle] < key) {
+                low = middle + 1;
+            }
+            else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+}
@@ -0,0 +1,131 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Benchmark of every stage of the ESportManagementApp pipeline:
+ * FileIO -> MatchManagement -> PointsBoard -> Query.
+ * For each roster size, synthetic CSV files are generated with CsvGenerator and every stage is
+ * measured with BenchmarkHarness, reporting time, throughput and allocation per operation.
+ *
+ * Usage: java PipelineBenchmark [gamerCount,gamerCount,...] [gameCount] [seed]
+ * The default sizes are 100 and 100000. A roster of 10000000 gamers holds 150 million matches
+ * and needs a large heap, e.g. java -Xmx16g PipelineBenchmark 10000000.
+ */
+public class PipelineBenchmark {
+
+    /** Number of gamers processed by all measured iterations of a stage together. */
+    private static final long GAMERS_PER_STAGE = 2_000_000L;
+    private static final int MAX_ITERATIONS = 200;
+    private static final int MIN_ITERATIONS = 3;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Optional comma separated roster sizes, game count and seed
+     * @throws IOException if the CSV files cannot be written
+     */
+    public static void main(String[] args) throws IOException {
+        String sizes = args.length > 0 ? args[0] : "100,100000";
+        int gameCount = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : 42L;
+
+        for (String size : sizes.split(",")) {
+            run(Integer.parseInt(size.trim()), gameCount, seed);
+        }
+    }
+
+    /**
+     * Measures every stage of the pipeline for one roster size.
+     *
+     * @param gamerCount Number of gamers
+     * @param gameCount Number of games
+     * @param seed Seed of the generated files and matches
+     * @throws IOException if the CSV files cannot be written
+     */
+    private static void run(int gamerCount, int gameCount, long seed) throws IOException {
+        Path directory = Files.createTempDirectory("esports-bench");
+        Path gamersFile = directory.resolve("gamers.csv");
+        Path gamesFile = directory.resolve("games.csv");
+        try {
+            CsvGenerator.writeGamers(gamersFile, gamerCount, seed);
+            CsvGenerator.writeGames(gamesFile, gameCount, seed + 1);
+
+            int iterations = (int) Math.max(MIN_ITERATIONS, Math.min(MAX_ITERATIONS, GAMERS_PER_STAGE / gamerCount));
+            BenchmarkHarness harness = new BenchmarkHarness(Math.max(1, iterations / 2), iterations);
+            System.out.printf("%n== %,d gamers, %,d games, %d iterations ==%n", gamerCount, gameCount, iterations);
+
+            String gamersPath = gamersFile.toString();
+            String gamesPath = gamesFile.toString();
+            harness.run("FileIO.readGamers", () -> FileIO.readGamers(gamersPath));
+            harness.run("FileIO.readGames", () -> FileIO.readGames(gamesPath));
+
+            Gamer[] gamers = FileIO.readGamers(gamersPath);
+            Game[] games = FileIO.readGames(gamesPath);
+            MatchManagement matchManagement = new MatchManagement(gamers, games);
+
+            harness.run("MatchManagement.generateMatches", () -> {
+                matchManagement.generateMatches(seed);
+                return matchManagement.getMatchStore();
+            });
+            harness.run("MatchManagement.generateMatchesParallel", () -> {
+                matchManagement.generateMatchesParallel(seed);
+                return matchManagement.getMatchStore();
+            });
+
+            MatchStore store = matchManagement.getMatchStore();
+            benchmarkScoring(harness, store, gamers);
+            harness.run("PointsBoard", () -> new PointsBoard(gamers, store));
+
+            PointsBoard pointsBoard = new PointsBoard(gamers, store);
+            harness.run("PointsBoard copy", () -> new PointsBoard(pointsBoard));
+            harness.run("Query (all statistics)", () -> {
+                Query query = new Query(store, gamers, pointsBoard);
+                return query.getHighestScoringMatch()
+                        + query.getLowestScoringMatch()
+                        + query.getMatchWithTheLowestBonusPoints()
+                        + query.getHighestScoringGamer()
+                        + query.getTotalTournamentPoints()
+                        + query.getMedalDistribution();
+            });
+
+            Query query = new Query(store, gamers, pointsBoard);
+            harness.run("Query copy", () -> new Query(query));
+        }
+        finally {
+            Files.deleteIfExists(gamersFile);
+            Files.deleteIfExists(gamesFile);
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    /**
+     * Measures rescoring every match of the store in bulk with the primitive scoring kernel.
+     *
+     * @param harness Harness to measure with
+     * @param store Store supplying the rounds and games of the matches
+     * @param gamers Gamers supplying the experience years
+     */
+    private static void benchmarkScoring(BenchmarkHarness harness, MatchStore store, Gamer[] gamers) {
+        int rows = store.size();
+        int[] rounds = new int[rows * Match.NUM_GAMES];
+        int[] basePoints = new int[rows * Match.NUM_GAMES];
+        int[] experienceYears = new int[rows];
+        for (int row = 0; row < rows; row++) {
+            for (int k = 0; k < Match.NUM_GAMES; k++) {
+                rounds[row * Match.NUM_GAMES + k] = store.getRounds(row, k);
+                basePoints[row * Match.NUM_GAMES + k] = store.getBasePointPerRound(row, k);
+            }
+            experienceYears[row] = gamers[store.getGamerIndex(row)].getExperienceYears();
+        }
+
+        int[] raw = new int[rows];
+        int[] skill = new int[rows];
+        int[] bonus = new int[rows];
+        int[] points = new int[rows];
+        harness.run("Match.scoreMatches (bulk)", () -> {
+            Match.scoreMatches(rounds, basePoints, experienceYears, 0, rows, raw, skill, bonus, points);
+            return points;
+        });
+    }
+}
@@ -0,0 +1,96 @@
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+ * Benchmark comparing DistinctSampler with the rejection sampling MatchManagement used before,
+ * which retried until it drew an unused game and allocated a boolean[games] for every match.
+ * Each operation draws the games of a batch of matches, at catalog sizes from 3 to 100,000 games.
+ *
+ * Usage: java SamplerBenchmark [catalogSizes] [matchesPerOperation]
+ */
+public class SamplerBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASUREMENT_ITERATIONS = 10;
+
+    /**
+     * Runs the benchmark.
+     *
+     * @param args Optional comma-separated catalog sizes and number of matches per operation
+     */
+    public static void main(String[] args) {
+        String sizes = args.length > 0 ? args[0] : "3,10,100,1000,100000";
+        int matches = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        BenchmarkHarness harness = new BenchmarkHarness(WARMUP_ITERATIONS, MEASUREMENT_ITERATIONS);
+
+        System.out.printf("Matches per operation: %,d%n", matches);
+        for (String size : sizes.split(",")) {
+            int catalogSize = Integer.parseInt(size.trim());
+            DistinctSampler sampler = new DistinctSampler(catalogSize, Match.NUM_GAMES);
+            int[] selected = new int[Match.NUM_GAMES];
+
+            double rejection = harness.run("rejection games=" + catalogSize,
+                    () -> runRejection(catalogSize, matches));
+            double floyd = harness.run("DistinctSampler games=" + catalogSize,
+                    () -> runSampler(sampler, selected, matches));
+            System.out.printf("speedup at %,d games: %.1fx%n", catalogSize, rejection / floyd);
+        }
+    }
+
+    /**
+     * Draws the games of many matches with DistinctSampler.
+     *
+     * @param sampler The sampler
+     * @param selected Reused array receiving each sample
+     * @param matches Number of matches
+     * @return Checksum of the drawn games
+     */
+    private static long runSampler(DistinctSampler sampler, int[] selected, int matches) {
+        SplittableRandom random = new SplittableRandom(42);
+        long checksum = 0;
+        for (int m = 0; m < matches; m++) {
+            sampler.sample(random, selected);
+            checksum += selected[0] + selected[1] + selected[2];
+        }
+        return checksum;
+    }
+
+    /**
+     * Draws the games of many matches with rejection sampling.
+     *
+     * @param catalogSize Number of games
+     * @param matches Number of matches
+     * @return Checksum of the drawn games
+     */
+    private static long runRejection(int catalogSize, int matches) {
+        SplittableRandom random = new SplittableRandom(42);
+        long checksum = 0;
+        for (int m = 0; m < matches; m++) {
+            int[] selected = selectByRejection(random, catalogSize);
+            checksum += selected[0] + selected[1] + selected[2];
+        }
+        return checksum;
+    }
+
+    /**
+     * Selects distinct games the way MatchManagement did before DistinctSampler.
+     *
+     * @param random Random generator to draw with
+     * @param catalogSize Number of games
+     * @return Indices of the selected games
+     */
+    private static int[] selectByRejection(RandomGenerator random, int catalogSize) {
+        int[] chosen = new int[Match.NUM_GAMES];
+        boolean[] used = new boolean[catalogSize];
+
+        for (int i = 0; i < Match.NUM_GAMES; i++) {
+            int index;
+            do {
+                index = random.nextInt(catalogSize);
+            } while (used[index]);
+            used[index] = true;
+            chosen[i] = index;
+        }
+        return chosen;
+    }
+}
@@ -0,0 +1,273 @@
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streaming CSV reader that reads a file in a single pass over a FileChannel.
+ * Lines are scanned in place inside a reusable byte buffer and only the field
+ * boundaries are recorded, so numeric fields are parsed without creating Strings.
+ */
+public class CsvReader implements Closeable {
+
+    /** Initial size of the read buffer in bytes. */
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+    /** Initial number of fields that can be recorded per line. */
+    private static final int INITIAL_FIELD_CAPACITY = 8;
+
+    private final FileChannel channel;
+    private byte[] bytes;
+    private int limit;
+    private int position;
+    private int scanFrom;
+    private boolean endOfInput;
+
+    private int lineNumber;
+    private int lineStart;
+    private int lineEnd;
+    private int[] fieldStarts;
+    private int[] fieldEnds;
+    private int fieldCount;
+
+    /**
+     * Constructor to open a CSV file for streaming.
+     *
+     * @param filename Path to the CSV file
+     * @throws IOException if the file cannot be opened
+     * @throws IllegalArgumentException if filename is null or empty
+     */
+    public CsvReader(String filename) throws IOException {
+        if (filename == null || filename.trim().isEmpty()) {
+            throw new IllegalArgumentException("Filename cannot be null or empty");
+        }
+
+        this.channel = FileChannel.open(Paths.get(filename), StandardOpenOption.READ);
+        this.bytes = new byte[DEFAULT_BUFFER_SIZE];
+        this.fieldStarts = new int[INITIAL_FIELD_CAPACITY];
+        this.fieldEnds = new int[INITIAL_FIELD_CAPACITY];
+    }
+
+    /**
+     * Advances to the next line of the file and splits it into fields.
+     *
+     * @return true if a line was read, false at the end of the file
+     * @throws IOException if reading from the file fails
+     */
+    public boolean nextLine() throws IOException {
+        while (true) {
+            for (int i = scanFrom; i < limit; i++) {
+                if (bytes[i] == '\n') {
+                    acceptLine(position, i);
+                    position = i + 1;
+                    scanFrom = position;
+                    return true;
+                }
+            }
+            scanFrom = limit;
+
+            if (endOfInput) {
+                if (position < limit) {
+                    acceptLine(position, limit);
+                    position = limit;
+                    return true;
+                }
+                return false;
+            }
+            fill();
+        }
+    }
+
+    /**
+     * Moves the unread bytes to the front of the buffer and reads more data from the channel.
+     * The buffer is doubled when a single line does not fit into it.
+     *
+     * @throws IOException if reading from the file fails
+     */
+    private void fill() throws IOException {
+        int pending = limit - position;
+        if (position > 0) {
+            System.arraycopy(bytes, position, bytes, 0, pending);
+            scanFrom -= position;
+            position = 0;
+            limit = pending;
+        }
+        if (limit == bytes.length) {
+            byte[] grown = new byte[bytes.length * 2];
+            System.arraycopy(bytes, 0, grown, 0, limit);
+            bytes = grown;
+        }
+
+        int read = channel.read(ByteBuffer.wrap(bytes, limit, bytes.length - limit));
+        if (read < 0) {
+            endOfInput = true;
+        } else {
+            limit += read;
+        }
+    }
+
+    /**
+     * Records the boundaries of the current line and of each comma separated field in it.
+     * Surrounding whitespace of every field is excluded from its boundaries.
+     *
+     * @param start Offset of the first byte of the line
+     * @param end Offset just past the last byte of the line
+     */
+    private void acceptLine(int start, int end) {
+        if (end > start && bytes[end - 1] == '\r') {
+            end--;
+        }
+        lineNumber++;
+        lineStart = start;
+        lineEnd = end;
+        fieldCount = 0;
+
+        int fieldStart = start;
+        for (int i = start; i <= end; i++) {
+            if (i == end || bytes[i] == ',') {
+                addField(fieldStart, i);
+                fieldStart = i + 1;
+            }
+        }
+    }
+
+    /**
+     * Stores the trimmed boundaries of a field, growing the boundary arrays when needed.
+     *
+     * @param start Offset of the first byte of the field
+     * @param end Offset just past the last byte of the field
+     */
+    private void addField(int start, int end) {
+        while (start < end && isWhitespace(bytes[start])) {
+            start++;
+        }
+        while (end > start && isWhitespace(bytes[end - 1])) {
+            end--;
+        }
+        if (fieldCount == fieldStarts.length) {
+            int[] grownStarts = new int[fieldCount * 2];
+            int[] grownEnds = new int[fieldCount * 2];
+            System.arraycopy(fieldStarts, 0, grownStarts, 0, fieldCount);
+            System.arraycopy(fieldEnds, 0, grownEnds, 0, fieldCount);
+            fieldStarts = grownStarts;
+            fieldEnds = grownEnds;
+        }
+        fieldStarts[fieldCount] = start;
+        fieldEnds[fieldCount] = end;
+        fieldCount++;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t';
+    }
+
+    /**
+     * Gets the 1-based number of the current line, counting the header.
+     *
+     * @return The current line number
+     */
+    public int getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Gets the number of fields on the current line.
+     *
+     * @return Number of fields
+     */
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Checks whether the current line contains only whitespace.
+     *
+     * @return true if the line is blank
+     */
+    public boolean isBlankLine() {
+        return fieldCount == 1 && fieldStarts[0] == fieldEnds[0];
+    }
+
+    /**
+     * Parses a field of the current line as an integer directly from the buffer.
+     *
+     * @param field Index of the field
+     * @return The parsed integer value
+     * @throws NumberFormatException if the field is not a valid integer
+     */
+    public int getInt(int field) {
+        checkField(field);
+        int start = fieldStarts[field];
+        int end = fieldEnds[field];
+        if (start == end) {
+            throw new NumberFormatException("Field " + (field + 1) + " is empty");
+        }
+
+        boolean negative = false;
+        if (bytes[start] == '-' || bytes[start] == '+') {
+            negative = bytes[start] == '-';
+            start++;
+            if (start == end) {
+                throw new NumberFormatException("Field " + (field + 1) + " is not a number: " + getString(field));
+            }
+        }
+
+        long value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = bytes[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw new NumberFormatException("Field " + (field + 1) + " is not a number: " + getString(field));
+            }
+            value = value * 10 + digit;
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                throw new NumberFormatException("Field " + (field + 1) + " is out of range: " + getString(field));
+            }
+        }
+        if (negative) {
+            value = -value;
+        }
+        if (value > Integer.MAX_VALUE) {
+            throw new NumberFormatException("Field " + (field + 1) + " is out of range: " + getString(field));
+        }
+        return (int) value;
+    }
+
+    /**
+     * Gets a field of the current line as a trimmed String.
+     *
+     * @param field Index of the field
+     * @return The field text
+     */
+    public String getString(int field) {
+        checkField(field);
+        return new String(bytes, fieldStarts[field], fieldEnds[field] - fieldStarts[field], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Gets the full text of the current line, used for error reporting.
+     *
+     * @return The current line
+     */
+    public String getLine() {
+        return new String(bytes, lineStart, lineEnd - lineStart, StandardCharsets.UTF_8);
+    }
+
+    private void checkField(int field) {
+        if (field < 0 || field >= fieldCount) {
+            throw new IllegalArgumentException("Field index " + field + " out of bounds for line " + lineNumber);
+        }
+    }
+
+    /**
+     * Closes the underlying file channel.
+     *
+     * @throws IOException if closing fails
+     */
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
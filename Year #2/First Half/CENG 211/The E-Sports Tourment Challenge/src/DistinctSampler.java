@@ -0,0 +1,98 @@
+import java.util.random.RandomGenerator;
+
+/**
+ * Draws a fixed number of distinct indices from 0 to populationSize - 1, such as the games of a match.
+ * Uses Floyd's permutation algorithm, so every sample takes exactly sampleSize random draws no
+ * matter how small the population is, needs no table the size of the population, and writes into
+ * an array supplied by the caller instead of allocating. Every ordered sample is equally likely.
+ *
+ * The sampler holds no mutable state and can be shared between threads.
+ */
+public class DistinctSampler {
+
+    private final int populationSize;
+    private final int sampleSize;
+
+    /**
+     * Constructor to create a DistinctSampler object.
+     *
+     * @param populationSize Number of indices to draw from
+     * @param sampleSize Number of distinct indices in every sample
+     * @throws IllegalArgumentException if sampleSize is negative or larger than populationSize
+     */
+    public DistinctSampler(int populationSize, int sampleSize) {
+        if (sampleSize < 0) {
+            throw new IllegalArgumentException("Sample size cannot be negative");
+        }
+        if (sampleSize > populationSize) {
+            throw new IllegalArgumentException("Sample size cannot be larger than the population size");
+        }
+
+        this.populationSize = populationSize;
+        this.sampleSize = sampleSize;
+    }
+
+    /**
+     * Gets the number of indices drawn from.
+     *
+     * @return Population size
+     */
+    public int getPopulationSize() {
+        return populationSize;
+    }
+
+    /**
+     * Gets the number of distinct indices in every sample.
+     *
+     * @return Sample size
+     */
+    public int getSampleSize() {
+        return sampleSize;
+    }
+
+    /**
+     * Draws one sample of distinct indices in random order.
+     *
+     * @param random Random generator to draw with
+     * @param result Array receiving the sample in its first sampleSize positions
+     * @throws IllegalArgumentException if random is null or result is too short
+     */
+    public void sample(RandomGenerator random, int[] result) {
+        if (random == null) {
+            throw new IllegalArgumentException("Random generator cannot be null");
+        }
+        if (result == null || result.length < sampleSize) {
+            throw new IllegalArgumentException("Result array must hold at least " + sampleSize + " values");
+        }
+
+        // For each candidate j of the last sampleSize indices, draw t from [0, j]. A new t goes to
+        // the front of the sample; a t already in the sample means j is new, and j goes right after t
+        for (int size = 0, j = populationSize - sampleSize; j < populationSize; size++, j++) {
+            int t = random.nextInt(j + 1);
+            int position = indexOf(result, size, t);
+            int value = position < 0 ? t : j;
+            int insertAt = position + 1;
+            for (int i = size; i > insertAt; i--) {
+                result[i] = result[i - 1];
+            }
+            result[insertAt] = value;
+        }
+    }
+
+    /**
+     * Finds a value among the first values of an array.
+     *
+     * @param values The array
+     * @param size Number of values to search
+     * @param value The value
+     * @return Position of the value, or -1 if it is not there
+     */
+    private static int indexOf(int[] values, int size, int value) {
+        for (int i = 0; i < size; i++) {
+            if (values[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -1,3 +1,11 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Locale;
+
 /**
  * Main application class for the E-Sports Tournament Management System.
  * Loads data, generates matches, calculates statistics, and displays tournament results.
@@ -10,33 +18,106 @@ public class ESportManagementApp {
     /** Path to the gamers CSV file. */
     private static final String GAMERS_CSV = "files/gamers.csv";
 
+    /** Command line option that runs a Monte Carlo simulation instead of a single tournament. */
+    private static final String SIMULATE_OPTION = "--simulate";
+
+    /** Command line option that reloads a tournament from a snapshot file, or saves a new one there. */
+    private static final String SNAPSHOT_OPTION = "--snapshot";
+
+    /** Number of gamers listed by expected rank after a simulation. */
+    private static final int SIMULATION_TOP_GAMERS = 10;
+
     /**
      * Main method to run the E-Sports tournament application.
      * Loads games and gamers from CSV files, generates matches, calculates points,
      * and displays various tournament statistics and queries.
      * 
-     * @param args Command line arguments (not used)
+     * @param args Command line arguments; an optional seed makes the generated tournament reproducible,
+     *             "--simulate count [seed]" summarizes many simulated tournaments instead,
+     *             and "--snapshot file [seed]" reloads a saved tournament or saves a new one
      */
     public static void main(String[] args) {
 
-        Game[] games = FileIO.readGames(GAMES_CSV);
-        if (games == null || games.length == 0) {
-            System.err.println("Error: Could not load games from " + GAMES_CSV);
+        if (args.length > 0 && SNAPSHOT_OPTION.equals(args[0])) {
+            runSnapshot(args);
             return;
         }
-        
-        Gamer[] gamers = FileIO.readGamers(GAMERS_CSV);
-        if (gamers == null || gamers.length == 0) {
-            System.err.println("Error: Could not load gamers from " + GAMERS_CSV);
+
+        Game[] games = loadGames();
+        Gamer[] gamers = loadGamers();
+        if (games == null || gamers == null) {
+            return;
+        }
+
+        if (args.length > 0 && SIMULATE_OPTION.equals(args[0])) {
+            runSimulation(gamers, games, args);
             return;
         }
 
         MatchManagement matchManagement = new MatchManagement(gamers,games);
 
-        matchManagement.generateMatches();
-        PointsBoard pointsBoard = new PointsBoard(gamers, matchManagement.getAllMatches());
+        if (args.length > 0) {
+            long seed;
+            try {
+                seed = Long.parseLong(args[0]);
+            } catch (NumberFormatException e) {
+                System.err.println("Error: Seed must be a whole number: " + args[0]);
+                return;
+            }
+            matchManagement.generateMatchesParallel(seed);
+        } else {
+            matchManagement.generateMatches();
+        }
+        PointsBoard pointsBoard = new PointsBoard(gamers, matchManagement.getMatchStore());
+
+        printResults(matchManagement.getMatchStore(), gamers, pointsBoard);
+    }
+
+    /**
+     * Loads the games CSV file and reports any problems.
+     *
+     * @return Array of games, or null if no game could be loaded
+     */
+    private static Game[] loadGames() {
+        LoadReport gamesReport = new LoadReport(GAMES_CSV);
+        Game[] games = FileIO.readGames(GAMES_CSV, gamesReport);
+        if (gamesReport.hasErrors()) {
+            System.err.println(gamesReport);
+        }
+        if (games == null || games.length == 0) {
+            System.err.println("Error: Could not load games from " + GAMES_CSV);
+            return null;
+        }
+        return games;
+    }
+
+    /**
+     * Loads the gamers CSV file and reports any problems.
+     *
+     * @return Array of gamers, or null if no gamer could be loaded
+     */
+    private static Gamer[] loadGamers() {
+        LoadReport gamersReport = new LoadReport(GAMERS_CSV);
+        Gamer[] gamers = FileIO.readGamers(GAMERS_CSV, gamersReport);
+        if (gamersReport.hasErrors()) {
+            System.err.println(gamersReport);
+        }
+        if (gamers == null || gamers.length == 0) {
+            System.err.println("Error: Could not load gamers from " + GAMERS_CSV);
+            return null;
+        }
+        return gamers;
+    }
 
-        Query query = new Query(matchManagement.getAllMatches(), gamers, pointsBoard);
+    /**
+     * Prints the statistics and queries of a tournament.
+     *
+     * @param matchStore Store holding all matches of the tournament
+     * @param gamers Array of gamers
+     * @param pointsBoard PointsBoard of the tournament
+     */
+    private static void printResults(MatchStore matchStore, Gamer[] gamers, PointsBoard pointsBoard) {
+        Query query = new Query(matchStore, gamers, pointsBoard);
         Query copyQuery = new Query(query);
 
         System.out.println(copyQuery.getHighestScoringMatch());
@@ -45,8 +126,97 @@ public class ESportManagementApp {
         System.out.println(copyQuery.getHighestScoringGamer());
         System.out.println(copyQuery.getTotalTournamentPoints());
         System.out.println(copyQuery.getMedalDistribution());
+    }
 
+    /**
+     * Reloads a tournament from a snapshot file, or plays a new tournament and saves it there
+     * if the file does not exist yet, then prints its statistics and queries.
+     * Expected arguments: --snapshot file [seed]
+     *
+     * @param args Command line arguments
+     */
+    private static void runSnapshot(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Error: Usage is " + SNAPSHOT_OPTION + " file [seed]");
+            return;
+        }
+        Path file = Paths.get(args[1]);
 
+        try {
+            if (Files.exists(file)) {
+                TournamentSnapshot snapshot = TournamentSnapshot.load(file);
+                printResults(snapshot.getMatchStore(), snapshot.getGamers(), snapshot.getPointsBoard());
+                return;
+            }
+
+            Long seed = null;
+            if (args.length > 2) {
+                try {
+                    seed = Long.parseLong(args[2]);
+                } catch (NumberFormatException e) {
+                    System.err.println("Error: Seed must be a whole number: " + args[2]);
+                    return;
+                }
+            }
+            Game[] games = loadGames();
+            Gamer[] gamers = loadGamers();
+            if (games == null || gamers == null) {
+                return;
+            }
+
+            MatchManagement matchManagement = new MatchManagement(gamers, games);
+            if (seed != null) {
+                matchManagement.generateMatchesParallel(seed);
+            } else {
+                matchManagement.generateMatches();
+            }
+            PointsBoard pointsBoard = new PointsBoard(gamers, matchManagement.getMatchStore());
+            TournamentSnapshot.write(file, matchManagement.getMatchStore(), pointsBoard);
+            printResults(matchManagement.getMatchStore(), gamers, pointsBoard);
+        } catch (IOException e) {
+            System.err.println("Error: Could not use snapshot " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Simulates many tournaments and prints their summary and the gamers with the best expected rank.
+     * Expected arguments: --simulate count [seed]
+     *
+     * @param gamers Array of gamers
+     * @param games Array of games
+     * @param args Command line arguments
+     */
+    private static void runSimulation(Gamer[] gamers, Game[] games, String[] args) {
+        int tournaments;
+        long seed;
+        try {
+            tournaments = args.length > 1 ? Integer.parseInt(args[1]) : 1000;
+            seed = args.length > 2 ? Long.parseLong(args[2]) : 42L;
+        } catch (NumberFormatException e) {
+            System.err.println("Error: Usage is " + SIMULATE_OPTION + " count [seed]");
+            return;
+        }
+        if (tournaments <= 0) {
+            System.err.println("Error: Number of tournaments must be positive");
+            return;
+        }
+
+        SimulationSummary summary = new TournamentSimulator(gamers, games).simulate(tournaments, seed);
+        System.out.println(summary);
+
+        Integer[] order = new Integer[gamers.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparingDouble(summary::getExpectedRank));
+
+        System.out.println("Best Expected Ranks:");
+        for (int i = 0; i < Math.min(SIMULATION_TOP_GAMERS, order.length); i++) {
+            int gamer = order[i];
+            System.out.println(String.format(Locale.US, "%2d. %-12s expected rank %6.2f, expected points %7.1f, gold %5.1f%%",
+                    i + 1, gamers[gamer].getNickname(), summary.getExpectedRank(gamer),
+                    summary.getExpectedPoints(gamer), summary.getMedalRate(gamer, "GOLD") * 100));
+        }
     }
 
-}
\ No newline at end of file
+}
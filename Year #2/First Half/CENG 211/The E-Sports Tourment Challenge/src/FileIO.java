@@ -1,6 +1,5 @@
-import java.io.BufferedReader;
-import java.io.FileReader;
 import java.io.IOException;
+import java.util.Arrays;
 
 /**
  * Utility class for reading CSV files and loading data
@@ -8,10 +7,13 @@ import java.io.IOException;
  */
 public class FileIO {
 
+    /** Initial capacity of the result arrays, grown by doubling while reading. */
+    private static final int INITIAL_CAPACITY = 16;
+
     /**
      * Reads games data from a CSV file
      * Expected format: ID, GameName, BasePointPerRound
-     * 
+     *
      * @param filename Path to the games CSV file
      * @return Array of Game objects
      * @throws IllegalArgumentException if filename is null or empty
@@ -20,50 +22,72 @@ public class FileIO {
         if (filename == null || filename.trim().isEmpty()) {
             throw new IllegalArgumentException("Filename cannot be null or empty");
         }
-        
-        // First pass: count the number of games
-        int count = 0;
-        try (BufferedReader inputStream = new BufferedReader(new FileReader(filename))) {
-            inputStream.readLine(); // Skip header
-            String line;
-            while ((line = inputStream.readLine()) != null) {
-                count++;
-            }
-        } catch (IOException e) {
-            System.err.println("Error reading games file: " + e.getMessage());
-            return new Game[0];
+        return readGames(filename, new LoadReport(filename));
+    }
+
+    /**
+     * Reads games data from a CSV file in a single streaming pass
+     * Rejected lines are recorded in the given report instead of aborting the load
+     * Expected format: ID, GameName, BasePointPerRound
+     *
+     * @param filename Path to the games CSV file
+     * @param report Report that receives the line-level errors
+     * @return Array of Game objects
+     * @throws IllegalArgumentException if filename is null or empty, or report is null
+     */
+    public static Game[] readGames(String filename, LoadReport report) {
+        if (filename == null || filename.trim().isEmpty()) {
+            throw new IllegalArgumentException("Filename cannot be null or empty");
         }
+        if (report == null) {
+            throw new IllegalArgumentException("Report cannot be null");
+        }
+
+        long start = Metrics.start();
+        int previousErrors = report.getErrorCount();
+        Game[] games = new Game[INITIAL_CAPACITY];
+        int count = 0;
+
+        try (CsvReader reader = new CsvReader(filename)) {
+            reader.nextLine(); // Skip header
+
+            while (reader.nextLine()) {
+                if (reader.isBlankLine()) {
+                    continue;
+                }
+                if (reader.getFieldCount() < 3) { // Ensure that it reads the valid input
+                    report.addError(reader.getLineNumber(), "Expected 3 fields but found " + reader.getFieldCount());
+                    continue;
+                }
+                try {
+                    int id = reader.getInt(0); // Parse the field to integer
+                    String gameName = reader.getString(1); // Get the string
+                    int basePointPerRound = reader.getInt(2); // Parse the field to integer
 
-        // Second pass: read the data
-        Game[] games = new Game[count];
-        int index = 0;
-        
-        try (BufferedReader inputStream = new BufferedReader(new FileReader(filename))) {
-            String line = inputStream.readLine(); // Skip header
-            
-            while ((line = inputStream.readLine()) != null) {
-                String[] parts = line.split(","); // Split with ","
-                if (parts.length >= 3) { // Ensure that it reads the valid input
-                    int id = Integer.parseInt(parts[0].trim()); // Parse the string to integer
-                    String gameName = parts[1].trim(); // Get the string
-                    int basePointPerRound = Integer.parseInt(parts[2].trim()); // Parse the string to integer
-                    
-                    Game game = new Game(id, gameName, basePointPerRound); // Create a game object for each valid line
-                    games[index]= game;
-                    index++;
+                    if (count == games.length) {
+                        games = Arrays.copyOf(games, count * 2);
+                    }
+                    games[count] = new Game(id, gameName, basePointPerRound); // Create a game object for each valid line
+                    count++;
+                } catch (IllegalArgumentException e) {
+                    report.addError(reader.getLineNumber(), e.getMessage());
                 }
             }
         } catch (IOException e) {
             System.err.println("Error reading games file: " + e.getMessage());
         }
 
-        return games;
+        report.setLoadedRows(count);
+        Metrics.increment("fileio.games.loaded", count);
+        Metrics.increment("fileio.games.rejected", report.getErrorCount() - previousErrors);
+        Metrics.stop("fileio.readGames", start);
+        return Arrays.copyOf(games, count);
     }
 
     /**
      * Reads gamers data from a CSV file
      * Expected format: ID, Nickname, Name, Phone, ExperienceYears
-     * 
+     *
      * @param filename Path to the gamers CSV file
      * @return Array of Gamer objects
      * @throws IllegalArgumentException if filename is null or empty
@@ -72,44 +96,67 @@ public class FileIO {
         if (filename == null || filename.trim().isEmpty()) {
             throw new IllegalArgumentException("Filename cannot be null or empty");
         }
-        
-        // First pass: count the number of gamers
-        int count = 0;
-        try (BufferedReader inputStream = new BufferedReader(new FileReader(filename))) {
-            inputStream.readLine(); // Skip header
-            String line;
-            while ((line = inputStream.readLine()) != null) {
-                count++;
-            }
-        } catch (IOException e) {
-            System.err.println("Error reading gamers file: " + e.getMessage());
-            return new Gamer[0];
+        return readGamers(filename, new LoadReport(filename));
+    }
+
+    /**
+     * Reads gamers data from a CSV file in a single streaming pass
+     * Rejected lines are recorded in the given report instead of aborting the load
+     * Expected format: ID, Nickname, Name, Phone, ExperienceYears
+     *
+     * @param filename Path to the gamers CSV file
+     * @param report Report that receives the line-level errors
+     * @return Array of Gamer objects
+     * @throws IllegalArgumentException if filename is null or empty, or report is null
+     */
+    public static Gamer[] readGamers(String filename, LoadReport report) {
+        if (filename == null || filename.trim().isEmpty()) {
+            throw new IllegalArgumentException("Filename cannot be null or empty");
         }
+        if (report == null) {
+            throw new IllegalArgumentException("Report cannot be null");
+        }
+
+        long start = Metrics.start();
+        int previousErrors = report.getErrorCount();
+        Gamer[] gamers = new Gamer[INITIAL_CAPACITY];
+        int count = 0;
+
+        try (CsvReader reader = new CsvReader(filename)) {
+            reader.nextLine(); // Skip header
+
+            while (reader.nextLine()) {
+                if (reader.isBlankLine()) {
+                    continue;
+                }
+                if (reader.getFieldCount() < 5) { // Ensure that it reads the valid input
+                    report.addError(reader.getLineNumber(), "Expected 5 fields but found " + reader.getFieldCount());
+                    continue;
+                }
+                try {
+                    int id = reader.getInt(0); // Parse the field to integer
+                    String nickname = reader.getString(1); // Get the string
+                    String name = reader.getString(2); // Get the string
+                    String phone = reader.getString(3); // Get the string
+                    int experienceYears = reader.getInt(4); // Parse the field to integer
 
-        // Second pass: read the data
-        Gamer[] gamers = new Gamer[count];
-        int index = 0;
-        
-        try (BufferedReader inputStream = new BufferedReader(new FileReader(filename))) {
-            String line = inputStream.readLine(); // Skip header
-            
-            while ((line = inputStream.readLine()) != null) {
-                String[] parts = line.split(","); // Split with ","
-                if (parts.length >= 5) { // Ensure that it reads the valid input
-                    int id = Integer.parseInt(parts[0].trim()); // Parse the string to integer
-                    String nickname = parts[1].trim(); // Get the string
-                    String name = parts[2].trim(); // Get the string
-                    String phone = parts[3].trim(); // Get the string
-                    int experienceYears = Integer.parseInt(parts[4].trim()); // Parse the string to integer
-                    
-                    gamers[index] = new Gamer(id, nickname, name, phone, experienceYears); // Create a gamer object for each valid line
-                    index++;
+                    if (count == gamers.length) {
+                        gamers = Arrays.copyOf(gamers, count * 2);
+                    }
+                    gamers[count] = new Gamer(id, nickname, name, phone, experienceYears); // Create a gamer object for each valid line
+                    count++;
+                } catch (IllegalArgumentException e) {
+                    report.addError(reader.getLineNumber(), e.getMessage());
                 }
             }
         } catch (IOException e) {
             System.err.println("Error reading gamers file: " + e.getMessage());
         }
 
-        return gamers;
+        report.setLoadedRows(count);
+        Metrics.increment("fileio.gamers.loaded", count);
+        Metrics.increment("fileio.gamers.rejected", report.getErrorCount() - previousErrors);
+        Metrics.stop("fileio.readGamers", start);
+        return Arrays.copyOf(gamers, count);
     }
 }
@@ -0,0 +1,122 @@
+/**
+ * Lookup of gamers by ID and by nickname, built once when the gamers are loaded.
+ * Both lookups return the gamer's position in the gamers array, which is the index used by
+ * MatchManagement, MatchStore and PointsBoard. IDs go through a primitive IdIndex and
+ * nicknames through an open addressing table of strings, so no lookup boxes or scans.
+ *
+ * If several gamers share an ID or a nickname, the first of them is found.
+ * The index is immutable and can be shared.
+ */
+public class GamerIndex {
+
+    /** Value returned when no gamer matches the key. */
+    public static final int NOT_FOUND = IdIndex.NOT_FOUND;
+
+    private final IdIndex idIndex;
+    private final String[] nicknames;
+    private final int[] nicknamePositions;
+    private final int size;
+
+    /**
+     * Constructor to create a GamerIndex object.
+     *
+     * @param gamers Array of gamers to index
+     * @throws IllegalArgumentException if gamers is null or contains null
+     */
+    public GamerIndex(Gamer[] gamers) {
+        if (gamers == null) {
+            throw new IllegalArgumentException("Gamers array cannot be null");
+        }
+
+        this.size = gamers.length;
+        this.idIndex = new IdIndex(gamers.length);
+
+        int capacity = 2;
+        while (capacity < gamers.length * 2L + 2) {
+            capacity <<= 1;
+        }
+        this.nicknames = new String[capacity];
+        this.nicknamePositions = new int[capacity];
+
+        for (int i = 0; i < gamers.length; i++) {
+            if (gamers[i] == null) {
+                throw new IllegalArgumentException("Gamer at index " + i + " cannot be null");
+            }
+            idIndex.putIfAbsent(gamers[i].getId(), i);
+            addNickname(gamers[i].getNickname(), i);
+        }
+    }
+
+    /**
+     * Adds a nickname to the nickname table unless it is already there.
+     *
+     * @param nickname The nickname
+     * @param position The position of the gamer
+     */
+    private void addNickname(String nickname, int position) {
+        int mask = nicknames.length - 1;
+        int slot = spread(nickname.hashCode()) & mask;
+        while (nicknames[slot] != null) {
+            if (nicknames[slot].equals(nickname)) {
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        nicknames[slot] = nickname;
+        nicknamePositions[slot] = position;
+    }
+
+    /**
+     * Spreads the bits of a string hash so that similar nicknames do not cluster.
+     *
+     * @param hash The string hash
+     * @return Mixed hash
+     */
+    private static int spread(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Finds a gamer by ID in O(1).
+     *
+     * @param id The gamer ID
+     * @return Position of the gamer, or NOT_FOUND
+     */
+    public int indexOf(int id) {
+        return idIndex.get(id);
+    }
+
+    /**
+     * Finds a gamer by nickname in O(1). Leading and trailing spaces are ignored, as when loading gamers.
+     *
+     * @param nickname The nickname
+     * @return Position of the gamer, or NOT_FOUND
+     * @throws IllegalArgumentException if nickname is null
+     */
+    public int indexOf(String nickname) {
+        if (nickname == null) {
+            throw new IllegalArgumentException("Nickname cannot be null");
+        }
+
+        String key = nickname.trim();
+        int mask = nicknames.length - 1;
+        int slot = spread(key.hashCode()) & mask;
+        while (nicknames[slot] != null) {
+            if (nicknames[slot].equals(key)) {
+                return nicknamePositions[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * Gets the number of gamers indexed.
+     *
+     * @return Number of gamers
+     */
+    public int size() {
+        return size;
+    }
+}
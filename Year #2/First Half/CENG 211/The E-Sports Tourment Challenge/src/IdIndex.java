@@ -0,0 +1,166 @@
+/**
+ * Hash index from int keys to int values, such as from a gamer ID to the gamer's array position.
+ * Uses open addressing with linear probing over primitive arrays, so lookups take O(1)
+ * expected time and never box keys or values.
+ */
+public class IdIndex {
+
+    /** Value returned by get when a key is not in the index. */
+    public static final int NOT_FOUND = -1;
+
+    /** Maximum share of occupied slots before the table is grown. */
+    private static final double MAX_LOAD = 0.5;
+
+    private int[] keys;
+    private int[] values;
+    private boolean[] occupied;
+    private int size;
+
+    /**
+     * Constructor to create an empty IdIndex object.
+     *
+     * @param expectedSize Number of keys the index should hold without growing
+     * @throws IllegalArgumentException if expectedSize is negative
+     */
+    public IdIndex(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("Expected size cannot be negative");
+        }
+
+        int capacity = tableSizeFor(expectedSize);
+        this.keys = new int[capacity];
+        this.values = new int[capacity];
+        this.occupied = new boolean[capacity];
+    }
+
+    /**
+     * Computes the smallest power-of-two table size that holds a number of keys below the maximum load.
+     *
+     * @param expectedSize Number of keys
+     * @return Table size
+     */
+    private static int tableSizeFor(int expectedSize) {
+        int capacity = 2;
+        while (capacity * MAX_LOAD < expectedSize + 1) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * Spreads the bits of a key so that sequential IDs do not cluster.
+     *
+     * @param key The key
+     * @return Mixed hash of the key
+     */
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Maps a key to a value, replacing any previous value.
+     *
+     * @param key The key
+     * @param value The value; must not be negative
+     * @return The previous value of the key, or NOT_FOUND if the key was new
+     * @throws IllegalArgumentException if value is negative
+     */
+    public int put(int key, int value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Value cannot be negative");
+        }
+
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (occupied[slot]) {
+            if (keys[slot] == key) {
+                int previous = values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        occupied[slot] = true;
+        size++;
+        if (size > keys.length * MAX_LOAD) {
+            grow();
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * Maps a key to a value only if the key is not in the index yet.
+     *
+     * @param key The key
+     * @param value The value; must not be negative
+     * @return The existing value of the key, or NOT_FOUND if the key was added
+     * @throws IllegalArgumentException if value is negative
+     */
+    public int putIfAbsent(int key, int value) {
+        int existing = get(key);
+        if (existing != NOT_FOUND) {
+            return existing;
+        }
+        return put(key, value);
+    }
+
+    /**
+     * Gets the value of a key.
+     *
+     * @param key The key
+     * @return The value of the key, or NOT_FOUND if the key is not in the index
+     */
+    public int get(int key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (occupied[slot]) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return NOT_FOUND;
+    }
+
+    /**
+     * Checks whether a key is in the index.
+     *
+     * @param key The key
+     * @return true if the key is in the index
+     */
+    public boolean containsKey(int key) {
+        return get(key) != NOT_FOUND;
+    }
+
+    /**
+     * Gets the number of keys in the index.
+     *
+     * @return Number of keys
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Doubles the table and reinserts every key.
+     */
+    private void grow() {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        boolean[] oldOccupied = occupied;
+
+        keys = new int[oldKeys.length * 2];
+        values = new int[oldKeys.length * 2];
+        occupied = new boolean[oldKeys.length * 2];
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldOccupied[i]) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+}
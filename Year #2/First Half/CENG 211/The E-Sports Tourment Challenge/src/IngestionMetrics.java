@@ -0,0 +1,188 @@
+import java.util.Locale;
+
+/**
+ * Snapshot of the throughput, latency and backpressure of a MatchIngestor.
+ * Latency is measured from the moment an event is accepted until its points are on the PointsBoard,
+ * and is kept in power-of-two buckets, so percentiles are upper bounds within a factor of two.
+ */
+public class IngestionMetrics {
+
+    private final long acceptedEvents;
+    private final long rejectedEvents;
+    private final long appliedEvents;
+    private final long batches;
+    private final long backpressureWaits;
+    private final int queueDepth;
+    private final int queueCapacity;
+    private final long elapsedNanos;
+    private final long latencySumNanos;
+    private final long latencyMaxNanos;
+    private final long[] latencyBuckets;
+
+    /**
+     * Constructor to create an IngestionMetrics object.
+     *
+     * @param acceptedEvents Number of events accepted into the queue
+     * @param rejectedEvents Number of invalid events rejected
+     * @param appliedEvents Number of events applied to the PointsBoard
+     * @param batches Number of batches applied
+     * @param backpressureWaits Number of times a producer had to wait for space in the queue
+     * @param queueDepth Number of events waiting in the queue
+     * @param queueCapacity Capacity of the queue
+     * @param elapsedNanos Time since the ingestor was started
+     * @param latencySumNanos Sum of the latencies of all applied events
+     * @param latencyMaxNanos Largest latency of an applied event
+     * @param latencyBuckets Number of applied events per power-of-two latency bucket
+     */
+    IngestionMetrics(long acceptedEvents, long rejectedEvents, long appliedEvents, long batches,
+                     long backpressureWaits, int queueDepth, int queueCapacity, long elapsedNanos,
+                     long latencySumNanos, long latencyMaxNanos, long[] latencyBuckets) {
+        this.acceptedEvents = acceptedEvents;
+        this.rejectedEvents = rejectedEvents;
+        this.appliedEvents = appliedEvents;
+        this.batches = batches;
+        this.backpressureWaits = backpressureWaits;
+        this.queueDepth = queueDepth;
+        this.queueCapacity = queueCapacity;
+        this.elapsedNanos = elapsedNanos;
+        this.latencySumNanos = latencySumNanos;
+        this.latencyMaxNanos = latencyMaxNanos;
+        this.latencyBuckets = latencyBuckets.clone();
+    }
+
+    /**
+     * Gets the number of events accepted into the queue.
+     *
+     * @return Accepted events
+     */
+    public long getAcceptedEvents() {
+        return acceptedEvents;
+    }
+
+    /**
+     * Gets the number of invalid events rejected.
+     *
+     * @return Rejected events
+     */
+    public long getRejectedEvents() {
+        return rejectedEvents;
+    }
+
+    /**
+     * Gets the number of events applied to the PointsBoard.
+     *
+     * @return Applied events
+     */
+    public long getAppliedEvents() {
+        return appliedEvents;
+    }
+
+    /**
+     * Gets the number of batches applied.
+     *
+     * @return Number of batches
+     */
+    public long getBatches() {
+        return batches;
+    }
+
+    /**
+     * Gets the number of times a producer had to wait because the queue was full.
+     *
+     * @return Number of backpressure waits
+     */
+    public long getBackpressureWaits() {
+        return backpressureWaits;
+    }
+
+    /**
+     * Gets the number of events waiting in the queue.
+     *
+     * @return Queue depth
+     */
+    public int getQueueDepth() {
+        return queueDepth;
+    }
+
+    /**
+     * Gets the capacity of the queue.
+     *
+     * @return Queue capacity
+     */
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    /**
+     * Gets the number of applied events per second since the ingestor was started.
+     *
+     * @return Throughput in events per second
+     */
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0.0 : appliedEvents * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * Gets the average latency of the applied events.
+     *
+     * @return Average latency in microseconds
+     */
+    public double getAverageLatencyMicros() {
+        return appliedEvents == 0 ? 0.0 : latencySumNanos / 1e3 / appliedEvents;
+    }
+
+    /**
+     * Gets the largest latency of an applied event.
+     *
+     * @return Largest latency in microseconds
+     */
+    public double getMaxLatencyMicros() {
+        return latencyMaxNanos / 1e3;
+    }
+
+    /**
+     * Gets an upper bound of a latency percentile of the applied events.
+     *
+     * @param percentile Percentile between 0 and 100
+     * @return Latency in microseconds that at least the given share of events stayed under
+     * @throws IllegalArgumentException if percentile is out of range
+     */
+    public double getLatencyPercentileMicros(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        if (appliedEvents == 0) {
+            return 0.0;
+        }
+
+        long target = (long) Math.ceil(appliedEvents * percentile / 100);
+        long seen = 0;
+        for (int bucket = 0; bucket < latencyBuckets.length; bucket++) {
+            seen += latencyBuckets[bucket];
+            if (seen >= Math.max(target, 1)) {
+                return Math.min((double) (1L << Math.min(bucket + 1, 62)), latencyMaxNanos) / 1e3;
+            }
+        }
+        return getMaxLatencyMicros();
+    }
+
+    /**
+     * Formats the metrics for display.
+     *
+     * @return Formatted metrics
+     */
+    @Override
+    public String toString() {
+        return String.format(Locale.US, """
+                            Ingestion Metrics:
+                            Events: %,d accepted, %,d rejected, %,d applied in %,d batches
+                            Throughput: %,.0f events/s
+                            Latency: avg %.1f us, p50 <= %.1f us, p99 <= %.1f us, max %.1f us
+                            Backpressure: %,d waits, queue %,d/%,d
+                            """, acceptedEvents, rejectedEvents, appliedEvents, batches,
+                                 getThroughput(),
+                                 getAverageLatencyMicros(), getLatencyPercentileMicros(50),
+                                 getLatencyPercentileMicros(99), getMaxLatencyMicros(),
+                                 backpressureWaits, queueDepth, queueCapacity);
+    }
+}
@@ -0,0 +1,106 @@
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe histogram of durations in nanoseconds with a bounded relative error, in the style of HdrHistogram.
+ * Values are grouped by their power of two and every power of two is split into SUB_BUCKETS linear
+ * sub-buckets, so a reported percentile is at most 1 / SUB_BUCKETS above the true value, from one
+ * nanosecond up to Long.MAX_VALUE, in a fixed array of counters and without allocating per value.
+ */
+public class LatencyHistogram {
+
+    /** Number of linear sub-buckets per power of two, as a power of two. */
+    private static final int SUB_BUCKET_BITS = 4;
+
+    /** Number of linear sub-buckets per power of two. */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private final AtomicLongArray counts = new AtomicLongArray((Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS);
+
+    /**
+     * Records one value.
+     *
+     * @param nanos The value; negative values are recorded as 0
+     */
+    public void record(long nanos) {
+        counts.incrementAndGet(bucketOf(Math.max(nanos, 0)));
+    }
+
+    /**
+     * Finds the bucket of a value.
+     * Values below SUB_BUCKETS have a bucket each; larger values are grouped by their highest
+     * bit and the SUB_BUCKET_BITS bits below it.
+     *
+     * @param value The non-negative value
+     * @return Index of the bucket
+     */
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> exponent) - SUB_BUCKETS;
+        return (exponent + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Gets the largest value that falls into a bucket.
+     *
+     * @param bucket Index of the bucket
+     * @return Upper bound of the bucket
+     */
+    private static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS - 1;
+        long subBucket = bucket % SUB_BUCKETS + SUB_BUCKETS;
+        long upper = ((subBucket + 1) << exponent) - 1;
+        return upper < 0 ? Long.MAX_VALUE : upper;
+    }
+
+    /**
+     * Gets the number of recorded values.
+     *
+     * @return Number of values
+     */
+    public long getCount() {
+        long count = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            count += counts.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Gets an upper bound of a percentile of the recorded values.
+     *
+     * @param percentile Percentile between 0 and 100
+     * @return Value that at least the given share of values is less than or equal to, or 0 if empty
+     * @throws IllegalArgumentException if percentile is out of range
+     */
+    public long getValueAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+
+        long[] snapshot = new long[counts.length()];
+        long total = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        long target = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= target) {
+                return upperBoundOf(i);
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+}
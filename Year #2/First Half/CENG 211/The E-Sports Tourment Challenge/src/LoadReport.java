@@ -0,0 +1,146 @@
+/**
+ * Collects the outcome of loading a CSV file.
+ * Keeps the number of loaded rows and a line-level list of the rows that were rejected.
+ */
+public class LoadReport {
+
+    /** Maximum number of error details kept; further errors are only counted. */
+    private static final int MAX_RECORDED_ERRORS = 1000;
+
+    private final String source;
+    private int loadedRows;
+    private int errorCount;
+    private int[] errorLines;
+    private String[] errorMessages;
+
+    /**
+     * Constructor to create an empty LoadReport.
+     *
+     * @param source Name of the file the report describes
+     * @throws IllegalArgumentException if source is null or empty
+     */
+    public LoadReport(String source) {
+        if (source == null || source.trim().isEmpty()) {
+            throw new IllegalArgumentException("Source cannot be null or empty");
+        }
+
+        this.source = source;
+        this.errorLines = new int[16];
+        this.errorMessages = new String[16];
+    }
+
+    /**
+     * Records a rejected line.
+     *
+     * @param lineNumber The 1-based line number of the rejected line
+     * @param message Description of the problem
+     */
+    public void addError(int lineNumber, String message) {
+        if (errorCount < MAX_RECORDED_ERRORS) {
+            if (errorCount == errorLines.length) {
+                int[] grownLines = new int[errorCount * 2];
+                String[] grownMessages = new String[errorCount * 2];
+                System.arraycopy(errorLines, 0, grownLines, 0, errorCount);
+                System.arraycopy(errorMessages, 0, grownMessages, 0, errorCount);
+                errorLines = grownLines;
+                errorMessages = grownMessages;
+            }
+            errorLines[errorCount] = lineNumber;
+            errorMessages[errorCount] = message;
+        }
+        errorCount++;
+    }
+
+    /**
+     * Sets the number of rows that were loaded successfully.
+     *
+     * @param loadedRows Number of loaded rows
+     * @throws IllegalArgumentException if loadedRows is negative
+     */
+    public void setLoadedRows(int loadedRows) {
+        if (loadedRows < 0) {
+            throw new IllegalArgumentException("Loaded rows cannot be negative");
+        }
+        this.loadedRows = loadedRows;
+    }
+
+    /**
+     * Gets the number of rows that were loaded successfully.
+     *
+     * @return Number of loaded rows
+     */
+    public int getLoadedRows() {
+        return loadedRows;
+    }
+
+    /**
+     * Gets the total number of rejected lines.
+     *
+     * @return Number of errors
+     */
+    public int getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * Checks if any line was rejected.
+     *
+     * @return true if there were errors, false otherwise
+     */
+    public boolean hasErrors() {
+        return errorCount > 0;
+    }
+
+    /**
+     * Gets the line number of a recorded error.
+     *
+     * @param index Index of the recorded error
+     * @return Line number of the error
+     * @throws IllegalArgumentException if index is invalid
+     */
+    public int getErrorLine(int index) {
+        checkErrorIndex(index);
+        return errorLines[index];
+    }
+
+    /**
+     * Gets the message of a recorded error.
+     *
+     * @param index Index of the recorded error
+     * @return Message of the error
+     * @throws IllegalArgumentException if index is invalid
+     */
+    public String getErrorMessage(int index) {
+        checkErrorIndex(index);
+        return errorMessages[index];
+    }
+
+    private void checkErrorIndex(int index) {
+        if (index < 0) {
+            throw new IllegalArgumentException("Index cannot be negative");
+        }
+        if (index >= Math.min(errorCount, MAX_RECORDED_ERRORS)) {
+            throw new IllegalArgumentException("Index out of bounds");
+        }
+    }
+
+    /**
+     * Returns a string representation of the report.
+     *
+     * @return Summary line followed by one line per recorded error
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(source).append(": ").append(loadedRows).append(" rows loaded, ")
+                .append(errorCount).append(" lines rejected");
+        int recorded = Math.min(errorCount, MAX_RECORDED_ERRORS);
+        for (int i = 0; i < recorded; i++) {
+            sb.append("\n  line ").append(errorLines[i]).append(": ").append(errorMessages[i]);
+        }
+        if (errorCount > recorded) {
+            sb.append("\n  ... ").append(errorCount - recorded).append(" more");
+        }
+        return sb.toString();
+    }
+}
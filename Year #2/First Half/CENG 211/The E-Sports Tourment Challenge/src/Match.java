@@ -16,10 +16,32 @@ public class Match {
     private int bonusPoints;
     private int matchPoints;
 
+    /** Rendered text of this match, built on first use and dropped whenever the match changes. */
+    private String text;
+
     /**
      * Number of games played in each match.
      */
     public static final int NUM_GAMES = 3;
+
+    /** Minimum number of rounds played in a game. */
+    public static final int MIN_ROUNDS = 1;
+
+    /** Maximum number of rounds played in a game. */
+    public static final int MAX_ROUNDS = 10;
+
+    /** Experience years above this value do not increase skill points. */
+    public static final int MAX_EXPERIENCE_BONUS_YEARS = 10;
+
+    /** Skill multiplier for each experience value, computed with the same expression as before. */
+    private static final double[] SKILL_MULTIPLIERS = new double[MAX_EXPERIENCE_BONUS_YEARS + 1];
+
+    static {
+        for (int experience = 0; experience <= MAX_EXPERIENCE_BONUS_YEARS; experience++) {
+            SKILL_MULTIPLIERS[experience] = 1 + experience * 0.02;
+        }
+    }
+
     private static final Random RANDOM = new Random();
 
     /**
@@ -32,34 +54,63 @@ public class Match {
      * @throws IllegalArgumentException if validation fails
      */
     public Match(int matchID, Gamer gamer, Game[] games) {
-        if (matchID <= 0) {
-            throw new IllegalArgumentException("Match ID must be positive");
-        }
-        if (gamer == null) {
-            throw new IllegalArgumentException("Gamer cannot be null");
-        }
-        if (games == null) {
-            throw new IllegalArgumentException("Games array cannot be null");
-        }
-        if (games.length != NUM_GAMES) {
-            throw new IllegalArgumentException("Games array must contain exactly " + NUM_GAMES + " games");
-        }
-        for (int i = 0; i < games.length; i++) {
-            if (games[i] == null) {
-                throw new IllegalArgumentException("Game at index " + i + " cannot be null");
-            }
-        }
+        this(matchID, gamer, games, generateRandomRounds());
+    }
+
+    /**
+     * Constructor to create a Match object with already known rounds.
+     * Used when rounds are drawn by the caller, e.g. from a seeded random generator.
+     *
+     * @param matchID The unique identifier for the match
+     * @param gamer The gamer participating in this match
+     * @param games Array of games to be played in this match
+     * @param rounds Number of rounds played in each game (each value 1-10)
+     * @throws IllegalArgumentException if validation fails
+     */
+    public Match(int matchID, Gamer gamer, Game[] games, int[] rounds) {
+        validateParticipants(matchID, gamer, games);
+        validateRounds(rounds);
 
         this.matchID = matchID;
         this.gamer = new Gamer(gamer);
         this.games = copyGames(games);
-        this.rounds = generateRandomRounds();
+        this.rounds = rounds.clone();
         this.rawPoints = calculateRawPoints();
         this.skillPoints = calculateSkillPoints();
         this.bonusPoints = calculateBonusPoints();
         this.matchPoints = calculateMatchPoints();
     }
 
+    /**
+     * Constructor to restore a Match whose points were calculated when it was played.
+     * Used by MatchStore, which keeps the points of every match next to its rounds,
+     * so the points are taken as stored instead of being calculated again.
+     *
+     * @param matchID The unique identifier for the match
+     * @param gamer The gamer participating in this match
+     * @param games Array of games played in this match
+     * @param rounds Number of rounds played in each game (each value 1-10)
+     * @param rawPoints The stored raw points
+     * @param skillPoints The stored skill points
+     * @param bonusPoints The stored bonus points
+     * @param matchPoints The stored match points
+     * @throws IllegalArgumentException if validation fails
+     */
+    Match(int matchID, Gamer gamer, Game[] games, int[] rounds,
+          int rawPoints, int skillPoints, int bonusPoints, int matchPoints) {
+        validateParticipants(matchID, gamer, games);
+        validateRounds(rounds);
+
+        this.matchID = matchID;
+        this.gamer = new Gamer(gamer);
+        this.games = copyGames(games);
+        this.rounds = rounds.clone();
+        this.rawPoints = rawPoints;
+        this.skillPoints = skillPoints;
+        this.bonusPoints = bonusPoints;
+        this.matchPoints = matchPoints;
+    }
+
     /**
      * Copy constructor to create a deep copy of a Match object.
      * 
@@ -88,6 +139,7 @@ public class Match {
         this.skillPoints = another.skillPoints;
         this.bonusPoints = another.bonusPoints;
         this.matchPoints = another.matchPoints;
+        this.text = another.text;
     }
 
     /**
@@ -99,11 +151,62 @@ public class Match {
     private static int[] generateRandomRounds() {
         int[] rounds = new int[NUM_GAMES];
         for (int i = 0; i < NUM_GAMES; i++) {
-            rounds[i] = RANDOM.nextInt(10) + 1;
+            rounds[i] = RANDOM.nextInt(MAX_ROUNDS) + MIN_ROUNDS;
         }
         return rounds;
     }
 
+    /**
+     * Validates the match ID, gamer and games of a new match.
+     *
+     * @param matchID The match ID to validate
+     * @param gamer The gamer to validate
+     * @param games The games array to validate
+     * @throws IllegalArgumentException if any of them is invalid
+     */
+    private static void validateParticipants(int matchID, Gamer gamer, Game[] games) {
+        if (matchID <= 0) {
+            throw new IllegalArgumentException("Match ID must be positive");
+        }
+        if (gamer == null) {
+            throw new IllegalArgumentException("Gamer cannot be null");
+        }
+        if (games == null) {
+            throw new IllegalArgumentException("Games array cannot be null");
+        }
+        if (games.length != NUM_GAMES) {
+            throw new IllegalArgumentException("Games array must contain exactly " + NUM_GAMES + " games");
+        }
+        for (int i = 0; i < games.length; i++) {
+            if (games[i] == null) {
+                throw new IllegalArgumentException("Game at index " + i + " cannot be null");
+            }
+        }
+    }
+
+    /**
+     * Validates a rounds array.
+     *
+     * @param rounds The rounds array to validate
+     * @throws IllegalArgumentException if rounds array is invalid
+     */
+    private static void validateRounds(int[] rounds) {
+        if (rounds == null) {
+            throw new IllegalArgumentException("Rounds array cannot be null");
+        }
+        if (rounds.length != NUM_GAMES) {
+            throw new IllegalArgumentException("Rounds array must contain exactly " + NUM_GAMES + " values");
+        }
+        for (int i = 0; i < rounds.length; i++) {
+            if (rounds[i] < MIN_ROUNDS) {
+                throw new IllegalArgumentException("Round value at index " + i + " must be at least " + MIN_ROUNDS);
+            }
+            if (rounds[i] > MAX_ROUNDS) {
+                throw new IllegalArgumentException("Round value at index " + i + " cannot exceed " + MAX_ROUNDS);
+            }
+        }
+    }
+
     /**
      * Creates a deep copy of the games array.
      * 
@@ -133,24 +236,65 @@ public class Match {
 
     /**
      * Calculates skill points based on raw points and gamer experience.
-     * Formula: floor(rawPoints × (1 + min(experience, 10) × 0.02))
      * 
      * @return Calculated skill points
      */
     private int calculateSkillPoints() {
-        int experience = Math.min(gamer.getExperienceYears(), 10);
-        double multiplier = 1 + experience * 0.02;
-        return (int) Math.floor(rawPoints * multiplier);
+        return calculateSkillPoints(rawPoints, gamer.getExperienceYears());
     }
 
     /**
      * Calculates bonus points based on raw points tiers.
-     * ≥600: 100 points, ≥400: 50 points, ≥200: 25 points, <200: 10 points
      * 
      * @return Calculated bonus points
      * @throws IllegalStateException if rawPoints is negative
      */
     private int calculateBonusPoints() {
+        return calculateBonusPoints(rawPoints);
+    }
+
+    /**
+     * Calculates raw points of one match from primitive values without creating any objects.
+     * Reads NUM_GAMES consecutive entries of both arrays starting at offset.
+     *
+     * @param rounds Rounds played in each game
+     * @param basePoints Base points per round of each game
+     * @param offset Index of the match's first game in both arrays
+     * @return Total raw points
+     */
+    public static int calculateRawPoints(int[] rounds, int[] basePoints, int offset) {
+        int total = 0;
+        for (int i = offset; i < offset + NUM_GAMES; i++) {
+            total += rounds[i] * basePoints[i];
+        }
+        return total;
+    }
+
+    /**
+     * Calculates skill points from raw points and gamer experience.
+     * Formula: floor(rawPoints × (1 + min(experience, 10) × 0.02))
+     * The multiplier is taken from a table holding exactly the double the formula produces,
+     * so the result is identical to evaluating the formula.
+     *
+     * @param rawPoints Raw points of the match
+     * @param experienceYears Years of experience of the gamer
+     * @return Calculated skill points
+     */
+    public static int calculateSkillPoints(int rawPoints, int experienceYears) {
+        int experience = Math.min(experienceYears, MAX_EXPERIENCE_BONUS_YEARS);
+        double multiplier = experience >= 0 ? SKILL_MULTIPLIERS[experience] : 1 + experience * 0.02;
+        return (int) Math.floor(rawPoints * multiplier);
+    }
+
+    /**
+     * Calculates bonus points from raw points tiers.
+     * ≥600: 100 points, ≥400: 50 points, ≥200: 25 points, <200: 10 points
+     *
+     * @param rawPoints Raw points of the match
+     * @return Calculated bonus points
+     * @throws IllegalStateException if rawPoints is negative
+     */
+    public static int calculateBonusPoints(int rawPoints) {
         if (rawPoints < 0) {
             throw new IllegalStateException("Error: Bonus point cannot be calculated because the raw point is negative.");
         }
@@ -159,6 +303,41 @@ public class Match {
         else if (rawPoints >= 200) return 25;
         else return 10;
     }
+
+    /**
+     * Scores many matches at once from primitive columns without creating any objects.
+     * Match m uses rounds and basePoints entries m * NUM_GAMES to m * NUM_GAMES + NUM_GAMES - 1
+     * and experienceYears[m], and its four point values are written to index m of the result columns.
+     *
+     * @param rounds Rounds played in each game, NUM_GAMES entries per match
+     * @param basePoints Base points per round of each game, NUM_GAMES entries per match
+     * @param experienceYears Years of experience of the gamer of each match
+     * @param from Index of the first match to score
+     * @param to Index just past the last match to score
+     * @param raw Receives the raw points of each match
+     * @param skill Receives the skill points of each match
+     * @param bonus Receives the bonus points of each match
+     * @param points Receives the total match points of each match
+     * @throws IllegalArgumentException if the range does not fit the arrays
+     */
+    public static void scoreMatches(int[] rounds, int[] basePoints, int[] experienceYears, int from, int to,
+                                    int[] raw, int[] skill, int[] bonus, int[] points) {
+        if (from < 0 || from > to || to > experienceYears.length
+                || (long) to * NUM_GAMES > rounds.length || (long) to * NUM_GAMES > basePoints.length
+                || to > raw.length || to > skill.length || to > bonus.length || to > points.length) {
+            throw new IllegalArgumentException("Match range does not fit the arrays");
+        }
+
+        for (int m = from; m < to; m++) {
+            int rawPoints = calculateRawPoints(rounds, basePoints, m * NUM_GAMES);
+            int skillPoints = calculateSkillPoints(rawPoints, experienceYears[m]);
+            int bonusPoints = calculateBonusPoints(rawPoints);
+            raw[m] = rawPoints;
+            skill[m] = skillPoints;
+            bonus[m] = bonusPoints;
+            points[m] = skillPoints + bonusPoints;
+        }
+    }
     
     /**
      * Sets a new match ID.
@@ -171,6 +350,7 @@ public class Match {
             throw new IllegalArgumentException("Match ID must be positive");
         }
         this.matchID = matchID;
+        this.text = null;
     }
 
     /**
@@ -252,6 +432,7 @@ public class Match {
         this.skillPoints = calculateSkillPoints();
         this.bonusPoints = calculateBonusPoints();
         this.matchPoints = calculateMatchPoints();
+        this.text = null;
     }
     
     /**
@@ -277,6 +458,7 @@ public class Match {
         this.skillPoints = calculateSkillPoints();
         this.bonusPoints = calculateBonusPoints();
         this.matchPoints = calculateMatchPoints();
+        this.text = null;
     }
 
     /**
@@ -286,43 +468,37 @@ public class Match {
      * @throws IllegalArgumentException if rounds array is invalid
      */
     public void setRounds(int[] rounds) {
-        if (rounds == null) {
-            throw new IllegalArgumentException("Rounds array cannot be null");
-        }
-        if (rounds.length != NUM_GAMES) {
-            throw new IllegalArgumentException("Rounds array must contain exactly " + NUM_GAMES + " values");
-        }
-        for (int i = 0; i < rounds.length; i++) {
-            if (rounds[i] < 1) {
-                throw new IllegalArgumentException("Round value at index " + i + " must be at least 1");
-            }
-            if (rounds[i] > 10) {
-                throw new IllegalArgumentException("Round value at index " + i + " cannot exceed 10");
-            }
-        }
+        validateRounds(rounds);
         this.rounds = rounds.clone();
         this.rawPoints = calculateRawPoints();
         this.skillPoints = calculateSkillPoints();
         this.bonusPoints = calculateBonusPoints();
         this.matchPoints = calculateMatchPoints();
+        this.text = null;
     }
     
     /**
      * Returns a string representation of this match.
+     * The text is built once and reused until a setter changes the match.
      * 
      * @return String containing match details including ID, points, gamer, games and rounds
      */
     @Override
     public String toString() {
-        StringBuilder sb = new StringBuilder();
-        sb.append(String.format("Match ID: %d, Total Match Points: %d", matchID, matchPoints));
-        sb.append("\nGamer Information:\n").append(gamer.toString());
+        String rendered = text;
+        if (rendered == null) {
+            StringBuilder sb = new StringBuilder(512);
+            sb.append("Match ID: ").append(matchID).append(", Total Match Points: ").append(matchPoints);
+            sb.append("\nGamer Information:\n").append(gamer.toString());
 
-        for (int i = 0; i < NUM_GAMES; i++) {
-            sb.append(games[i].toString())
-                    .append(String.format("\nNumber of rounds for this game: %d\n", rounds[i]));
+            for (int i = 0; i < NUM_GAMES; i++) {
+                sb.append(games[i].toString())
+                        .append("\nNumber of rounds for this game: ").append(rounds[i]).append('\n');
+            }
+            rendered = sb.toString();
+            text = rendered;
         }
-        return sb.toString();
+        return rendered;
     }
 
     /**
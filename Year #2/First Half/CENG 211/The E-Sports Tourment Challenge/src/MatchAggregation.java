@@ -0,0 +1,37 @@
+/**
+ * An additional statistic that is computed during the single aggregation pass over a tournament.
+ * Implementations are registered with a TournamentAggregator and receive every match row
+ * together with the built-in statistics, so adding one does not add another scan.
+ *
+ * When the pass runs in parallel, every worker fills its own accumulator for a contiguous
+ * range of rows and the accumulators are combined in row order.
+ *
+ * @param <A> Type of the accumulator holding the partial result
+ */
+public interface MatchAggregation<A> {
+
+    /**
+     * Creates an empty accumulator for one worker.
+     *
+     * @return A new, empty accumulator
+     */
+    A createAccumulator();
+
+    /**
+     * Adds one match row to an accumulator.
+     *
+     * @param accumulator The accumulator of the current worker
+     * @param store The store holding the match
+     * @param row The row of the match
+     */
+    void accumulate(A accumulator, MatchStore store, int row);
+
+    /**
+     * Combines two accumulators; the left one always covers earlier rows than the right one.
+     *
+     * @param left Accumulator of the earlier rows
+     * @param right Accumulator of the later rows
+     * @return The combined accumulator, which may be one of the arguments
+     */
+    A combine(A left, A right);
+}
@@ -0,0 +1,609 @@
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Live ingestion of match results on top of a generated tournament.
+ * Each event is one line "gamerId,gameId1,gameId2,gameId3,rounds1,rounds2,rounds3". Events are
+ * validated when they are submitted and queued in a bounded queue; a producer that finds the queue
+ * full waits for space, so a slow consumer slows the source down instead of buffering without limit.
+ *
+ * A single consumer thread takes whatever is queued, up to the batch size, scores the batch with
+ * the scoring kernel of Match and records it on the PointsBoard. It never waits to fill a batch,
+ * so an event is applied as soon as the events ahead of it are. The statistics Query reports are
+ * kept up to date for the generated matches and the ingested ones together.
+ *
+ * Usage: java MatchIngestor (eventsFile | - | --port port) [seed]
+ * "-" reads standard input, e.g. from "tail -f events.csv"; --port accepts one connection on the loopback interface.
+ */
+public class MatchIngestor implements AutoCloseable {
+
+    /** Default number of events the queue holds before producers have to wait. */
+    public static final int DEFAULT_CAPACITY = 8192;
+
+    /** Default maximum number of events applied together. */
+    public static final int DEFAULT_BATCH_SIZE = 256;
+
+    /** Number of fields of an event line. */
+    private static final int EVENT_FIELDS = 1 + 2 * Match.NUM_GAMES;
+
+    /** How long the consumer waits for an event before checking whether it was closed. */
+    private static final long POLL_MILLIS = 50;
+
+    private final MatchStore catalog;
+    private final PointsBoard pointsBoard;
+    private final int[] experienceYears;
+    private final int[] basePointPerRound;
+    private final ArrayBlockingQueue<MatchEvent> queue;
+    private final int batchSize;
+    private final Thread consumer;
+
+    // Producers hold the read lock from checking closed until their event is queued, and close
+    // takes the write lock to set closed, so no event is queued after close has drained the queue
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private volatile boolean closed;
+
+    private final LongAdder acceptedEvents = new LongAdder();
+    private final LongAdder rejectedEvents = new LongAdder();
+    private final LongAdder backpressureWaits = new LongAdder();
+
+    // Guarded by lock; written only while a batch is applied
+    private final Object lock = new Object();
+    private final int[] basePoints = new int[Match.NUM_GAMES];
+    private final long[] latencyBuckets = new long[Long.SIZE];
+    private long startNanos;
+    private long appliedEvents;
+    private long batches;
+    private long latencySumNanos;
+    private long latencyMaxNanos;
+    private int nextMatchID;
+    private long totalTournamentPoints;
+    private Match highestScoringMatch;
+    private long highestScoringOrder;
+    private Match lowestScoringMatch;
+    private long lowestScoringOrder;
+    private Match lowestBonusMatch;
+    private long lowestBonusOrder;
+    private Query query;
+    private long queryVersion;
+
+    /**
+     * Constructor to create a MatchIngestor object with the default queue capacity and batch size.
+     *
+     * @param store Store holding the generated matches of the tournament
+     * @param pointsBoard PointsBoard of the tournament; it is copied, not changed
+     * @throws IllegalArgumentException if validation fails
+     */
+    public MatchIngestor(MatchStore store, PointsBoard pointsBoard) {
+        this(store, pointsBoard, DEFAULT_CAPACITY, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Constructor to create a MatchIngestor object.
+     * Ingested matches get IDs following the largest match ID of the store.
+     *
+     * @param store Store holding the generated matches of the tournament
+     * @param pointsBoard PointsBoard of the tournament; it is copied, not changed
+     * @param capacity Number of events the queue holds before producers have to wait
+     * @param batchSize Maximum number of events applied together
+     * @throws IllegalArgumentException if validation fails
+     */
+    public MatchIngestor(MatchStore store, PointsBoard pointsBoard, int capacity, int batchSize) {
+        if (store == null) {
+            throw new IllegalArgumentException("Match store cannot be null");
+        }
+        if (pointsBoard == null) {
+            throw new IllegalArgumentException("PointsBoard cannot be null");
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Queue capacity must be positive");
+        }
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+
+        this.catalog = store;
+        this.pointsBoard = new PointsBoard(pointsBoard);
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+
+        this.experienceYears = new int[store.getGamerCount()];
+        for (int i = 0; i < experienceYears.length; i++) {
+            experienceYears[i] = store.getGamer(i).getExperienceYears();
+        }
+        this.basePointPerRound = new int[store.getGameCount()];
+        for (int i = 0; i < basePointPerRound.length; i++) {
+            basePointPerRound[i] = store.getGame(i).getBasePointPerRound();
+        }
+
+        // Start from the statistics of the generated matches
+        TournamentStatistics base = new TournamentAggregator(store, this.pointsBoard).aggregate();
+        this.totalTournamentPoints = base.getTotalTournamentPoints();
+        this.highestScoringOrder = base.getHighestScoringRow();
+        this.highestScoringMatch = store.toMatch(base.getHighestScoringRow());
+        this.lowestScoringOrder = base.getLowestScoringRow();
+        this.lowestScoringMatch = store.toMatch(base.getLowestScoringRow());
+        this.lowestBonusOrder = base.getLowestBonusRow();
+        this.lowestBonusMatch = store.toMatch(base.getLowestBonusRow());
+        int largestMatchID = 0;
+        for (int row = 0; row < store.size(); row++) {
+            largestMatchID = Math.max(largestMatchID, store.getMatchID(row));
+        }
+        this.nextMatchID = largestMatchID + 1;
+
+        this.consumer = new Thread(this::consume, "match-ingestor");
+        this.consumer.setDaemon(true);
+    }
+
+    /**
+     * Starts the consumer thread.
+     *
+     * @throws IllegalStateException if the ingestor was already started or closed
+     */
+    public void start() {
+        if (closed || consumer.isAlive()) {
+            throw new IllegalStateException("Ingestor was already started or closed");
+        }
+        synchronized (lock) {
+            startNanos = System.nanoTime();
+        }
+        consumer.start();
+    }
+
+    /**
+     * Validates an event and queues it, waiting while the queue is full.
+     * Invalid events are counted as rejected and are not queued. Every accepted event is applied,
+     * even if the ingestor is closed while the producer waits for space in the queue.
+     *
+     * @param line The event line
+     * @throws IllegalArgumentException if the event is invalid
+     * @throws IllegalStateException if the ingestor is closed
+     * @throws InterruptedException if interrupted while waiting for space in the queue
+     */
+    public void submit(String line) throws InterruptedException {
+        if (closed) {
+            throw new IllegalStateException("Ingestor is closed");
+        }
+
+        MatchEvent event;
+        try {
+            event = parse(line);
+        } catch (IllegalArgumentException e) {
+            rejectedEvents.increment();
+            throw e;
+        }
+
+        closeLock.readLock().lockInterruptibly();
+        try {
+            if (closed) {
+                throw new IllegalStateException("Ingestor is closed");
+            }
+            event.acceptedNanos = System.nanoTime();
+            if (!queue.offer(event)) {
+                backpressureWaits.increment();
+                queue.put(event);
+            }
+            acceptedEvents.increment();
+        } finally {
+            closeLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Submits every line of a source until it ends, such as a file or a socket.
+     * Blank lines are skipped and invalid lines are added to the report.
+     *
+     * @param reader The source of event lines
+     * @param report Report that receives the line-level errors
+     * @return Number of events accepted
+     * @throws IOException if reading from the source fails
+     * @throws InterruptedException if interrupted while waiting for space in the queue
+     * @throws IllegalArgumentException if reader or report is null
+     */
+    public long ingest(BufferedReader reader, LoadReport report) throws IOException, InterruptedException {
+        if (reader == null) {
+            throw new IllegalArgumentException("Reader cannot be null");
+        }
+        if (report == null) {
+            throw new IllegalArgumentException("Report cannot be null");
+        }
+
+        long accepted = 0;
+        int lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.trim().isEmpty()) {
+                continue;
+            }
+            try {
+                submit(line);
+                accepted++;
+            } catch (IllegalArgumentException e) {
+                report.addError(lineNumber, e.getMessage());
+            }
+        }
+        report.setLoadedRows((int) Math.min(accepted, Integer.MAX_VALUE));
+        return accepted;
+    }
+
+    /**
+     * Parses and validates an event line.
+     *
+     * @param line The event line
+     * @return The event, with gamer and game IDs resolved to indices
+     * @throws IllegalArgumentException if the event is invalid
+     */
+    private MatchEvent parse(String line) {
+        if (line == null) {
+            throw new IllegalArgumentException("Event cannot be null");
+        }
+        String[] fields = line.split(",", -1);
+        if (fields.length != EVENT_FIELDS) {
+            throw new IllegalArgumentException("Expected " + EVENT_FIELDS + " fields but found " + fields.length);
+        }
+
+        MatchEvent event = new MatchEvent();
+        int gamerId = parseField(fields, 0);
+        event.gamerIndex = catalog.indexOfGamer(gamerId);
+        if (event.gamerIndex == GamerIndex.NOT_FOUND) {
+            throw new IllegalArgumentException("No gamer with ID " + gamerId);
+        }
+        for (int k = 0; k < Match.NUM_GAMES; k++) {
+            int gameId = parseField(fields, 1 + k);
+            int gameIndex = catalog.indexOfGame(gameId);
+            if (gameIndex == IdIndex.NOT_FOUND) {
+                throw new IllegalArgumentException("No game with ID " + gameId);
+            }
+            for (int previous = 0; previous < k; previous++) {
+                if (event.gameIndices[previous] == gameIndex) {
+                    throw new IllegalArgumentException("Games of a match must be distinct");
+                }
+            }
+            event.gameIndices[k] = gameIndex;
+
+            int rounds = parseField(fields, 1 + Match.NUM_GAMES + k);
+            if (rounds < Match.MIN_ROUNDS || rounds > Match.MAX_ROUNDS) {
+                throw new IllegalArgumentException("Rounds must be between " + Match.MIN_ROUNDS + " and " + Match.MAX_ROUNDS);
+            }
+            event.rounds[k] = rounds;
+        }
+        return event;
+    }
+
+    /**
+     * Parses a field of an event line as an integer.
+     *
+     * @param fields The fields of the line
+     * @param field Index of the field
+     * @return The parsed value
+     * @throws IllegalArgumentException if the field is not a whole number
+     */
+    private static int parseField(String[] fields, int field) {
+        try {
+            return Integer.parseInt(fields[field].trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Field " + (field + 1) + " is not a number: " + fields[field].trim());
+        }
+    }
+
+    /**
+     * Body of the consumer thread: applies queued events in batches until the ingestor is closed
+     * and the queue is empty.
+     */
+    private void consume() {
+        List<MatchEvent> batch = new ArrayList<>(batchSize);
+        try {
+            while (true) {
+                MatchEvent first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    if (closed) {
+                        return;
+                    }
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                applyBatch(batch);
+                batch.clear();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Scores a batch of events and records them on the PointsBoard.
+     *
+     * @param batch The events, in arrival order
+     */
+    private void applyBatch(List<MatchEvent> batch) {
+        synchronized (lock) {
+            long firstOrder = catalog.size() + appliedEvents;
+            for (int i = 0; i < batch.size(); i++) {
+                MatchEvent event = batch.get(i);
+                for (int k = 0; k < Match.NUM_GAMES; k++) {
+                    basePoints[k] = basePointPerRound[event.gameIndices[k]];
+                }
+                int raw = Match.calculateRawPoints(event.rounds, basePoints, 0);
+                int skill = Match.calculateSkillPoints(raw, experienceYears[event.gamerIndex]);
+                int bonus = Match.calculateBonusPoints(raw);
+                int points = skill + bonus;
+                int matchID = nextMatchID++;
+
+                pointsBoard.recordPoints(event.gamerIndex, points);
+                totalTournamentPoints += points;
+
+                // Ingested matches come after the generated ones, so only strictly better ones replace them
+                long order = firstOrder + i;
+                if (points > highestScoringMatch.getMatchPoints()) {
+                    highestScoringMatch = toMatch(event, matchID);
+                    highestScoringOrder = order;
+                }
+                if (points < lowestScoringMatch.getMatchPoints()) {
+                    lowestScoringMatch = toMatch(event, matchID);
+                    lowestScoringOrder = order;
+                }
+                if (bonus < lowestBonusMatch.getBonusPoints()) {
+                    lowestBonusMatch = toMatch(event, matchID);
+                    lowestBonusOrder = order;
+                }
+
+                long latency = System.nanoTime() - event.acceptedNanos;
+                latencySumNanos += latency;
+                latencyMaxNanos = Math.max(latencyMaxNanos, latency);
+                latencyBuckets[Long.SIZE - 1 - Long.numberOfLeadingZeros(Math.max(latency, 1))]++;
+            }
+            appliedEvents += batch.size();
+            batches++;
+        }
+    }
+
+    /**
+     * Materializes an event as a Match object.
+     *
+     * @param event The event
+     * @param matchID ID assigned to the match
+     * @return The match
+     */
+    private Match toMatch(MatchEvent event, int matchID) {
+        Game[] games = new Game[Match.NUM_GAMES];
+        for (int k = 0; k < Match.NUM_GAMES; k++) {
+            games[k] = catalog.getGame(event.gameIndices[k]);
+        }
+        return new Match(matchID, catalog.getGamer(event.gamerIndex), games, event.rounds);
+    }
+
+    /**
+     * Stops accepting events, waits until every queued event is applied and stops the consumer thread.
+     * Producers waiting for space in the queue finish queuing first, so their events are applied too.
+     * If interrupted while waiting, close still finishes and then restores the interrupt status.
+     */
+    @Override
+    public void close() {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (closeLock.writeLock().tryLock(POLL_MILLIS, TimeUnit.MILLISECONDS)) {
+                    break;
+                }
+            } catch (InterruptedException e) {
+                interrupted = true;
+                continue;
+            }
+            // Without a running consumer, make room for the producers waiting on a full queue
+            if (!consumer.isAlive()) {
+                drainQueue();
+            }
+        }
+        try {
+            closed = true;
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+
+        while (consumer.isAlive()) {
+            try {
+                consumer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        drainQueue();
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Applies every queued event on the calling thread, for when the consumer thread is not running.
+     */
+    private void drainQueue() {
+        List<MatchEvent> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            applyBatch(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Reads the live PointsBoard while no batch is being applied.
+     * The reader must not keep the board or change it.
+     *
+     * @param reader Function reading the board
+     * @param <T> Type of the value read
+     * @return The value returned by reader
+     * @throws IllegalArgumentException if reader is null
+     */
+    public <T> T readBoard(Function<PointsBoard, T> reader) {
+        if (reader == null) {
+            throw new IllegalArgumentException("Reader cannot be null");
+        }
+        synchronized (lock) {
+            return reader.apply(pointsBoard);
+        }
+    }
+
+    /**
+     * Gets the current result of the tournament, covering generated and ingested matches.
+     *
+     * @return Result of the tournament so far
+     */
+    public TournamentPartial getResult() {
+        synchronized (lock) {
+            int highestScoringGamer = pointsBoard.getGamerAtRank(1);
+            int total = pointsBoard.getTotalPoints(highestScoringGamer);
+            double average = 0.0;
+            String medal = "";
+            if (total > 0) {
+                average = pointsBoard.getAveragePerMatch(highestScoringGamer);
+                medal = pointsBoard.getMedal(highestScoringGamer);
+            }
+            else {
+                // Without any points the report falls back to the first gamer, as Query does
+                highestScoringGamer = -1;
+                total = 0;
+            }
+            Gamer gamer = catalog.getGamer(Math.max(highestScoringGamer, 0));
+
+            return new TournamentPartial(0, catalog.getGamerCount(), (int) Math.min(catalog.size() + appliedEvents, Integer.MAX_VALUE),
+                    highestScoringMatch, highestScoringOrder,
+                    lowestScoringMatch, lowestScoringOrder,
+                    lowestBonusMatch, lowestBonusOrder,
+                    highestScoringGamer, gamer.getNickname(), gamer.getName(), total, average, medal,
+                    totalTournamentPoints, pointsBoard.getMedalCount("GOLD"), pointsBoard.getMedalCount("SILVER"),
+                    pointsBoard.getMedalCount("BRONZE"), pointsBoard.getMedalCount("NONE"));
+        }
+    }
+
+    /**
+     * Gets a Query over the current result of the tournament.
+     * While no match is applied, the same Query is returned, so its rendered reports are reused
+     * by everyone polling the tournament.
+     *
+     * @return Query over the result so far
+     */
+    public Query getQuery() {
+        synchronized (lock) {
+            if (query == null || queryVersion != pointsBoard.getVersion()) {
+                query = new Query(getResult());
+                queryVersion = pointsBoard.getVersion();
+            }
+            return query;
+        }
+    }
+
+    /**
+     * Gets the current throughput, latency and backpressure metrics.
+     *
+     * @return Snapshot of the metrics
+     */
+    public IngestionMetrics getMetrics() {
+        synchronized (lock) {
+            return new IngestionMetrics(acceptedEvents.sum(), rejectedEvents.sum(), appliedEvents, batches,
+                    backpressureWaits.sum(), queue.size(), queue.size() + queue.remainingCapacity(),
+                    startNanos == 0 ? 0 : System.nanoTime() - startNanos,
+                    latencySumNanos, latencyMaxNanos, latencyBuckets);
+        }
+    }
+
+    /**
+     * Plays a seeded tournament, ingests match results from a file, standard input or a loopback
+     * socket until the source ends, then prints the tournament statistics and ingestion metrics.
+     *
+     * @param args Source of the events and an optional seed
+     */
+    public static void main(String[] args) {
+        if (args.length < 1) {
+            System.err.println("Error: Usage is MatchIngestor (eventsFile | - | --port port) [seed]");
+            return;
+        }
+        boolean socket = "--port".equals(args[0]);
+        int seedArgument = socket ? 2 : 1;
+        int port;
+        long seed;
+        try {
+            port = socket ? Integer.parseInt(args[1]) : 0;
+            seed = args.length > seedArgument ? Long.parseLong(args[seedArgument]) : 42L;
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
+            System.err.println("Error: Usage is MatchIngestor (eventsFile | - | --port port) [seed]");
+            return;
+        }
+
+        Game[] games = FileIO.readGames("files/games.csv");
+        Gamer[] gamers = FileIO.readGamers("files/gamers.csv");
+        if (games == null || games.length == 0 || gamers == null || gamers.length == 0) {
+            System.err.println("Error: Could not load files/games.csv and files/gamers.csv");
+            return;
+        }
+        MatchManagement matchManagement = new MatchManagement(gamers, games);
+        matchManagement.generateMatchesParallel(seed);
+        MatchStore store = matchManagement.getMatchStore();
+
+        LoadReport report = new LoadReport(socket ? "port " + port : args[0]);
+        MatchIngestor ingestor = new MatchIngestor(store, new PointsBoard(gamers, store));
+        ingestor.start();
+        try {
+            if (socket) {
+                try (ServerSocket server = new ServerSocket(port, 1, InetAddress.getLoopbackAddress());
+                     Socket connection = server.accept();
+                     BufferedReader reader = new BufferedReader(
+                             new InputStreamReader(connection.getInputStream(), StandardCharsets.UTF_8))) {
+                    ingestor.ingest(reader, report);
+                }
+            }
+            else if ("-".equals(args[0])) {
+                ingestor.ingest(new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8)), report);
+            }
+            else {
+                try (BufferedReader reader = Files.newBufferedReader(Paths.get(args[0]), StandardCharsets.UTF_8)) {
+                    ingestor.ingest(reader, report);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error: Could not read events: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        ingestor.close();
+        if (report.hasErrors()) {
+            System.err.println(report);
+        }
+
+        Query query = ingestor.getQuery();
+        System.out.println(query.getHighestScoringMatch());
+        System.out.println(query.getLowestScoringMatch());
+        System.out.println(query.getMatchWithTheLowestBonusPoints());
+        System.out.println(query.getHighestScoringGamer());
+        System.out.println(query.getTotalTournamentPoints());
+        System.out.println(query.getMedalDistribution());
+        System.out.println(ingestor.getMetrics());
+    }
+
+    /**
+     * Validated match result waiting in the queue.
+     */
+    private static final class MatchEvent {
+
+        private int gamerIndex;
+        private final int[] gameIndices = new int[Match.NUM_GAMES];
+        private final int[] rounds = new int[Match.NUM_GAMES];
+        private long acceptedNanos;
+    }
+}
@@ -1,16 +1,22 @@
 import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
 
 /**
  * Manages the generation and storage of matches for all gamers in the tournament.
  * Each gamer plays a fixed number of matches with randomly selected games.
  */
 public class MatchManagement {
-    private Match[][] matches;
+    private MatchStore matchStore;
     private Gamer[] gamers;
     private Game[] games;
+    private final GamerIndex gamerIndex;
+    private final DistinctSampler gameSampler;
 
     /** Counter for generating unique match IDs. */
-    private static int matchIDCounter = 0;
+    private static final AtomicInteger matchIDCounter = new AtomicInteger();
     
     /** Number of matches each gamer plays in the tournament. */
     private static final int MATCHES_PER_GAMER = 15;
@@ -56,9 +62,13 @@ public class MatchManagement {
             }
         }
 
+        long start = Metrics.start();
         this.gamers = copyGamers(gamers);
         this.games = copyGames(games);
-        this.matches = new Match[gamers.length][MATCHES_PER_GAMER];
+        this.gamerIndex = new GamerIndex(this.gamers);
+        this.gameSampler = new DistinctSampler(this.games.length, Match.NUM_GAMES);
+        this.matchStore = new MatchStore(this.gamers, this.games, MATCHES_PER_GAMER, gamerIndex);
+        Metrics.stop("matchManagement.copyInput", start);
     }
 
     /**
@@ -95,57 +105,148 @@ public class MatchManagement {
      * Each gamer will have MATCHES_PER_GAMER matches created.
      */
     public void generateMatches() {
+        long start = Metrics.start();
+        MatchStore store = new MatchStore(gamers, games, MATCHES_PER_GAMER, gamerIndex);
+        int[] selectedGames = new int[Match.NUM_GAMES];
+        int[] rounds = new int[Match.NUM_GAMES];
+        int[] basePoints = new int[Match.NUM_GAMES];
         for (int i = 0; i < gamers.length; i++) {
             for (int j = 0; j < MATCHES_PER_GAMER; j++) {
-                matches[i][j] = createMatchFor(gamers[i]);
+                createMatchFor(store, i, j, generateMatchID(), RANDOM, selectedGames, rounds, basePoints);
             }
         }
+        this.matchStore = store;
+        recordGeneration("matchManagement.generateMatches", start);
     }
 
     /**
-     * Creates a match for a specific gamer with randomly selected games.
-     * 
-     * @param gamer The gamer for this match
-     * @return The created Match object
-     * @throws IllegalArgumentException if gamer is null
+     * Generates all matches for all gamers from a seed on the calling thread.
+     * Produces exactly the same matches as {@link #generateMatchesParallel(long)} for the same seed.
+     *
+     * @param seed Seed that fully determines the generated tournament
      */
-    private Match createMatchFor(Gamer gamer){
-        if (gamer == null) {
-            throw new IllegalArgumentException("Gamer cannot be null");
+    public void generateMatches(long seed) {
+        long start = Metrics.start();
+        MatchStore store = new MatchStore(gamers, games, MATCHES_PER_GAMER, gamerIndex);
+        for (int i = 0; i < gamers.length; i++) {
+            generateMatchesOfGamer(store, i, 0, seed);
         }
+        this.matchStore = store;
+        recordGeneration("matchManagement.generateMatchesSeeded", start);
+    }
 
-        Game[] selectedGames = selectRandomGames(games);
-        int matchID = generateMatchID();
-        return new Match(matchID, gamer, selectedGames);
+    /**
+     * Generates all matches for all gamers from a seed, spreading gamers over the common ForkJoinPool.
+     * Every gamer draws from its own SplittableRandom derived from the seed and its index, and
+     * owns a pre-allocated block of match IDs, so workers share no mutable state and the result
+     * does not depend on how the gamers are scheduled.
+     *
+     * @param seed Seed that fully determines the generated tournament
+     */
+    public void generateMatchesParallel(long seed) {
+        generateMatchesParallel(seed, 0);
     }
 
     /**
-     * Selects random unique games from the available games pool.
-     * 
-     * @param games Array of available games
-     * @return Array of randomly selected unique games
-     * @throws IllegalArgumentException if games array is invalid
+     * Generates the matches of a shard of a larger tournament from a seed.
+     * The gamers of this object are gamers firstGamerIndex, firstGamerIndex + 1, ... of the whole
+     * tournament, and every gamer gets exactly the matches and match IDs it gets when the whole
+     * tournament is generated with {@link #generateMatchesParallel(long)} on one node.
+     *
+     * @param seed Seed that fully determines the whole tournament
+     * @param firstGamerIndex Index of this object's first gamer in the whole tournament
+     * @throws IllegalArgumentException if firstGamerIndex is negative or the match IDs would overflow
      */
-    private Game[] selectRandomGames(Game[] games) {
-        if (games == null) {
-            throw new IllegalArgumentException("Games array cannot be null");
+    public void generateMatchesParallel(long seed, int firstGamerIndex) {
+        if (firstGamerIndex < 0) {
+            throw new IllegalArgumentException("First gamer index cannot be negative");
         }
-        if (games.length < MIN_GAMES_REQUIRED) {
-            throw new IllegalArgumentException("Games array must contain at least " + MIN_GAMES_REQUIRED + " games");
+        if ((long) (firstGamerIndex + gamers.length) * MATCHES_PER_GAMER > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many gamers for unique match IDs");
         }
 
-        Game[] chosen = new Game[MIN_GAMES_REQUIRED];
-        boolean[] used = new boolean[games.length];
+        long start = Metrics.start();
+        MatchStore store = new MatchStore(gamers, games, MATCHES_PER_GAMER, gamerIndex);
+        IntStream.range(0, gamers.length).parallel().forEach(i -> generateMatchesOfGamer(store, i, firstGamerIndex, seed));
+        this.matchStore = store;
+        recordGeneration("matchManagement.generateMatchesParallel", start);
+    }
+
+    /**
+     * Records the duration of a generation run and the number of matches it created.
+     *
+     * @param timer Name of the timer of the run
+     * @param start Start time of the run from Metrics.start()
+     */
+    private void recordGeneration(String timer, long start) {
+        Metrics.stop(timer, start);
+        Metrics.increment("matchManagement.matchesGenerated", (long) gamers.length * MATCHES_PER_GAMER);
+    }
 
-        for (int i = 0; i < MIN_GAMES_REQUIRED; i++) {
-            int index;
-            do {
-                index = RANDOM.nextInt(games.length);
-            } while (used[index]);
-            used[index] = true;
-            chosen[i] = games[index];
+    /**
+     * Generates the matches of a single gamer from a seed.
+     * Match IDs of the gamer are the block starting at globalIndex * MATCHES_PER_GAMER + 1,
+     * where globalIndex is the gamer's index in the whole tournament.
+     *
+     * @param store The store being filled
+     * @param gamerIndex The index of the gamer
+     * @param firstGamerIndex Index of the first gamer in the whole tournament
+     * @param seed Seed of the tournament
+     */
+    private void generateMatchesOfGamer(MatchStore store, int gamerIndex, int firstGamerIndex, long seed) {
+        int globalIndex = firstGamerIndex + gamerIndex;
+        SplittableRandom random = new SplittableRandom(gamerSeed(seed, globalIndex));
+        int firstMatchID = globalIndex * MATCHES_PER_GAMER + 1;
+        int[] selectedGames = new int[Match.NUM_GAMES];
+        int[] rounds = new int[Match.NUM_GAMES];
+        int[] basePoints = new int[Match.NUM_GAMES];
+
+        for (int j = 0; j < MATCHES_PER_GAMER; j++) {
+            createMatchFor(store, gamerIndex, j, firstMatchID + j, random, selectedGames, rounds, basePoints);
+        }
+    }
+
+    /**
+     * Derives the seed of a gamer's random generator from the tournament seed.
+     * Uses the SplitMix64 finalizer so that neighbouring gamers get unrelated streams.
+     *
+     * @param seed Seed of the tournament
+     * @param gamerIndex The index of the gamer
+     * @return Seed for the gamer's generator
+     */
+    private static long gamerSeed(long seed, int gamerIndex) {
+        long z = seed + (gamerIndex + 1L) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Creates a match for a specific gamer with randomly selected games and rounds,
+     * and writes it into the gamer's slot of the match store.
+     *
+     * @param store The store being filled
+     * @param gamerIndex The index of the gamer
+     * @param slot The position of the match among the gamer's matches
+     * @param matchID The unique identifier for the match
+     * @param random Random generator to draw the games and rounds with
+     * @param selectedGames Scratch array receiving the indices of the selected games, reused between matches
+     * @param rounds Scratch array receiving the drawn rounds, reused between matches
+     * @param basePoints Scratch array receiving the base points of the selected games, reused between matches
+     */
+    private void createMatchFor(MatchStore store, int gamerIndex, int slot, int matchID, RandomGenerator random,
+                                int[] selectedGames, int[] rounds, int[] basePoints) {
+        gameSampler.sample(random, selectedGames);
+        for (int k = 0; k < Match.NUM_GAMES; k++) {
+            rounds[k] = random.nextInt(Match.MAX_ROUNDS) + Match.MIN_ROUNDS;
+            basePoints[k] = games[selectedGames[k]].getBasePointPerRound();
         }
-        return chosen;
+
+        // Score with the primitive kernel instead of building a transient Match
+        int raw = Match.calculateRawPoints(rounds, basePoints, 0);
+        int skill = Match.calculateSkillPoints(raw, gamers[gamerIndex].getExperienceYears());
+        int bonus = Match.calculateBonusPoints(raw);
+        store.setRow(store.getRow(gamerIndex, slot), matchID, selectedGames, rounds, raw, skill, bonus, skill + bonus);
     }
 
     /**
@@ -154,11 +255,13 @@ public class MatchManagement {
      * @return Unique match ID
      */
     private int generateMatchID() {
-        return ++matchIDCounter;
+        return matchIDCounter.incrementAndGet();
     }
     
     /**
      * Gets all matches for a specific gamer.
+     * The matches are materialized from the match store as independent Match objects;
+     * read-only consumers should use {@link #getMatchStore()} instead.
      * 
      * @param gamerIndex The index of the gamer
      * @return Deep copy of the gamer's matches
@@ -168,43 +271,95 @@ public class MatchManagement {
         if (gamerIndex < 0) {
             throw new IllegalArgumentException("Gamer index cannot be negative");
         }
-        if (gamerIndex >= matches.length) {
+        if (gamerIndex >= gamers.length) {
             throw new IllegalArgumentException("Gamer index out of bounds");
         }
 
-        Match[] originalMatches = this.matches[gamerIndex];
-
-        Match[] copy = new Match[originalMatches.length];
-
-        for (int i = 0; i < originalMatches.length; i++){
-            if(originalMatches[i] != null){
-                copy[i] = new Match(originalMatches[i]);
+        Match[] copy = new Match[MATCHES_PER_GAMER];
+        for (int i = 0; i < MATCHES_PER_GAMER; i++) {
+            int row = matchStore.getRow(gamerIndex, i);
+            if (matchStore.hasMatch(row)) {
+                copy[i] = matchStore.toMatch(row);
             }
-
         }
         return copy;
     }
 
+    /**
+     * Gets all matches of the gamer with a specific ID.
+     *
+     * @param id The gamer ID
+     * @return Deep copy of the gamer's matches
+     * @throws IllegalArgumentException if no gamer has the ID
+     */
+    public Match[] getMatchesOfGamerById(int id) {
+        int index = indexOfGamer(id);
+        if (index == GamerIndex.NOT_FOUND) {
+            throw new IllegalArgumentException("No gamer with ID " + id);
+        }
+        return getMatchesOfGamer(index);
+    }
+
+    /**
+     * Gets all matches of the gamer with a specific nickname.
+     *
+     * @param nickname The gamer's nickname
+     * @return Deep copy of the gamer's matches
+     * @throws IllegalArgumentException if nickname is null or no gamer has the nickname
+     */
+    public Match[] getMatchesOfGamerByNickname(String nickname) {
+        int index = indexOfGamer(nickname);
+        if (index == GamerIndex.NOT_FOUND) {
+            throw new IllegalArgumentException("No gamer with nickname " + nickname);
+        }
+        return getMatchesOfGamer(index);
+    }
+
+    /**
+     * Finds the index of a gamer by ID in O(1).
+     *
+     * @param id The gamer ID
+     * @return Index of the gamer, or GamerIndex.NOT_FOUND
+     */
+    public int indexOfGamer(int id) {
+        return gamerIndex.indexOf(id);
+    }
+
+    /**
+     * Finds the index of a gamer by nickname in O(1).
+     *
+     * @param nickname The gamer's nickname
+     * @return Index of the gamer, or GamerIndex.NOT_FOUND
+     * @throws IllegalArgumentException if nickname is null
+     */
+    public int indexOfGamer(String nickname) {
+        return gamerIndex.indexOf(nickname);
+    }
+
     /**
      * Gets all matches for all gamers.
+     * The matches are materialized from the match store as independent Match objects;
+     * read-only consumers should use {@link #getMatchStore()} instead.
      * 
      * @return 2D array containing deep copies of all matches
      */
     public Match[][] getAllMatches() {
-        Match[][] copy = new Match[this.matches.length][];
-        for (int i = 0; i < this.matches.length; i++) {
-            copy[i] = new Match[this.matches[i].length];
-            for (int j = 0; j < this.matches[i].length; j++) {
-                if (this.matches[i][j] != null) {
-                    copy[i][j] = new Match(this.matches[i][j]);
-                }
-            }
+        Match[][] copy = new Match[gamers.length][];
+        for (int i = 0; i < gamers.length; i++) {
+            copy[i] = getMatchesOfGamer(i);
         }
         return copy;
     }
 
-}
-
-
-
+    /**
+     * Gets the columnar store holding all matches.
+     * The store is read-only and every generation run builds a new one, so the same
+     * instance is shared with the caller instead of being copied.
+     *
+     * @return The match store of the latest generation run
+     */
+    public MatchStore getMatchStore() {
+        return matchStore;
+    }
 
+}
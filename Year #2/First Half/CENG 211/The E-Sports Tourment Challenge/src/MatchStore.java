@@ -0,0 +1,654 @@
+import java.nio.IntBuffer;
+
+/**
+ * Columnar storage for all matches of a tournament.
+ * Instead of one Match object per match (with its own Gamer, Game and rounds copies),
+ * every match is a row spread over parallel primitive columns. Gamers and games are kept
+ * once in catalogs and referenced by index, which brings a match down to a few dozen bytes.
+ * Rows are laid out gamer by gamer: row = gamerIndex * matchesPerGamer + slot.
+ *
+ * A store is only written while MatchManagement builds it and offers no public mutators,
+ * so once handed out it is read-only and can be shared by PointsBoard and Query without copying.
+ * Columns are IntBuffers: heap buffers for generated tournaments, or buffers memory-mapped
+ * straight from a TournamentSnapshot file for reloaded ones.
+ * Mapped columns are not scanned when loaded; instead every accessor checks the value it reads,
+ * so a corrupt file fails with an IllegalStateException at the first bad value, not with a wrong index.
+ */
+public class MatchStore {
+
+    /** Number of columns returned by {@link #columns()}. */
+    static final int COLUMN_COUNT = 8;
+
+    private final Gamer[] gamers;
+    private final Game[] games;
+    private final int matchesPerGamer;
+    private final GamerIndex gamerIndex;
+    private final IdIndex gameIndexById;
+
+    private final IntBuffer matchIDs;
+    private final IntBuffer gamerIndices;
+    private final IntBuffer gameIndices;
+    private final IntBuffer rounds;
+    private final IntBuffer rawPoints;
+    private final IntBuffer skillPoints;
+    private final IntBuffer bonusPoints;
+    private final IntBuffer matchPoints;
+
+    /**
+     * Constructor to create an empty MatchStore with room for every match of the tournament.
+     *
+     * @param gamers Array of gamers participating in the tournament
+     * @param games Array of available games
+     * @param matchesPerGamer Number of matches each gamer plays
+     * @throws IllegalArgumentException if validation fails
+     */
+    public MatchStore(Gamer[] gamers, Game[] games, int matchesPerGamer) {
+        this(gamers, games, matchesPerGamer, (GamerIndex) null);
+    }
+
+    /**
+     * Constructor to create an empty MatchStore that reuses an already built index of the gamers.
+     *
+     * @param gamers Array of gamers participating in the tournament
+     * @param games Array of available games
+     * @param matchesPerGamer Number of matches each gamer plays
+     * @param gamerIndex Index of the same gamers, or null to build one
+     * @throws IllegalArgumentException if validation fails
+     */
+    MatchStore(Gamer[] gamers, Game[] games, int matchesPerGamer, GamerIndex gamerIndex) {
+        if (gamers == null) {
+            throw new IllegalArgumentException("Gamers array cannot be null");
+        }
+        if (games == null) {
+            throw new IllegalArgumentException("Games array cannot be null");
+        }
+        if (gamers.length == 0) {
+            throw new IllegalArgumentException("Gamers array cannot be empty");
+        }
+        if (matchesPerGamer <= 0) {
+            throw new IllegalArgumentException("Matches per gamer must be positive");
+        }
+        if ((long) gamers.length * matchesPerGamer * Match.NUM_GAMES > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Tournament is too large for a single MatchStore");
+        }
+
+        this.gamers = new Gamer[gamers.length];
+        for (int i = 0; i < gamers.length; i++) {
+            if (gamers[i] == null) {
+                throw new IllegalArgumentException("Gamer at index " + i + " cannot be null");
+            }
+            this.gamers[i] = new Gamer(gamers[i]);
+        }
+        this.games = new Game[games.length];
+        for (int i = 0; i < games.length; i++) {
+            if (games[i] == null) {
+                throw new IllegalArgumentException("Game at index " + i + " cannot be null");
+            }
+            this.games[i] = new Game(games[i]);
+        }
+        this.matchesPerGamer = matchesPerGamer;
+
+        if (gamerIndex != null && gamerIndex.size() != gamers.length) {
+            throw new IllegalArgumentException("Gamer index must cover exactly the gamers of the store");
+        }
+        this.gamerIndex = gamerIndex != null ? gamerIndex : new GamerIndex(this.gamers);
+        this.gameIndexById = new IdIndex(games.length);
+        for (int i = 0; i < games.length; i++) {
+            gameIndexById.putIfAbsent(games[i].getId(), i);
+        }
+
+        int size = gamers.length * matchesPerGamer;
+        this.matchIDs = IntBuffer.allocate(size);
+        this.gamerIndices = IntBuffer.allocate(size);
+        this.gameIndices = IntBuffer.allocate(size * Match.NUM_GAMES);
+        this.rounds = IntBuffer.allocate(size * Match.NUM_GAMES);
+        this.rawPoints = IntBuffer.allocate(size);
+        this.skillPoints = IntBuffer.allocate(size);
+        this.bonusPoints = IntBuffer.allocate(size);
+        this.matchPoints = IntBuffer.allocate(size);
+    }
+
+    /**
+     * Copy constructor to create a deep copy of a MatchStore object.
+     *
+     * @param another The MatchStore object to copy from
+     * @throws IllegalArgumentException if another is null
+     */
+    public MatchStore(MatchStore another) {
+        if (another == null) {
+            throw new IllegalArgumentException("Cannot copy from null MatchStore object");
+        }
+
+        this.gamers = new Gamer[another.gamers.length];
+        for (int i = 0; i < another.gamers.length; i++) {
+            this.gamers[i] = new Gamer(another.gamers[i]);
+        }
+        this.games = new Game[another.games.length];
+        for (int i = 0; i < another.games.length; i++) {
+            this.games[i] = new Game(another.games[i]);
+        }
+        this.matchesPerGamer = another.matchesPerGamer;
+        this.gamerIndex = another.gamerIndex;
+        this.gameIndexById = another.gameIndexById;
+        this.matchIDs = copyColumn(another.matchIDs);
+        this.gamerIndices = copyColumn(another.gamerIndices);
+        this.gameIndices = copyColumn(another.gameIndices);
+        this.rounds = copyColumn(another.rounds);
+        this.rawPoints = copyColumn(another.rawPoints);
+        this.skillPoints = copyColumn(another.skillPoints);
+        this.bonusPoints = copyColumn(another.bonusPoints);
+        this.matchPoints = copyColumn(another.matchPoints);
+    }
+
+    /**
+     * Constructor to create a MatchStore over existing columns, e.g. columns mapped from a snapshot file.
+     * The arrays and columns are used as they are, without copying.
+     *
+     * @param gamers Array of gamers participating in the tournament
+     * @param games Array of available games
+     * @param matchesPerGamer Number of matches each gamer plays
+     * @param columns Columns in the order returned by {@link #columns()}
+     * @throws IllegalArgumentException if the columns do not fit the gamers
+     */
+    MatchStore(Gamer[] gamers, Game[] games, int matchesPerGamer, IntBuffer[] columns) {
+        if (gamers == null || gamers.length == 0) {
+            throw new IllegalArgumentException("Gamers array cannot be null or empty");
+        }
+        if (games == null) {
+            throw new IllegalArgumentException("Games array cannot be null");
+        }
+        if (matchesPerGamer <= 0) {
+            throw new IllegalArgumentException("Matches per gamer must be positive");
+        }
+        if (columns == null || columns.length != COLUMN_COUNT) {
+            throw new IllegalArgumentException("Match store needs exactly " + COLUMN_COUNT + " columns");
+        }
+        long size = (long) gamers.length * matchesPerGamer;
+        for (int c = 0; c < COLUMN_COUNT; c++) {
+            long expected = isPerGameColumn(c) ? size * Match.NUM_GAMES : size;
+            if (columns[c] == null || columns[c].capacity() != expected) {
+                throw new IllegalArgumentException("Column " + c + " must hold " + expected + " values");
+            }
+        }
+
+        this.gamers = gamers;
+        this.games = games;
+        this.matchesPerGamer = matchesPerGamer;
+        this.gamerIndex = new GamerIndex(gamers);
+        this.gameIndexById = new IdIndex(games.length);
+        for (int i = 0; i < games.length; i++) {
+            gameIndexById.putIfAbsent(games[i].getId(), i);
+        }
+        this.matchIDs = columns[0];
+        this.gamerIndices = columns[1];
+        this.gameIndices = columns[2];
+        this.rounds = columns[3];
+        this.rawPoints = columns[4];
+        this.skillPoints = columns[5];
+        this.bonusPoints = columns[6];
+        this.matchPoints = columns[7];
+    }
+
+    /**
+     * Creates a heap copy of a column.
+     *
+     * @param column The column to copy
+     * @return A new heap buffer with the same values
+     */
+    private static IntBuffer copyColumn(IntBuffer column) {
+        IntBuffer copy = IntBuffer.allocate(column.capacity());
+        copy.put(0, column, 0, column.capacity());
+        return copy;
+    }
+
+    /**
+     * Gets read-only views of all columns, in the order matchIDs, gamerIndices, gameIndices, rounds,
+     * rawPoints, skillPoints, bonusPoints, matchPoints.
+     *
+     * @return Views of the columns
+     */
+    IntBuffer[] columns() {
+        return new IntBuffer[] {
+                matchIDs.asReadOnlyBuffer(), gamerIndices.asReadOnlyBuffer(),
+                gameIndices.asReadOnlyBuffer(), rounds.asReadOnlyBuffer(),
+                rawPoints.asReadOnlyBuffer(), skillPoints.asReadOnlyBuffer(),
+                bonusPoints.asReadOnlyBuffer(), matchPoints.asReadOnlyBuffer()
+        };
+    }
+
+    /**
+     * Checks whether a column returned by {@link #columns()} holds NUM_GAMES values per row.
+     *
+     * @param column Position of the column
+     * @return true for the gameIndices and rounds columns
+     */
+    static boolean isPerGameColumn(int column) {
+        return column == 2 || column == 3;
+    }
+
+    /**
+     * Builds a MatchStore from a 2D array of matches, one row of matches per gamer.
+     * The games catalog is collected from the matches themselves.
+     *
+     * @param playedMatches 2D array of matches played by each gamer
+     * @param gamers Array of gamers, in the same order as the match rows
+     * @return A MatchStore holding the same matches
+     * @throws IllegalArgumentException if validation fails
+     */
+    public static MatchStore fromMatches(Match[][] playedMatches, Gamer[] gamers) {
+        if (playedMatches == null) {
+            throw new IllegalArgumentException("Played matches array cannot be null");
+        }
+        if (playedMatches.length == 0) {
+            throw new IllegalArgumentException("Played matches array cannot be empty");
+        }
+        if (gamers == null) {
+            throw new IllegalArgumentException("Gamers array cannot be null");
+        }
+        if (playedMatches.length != gamers.length) {
+            throw new IllegalArgumentException("Number of match rows must equal number of gamers");
+        }
+        if (playedMatches[0] == null) {
+            throw new IllegalArgumentException("Match row at index 0 cannot be null");
+        }
+
+        int matchesPerGamer = playedMatches[0].length;
+        IdIndex gameIndexById = new IdIndex(Match.NUM_GAMES);
+        Game[] catalog = new Game[Match.NUM_GAMES];
+        int catalogSize = 0;
+
+        for (int i = 0; i < playedMatches.length; i++) {
+            if (playedMatches[i] == null) {
+                throw new IllegalArgumentException("Match row at index " + i + " cannot be null");
+            }
+            if (playedMatches[i].length != matchesPerGamer) {
+                throw new IllegalArgumentException("Match row at index " + i + " must contain " + matchesPerGamer + " matches");
+            }
+            for (int j = 0; j < playedMatches[i].length; j++) {
+                if (playedMatches[i][j] == null) {
+                    throw new IllegalArgumentException("Match at [" + i + "][" + j + "] cannot be null");
+                }
+                for (Game game : playedMatches[i][j].getGames()) {
+                    int known = gameIndexById.get(game.getId());
+                    if (known == IdIndex.NOT_FOUND) {
+                        if (catalogSize == catalog.length) {
+                            Game[] grown = new Game[catalogSize * 2];
+                            System.arraycopy(catalog, 0, grown, 0, catalogSize);
+                            catalog = grown;
+                        }
+                        gameIndexById.put(game.getId(), catalogSize);
+                        catalog[catalogSize++] = game;
+                    } else if (!catalog[known].equals(game)) {
+                        throw new IllegalArgumentException("Conflicting games with ID " + game.getId());
+                    }
+                }
+            }
+        }
+
+        Game[] games = new Game[catalogSize];
+        System.arraycopy(catalog, 0, games, 0, catalogSize);
+        MatchStore store = new MatchStore(gamers, games, matchesPerGamer);
+
+        int[] selected = new int[Match.NUM_GAMES];
+        for (int i = 0; i < playedMatches.length; i++) {
+            for (int j = 0; j < matchesPerGamer; j++) {
+                Match match = playedMatches[i][j];
+                Game[] matchGames = match.getGames();
+                for (int k = 0; k < Match.NUM_GAMES; k++) {
+                    selected[k] = gameIndexById.get(matchGames[k].getId());
+                }
+                store.setRow(store.getRow(i, j), match.getMatchID(), selected, match.getRounds(),
+                        match.getRawPoints(), match.getSkillPoints(), match.getBonusPoints(), match.getMatchPoints());
+            }
+        }
+        return store;
+    }
+
+    /**
+     * Writes one match into the store.
+     * Only used while the tournament is being built, before the store is shared.
+     *
+     * @param row The row to write
+     * @param matchID The unique identifier of the match
+     * @param selectedGames Indices into the games catalog of the games played
+     * @param playedRounds Number of rounds played in each game
+     * @param raw Raw points of the match
+     * @param skill Skill points of the match
+     * @param bonus Bonus points of the match
+     * @param points Total match points
+     */
+    void setRow(int row, int matchID, int[] selectedGames, int[] playedRounds,
+                int raw, int skill, int bonus, int points) {
+        checkRow(row);
+        matchIDs.put(row, matchID);
+        gamerIndices.put(row, row / matchesPerGamer);
+        int base = row * Match.NUM_GAMES;
+        for (int k = 0; k < Match.NUM_GAMES; k++) {
+            gameIndices.put(base + k, selectedGames[k]);
+            rounds.put(base + k, playedRounds[k]);
+        }
+        rawPoints.put(row, raw);
+        skillPoints.put(row, skill);
+        bonusPoints.put(row, bonus);
+        matchPoints.put(row, points);
+    }
+
+    /**
+     * Gets the total number of match rows.
+     *
+     * @return Number of rows
+     */
+    public int size() {
+        return matchIDs.capacity();
+    }
+
+    /**
+     * Gets the number of gamers in the tournament.
+     *
+     * @return Number of gamers
+     */
+    public int getGamerCount() {
+        return gamers.length;
+    }
+
+    /**
+     * Gets the number of games in the catalog.
+     *
+     * @return Number of games
+     */
+    public int getGameCount() {
+        return games.length;
+    }
+
+    /**
+     * Gets the number of matches each gamer plays.
+     *
+     * @return Matches per gamer
+     */
+    public int getMatchesPerGamer() {
+        return matchesPerGamer;
+    }
+
+    /**
+     * Gets the row holding a gamer's match.
+     *
+     * @param gamerIndex The index of the gamer
+     * @param slot The position of the match among the gamer's matches
+     * @return The row index
+     * @throws IllegalArgumentException if an index is invalid
+     */
+    public int getRow(int gamerIndex, int slot) {
+        if (gamerIndex < 0 || gamerIndex >= gamers.length) {
+            throw new IllegalArgumentException("Gamer index out of bounds");
+        }
+        if (slot < 0 || slot >= matchesPerGamer) {
+            throw new IllegalArgumentException("Match slot out of bounds");
+        }
+        return gamerIndex * matchesPerGamer + slot;
+    }
+
+    /**
+     * Checks if a match has been written to the row.
+     *
+     * @param row The row index
+     * @return true if the row holds a match
+     * @throws IllegalStateException if the stored match ID is negative
+     */
+    public boolean hasMatch(int row) {
+        checkRow(row);
+        int matchID = matchIDs.get(row);
+        if (matchID < 0) {
+            throw corrupt("match ID", row);
+        }
+        return matchID != 0;
+    }
+
+    /**
+     * Gets the match ID stored in a row.
+     *
+     * @param row The row index
+     * @return The match ID, or 0 if the row is still empty
+     */
+    public int getMatchID(int row) {
+        return matchIDs.get(row);
+    }
+
+    /**
+     * Gets the index of the gamer who played the match in a row.
+     *
+     * @param row The row index
+     * @return The gamer index
+     * @throws IllegalStateException if the stored index is outside the gamers catalog
+     */
+    public int getGamerIndex(int row) {
+        int gamerIndex = gamerIndices.get(row);
+        if (gamerIndex < 0 || gamerIndex >= gamers.length) {
+            throw corrupt("gamer index", row);
+        }
+        return gamerIndex;
+    }
+
+    /**
+     * Gets the catalog index of a game played in a match.
+     *
+     * @param row The row index
+     * @param gameSlot Position of the game in the match (0 to NUM_GAMES - 1)
+     * @return Index into the games catalog
+     * @throws IllegalStateException if the stored index is outside the games catalog
+     */
+    public int getGameIndex(int row, int gameSlot) {
+        int gameIndex = gameIndices.get(row * Match.NUM_GAMES + gameSlot);
+        if (gameIndex < 0 || gameIndex >= games.length) {
+            throw corrupt("game index", row);
+        }
+        return gameIndex;
+    }
+
+    /**
+     * Gets the number of rounds played in one game of a match.
+     *
+     * @param row The row index
+     * @param gameSlot Position of the game in the match
+     * @return Number of rounds
+     * @throws IllegalStateException if the stored rounds are out of range
+     */
+    public int getRounds(int row, int gameSlot) {
+        int played = rounds.get(row * Match.NUM_GAMES + gameSlot);
+        if (played < Match.MIN_ROUNDS || played > Match.MAX_ROUNDS) {
+            throw corrupt("rounds", row);
+        }
+        return played;
+    }
+
+    /**
+     * Gets the raw points of a match.
+     *
+     * @param row The row index
+     * @return The raw points
+     * @throws IllegalStateException if the stored points are negative
+     */
+    public int getRawPoints(int row) {
+        return checkPoints(rawPoints.get(row), "raw points", row);
+    }
+
+    /**
+     * Gets the skill points of a match.
+     *
+     * @param row The row index
+     * @return The skill points
+     * @throws IllegalStateException if the stored points are negative
+     */
+    public int getSkillPoints(int row) {
+        return checkPoints(skillPoints.get(row), "skill points", row);
+    }
+
+    /**
+     * Gets the bonus points of a match.
+     *
+     * @param row The row index
+     * @return The bonus points
+     * @throws IllegalStateException if the stored points are negative
+     */
+    public int getBonusPoints(int row) {
+        return checkPoints(bonusPoints.get(row), "bonus points", row);
+    }
+
+    /**
+     * Gets the total match points of a match.
+     *
+     * @param row The row index
+     * @return The total match points
+     * @throws IllegalStateException if the stored points are negative
+     */
+    public int getMatchPoints(int row) {
+        return checkPoints(matchPoints.get(row), "match points", row);
+    }
+
+    /**
+     * Gets the name of a game played in a match.
+     *
+     * @param row The row index
+     * @param gameSlot Position of the game in the match
+     * @return The game name
+     */
+    public String getGameName(int row, int gameSlot) {
+        return games[getGameIndex(row, gameSlot)].getGameName();
+    }
+
+    /**
+     * Gets the base points per round of a game played in a match.
+     *
+     * @param row The row index
+     * @param gameSlot Position of the game in the match
+     * @return Base points per round of the game
+     */
+    public int getBasePointPerRound(int row, int gameSlot) {
+        return games[getGameIndex(row, gameSlot)].getBasePointPerRound();
+    }
+
+    /**
+     * Gets a copy of a gamer from the catalog.
+     *
+     * @param gamerIndex The index of the gamer
+     * @return Copy of the gamer
+     * @throws IllegalArgumentException if gamerIndex is invalid
+     */
+    public Gamer getGamer(int gamerIndex) {
+        if (gamerIndex < 0 || gamerIndex >= gamers.length) {
+            throw new IllegalArgumentException("Gamer index out of bounds");
+        }
+        return new Gamer(gamers[gamerIndex]);
+    }
+
+    /**
+     * Gets a copy of a game from the catalog.
+     *
+     * @param gameIndex The index of the game
+     * @return Copy of the game
+     * @throws IllegalArgumentException if gameIndex is invalid
+     */
+    public Game getGame(int gameIndex) {
+        if (gameIndex < 0 || gameIndex >= games.length) {
+            throw new IllegalArgumentException("Game index out of bounds");
+        }
+        return new Game(games[gameIndex]);
+    }
+
+    /**
+     * Finds a gamer by ID in O(1).
+     *
+     * @param id The gamer ID
+     * @return Index of the gamer, or GamerIndex.NOT_FOUND
+     */
+    public int indexOfGamer(int id) {
+        return gamerIndex.indexOf(id);
+    }
+
+    /**
+     * Finds a gamer by nickname in O(1).
+     *
+     * @param nickname The nickname
+     * @return Index of the gamer, or GamerIndex.NOT_FOUND
+     * @throws IllegalArgumentException if nickname is null
+     */
+    public int indexOfGamer(String nickname) {
+        return gamerIndex.indexOf(nickname);
+    }
+
+    /**
+     * Finds a game of the catalog by ID in O(1).
+     *
+     * @param id The game ID
+     * @return Index of the game, or IdIndex.NOT_FOUND
+     */
+    public int indexOfGame(int id) {
+        return gameIndexById.get(id);
+    }
+
+    /**
+     * Materializes a row as a standalone Match object.
+     * The points are taken from the stored point columns, not calculated again from the rounds,
+     * after checking that the bonus fits the raw points and the match points add up.
+     *
+     * @param row The row index
+     * @return A new Match with the row's data
+     * @throws IllegalArgumentException if the row is invalid or empty
+     * @throws IllegalStateException if a stored value of the row is invalid
+     */
+    public Match toMatch(int row) {
+        if (!hasMatch(row)) {
+            throw new IllegalArgumentException("Row " + row + " does not hold a match");
+        }
+        Game[] matchGames = new Game[Match.NUM_GAMES];
+        int[] matchRounds = new int[Match.NUM_GAMES];
+        for (int k = 0; k < Match.NUM_GAMES; k++) {
+            matchGames[k] = games[getGameIndex(row, k)];
+            matchRounds[k] = getRounds(row, k);
+        }
+        int raw = getRawPoints(row);
+        int skill = getSkillPoints(row);
+        int bonus = getBonusPoints(row);
+        int points = getMatchPoints(row);
+        if (bonus != Match.calculateBonusPoints(raw) || points != skill + bonus) {
+            throw corrupt("points", row);
+        }
+        return new Match(matchIDs.get(row), gamers[getGamerIndex(row)], matchGames, matchRounds,
+                raw, skill, bonus, points);
+    }
+
+    /**
+     * Checks a value read from one of the point columns.
+     *
+     * @param points The stored points
+     * @param column Name of the points, for the error message
+     * @param row The row index
+     * @return The points
+     * @throws IllegalStateException if the points are negative
+     */
+    private static int checkPoints(int points, String column, int row) {
+        if (points < 0) {
+            throw corrupt(column, row);
+        }
+        return points;
+    }
+
+    /**
+     * Creates the exception for an invalid value found in the columns, e.g. in a damaged snapshot file.
+     *
+     * @param column Name of the value, for the error message
+     * @param row The row index
+     * @return The exception to throw
+     */
+    private static IllegalStateException corrupt(String column, int row) {
+        return new IllegalStateException("Corrupt match store: invalid " + column + " in row " + row);
+    }
+
+    private void checkRow(int row) {
+        if (row < 0) {
+            throw new IllegalArgumentException("Row cannot be negative");
+        }
+        if (row >= matchIDs.capacity()) {
+            throw new IllegalArgumentException("Row out of bounds");
+        }
+    }
+}
@@ -0,0 +1,164 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Process-wide registry of counters and timers for the stages of the tournament pipeline.
+ *
+ * Metrics are off unless the JVM is started with -Desports.metrics=true. The switch is a static
+ * final constant, so when it is off every call returns at once and the JIT removes it entirely.
+ * When it is on, a report of all counters and timers is written to standard error at exit, and
+ * also to the file named by -Desports.metrics.file if that property is set.
+ *
+ * A stage is timed by taking the start time with {@link #start()} and passing it to
+ * {@link #stop(String, long)} when the stage ends. Timers keep a LatencyHistogram of their durations.
+ */
+public final class Metrics {
+
+    /** Whether metrics are collected, from the system property esports.metrics. */
+    public static final boolean ENABLED = Boolean.getBoolean("esports.metrics");
+
+    /** System property naming a file the report is also written to at exit. */
+    private static final String FILE_PROPERTY = "esports.metrics.file";
+
+    private static final Map<String, LongAdder> COUNTERS = new ConcurrentHashMap<>();
+    private static final Map<String, Timer> TIMERS = new ConcurrentHashMap<>();
+
+    static {
+        if (ENABLED) {
+            Runtime.getRuntime().addShutdownHook(new Thread(Metrics::dump, "metrics-report"));
+        }
+    }
+
+    /**
+     * Private constructor; the registry is only used through its static methods.
+     */
+    private Metrics() {
+    }
+
+    /**
+     * Adds to a counter.
+     *
+     * @param name Name of the counter
+     * @param delta Amount to add
+     */
+    public static void increment(String name, long delta) {
+        if (!ENABLED) {
+            return;
+        }
+        COUNTERS.computeIfAbsent(name, key -> new LongAdder()).add(delta);
+    }
+
+    /**
+     * Gets the start time of a stage.
+     *
+     * @return Start time to pass to stop, or 0 when metrics are off
+     */
+    public static long start() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records the duration of a stage in a timer.
+     *
+     * @param name Name of the timer
+     * @param startNanos Start time returned by start
+     */
+    public static void stop(String name, long startNanos) {
+        if (!ENABLED) {
+            return;
+        }
+        long duration = System.nanoTime() - startNanos;
+        TIMERS.computeIfAbsent(name, key -> new Timer()).record(duration);
+    }
+
+    /**
+     * Gets the current value of a counter.
+     *
+     * @param name Name of the counter
+     * @return Value of the counter, or 0 if it was never incremented
+     */
+    public static long getCount(String name) {
+        LongAdder counter = COUNTERS.get(name);
+        return counter == null ? 0 : counter.sum();
+    }
+
+    /**
+     * Formats all counters and timers, sorted by name.
+     *
+     * @return The report
+     */
+    public static String report() {
+        StringBuilder report = new StringBuilder("Pipeline Metrics:\n");
+        for (Map.Entry<String, LongAdder> counter : new TreeMap<>(COUNTERS).entrySet()) {
+            report.append(String.format(Locale.US, "%-40s %,14d%n", counter.getKey(), counter.getValue().sum()));
+        }
+        for (Map.Entry<String, Timer> timer : new TreeMap<>(TIMERS).entrySet()) {
+            report.append(String.format(Locale.US, "%-40s %s%n", timer.getKey(), timer.getValue()));
+        }
+        return report.toString();
+    }
+
+    /**
+     * Writes the report to standard error and, if requested, to the metrics file.
+     */
+    private static void dump() {
+        String report = report();
+        System.err.print(report);
+
+        String file = System.getProperty(FILE_PROPERTY);
+        if (file != null && !file.trim().isEmpty()) {
+            try {
+                Files.write(Paths.get(file), report.getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                System.err.println("Error writing metrics file: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Number, total, maximum and distribution of the durations of a stage.
+     */
+    private static final class Timer {
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+        private final LatencyHistogram histogram = new LatencyHistogram();
+
+        /**
+         * Records one duration.
+         *
+         * @param nanos The duration in nanoseconds
+         */
+        void record(long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            histogram.record(nanos);
+        }
+
+        /**
+         * Formats the timer in milliseconds.
+         *
+         * @return Formatted timer
+         */
+        @Override
+        public String toString() {
+            long calls = count.sum();
+            long max = maxNanos.get();
+            // Percentiles are bucket upper bounds, which can lie above the largest value seen
+            return String.format(Locale.US, "%,8d calls %12.3f ms total %10.3f ms avg %10.3f ms p50 %10.3f ms p99 %10.3f ms max",
+                    calls, totalNanos.sum() / 1e6, calls == 0 ? 0.0 : totalNanos.sum() / 1e6 / calls,
+                    Math.min(histogram.getValueAtPercentile(50), max) / 1e6,
+                    Math.min(histogram.getValueAtPercentile(99), max) / 1e6, max / 1e6);
+        }
+    }
+}
@@ -1,14 +1,30 @@
 /**
  * Manages points calculation, averages, and medal assignment for all gamers.
  * Calculates total points, average points per match, and assigns medals based on performance tiers.
+ * Matches recorded during a live tournament update a gamer's statistics and ranking in place.
  */
 public class PointsBoard {
 
-    private final Gamer[] gamers;
-    private Match[][] matches;
+    /** Minimum total points for a GOLD medal. */
+    private static final int GOLD_THRESHOLD = 4400;
+
+    /** Minimum total points for a SILVER medal. */
+    private static final int SILVER_THRESHOLD = 3800;
+
+    /** Minimum total points for a BRONZE medal. */
+    private static final int BRONZE_THRESHOLD = 3500;
+
+    private final MatchStore matches;
     private final int[] totalPoints;
     private final double[] averagePointPerMatch;
     private final String[] gamerMedal;
+    private final int[] matchCount;
+    private final int[] recordedPoints;
+    private final int[] recordedMatches;
+    private final RankIndex ranking;
+
+    /** Number of changes made to the board, so cached reports can tell when they are stale. */
+    private long version;
 
     /**
      * Constructor to create a PointsBoard object.
@@ -19,55 +35,56 @@ public class PointsBoard {
      * @throws IllegalArgumentException if validation fails
      */
     public PointsBoard(Gamer[] gamers, Match[][] playedMatches) {
-        if(gamers == null){
-            throw new IllegalArgumentException("Gamers array cannot be null");
-        }
-        if(gamers.length == 0){
-            throw new IllegalArgumentException("Gamers array cannot be empty");
-        }
-        
-        this.gamers = new Gamer[gamers.length];
-        for(int i=0; i<gamers.length; i++){
-            if(gamers[i] == null) {
-                throw new IllegalArgumentException("Gamer at index " + i + " cannot be null");
-            }
-            Gamer gamer = new Gamer(gamers[i]);
-            this.gamers[i] = gamer;
-        }
-        
-        if(playedMatches == null){
-            throw new IllegalArgumentException("Played matches array cannot be null");
-        }
-        if(playedMatches.length == 0){
-            throw new IllegalArgumentException("Played matches array cannot be empty");
-        }
-        if(playedMatches.length != gamers.length){
-            throw new IllegalArgumentException("Number of match rows must equal number of gamers");
+        validateGamers(gamers);
+
+        this.matches = MatchStore.fromMatches(playedMatches, gamers);
+
+        this.totalPoints = new int[gamers.length];
+        this.averagePointPerMatch = new double[gamers.length];
+        this.gamerMedal = new String[gamers.length];
+        this.matchCount = new int[gamers.length];
+        this.recordedPoints = new int[gamers.length];
+        this.recordedMatches = new int[gamers.length];
+        this.ranking = new RankIndex(gamers.length);
+
+        calculateAll();
+    }
+
+    /**
+     * Constructor to create a PointsBoard object from a columnar match store.
+     * The store is read-only, so it is shared rather than copied.
+     * Calculates all statistics for each gamer.
+     *
+     * @param gamers Array of gamers, in the same order as the gamers of the store
+     * @param matchStore Store holding the matches played by each gamer
+     * @throws IllegalArgumentException if validation fails
+     */
+    public PointsBoard(Gamer[] gamers, MatchStore matchStore) {
+        validateGamers(gamers);
+        if(matchStore == null){
+            throw new IllegalArgumentException("Match store cannot be null");
         }
-        
-        this.matches = new Match[playedMatches.length][playedMatches[0].length];
-        for(int i=0; i<playedMatches.length; i++){
-            if(playedMatches[i] == null){
-                throw new IllegalArgumentException("Match row at index " + i + " cannot be null");
-            }
-            for(int j=0; j<playedMatches[i].length; j++){
-                if(playedMatches[i][j] == null){
-                    throw new IllegalArgumentException("Match at [" + i + "][" + j + "] cannot be null");
-                }
-                Match match = new Match(playedMatches[i][j]);
-                this.matches[i][j] = match;
-            }
+        if(matchStore.getGamerCount() != gamers.length){
+            throw new IllegalArgumentException("Number of gamers in the match store must equal number of gamers");
         }
 
-        this.totalPoints = new int[this.gamers.length];
-        this.averagePointPerMatch = new double[this.gamers.length];
-        this.gamerMedal = new String[this.gamers.length];
+        this.matches = matchStore;
+
+        this.totalPoints = new int[gamers.length];
+        this.averagePointPerMatch = new double[gamers.length];
+        this.gamerMedal = new String[gamers.length];
+        this.matchCount = new int[gamers.length];
+        this.recordedPoints = new int[gamers.length];
+        this.recordedMatches = new int[gamers.length];
+        this.ranking = new RankIndex(gamers.length);
 
         calculateAll();
     }
 
     /**
-     * Copy constructor to create a deep copy of a PointsBoard object.
+     * Copy constructor to create a copy of a PointsBoard object.
+     * The read-only match store is shared and the calculated statistics, recorded matches
+     * and ranking are copied instead of being recalculated.
      * 
      * @param another The PointsBoard object to copy from
      * @throws IllegalArgumentException if another is null or contains invalid data
@@ -77,42 +94,80 @@ public class PointsBoard {
         if(another == null){
             throw new IllegalArgumentException("Cannot copy from null PointsBoard object");
         }
-        if(another.gamers == null){
-            throw new IllegalArgumentException("Gamers in source PointsBoard cannot be null");
-        }
-        
-        this.gamers = new Gamer[another.gamers.length];
-        for(int i=0; i<another.gamers.length; i++){
-            if(another.gamers[i] == null){
-                throw new IllegalArgumentException("Gamer at index " + i + " cannot be null");
-            }
-            Gamer gamer = new Gamer(another.gamers[i]);
-            this.gamers[i] = gamer;
-        }
-
         if(another.matches == null){
             throw new IllegalArgumentException("Matches in source PointsBoard cannot be null");
         }
-        
-        this.matches = new Match[another.matches.length][another.matches[0].length];
-        for(int i=0; i<another.matches.length; i++){
-            if(another.matches[i] == null){
-                throw new IllegalArgumentException("Match row at index " + i + " cannot be null");
-            }
-            for(int j=0; j<another.matches[i].length; j++){
-                if(another.matches[i][j] == null){
-                    throw new IllegalArgumentException("Match at [" + i + "][" + j + "] cannot be null");
-                }
-                Match match = new Match(another.matches[i][j]);
-                this.matches[i][j] = match;
-            }
+
+        long start = Metrics.start();
+        this.matches = another.matches;
+        this.totalPoints = another.totalPoints.clone();
+        this.averagePointPerMatch = another.averagePointPerMatch.clone();
+        this.gamerMedal = another.gamerMedal.clone();
+        this.matchCount = another.matchCount.clone();
+        this.recordedPoints = another.recordedPoints.clone();
+        this.recordedMatches = another.recordedMatches.clone();
+        this.ranking = new RankIndex(another.ranking);
+        this.version = another.version;
+        Metrics.stop("pointsBoard.copy", start);
+    }
+
+    /**
+     * Constructor to restore a PointsBoard object from saved per-gamer values, e.g. from a snapshot.
+     * Averages, medals and ranking are derived from the values instead of rescanning the matches.
+     *
+     * @param matchStore Store holding the matches played by each gamer
+     * @param totalPoints Total points of each gamer
+     * @param matchCount Number of matches counted for each gamer
+     * @param recordedPoints Points of each gamer's matches recorded with recordMatch
+     * @param recordedMatches Number of each gamer's matches recorded with recordMatch
+     * @throws IllegalArgumentException if validation fails
+     */
+    PointsBoard(MatchStore matchStore, int[] totalPoints, int[] matchCount, int[] recordedPoints, int[] recordedMatches) {
+        if(matchStore == null){
+            throw new IllegalArgumentException("Match store cannot be null");
+        }
+        int gamerCount = matchStore.getGamerCount();
+        if(totalPoints == null || matchCount == null || recordedPoints == null || recordedMatches == null){
+            throw new IllegalArgumentException("Saved values cannot be null");
+        }
+        if(totalPoints.length != gamerCount || matchCount.length != gamerCount
+                || recordedPoints.length != gamerCount || recordedMatches.length != gamerCount){
+            throw new IllegalArgumentException("Saved values must contain one entry per gamer");
         }
 
-        this.totalPoints = new int[this.gamers.length];
-        this.averagePointPerMatch = new double[this.gamers.length];
-        this.gamerMedal = new String[this.gamers.length];
+        this.matches = matchStore;
+        this.totalPoints = new int[gamerCount];
+        this.averagePointPerMatch = new double[gamerCount];
+        this.gamerMedal = new String[gamerCount];
+        this.matchCount = new int[gamerCount];
+        this.recordedPoints = recordedPoints.clone();
+        this.recordedMatches = recordedMatches.clone();
+        this.ranking = new RankIndex(gamerCount);
 
-        calculateAll();
+        for(int gamer = 0; gamer < gamerCount; gamer++){
+            updateGamer(gamer, totalPoints[gamer], matchCount[gamer]);
+        }
+        ranking.rebuild(this.totalPoints);
+    }
+
+    /**
+     * Validates the gamers array passed to a constructor.
+     *
+     * @param gamers Array of gamers
+     * @throws IllegalArgumentException if validation fails
+     */
+    private static void validateGamers(Gamer[] gamers) {
+        if(gamers == null){
+            throw new IllegalArgumentException("Gamers array cannot be null");
+        }
+        if(gamers.length == 0){
+            throw new IllegalArgumentException("Gamers array cannot be empty");
+        }
+        for(int i=0; i<gamers.length; i++){
+            if(gamers[i] == null) {
+                throw new IllegalArgumentException("Gamer at index " + i + " cannot be null");
+            }
+        }
     }
 
     /**
@@ -166,6 +221,240 @@ public class PointsBoard {
         return gamerMedal[index];
     }
 
+    /**
+     * Finds the index of a gamer by ID in O(1), for use with the indexed getters.
+     *
+     * @param id The gamer ID
+     * @return Index of the gamer, or GamerIndex.NOT_FOUND
+     */
+    public int indexOfGamer(int id) {
+        return matches.indexOfGamer(id);
+    }
+
+    /**
+     * Finds the index of a gamer by nickname in O(1), for use with the indexed getters.
+     *
+     * @param nickname The gamer's nickname
+     * @return Index of the gamer, or GamerIndex.NOT_FOUND
+     * @throws IllegalArgumentException if nickname is null
+     */
+    public int indexOfGamer(String nickname) {
+        return matches.indexOfGamer(nickname);
+    }
+
+    /**
+     * Gets the number of matches counted for a specific gamer.
+     *
+     * @param index The index of the gamer
+     * @return Number of matches played by the gamer
+     * @throws IllegalArgumentException if index is invalid
+     */
+    public int getMatchCount(int index) {
+        if (index < 0) {
+            throw new IllegalArgumentException("Index cannot be negative");
+        }
+        if (index >= matchCount.length) {
+            throw new IllegalArgumentException("Index out of bounds");
+        }
+        return matchCount[index];
+    }
+
+    /**
+     * Gets the leaderboard rank of a specific gamer in O(log n).
+     * Rank 1 is the gamer with the most points; gamers with equal points keep their input order.
+     *
+     * @param index The index of the gamer
+     * @return Rank of the gamer, starting from 1
+     * @throws IllegalArgumentException if index is invalid
+     */
+    public int getRank(int index) {
+        return ranking.getRank(index) + 1;
+    }
+
+    /**
+     * Gets the gamer at a leaderboard rank in O(log n).
+     *
+     * @param rank Rank starting from 1
+     * @return Index of the gamer at the rank
+     * @throws IllegalArgumentException if rank is invalid
+     */
+    public int getGamerAtRank(int rank) {
+        if (rank < 1 || rank > totalPoints.length) {
+            throw new IllegalArgumentException("Rank out of bounds");
+        }
+        return ranking.getGamerAtRank(rank - 1);
+    }
+
+    /**
+     * Gets the gamers with the most points in O(k + log n).
+     *
+     * @param k Number of gamers to return; at most all gamers are returned
+     * @return Indices of the top gamers, best first
+     * @throws IllegalArgumentException if k is negative
+     */
+    public int[] getTopGamers(int k) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Number of gamers cannot be negative");
+        }
+        return ranking.getGamersByRank(0, Math.min(k, totalPoints.length));
+    }
+
+    /**
+     * Gets the percentile of a specific gamer in O(log n).
+     * The percentile is the percentage of gamers with fewer total points than the gamer.
+     *
+     * @param index The index of the gamer
+     * @return Percentile between 0 and 100
+     * @throws IllegalArgumentException if index is invalid
+     */
+    public double getPercentile(int index) {
+        int points = getTotalPoints(index);
+        int fewerPoints = totalPoints.length - ranking.countAtLeast(points);
+        return (double)fewerPoints / totalPoints.length * 100;
+    }
+
+    /**
+     * Gets the gamers whose total points are between two bounds in O(k + log n).
+     *
+     * @param minPoints The minimum points, inclusive
+     * @param maxPoints The maximum points, inclusive
+     * @return Indices of the gamers in the range, best first
+     * @throws IllegalArgumentException if minPoints is greater than maxPoints
+     */
+    public int[] getGamersInRange(int minPoints, int maxPoints) {
+        if (minPoints > maxPoints) {
+            throw new IllegalArgumentException("Minimum points cannot be greater than maximum points");
+        }
+        return ranking.getGamersByRank(ranking.countAbove(maxPoints), ranking.countAtLeast(minPoints));
+    }
+
+    /**
+     * Counts the gamers whose total points are between two bounds in O(log n).
+     *
+     * @param minPoints The minimum points, inclusive
+     * @param maxPoints The maximum points, inclusive
+     * @return Number of gamers in the range
+     * @throws IllegalArgumentException if minPoints is greater than maxPoints
+     */
+    public int countGamersInRange(int minPoints, int maxPoints) {
+        if (minPoints > maxPoints) {
+            throw new IllegalArgumentException("Minimum points cannot be greater than maximum points");
+        }
+        return ranking.countAtLeast(minPoints) - ranking.countAbove(maxPoints);
+    }
+
+    /**
+     * Counts the gamers holding a medal in O(log n).
+     *
+     * @param medal Medal string (GOLD, SILVER, BRONZE, or NONE)
+     * @return Number of gamers holding the medal
+     * @throws IllegalArgumentException if medal is not a known medal
+     */
+    public int getMedalCount(String medal) {
+        if ("GOLD".equals(medal)) {
+            return ranking.countAtLeast(GOLD_THRESHOLD);
+        }
+        if ("SILVER".equals(medal)) {
+            return ranking.countAtLeast(SILVER_THRESHOLD) - ranking.countAtLeast(GOLD_THRESHOLD);
+        }
+        if ("BRONZE".equals(medal)) {
+            return ranking.countAtLeast(BRONZE_THRESHOLD) - ranking.countAtLeast(SILVER_THRESHOLD);
+        }
+        if ("NONE".equals(medal)) {
+            return totalPoints.length - ranking.countAtLeast(BRONZE_THRESHOLD);
+        }
+        throw new IllegalArgumentException("Unknown medal: " + medal);
+    }
+
+    /**
+     * Records a match played by a gamer during a live tournament.
+     * Updates the gamer's total points, average, medal and rank without recalculating the board.
+     *
+     * @param index The index of the gamer who played the match
+     * @param match The match played
+     * @throws IllegalArgumentException if index is invalid or match is null
+     */
+    public void recordMatch(int index, Match match) {
+        if (index < 0) {
+            throw new IllegalArgumentException("Index cannot be negative");
+        }
+        if (index >= totalPoints.length) {
+            throw new IllegalArgumentException("Index out of bounds");
+        }
+        if (match == null) {
+            throw new IllegalArgumentException("Match cannot be null");
+        }
+        recordPoints(index, match.getMatchPoints());
+    }
+
+    /**
+     * Records the points of a match played by a gamer, without a Match object.
+     *
+     * @param index The index of the gamer who played the match; must be valid
+     * @param points Match points of the match
+     */
+    void recordPoints(int index, int points) {
+        recordedPoints[index] += points;
+        recordedMatches[index]++;
+        updateGamer(index, totalPoints[index] + points, matchCount[index] + 1);
+        ranking.update(index, totalPoints[index]);
+        version++;
+        Metrics.increment("pointsBoard.matchesRecorded", 1);
+    }
+
+    /**
+     * Gets the number of gamers on the board.
+     *
+     * @return Number of gamers
+     */
+    int getGamerCount() {
+        return totalPoints.length;
+    }
+
+    /**
+     * Gets the number of changes made to the board.
+     * A value read earlier is equal to the current one only if the board has not changed since.
+     *
+     * @return Version of the board
+     */
+    long getVersion() {
+        return version;
+    }
+
+    /**
+     * Gets the points of a gamer's matches recorded with recordMatch.
+     *
+     * @param index The index of the gamer
+     * @return Recorded points of the gamer
+     */
+    int getRecordedPoints(int index) {
+        return recordedPoints[index];
+    }
+
+    /**
+     * Gets the number of a gamer's matches recorded with recordMatch.
+     *
+     * @param index The index of the gamer
+     * @return Number of recorded matches of the gamer
+     */
+    int getRecordedMatches(int index) {
+        return recordedMatches[index];
+    }
+
+    /**
+     * Sets the statistics of a gamer from a new total and match count.
+     *
+     * @param index The index of the gamer
+     * @param total Total points of the gamer
+     * @param matches Number of matches played by the gamer
+     */
+    private void updateGamer(int index, int total, int matches) {
+        totalPoints[index] = total;
+        matchCount[index] = matches;
+        averagePointPerMatch[index] = matches == 0 ? 0.0 : (double)total / matches;
+        gamerMedal[index] = calculateMedal(total);
+    }
+
     /**
      * Calculates medal based on total points.
      * GOLD: ≥4400, SILVER: ≥3800, BRONZE: ≥3500, NONE: <3500
@@ -174,13 +463,13 @@ public class PointsBoard {
      * @return Medal string
      */
     private String calculateMedal(int total) {
-        if (total >= 4400) {
+        if (total >= GOLD_THRESHOLD) {
             return "GOLD";
         }
-        if (total >= 3800) {
+        if (total >= SILVER_THRESHOLD) {
             return "SILVER";
         }
-        if (total >= 3500){
+        if (total >= BRONZE_THRESHOLD){
             return "BRONZE";
         }
         return "NONE";
@@ -189,20 +478,24 @@ public class PointsBoard {
     /**
      * Calculates total points, average per match, and medals for all gamers.
      * Iterates through all gamers and their matches to compute statistics.
+     * Matches recorded with recordMatch are kept and added on top of the stored matches.
      */
     public void calculateAll() {
-        if(gamers.length != 0) {
-            for (int gamer = 0; gamer<gamers.length; gamer++){
+        long start = Metrics.start();
+        if(totalPoints.length != 0) {
+            int matchesPerGamer = matches.getMatchesPerGamer();
+            for (int gamer = 0; gamer<totalPoints.length; gamer++){
                 int sum = 0;
-                for(int match = 0; match<matches[gamer].length;match++){
-                    Match currentMatch = matches[gamer][match];
-                    sum = sum + currentMatch.getMatchPoints();
+                int firstRow = matches.getRow(gamer, 0);
+                for(int row = firstRow; row<firstRow + matchesPerGamer; row++){
+                    sum = sum + matches.getMatchPoints(row);
                 }
-                totalPoints[gamer] = sum;
-                averagePointPerMatch[gamer] = (double)sum / matches[gamer].length;
-                gamerMedal[gamer] = calculateMedal(sum);
+                updateGamer(gamer, sum + recordedPoints[gamer], matchesPerGamer + recordedMatches[gamer]);
             }
+            ranking.rebuild(totalPoints);
         }
+        version++;
+        Metrics.stop("pointsBoard.calculateAll", start);
     }
 
     /**
@@ -212,7 +505,7 @@ public class PointsBoard {
      */
     public int calculateTournamentPoints() {
         int sum = 0;
-        if(gamers.length != 0) {
+        if(totalPoints.length != 0) {
             for (int t : totalPoints) {
                 sum += t;
             }
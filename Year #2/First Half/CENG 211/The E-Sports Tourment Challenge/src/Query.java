@@ -1,5 +1,5 @@
-import java.util.Arrays;
-import java.util.Locale;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
 
 /**
  * Handles all query operations for tournament statistics.
@@ -7,27 +7,30 @@ import java.util.Locale;
  */
 public class Query {
 
-    private Match[][] matches;
-    private Gamer[] gamers;
+    private final MatchStore matches;
 
-    private Match highestScoringMatch;
-    private Match lowestScoringMatch;
-    private Match lowestBonusPointMatch;
+    private final PointsBoard pointsBoard;
+
+    private final TournamentAggregator aggregator;
 
-    private Gamer highestScoringGamer;
+    private TournamentStatistics statistics;
 
-    private PointsBoard pointsBoard;
+    private TournamentPartial result;
 
-    private String highestScoringGamerMedal;
-    private double highestScoringGamerAverage;
-    private int highestScoringGamerTotalPoints;
+    private Match highestScoringMatch;
+    private Match lowestScoringMatch;
+    private Match lowestBonusPointMatch;
 
-    private double goldMedalCount;
-    private double silverMedalCount;
-    private double bronzeMedalCount;
-    private double noneMedalCount;
+    /** Initial capacity of the builders reports are rendered into, enough for any report. */
+    private static final int RENDER_CAPACITY = 512;
 
-    private int totalTournamentPoint;
+    // Rendered reports, built on first use and dropped together with the result they show
+    private String highestScoringMatchText;
+    private String lowestScoringMatchText;
+    private String lowestBonusPointMatchText;
+    private String highestScoringGamerText;
+    private String totalTournamentPointsText;
+    private String medalDistributionText;
 
     /**
      * Constructor to create a Query object.
@@ -39,68 +42,68 @@ public class Query {
      */
     public Query( Match[][] playedMatches, Gamer[] gamers, PointsBoard pointBoard){
 
-        if(playedMatches == null) {
-            throw new IllegalArgumentException("Played matches array cannot be null");
-        }
-        if(playedMatches.length == 0) {
-            throw new IllegalArgumentException("Played matches array cannot be empty");
-        }
-        
-        this.matches = new Match[playedMatches.length][playedMatches[0].length];
-        for(int i=0; i<playedMatches.length; i++){
-            if(playedMatches[i] == null){
-                throw new IllegalArgumentException("Match row at index " + i + " cannot be null");
-            }
-            for(int j=0; j<playedMatches[i].length; j++){
-                if(playedMatches[i][j] == null){
-                    throw new IllegalArgumentException("Match at [" + i + "][" + j + "] cannot be null");
-                }
-                Match match = new Match(playedMatches[i][j]);
-                this.matches[i][j] = match;
-            }
-        }
-        
-        if(gamers == null){
-            throw new IllegalArgumentException("Gamers array cannot be null");
-        }
-        if(gamers.length == 0){
-            throw new IllegalArgumentException("Gamers array cannot be empty");
-        }
-        
-        this.gamers = new Gamer[gamers.length];
-        for(int i =0; i<gamers.length; i++){
-            if(gamers[i] == null){
-                throw new IllegalArgumentException("Gamer at index " + i + " cannot be null");
-            }
-            Gamer gamer = new Gamer(gamers[i]);
-            this.gamers[i] = gamer;
-        }
-        
+        validateGamers(gamers);
+        this.matches = MatchStore.fromMatches(playedMatches, gamers);
+
         if(pointBoard == null){
             throw new IllegalArgumentException("PointsBoard cannot be null");
         }
         this.pointsBoard = new PointsBoard(pointBoard);
+        this.aggregator = new TournamentAggregator(matches, pointsBoard);
+    }
 
-        this.highestScoringGamer = new Gamer(gamers[0]);
+    /**
+     * Constructor to create a Query object over a columnar match store.
+     * The store is read-only, so it is shared rather than copied.
+     *
+     * @param playedMatches Store holding all matches played
+     * @param gamers Array of all gamers, in the same order as the gamers of the store
+     * @param pointBoard PointsBoard containing calculated statistics
+     * @throws IllegalArgumentException if validation fails
+     */
+    public Query(MatchStore playedMatches, Gamer[] gamers, PointsBoard pointBoard){
 
-        this.highestScoringGamerMedal = "";
-        this.highestScoringGamerAverage = 0.0;
-        this.highestScoringGamerTotalPoints = 0;
+        if(playedMatches == null) {
+            throw new IllegalArgumentException("Played matches store cannot be null");
+        }
+        validateGamers(gamers);
+        if(playedMatches.getGamerCount() != gamers.length){
+            throw new IllegalArgumentException("Number of gamers in the match store must equal number of gamers");
+        }
+        this.matches = playedMatches;
 
-        this.goldMedalCount = 0;
-        this.silverMedalCount = 0;
-        this.bronzeMedalCount = 0;
-        this.noneMedalCount = 0;
+        if(pointBoard == null){
+            throw new IllegalArgumentException("PointsBoard cannot be null");
+        }
+        this.pointsBoard = new PointsBoard(pointBoard);
+        this.aggregator = new TournamentAggregator(matches, pointsBoard);
+    }
 
-        this.totalTournamentPoint = 0;
+    /**
+     * Constructor to create a Query object over the merged result of a sharded tournament.
+     * The matches are not available, so no aggregation can be registered on this object.
+     *
+     * @param mergedResult Result of all shards of the tournament, merged
+     * @throws IllegalArgumentException if mergedResult is null
+     */
+    public Query(TournamentPartial mergedResult){
+        if(mergedResult == null){
+            throw new IllegalArgumentException("Merged result cannot be null");
+        }
 
-        this.highestScoringMatch = new Match (playedMatches[0][0]);
-        this.lowestScoringMatch = new Match (playedMatches[0][0]);
-        this.lowestBonusPointMatch = new Match (playedMatches[0][0]);
+        this.matches = null;
+        this.pointsBoard = null;
+        this.aggregator = null;
+        this.result = mergedResult;
+        this.highestScoringMatch = mergedResult.getHighestScoringMatch();
+        this.lowestScoringMatch = mergedResult.getLowestScoringMatch();
+        this.lowestBonusPointMatch = mergedResult.getLowestBonusMatch();
     }
 
     /**
-     * Copy constructor to create a deep copy of a Query object.
+     * Copy constructor to create a copy of a Query object.
+     * The read-only match store and the computed statistics, which this class never modifies,
+     * are shared with the source.
      * 
      * @param another The Query object to copy from
      * @throws IllegalArgumentException if another is null or contains invalid data
@@ -109,68 +112,121 @@ public class Query {
         if(another == null){
             throw new IllegalArgumentException("Cannot copy from null Query object");
         }
-        if(another.matches == null) {
-            throw new IllegalArgumentException("Matches in source Query cannot be null");
+        long start = Metrics.start();
+        if(another.aggregator == null){
+            // Built from a merged result, which is immutable
+            this.matches = null;
+            this.pointsBoard = null;
+            this.aggregator = null;
         }
-        
-        this.matches = new Match[another.matches.length][another.matches[0].length];
-        for(int i=0; i<another.matches.length; i++){
-            if(another.matches[i] == null){
-                throw new IllegalArgumentException("Match row at index " + i + " cannot be null");
-            }
-            for(int j=0; j<another.matches[i].length; j++){
-                if(another.matches[i][j] == null){
-                    throw new IllegalArgumentException("Match at [" + i + "][" + j + "] cannot be null");
-                }
-                Match match = new Match(another.matches[i][j]);
-                this.matches[i][j] = match;
-            }
+        else {
+            this.matches = another.matches;
+            this.pointsBoard = new PointsBoard(another.pointsBoard);
+            this.aggregator = new TournamentAggregator(another.aggregator, matches, pointsBoard);
         }
 
-        if(another.gamers == null){
-            throw new IllegalArgumentException("Gamers in source Query cannot be null");
+        this.statistics = another.statistics;
+        this.result = another.result;
+        this.highestScoringMatch = another.highestScoringMatch;
+        this.lowestScoringMatch = another.lowestScoringMatch;
+        this.lowestBonusPointMatch = another.lowestBonusPointMatch;
+        this.highestScoringMatchText = another.highestScoringMatchText;
+        this.lowestScoringMatchText = another.lowestScoringMatchText;
+        this.lowestBonusPointMatchText = another.lowestBonusPointMatchText;
+        this.highestScoringGamerText = another.highestScoringGamerText;
+        this.totalTournamentPointsText = another.totalTournamentPointsText;
+        this.medalDistributionText = another.medalDistributionText;
+        Metrics.stop("query.copy", start);
+    }
+
+    /**
+     * Validates the gamers array passed to a constructor.
+     *
+     * @param gamers Array of gamers
+     * @throws IllegalArgumentException if validation fails
+     */
+    private static void validateGamers(Gamer[] gamers) {
+        if(gamers == null){
+            throw new IllegalArgumentException("Gamers array cannot be null");
+        }
+        if(gamers.length == 0){
+            throw new IllegalArgumentException("Gamers array cannot be empty");
         }
-        
-        this.gamers = new Gamer[another.gamers.length];
-        for(int i =0; i<another.gamers.length; i++){
-            if(another.gamers[i] == null){
+        for(int i =0; i<gamers.length; i++){
+            if(gamers[i] == null){
                 throw new IllegalArgumentException("Gamer at index " + i + " cannot be null");
             }
-            Gamer player = new Gamer(another.gamers[i]);
-            this.gamers[i] = player;
         }
+    }
 
-        if(another.pointsBoard == null){
-            throw new IllegalArgumentException("PointsBoard in source Query cannot be null");
+    /**
+     * Registers an additional aggregation to be computed in the same pass as the built-in statistics.
+     * Statistics already computed are discarded and recomputed on the next query.
+     *
+     * @param aggregation The aggregation to register
+     * @throws IllegalArgumentException if aggregation is null
+     * @throws IllegalStateException if this Query was built from a merged result
+     */
+    public void registerAggregation(MatchAggregation<?> aggregation){
+        if(aggregator == null){
+            throw new IllegalStateException("Aggregations need the matches, which a merged result does not have");
         }
-        this.pointsBoard = new PointsBoard(another.pointsBoard);
-
-        this.highestScoringGamer = new Gamer(another.gamers[0]);
-
-        this.highestScoringGamerMedal = another.highestScoringGamerMedal;
-        this.highestScoringGamerAverage = another.highestScoringGamerAverage;
-        this.highestScoringGamerTotalPoints = another.highestScoringGamerTotalPoints;
-
-        this.goldMedalCount = another.goldMedalCount;
-        this.silverMedalCount = another.silverMedalCount;
-        this.bronzeMedalCount = another.bronzeMedalCount;
-        this.noneMedalCount = another.noneMedalCount;
+        aggregator.register(aggregation);
+        statistics = null;
+        result = null;
+        highestScoringMatchText = null;
+        lowestScoringMatchText = null;
+        lowestBonusPointMatchText = null;
+        highestScoringGamerText = null;
+        totalTournamentPointsText = null;
+        medalDistributionText = null;
+    }
 
-        this.totalTournamentPoint = another.totalTournamentPoint;
+    /**
+     * Gets the result of a registered aggregation, running the aggregation pass if needed.
+     *
+     * @param aggregation The registered aggregation
+     * @param <A> Type of the aggregation's accumulator
+     * @return The result of the aggregation
+     * @throws IllegalArgumentException if the aggregation was not registered
+     * @throws IllegalStateException if this Query was built from a merged result
+     */
+    public <A> A getAggregationResult(MatchAggregation<A> aggregation){
+        return getStatistics().getResult(aggregation);
+    }
 
-        if (another.highestScoringMatch == null) {
-            throw new IllegalArgumentException("Highest scoring match in source Query cannot be null");
-        }
-        if (another.lowestScoringMatch == null) {
-            throw new IllegalArgumentException("Lowest scoring match in source Query cannot be null");
+    /**
+     * Gets the tournament statistics, running the single aggregation pass on first use.
+     * Only the three reported matches are materialized as Match objects.
+     *
+     * @return Statistics of the tournament
+     */
+    private TournamentStatistics getStatistics(){
+        if(aggregator == null){
+            throw new IllegalStateException("Aggregations need the matches, which a merged result does not have");
         }
-        if (another.lowestBonusPointMatch == null) {
-            throw new IllegalArgumentException("Lowest bonus point match in source Query cannot be null");
+        if(statistics == null){
+            long start = Metrics.start();
+            statistics = aggregator.aggregate();
+            result = TournamentPartial.from(matches, pointsBoard, statistics, 0);
+            highestScoringMatch = matches.toMatch(statistics.getHighestScoringRow());
+            lowestScoringMatch = matches.toMatch(statistics.getLowestScoringRow());
+            lowestBonusPointMatch = matches.toMatch(statistics.getLowestBonusRow());
+            Metrics.stop("query.aggregate", start);
         }
+        return statistics;
+    }
 
-        this.highestScoringMatch = new Match(another.highestScoringMatch);
-        this.lowestScoringMatch = new Match(another.lowestScoringMatch);
-        this.lowestBonusPointMatch = new Match(another.lowestBonusPointMatch);
+    /**
+     * Gets the reported values of the tournament, running the aggregation pass if needed.
+     *
+     * @return Result of the tournament
+     */
+    private TournamentPartial getResult(){
+        if(result == null){
+            getStatistics();
+        }
+        return result;
     }
 
     /**
@@ -179,38 +235,13 @@ public class Query {
      * @return Formatted string containing match details
      */
     public String getHighestScoringMatch(){
-        findHighestScoringMatch();
-
-        int highestScoringMatchID = highestScoringMatch.getMatchID();
-        Game[] highestScoringMatchGames = highestScoringMatch.getGames();
-        String[] highestScoringMatchGamesNames = new String[Match.NUM_GAMES];
-        int[] highestScoringMatchGamesRounds = highestScoringMatch.getRounds();
-        int highestScoringMatchSkillPoints = highestScoringMatch.getSkillPoints();
-        int highestScoringMatchRawPoints = highestScoringMatch.getRawPoints();
-        int highestScoringMatchBonusPoints = highestScoringMatch.getBonusPoints();
-        int highestScoringMatchMatchPoints = highestScoringMatch.getMatchPoints();
-
-        for(int i =0; i<highestScoringMatchGames.length; i++){
-            highestScoringMatchGamesNames[i] = highestScoringMatchGames[i].getGameName();
+        getResult();
+        if(highestScoringMatchText == null){
+            StringBuilder text = new StringBuilder(RENDER_CAPACITY).append("Highest-Scoring Match:\n");
+            appendMatch(text, highestScoringMatch, true);
+            highestScoringMatchText = text.toString();
         }
-
-        return String.format("""
-                             Highest-Scoring Match: 
-                             Match ID: %d 
-                             Games: %s 
-                             Rounds: %s 
-                             Raw Points: %d 
-                             Skill Points: %d 
-                             Bonus Points: %d 
-                             Match Points: %d
-                             """, highestScoringMatchID,
-                                                  Arrays.toString(highestScoringMatchGamesNames),
-                                                  Arrays.toString(highestScoringMatchGamesRounds),
-                                                  highestScoringMatchRawPoints,
-                                                  highestScoringMatchSkillPoints,
-                                                  highestScoringMatchBonusPoints,
-                                                  highestScoringMatchMatchPoints);
-
+        return highestScoringMatchText;
     }
 
     /**
@@ -220,16 +251,13 @@ public class Query {
      * @return Formatted string containing match details and most contributing game
      */
     public String getLowestScoringMatch(){
-        findLowestScoringMatch();
+        getResult();
+        if(lowestScoringMatchText != null){
+            return lowestScoringMatchText;
+        }
 
-        int lowestScoringMatchID = lowestScoringMatch.getMatchID();
         Game[] lowestScoringMatchGames = lowestScoringMatch.getGames();
-        String[] lowestScoringMatchGamesNames = new String[Match.NUM_GAMES];
         int[] lowestScoringMatchGamesRounds = lowestScoringMatch.getRounds();
-        int lowestScoringMatchSkillPoints = lowestScoringMatch.getSkillPoints();
-        int lowestScoringMatchRawPoints = lowestScoringMatch.getRawPoints();
-        int lowestScoringMatchBonusPoints = lowestScoringMatch.getBonusPoints();
-        int lowestScoringMatchMatchPoints = lowestScoringMatch.getMatchPoints();
         String lowestScoringMatchMostContributedGame = lowestScoringMatchGames[0].getGameName();
         int lowestScoringMatchMostContributedGameRounds = lowestScoringMatchGamesRounds[0];
         int lowestScoringMatchMostContributedGamePoints = lowestScoringMatchGames[0].getBasePointPerRound();
@@ -244,35 +272,15 @@ public class Query {
             }
         }
 
-        for(int i =0; i<lowestScoringMatchGames.length; i++){
-            lowestScoringMatchGamesNames[i] = lowestScoringMatchGames[i].getGameName();
-        }
-
-        return String.format("""
-                             Lowest-Scoring Match: 
-                             Match ID: %d 
-                             Games: %s 
-                             Rounds: %s 
-                             Raw Points: %d 
-                             Skill Points: %d 
-                             Bonus Points: %d 
-                             Match Points: %d
-                         
-                             Most Contributing Game in this Match:
-                             Game: %s
-                             Contribution: %d rounds × %d points = %d
-                             """,lowestScoringMatchID ,
-                                                  Arrays.toString(lowestScoringMatchGamesNames),
-                                                  Arrays.toString(lowestScoringMatchGamesRounds),
-                                                  lowestScoringMatchRawPoints,
-                                                  lowestScoringMatchSkillPoints,
-                                                  lowestScoringMatchBonusPoints,
-                                                  lowestScoringMatchMatchPoints,
-                                                  lowestScoringMatchMostContributedGame,
-                                                  lowestScoringMatchMostContributedGameRounds,
-                                                  lowestScoringMatchMostContributedGamePoints,
-                                                  lowestScoringMatchMostContributedGameRounds * lowestScoringMatchMostContributedGamePoints);
-
+        StringBuilder text = new StringBuilder(RENDER_CAPACITY).append("Lowest-Scoring Match:\n");
+        appendMatch(text, lowestScoringMatch, true);
+        text.append("\nMost Contributing Game in this Match:\nGame: ").append(lowestScoringMatchMostContributedGame)
+            .append("\nContribution: ").append(lowestScoringMatchMostContributedGameRounds)
+            .append(" rounds × ").append(lowestScoringMatchMostContributedGamePoints)
+            .append(" points = ").append(lowestScoringMatchMostContributedGameRounds * lowestScoringMatchMostContributedGamePoints)
+            .append('\n');
+        lowestScoringMatchText = text.toString();
+        return lowestScoringMatchText;
     }
 
     /**
@@ -281,34 +289,13 @@ public class Query {
      * @return Formatted string containing match details
      */
     public String getMatchWithTheLowestBonusPoints(){
-        findMatchWithTheLowestBonusPoints();
-
-        int lowestBonusPointMatchID = lowestBonusPointMatch.getMatchID();
-        Game[] lowestBonusPointMatchGames = lowestBonusPointMatch.getGames();
-        String[] lowestBonusPointMatchGamesNames = new String[Match.NUM_GAMES];
-        int[] lowestBonusPointMatchGamesRounds = lowestBonusPointMatch.getRounds();
-        int lowestBonusPointMatchSkillPoints = lowestBonusPointMatch.getSkillPoints();
-        int lowestBonusPointMatchBonusPoints = lowestBonusPointMatch.getBonusPoints();
-        int lowestBonusPointMatchPoints = lowestBonusPointMatch.getMatchPoints();
-
-        for(int i =0; i<lowestBonusPointMatchGames.length; i++){
-            lowestBonusPointMatchGamesNames[i] = lowestBonusPointMatchGames[i].getGameName();
+        getResult();
+        if(lowestBonusPointMatchText == null){
+            StringBuilder text = new StringBuilder(RENDER_CAPACITY).append("Match with Lowest Bonus Points:\n");
+            appendMatch(text, lowestBonusPointMatch, false);
+            lowestBonusPointMatchText = text.toString();
         }
-
-        return String.format("""
-                             Match with Lowest Bonus Points:
-                             Match ID: %d 
-                             Games: %s 
-                             Rounds: %s 
-                             Skill Points: %d 
-                             Bonus Points: %d 
-                             Match Points: %d
-                             """, lowestBonusPointMatchID,
-                                  Arrays.toString(lowestBonusPointMatchGamesNames),
-                                  Arrays.toString(lowestBonusPointMatchGamesRounds),
-                                  lowestBonusPointMatchSkillPoints,
-                                  lowestBonusPointMatchBonusPoints,
-                                  lowestBonusPointMatchPoints);
+        return lowestBonusPointMatchText;
     }
 
     /**
@@ -317,23 +304,18 @@ public class Query {
      * @return Formatted string containing gamer details, total points, average, and medal
      */
     public String getHighestScoringGamer(){
-        findHighestScoringGamer();
-
-        String highestScoringGamerNickname = highestScoringGamer.getNickname();
-        String highestScoringGamerName = highestScoringGamer.getName();
-
-        return String.format(Locale.US, """
-                            Highest-Scoring Gamer
-                            Nickname: %s
-                            Name: %s
-                            Total Points: %d
-                            Average Per Match: %.2f
-                            Medal: %s
-                            """,highestScoringGamerNickname,
-                                highestScoringGamerName,
-                                highestScoringGamerTotalPoints,
-                                highestScoringGamerAverage,
-                                highestScoringGamerMedal);
+        TournamentPartial highest = getResult();
+        if(highestScoringGamerText == null){
+            StringBuilder text = new StringBuilder(RENDER_CAPACITY)
+                .append("Highest-Scoring Gamer\nNickname: ").append(highest.getHighestScoringGamerNickname())
+                .append("\nName: ").append(highest.getHighestScoringGamerName())
+                .append("\nTotal Points: ").append(highest.getHighestScoringGamerTotal())
+                .append("\nAverage Per Match: ");
+            appendFixed(text, highest.getHighestScoringGamerAverage(), 2);
+            text.append("\nMedal: ").append(highest.getHighestScoringGamerMedal()).append('\n');
+            highestScoringGamerText = text.toString();
+        }
+        return highestScoringGamerText;
     }
 
     /**
@@ -342,9 +324,14 @@ public class Query {
      * @return Formatted string with total tournament points
      */
     public String getTotalTournamentPoints(){
-        findTotalTournamentPoint();
-
-        return String.format(Locale.US, "Total Tournament Points across 1500 matches: %,d\n", totalTournamentPoint);
+        TournamentPartial totals = getResult();
+        if(totalTournamentPointsText == null){
+            StringBuilder text = new StringBuilder(RENDER_CAPACITY)
+                .append("Total Tournament Points across ").append(totals.getMatchCount()).append(" matches: ");
+            appendGrouped(text, totals.getTotalTournamentPoints());
+            totalTournamentPointsText = text.append('\n').toString();
+        }
+        return totalTournamentPointsText;
     }
     
     /**
@@ -354,115 +341,95 @@ public class Query {
      * @return Formatted string with medal distribution statistics
      */
     public String getMedalDistribution(){
-        findMedalDistribution();
-
-        return String.format(Locale.US, """
-                            Medal Distribution:
-                            GOLD:   %.0f gamers (%.1f%%)
-                            SILVER: %.0f gamers (%.1f%%)
-                            BRONZE: %.0f gamers (%.1f%%)
-                            NONE:   %.0f gamers (%.1f%%)
-                            """, goldMedalCount, (goldMedalCount / gamers.length) * 100,
-                                 silverMedalCount, (silverMedalCount / gamers.length) * 100,
-                                 bronzeMedalCount, (bronzeMedalCount / gamers.length) * 100,
-                                 noneMedalCount, (noneMedalCount / gamers.length) * 100);
+        TournamentPartial medals = getResult();
+        if(medalDistributionText == null){
+            double gamerCount = medals.getGamerCount();
+            StringBuilder text = new StringBuilder(RENDER_CAPACITY).append("Medal Distribution:\n");
+            appendMedal(text, "GOLD:   ", medals.getGoldMedalCount(), gamerCount);
+            appendMedal(text, "SILVER: ", medals.getSilverMedalCount(), gamerCount);
+            appendMedal(text, "BRONZE: ", medals.getBronzeMedalCount(), gamerCount);
+            appendMedal(text, "NONE:   ", medals.getNoneMedalCount(), gamerCount);
+            medalDistributionText = text.toString();
+        }
+        return medalDistributionText;
     }
 
-
     /**
-     * Finds the match with the highest match points.
+     * Appends the details of a reported match, one per line.
+     *
+     * @param text The builder to append to
+     * @param match The match
+     * @param withRawPoints Whether the raw points are reported
      */
-    private void findHighestScoringMatch() {
-        int highestScoringMatchPoint = matches[0][0].getMatchPoints();
-
-        for(int i =0; i< matches.length; i++) {
-            for (int j = 0; j < matches[i].length; j++) {
-                if (matches[i][j].getMatchPoints() > highestScoringMatchPoint) {
-                    highestScoringMatchPoint = matches[i][j].getMatchPoints();
-                    highestScoringMatch = matches[i][j];
-                }
-            }
+    private static void appendMatch(StringBuilder text, Match match, boolean withRawPoints){
+        Game[] games = match.getGames();
+        int[] rounds = match.getRounds();
+
+        text.append("Match ID: ").append(match.getMatchID()).append("\nGames: [");
+        for(int i = 0; i<games.length; i++){
+            text.append(i == 0 ? "" : ", ").append(games[i].getGameName());
         }
-    }
-    
-    /**
-     * Finds the match with the lowest match points.
-     */
-    private void findLowestScoringMatch(){
-        int lowestScoringMatchPoint = matches[0][0].getMatchPoints();
-
-        for(int i =0; i< matches.length; i++) {
-            for (int j = 0; j < matches[i].length; j++) {
-                if (matches[i][j].getMatchPoints() < lowestScoringMatchPoint) {
-                    lowestScoringMatchPoint = matches[i][j].getMatchPoints();
-                    lowestScoringMatch = matches[i][j];
-                }
-            }
+        text.append("]\nRounds: [");
+        for(int i = 0; i<rounds.length; i++){
+            text.append(i == 0 ? "" : ", ").append(rounds[i]);
         }
-    }
-    
-    /**
-     * Finds the match with the lowest bonus points.
-     */
-    private void findMatchWithTheLowestBonusPoints(){
-        int lowestBonusPoint = matches[0][0].getBonusPoints();
-
-        for(int i =0; i<matches.length; i++){
-            for(int j=0; j<matches[i].length; j++){
-                if(matches[i][j].getBonusPoints() < lowestBonusPoint){
-                    lowestBonusPoint = matches[i][j].getBonusPoints();
-                    lowestBonusPointMatch = matches[i][j];
-
-                }
-            }
+        text.append("]\n");
+        if(withRawPoints){
+            text.append("Raw Points: ").append(match.getRawPoints()).append('\n');
         }
+        text.append("Skill Points: ").append(match.getSkillPoints())
+            .append("\nBonus Points: ").append(match.getBonusPoints())
+            .append("\nMatch Points: ").append(match.getMatchPoints()).append('\n');
     }
-    
+
     /**
-     * Finds the gamer with the highest total points.
+     * Appends one line of the medal distribution.
+     *
+     * @param text The builder to append to
+     * @param label Medal label, padded to the width of the longest label
+     * @param count Number of gamers with the medal
+     * @param gamerCount Number of gamers
      */
-    private void findHighestScoringGamer(){
-        int totalPoint = 0;
-        for(int i =0; i<gamers.length; i++){
-            if(pointsBoard.getTotalPoints(i) > totalPoint){
-                totalPoint = pointsBoard.getTotalPoints(i);
-                highestScoringGamerTotalPoints = pointsBoard.getTotalPoints(i);
-                highestScoringGamerMedal = pointsBoard.getMedal(i);
-                highestScoringGamerAverage = pointsBoard.getAveragePerMatch(i);
-                highestScoringGamer = gamers[i];
-
-            }
-        }
-
+    private static void appendMedal(StringBuilder text, String label, int count, double gamerCount){
+        text.append(label).append(count).append(" gamers (");
+        appendFixed(text, (count / gamerCount) * 100, 1);
+        text.append("%)\n");
     }
-    
+
     /**
-     * Calculates the total tournament points from the PointsBoard.
+     * Appends a number with a fixed number of decimals, rounded half up from its shortest
+     * decimal representation, which is how %.Nf formats it.
+     *
+     * @param text The builder to append to
+     * @param value The number
+     * @param decimals Number of decimals
      */
-    private void findTotalTournamentPoint(){
-
-        for(int i=0; i<gamers.length; i++){
-            totalTournamentPoint = totalTournamentPoint+pointsBoard.getTotalPoints(i);
+    private static void appendFixed(StringBuilder text, double value, int decimals){
+        if(Double.isNaN(value) || Double.isInfinite(value)){
+            text.append(Double.isNaN(value) ? "NaN" : value > 0 ? "Infinity" : "-Infinity");
+            return;
+        }
+        if(Math.copySign(1.0, value) < 0){
+            text.append('-');
         }
+        text.append(new BigDecimal(Double.toString(Math.abs(value))).setScale(decimals, RoundingMode.HALF_UP).toPlainString());
     }
-    
+
     /**
-     * Counts the number of gamers in each medal category.
+     * Appends a whole number with a comma between every group of three digits, as %,d does.
+     *
+     * @param text The builder to append to
+     * @param value The number
      */
-    private void findMedalDistribution(){
-        for(int i=0; i<gamers.length; i++){
-            if( "GOLD".equals(pointsBoard.getMedal(i))){
-                goldMedalCount += 1;
-            }
-            else if("SILVER".equals(pointsBoard.getMedal(i))){
-                silverMedalCount += 1;
-            }
-            else if("BRONZE".equals(pointsBoard.getMedal(i))){
-                bronzeMedalCount += 1;
-            }
-            else{
-                noneMedalCount += 1;
+    private static void appendGrouped(StringBuilder text, long value){
+        String digits = Long.toString(value);
+        int first = value < 0 ? 1 : 0;
+        text.append(digits, 0, first);
+        for(int i = first; i<digits.length(); i++){
+            if(i > first && (digits.length() - i) % 3 == 0){
+                text.append(',');
             }
+            text.append(digits.charAt(i));
         }
     }
 
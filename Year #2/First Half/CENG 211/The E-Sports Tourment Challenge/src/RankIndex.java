@@ -0,0 +1,409 @@
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Ranked order of gamers by total points, kept up to date as points change.
+ * Gamers are ordered by points in descending order; gamers with equal points are ordered
+ * by their index, so the order is the same as a stable sort of the gamers.
+ *
+ * The index is an order-statistic treap stored in primitive arrays where node i is gamer i,
+ * so updating a gamer's points, finding a gamer's rank and finding the gamer at a rank
+ * all take O(log n) expected time without allocating.
+ */
+public class RankIndex {
+
+    private static final int NIL = -1;
+
+    /** Fixed seed so that the shape of the index is the same in every run. */
+    private static final long PRIORITY_SEED = 0x5DEECE66DL;
+
+    private final int[] points;
+    private final int[] priority;
+    private final int[] left;
+    private final int[] right;
+    private final int[] subtreeSize;
+    private int root;
+
+    // Results of the last split
+    private int splitLeft;
+    private int splitRight;
+
+    /**
+     * Constructor to create a RankIndex object where every gamer has 0 points.
+     *
+     * @param gamerCount Number of gamers in the index
+     * @throws IllegalArgumentException if gamerCount is negative
+     */
+    public RankIndex(int gamerCount) {
+        if (gamerCount < 0) {
+            throw new IllegalArgumentException("Gamer count cannot be negative");
+        }
+
+        this.points = new int[gamerCount];
+        this.priority = new int[gamerCount];
+        this.left = new int[gamerCount];
+        this.right = new int[gamerCount];
+        this.subtreeSize = new int[gamerCount];
+
+        SplittableRandom random = new SplittableRandom(PRIORITY_SEED);
+        for (int i = 0; i < gamerCount; i++) {
+            priority[i] = random.nextInt();
+        }
+        rebuild(points);
+    }
+
+    /**
+     * Copy constructor to create a copy of a RankIndex object.
+     *
+     * @param another The RankIndex object to copy from
+     * @throws IllegalArgumentException if another is null
+     */
+    public RankIndex(RankIndex another) {
+        if (another == null) {
+            throw new IllegalArgumentException("Cannot copy from null RankIndex object");
+        }
+
+        this.points = another.points.clone();
+        this.priority = another.priority.clone();
+        this.left = another.left.clone();
+        this.right = another.right.clone();
+        this.subtreeSize = another.subtreeSize.clone();
+        this.root = another.root;
+    }
+
+    /**
+     * Replaces the points of every gamer and rebuilds the order.
+     *
+     * @param totalPoints Points of each gamer, indexed by gamer
+     * @throws IllegalArgumentException if totalPoints is null or has the wrong length
+     */
+    public void rebuild(int[] totalPoints) {
+        if (totalPoints == null) {
+            throw new IllegalArgumentException("Total points cannot be null");
+        }
+        if (totalPoints.length != points.length) {
+            throw new IllegalArgumentException("Total points must contain one entry per gamer");
+        }
+
+        // Sort once by (points descending, index ascending), then build the treap from the sorted
+        // gamers in O(n) with a stack of the rightmost path instead of inserting them one by one
+        long[] order = new long[points.length];
+        for (int gamer = 0; gamer < points.length; gamer++) {
+            points[gamer] = totalPoints[gamer];
+            order[gamer] = ((long) ~points[gamer] << 32) | gamer;
+        }
+        Arrays.sort(order);
+
+        int[] rightPath = new int[points.length];
+        int depth = 0;
+        for (long key : order) {
+            int gamer = (int) key;
+            int lastPopped = NIL;
+            while (depth > 0 && priority[rightPath[depth - 1]] <= priority[gamer]) {
+                lastPopped = rightPath[--depth];
+                updateSize(lastPopped);
+            }
+            left[gamer] = lastPopped;
+            right[gamer] = NIL;
+            if (depth > 0) {
+                right[rightPath[depth - 1]] = gamer;
+            }
+            rightPath[depth++] = gamer;
+        }
+        while (depth > 0) {
+            updateSize(rightPath[--depth]);
+        }
+        root = points.length == 0 ? NIL : rightPath[0];
+    }
+
+    /**
+     * Changes the points of a gamer and moves the gamer to its new position.
+     *
+     * @param gamerIndex The index of the gamer
+     * @param newPoints The new total points of the gamer
+     * @throws IllegalArgumentException if gamerIndex is invalid
+     */
+    public void update(int gamerIndex, int newPoints) {
+        validateGamerIndex(gamerIndex);
+        if (points[gamerIndex] == newPoints) {
+            return;
+        }
+
+        remove(gamerIndex);
+        points[gamerIndex] = newPoints;
+        insert(gamerIndex);
+    }
+
+    /**
+     * Gets the number of gamers in the index.
+     *
+     * @return Number of gamers
+     */
+    public int size() {
+        return points.length;
+    }
+
+    /**
+     * Gets the points the index holds for a gamer.
+     *
+     * @param gamerIndex The index of the gamer
+     * @return Total points of the gamer
+     * @throws IllegalArgumentException if gamerIndex is invalid
+     */
+    public int getPoints(int gamerIndex) {
+        validateGamerIndex(gamerIndex);
+        return points[gamerIndex];
+    }
+
+    /**
+     * Gets the rank of a gamer, 0 being the gamer with the most points.
+     *
+     * @param gamerIndex The index of the gamer
+     * @return Number of gamers ranked ahead of the gamer
+     * @throws IllegalArgumentException if gamerIndex is invalid
+     */
+    public int getRank(int gamerIndex) {
+        validateGamerIndex(gamerIndex);
+        return countBefore(points[gamerIndex], gamerIndex);
+    }
+
+    /**
+     * Gets the gamer at a rank, 0 being the gamer with the most points.
+     *
+     * @param rank The rank
+     * @return Index of the gamer at the rank
+     * @throws IllegalArgumentException if rank is invalid
+     */
+    public int getGamerAtRank(int rank) {
+        if (rank < 0 || rank >= points.length) {
+            throw new IllegalArgumentException("Rank out of bounds");
+        }
+
+        int node = root;
+        while (true) {
+            int leftSize = size(left[node]);
+            if (rank < leftSize) {
+                node = left[node];
+            }
+            else if (rank == leftSize) {
+                return node;
+            }
+            else {
+                rank -= leftSize + 1;
+                node = right[node];
+            }
+        }
+    }
+
+    /**
+     * Gets the gamers between two ranks in O(k + log n), where k is the number of gamers returned.
+     *
+     * @param fromRank First rank, inclusive
+     * @param toRank Last rank, exclusive
+     * @return Indices of the gamers in rank order
+     * @throws IllegalArgumentException if the ranks are invalid
+     */
+    public int[] getGamersByRank(int fromRank, int toRank) {
+        if (fromRank < 0 || toRank > points.length || fromRank > toRank) {
+            throw new IllegalArgumentException("Rank range out of bounds");
+        }
+
+        int[] gamers = new int[toRank - fromRank];
+        collect(root, 0, fromRank, toRank, gamers);
+        return gamers;
+    }
+
+    /**
+     * Counts the gamers with at least the given points.
+     *
+     * @param minPoints The minimum points
+     * @return Number of gamers with points greater than or equal to minPoints
+     */
+    public int countAtLeast(int minPoints) {
+        return countBefore(minPoints, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Counts the gamers with more than the given points.
+     *
+     * @param points The points
+     * @return Number of gamers with points strictly greater than the given points
+     */
+    public int countAbove(int points) {
+        return points == Integer.MAX_VALUE ? 0 : countAtLeast(points + 1);
+    }
+
+    /**
+     * Writes the gamers of a subtree whose ranks fall in [fromRank, toRank) into the result.
+     *
+     * @param node Root of the subtree
+     * @param firstRank Rank of the first gamer of the subtree
+     * @param fromRank First rank, inclusive
+     * @param toRank Last rank, exclusive
+     * @param gamers Result array, indexed by rank - fromRank
+     */
+    private void collect(int node, int firstRank, int fromRank, int toRank, int[] gamers) {
+        if (node == NIL) {
+            return;
+        }
+
+        int nodeRank = firstRank + size(left[node]);
+        if (fromRank < nodeRank) {
+            collect(left[node], firstRank, fromRank, toRank, gamers);
+        }
+        if (nodeRank >= fromRank && nodeRank < toRank) {
+            gamers[nodeRank - fromRank] = node;
+        }
+        if (toRank > nodeRank + 1) {
+            collect(right[node], nodeRank + 1, fromRank, toRank, gamers);
+        }
+    }
+
+    /**
+     * Counts the gamers ordered strictly before the position (keyPoints, keyGamer).
+     *
+     * @param keyPoints Points of the position
+     * @param keyGamer Gamer index of the position
+     * @return Number of gamers before the position
+     */
+    private int countBefore(int keyPoints, int keyGamer) {
+        int count = 0;
+        int node = root;
+        while (node != NIL) {
+            if (isBefore(node, keyPoints, keyGamer)) {
+                count += size(left[node]) + 1;
+                node = right[node];
+            }
+            else {
+                node = left[node];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Checks whether a gamer is ordered strictly before the position (keyPoints, keyGamer).
+     *
+     * @param gamer The gamer
+     * @param keyPoints Points of the position
+     * @param keyGamer Gamer index of the position
+     * @return True if the gamer comes first
+     */
+    private boolean isBefore(int gamer, int keyPoints, int keyGamer) {
+        return points[gamer] > keyPoints || (points[gamer] == keyPoints && gamer < keyGamer);
+    }
+
+    /**
+     * Inserts a gamer that is not in the tree.
+     *
+     * @param gamer The gamer
+     */
+    private void insert(int gamer) {
+        left[gamer] = NIL;
+        right[gamer] = NIL;
+        subtreeSize[gamer] = 1;
+
+        split(root, points[gamer], gamer);
+        int before = splitLeft;
+        int after = splitRight;
+        root = merge(merge(before, gamer), after);
+    }
+
+    /**
+     * Removes a gamer from the tree.
+     *
+     * @param gamer The gamer
+     */
+    private void remove(int gamer) {
+        split(root, points[gamer], gamer);
+        int before = splitLeft;
+        split(splitRight, points[gamer], gamer + 1);
+        root = merge(before, splitRight);
+    }
+
+    /**
+     * Splits a subtree into the gamers before the position (keyPoints, keyGamer) and the rest,
+     * storing the two roots in splitLeft and splitRight.
+     *
+     * @param node Root of the subtree
+     * @param keyPoints Points of the position
+     * @param keyGamer Gamer index of the position
+     */
+    private void split(int node, int keyPoints, int keyGamer) {
+        if (node == NIL) {
+            splitLeft = NIL;
+            splitRight = NIL;
+            return;
+        }
+        if (isBefore(node, keyPoints, keyGamer)) {
+            split(right[node], keyPoints, keyGamer);
+            right[node] = splitLeft;
+            updateSize(node);
+            splitLeft = node;
+        }
+        else {
+            split(left[node], keyPoints, keyGamer);
+            left[node] = splitRight;
+            updateSize(node);
+            splitRight = node;
+        }
+    }
+
+    /**
+     * Merges two subtrees where every gamer of the first comes before every gamer of the second.
+     *
+     * @param first Root of the first subtree
+     * @param second Root of the second subtree
+     * @return Root of the merged subtree
+     */
+    private int merge(int first, int second) {
+        if (first == NIL) {
+            return second;
+        }
+        if (second == NIL) {
+            return first;
+        }
+        if (priority[first] > priority[second]) {
+            right[first] = merge(right[first], second);
+            updateSize(first);
+            return first;
+        }
+        left[second] = merge(first, left[second]);
+        updateSize(second);
+        return second;
+    }
+
+    /**
+     * Recomputes the subtree size of a node from its children.
+     *
+     * @param node The node
+     */
+    private void updateSize(int node) {
+        subtreeSize[node] = size(left[node]) + size(right[node]) + 1;
+    }
+
+    /**
+     * Gets the size of a subtree.
+     *
+     * @param node Root of the subtree, or NIL
+     * @return Number of gamers in the subtree
+     */
+    private int size(int node) {
+        return node == NIL ? 0 : subtreeSize[node];
+    }
+
+    /**
+     * Validates a gamer index.
+     *
+     * @param gamerIndex The index of the gamer
+     * @throws IllegalArgumentException if gamerIndex is invalid
+     */
+    private void validateGamerIndex(int gamerIndex) {
+        if (gamerIndex < 0) {
+            throw new IllegalArgumentException("Index cannot be negative");
+        }
+        if (gamerIndex >= points.length) {
+            throw new IllegalArgumentException("Index out of bounds");
+        }
+    }
+}
@@ -0,0 +1,157 @@
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs a seeded tournament split over several local worker processes.
+ * Gamers are partitioned into contiguous ranges; every range is played by its own ShardWorker
+ * JVM, which sends back its TournamentPartial over a pipe, and the partial results are merged
+ * into the result of the whole tournament.
+ *
+ * Running this class checks that the sharded result is identical to the single-node run.
+ *
+ * Usage: java ShardCoordinator [shardCount] [seed]
+ */
+public class ShardCoordinator {
+
+    private final int gamerCount;
+    private final int shardCount;
+
+    /**
+     * Constructor to create a ShardCoordinator object.
+     *
+     * @param gamerCount Number of gamers in the tournament
+     * @param shardCount Number of worker processes; at most one per gamer is used
+     * @throws IllegalArgumentException if a count is not positive
+     */
+    public ShardCoordinator(int gamerCount, int shardCount) {
+        if (gamerCount <= 0) {
+            throw new IllegalArgumentException("Gamer count must be positive");
+        }
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Shard count must be positive");
+        }
+
+        this.gamerCount = gamerCount;
+        this.shardCount = Math.min(shardCount, gamerCount);
+    }
+
+    /**
+     * Plays the tournament in worker processes and merges their results.
+     * All workers are started before any result is read, so they run concurrently.
+     *
+     * @param seed Seed of the tournament
+     * @return Merged result of all shards
+     * @throws IOException if a worker cannot be started, fails, or sends an invalid result
+     * @throws InterruptedException if interrupted while waiting for a worker
+     */
+    public TournamentPartial run(long seed) throws IOException, InterruptedException {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        String classPath = System.getProperty("java.class.path");
+
+        List<Process> workers = new ArrayList<>();
+        try {
+            for (int shard = 0; shard < shardCount; shard++) {
+                int first = (int) ((long) gamerCount * shard / shardCount);
+                int end = (int) ((long) gamerCount * (shard + 1) / shardCount);
+                workers.add(new ProcessBuilder(java, "-cp", classPath, "ShardWorker",
+                        Long.toString(seed), Integer.toString(first), Integer.toString(end))
+                        .redirectError(ProcessBuilder.Redirect.INHERIT)
+                        .start());
+            }
+
+            TournamentPartial merged = null;
+            for (int shard = 0; shard < workers.size(); shard++) {
+                Process worker = workers.get(shard);
+                TournamentPartial partial;
+                try (DataInputStream in = new DataInputStream(new BufferedInputStream(worker.getInputStream()))) {
+                    partial = TournamentPartial.readFrom(in);
+                } catch (IOException e) {
+                    throw new IOException("Shard " + shard + " sent no valid result", e);
+                }
+                int exitCode = worker.waitFor();
+                if (exitCode != 0) {
+                    throw new IOException("Shard " + shard + " exited with status " + exitCode);
+                }
+                merged = merged == null ? partial : merged.merge(partial);
+            }
+            return merged;
+        } finally {
+            for (Process worker : workers) {
+                worker.destroy();
+            }
+        }
+    }
+
+    /**
+     * Runs the tournament sharded and on a single node, prints the sharded result and whether
+     * both runs report exactly the same statistics.
+     *
+     * @param args Optional number of shards and seed
+     */
+    public static void main(String[] args) {
+        int shardCount;
+        long seed;
+        try {
+            shardCount = args.length > 0 ? Integer.parseInt(args[0]) : 4;
+            seed = args.length > 1 ? Long.parseLong(args[1]) : 42L;
+        } catch (NumberFormatException e) {
+            System.err.println("Error: Usage is ShardCoordinator [shardCount] [seed]");
+            return;
+        }
+
+        Game[] games = FileIO.readGames("files/games.csv");
+        Gamer[] gamers = FileIO.readGamers("files/gamers.csv");
+        if (games == null || games.length == 0 || gamers == null || gamers.length == 0) {
+            System.err.println("Error: Could not load files/games.csv and files/gamers.csv");
+            return;
+        }
+
+        Query sharded;
+        try {
+            sharded = new Query(new ShardCoordinator(gamers.length, shardCount).run(seed));
+        } catch (IOException | InterruptedException | IllegalArgumentException e) {
+            System.err.println("Error: Sharded run failed: " + e.getMessage());
+            return;
+        }
+
+        MatchManagement matchManagement = new MatchManagement(gamers, games);
+        matchManagement.generateMatchesParallel(seed);
+        Query single = new Query(matchManagement.getMatchStore(), gamers,
+                new PointsBoard(gamers, matchManagement.getMatchStore()));
+
+        String[] shardedReport = report(sharded);
+        String[] singleReport = report(single);
+        boolean identical = true;
+        for (int i = 0; i < shardedReport.length; i++) {
+            System.out.println(shardedReport[i]);
+            if (!shardedReport[i].equals(singleReport[i])) {
+                identical = false;
+                System.out.println("Single-node run reported instead:");
+                System.out.println(singleReport[i]);
+            }
+        }
+        System.out.println("Shards: " + Math.min(shardCount, gamers.length)
+                + ", identical to single-node run: " + identical);
+    }
+
+    /**
+     * Collects every statistic a Query reports.
+     *
+     * @param query The query
+     * @return The reports, in the order the application prints them
+     */
+    private static String[] report(Query query) {
+        return new String[] {
+            query.getHighestScoringMatch(),
+            query.getLowestScoringMatch(),
+            query.getMatchWithTheLowestBonusPoints(),
+            query.getHighestScoringGamer(),
+            query.getTotalTournamentPoints(),
+            query.getMedalDistribution()
+        };
+    }
+}
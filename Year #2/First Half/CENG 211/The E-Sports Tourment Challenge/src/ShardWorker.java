@@ -0,0 +1,78 @@
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Worker process of a sharded tournament.
+ * Plays the matches of one contiguous range of gamers with its own MatchManagement and PointsBoard,
+ * and writes the TournamentPartial of the range to standard output for the ShardCoordinator.
+ *
+ * Usage: java ShardWorker seed firstGamerIndex endGamerIndex
+ */
+public class ShardWorker {
+
+    /** Path to the games CSV file. */
+    private static final String GAMES_CSV = "files/games.csv";
+
+    /** Path to the gamers CSV file. */
+    private static final String GAMERS_CSV = "files/gamers.csv";
+
+    /**
+     * Runs the worker. Errors are reported on standard error with a non-zero exit status.
+     *
+     * @param args Seed of the tournament, index of the first gamer and index after the last gamer
+     */
+    public static void main(String[] args) {
+        if (args.length != 3) {
+            System.err.println("Error: Usage is ShardWorker seed firstGamerIndex endGamerIndex");
+            System.exit(2);
+        }
+
+        try {
+            long seed = Long.parseLong(args[0]);
+            int firstGamerIndex = Integer.parseInt(args[1]);
+            int endGamerIndex = Integer.parseInt(args[2]);
+
+            TournamentPartial partial = run(seed, firstGamerIndex, endGamerIndex);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(System.out));
+            partial.writeTo(out);
+            out.flush();
+        } catch (NumberFormatException e) {
+            System.err.println("Error: Arguments must be whole numbers: " + e.getMessage());
+            System.exit(2);
+        } catch (IllegalArgumentException | IOException e) {
+            System.err.println("Error: Shard failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Plays the matches of a range of gamers and aggregates them.
+     *
+     * @param seed Seed of the whole tournament
+     * @param firstGamerIndex Index of the first gamer of the shard
+     * @param endGamerIndex Index after the last gamer of the shard
+     * @return Partial result of the shard
+     * @throws IOException if the CSV files cannot be loaded
+     * @throws IllegalArgumentException if the range is invalid
+     */
+    static TournamentPartial run(long seed, int firstGamerIndex, int endGamerIndex) throws IOException {
+        Game[] games = FileIO.readGames(GAMES_CSV);
+        Gamer[] gamers = FileIO.readGamers(GAMERS_CSV);
+        if (games == null || games.length == 0 || gamers == null || gamers.length == 0) {
+            throw new IOException("Could not load " + GAMES_CSV + " and " + GAMERS_CSV);
+        }
+        if (firstGamerIndex < 0 || endGamerIndex > gamers.length || firstGamerIndex >= endGamerIndex) {
+            throw new IllegalArgumentException("Gamer range [" + firstGamerIndex + ", " + endGamerIndex
+                    + ") is not within the " + gamers.length + " gamers");
+        }
+
+        Gamer[] shardGamers = new Gamer[endGamerIndex - firstGamerIndex];
+        System.arraycopy(gamers, firstGamerIndex, shardGamers, 0, shardGamers.length);
+
+        MatchManagement matchManagement = new MatchManagement(shardGamers, games);
+        matchManagement.generateMatchesParallel(seed, firstGamerIndex);
+        PointsBoard pointsBoard = new PointsBoard(shardGamers, matchManagement.getMatchStore());
+        return TournamentPartial.aggregate(matchManagement.getMatchStore(), pointsBoard, firstGamerIndex);
+    }
+}
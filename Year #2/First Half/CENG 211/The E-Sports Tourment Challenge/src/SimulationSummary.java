@@ -0,0 +1,339 @@
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Streaming summary of many simulated tournaments.
+ * Each tournament is folded in as soon as it has been played, so only per-gamer counters and
+ * a points histogram are kept in memory, never the tournaments themselves.
+ * Summaries of different workers can be merged; all counters are sums, so the merged result
+ * does not depend on the order in which tournaments were played.
+ */
+public class SimulationSummary {
+
+    /** Medal names in the order used by the counters. */
+    private static final String[] MEDALS = {"GOLD", "SILVER", "BRONZE", "NONE"};
+
+    /** Width in points of each bucket of the total points histogram. */
+    public static final int BUCKET_WIDTH = 50;
+
+    private final int gamerCount;
+    private int tournamentCount;
+
+    private final long[][] medalCounts;
+    private final long[] rankSums;
+    private final long[] pointSums;
+
+    private long[] histogram;
+    private long pointsTotal;
+    private long pointsSquaresTotal;
+    private int minPoints;
+    private int maxPoints;
+
+    /**
+     * Constructor to create an empty SimulationSummary object.
+     *
+     * @param gamerCount Number of gamers in every tournament
+     * @throws IllegalArgumentException if gamerCount is not positive
+     */
+    public SimulationSummary(int gamerCount) {
+        if (gamerCount <= 0) {
+            throw new IllegalArgumentException("Gamer count must be positive");
+        }
+
+        this.gamerCount = gamerCount;
+        this.medalCounts = new long[MEDALS.length][gamerCount];
+        this.rankSums = new long[gamerCount];
+        this.pointSums = new long[gamerCount];
+        this.histogram = new long[0];
+        this.minPoints = Integer.MAX_VALUE;
+        this.maxPoints = Integer.MIN_VALUE;
+    }
+
+    /**
+     * Folds the final standings of one tournament into the summary.
+     *
+     * @param pointsBoard Board of the finished tournament
+     * @throws IllegalArgumentException if pointsBoard is null
+     */
+    void addTournament(PointsBoard pointsBoard) {
+        if (pointsBoard == null) {
+            throw new IllegalArgumentException("PointsBoard cannot be null");
+        }
+
+        for (int gamer = 0; gamer < gamerCount; gamer++) {
+            int total = pointsBoard.getTotalPoints(gamer);
+            medalCounts[medalIndex(pointsBoard.getMedal(gamer))][gamer]++;
+            rankSums[gamer] += pointsBoard.getRank(gamer);
+            pointSums[gamer] += total;
+
+            int bucket = Math.max(total, 0) / BUCKET_WIDTH;
+            if (bucket >= histogram.length) {
+                histogram = Arrays.copyOf(histogram, Math.max(bucket + 1, histogram.length * 2));
+            }
+            histogram[bucket]++;
+            pointsTotal += total;
+            pointsSquaresTotal += (long) total * total;
+            minPoints = Math.min(minPoints, total);
+            maxPoints = Math.max(maxPoints, total);
+        }
+        tournamentCount++;
+    }
+
+    /**
+     * Adds the tournaments of another summary to this one.
+     *
+     * @param other Summary of other tournaments with the same gamers
+     * @throws IllegalArgumentException if other is null or has a different number of gamers
+     */
+    void merge(SimulationSummary other) {
+        if (other == null) {
+            throw new IllegalArgumentException("Cannot merge a null SimulationSummary object");
+        }
+        if (other.gamerCount != gamerCount) {
+            throw new IllegalArgumentException("Summaries must have the same number of gamers");
+        }
+
+        for (int medal = 0; medal < MEDALS.length; medal++) {
+            for (int gamer = 0; gamer < gamerCount; gamer++) {
+                medalCounts[medal][gamer] += other.medalCounts[medal][gamer];
+            }
+        }
+        for (int gamer = 0; gamer < gamerCount; gamer++) {
+            rankSums[gamer] += other.rankSums[gamer];
+            pointSums[gamer] += other.pointSums[gamer];
+        }
+        if (other.histogram.length > histogram.length) {
+            histogram = Arrays.copyOf(histogram, other.histogram.length);
+        }
+        for (int bucket = 0; bucket < other.histogram.length; bucket++) {
+            histogram[bucket] += other.histogram[bucket];
+        }
+        pointsTotal += other.pointsTotal;
+        pointsSquaresTotal += other.pointsSquaresTotal;
+        minPoints = Math.min(minPoints, other.minPoints);
+        maxPoints = Math.max(maxPoints, other.maxPoints);
+        tournamentCount += other.tournamentCount;
+    }
+
+    /**
+     * Maps a medal name to the index of its counters.
+     *
+     * @param medal Medal string (GOLD, SILVER, BRONZE, or NONE)
+     * @return Index of the medal
+     * @throws IllegalArgumentException if medal is not a known medal
+     */
+    private static int medalIndex(String medal) {
+        for (int i = 0; i < MEDALS.length; i++) {
+            if (MEDALS[i].equals(medal)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Medal must be GOLD, SILVER, BRONZE or NONE");
+    }
+
+    /**
+     * Validates a gamer index.
+     *
+     * @param gamerIndex The index of the gamer
+     * @throws IllegalArgumentException if gamerIndex is invalid
+     */
+    private void validateGamerIndex(int gamerIndex) {
+        if (gamerIndex < 0) {
+            throw new IllegalArgumentException("Index cannot be negative");
+        }
+        if (gamerIndex >= gamerCount) {
+            throw new IllegalArgumentException("Index out of bounds");
+        }
+    }
+
+    /**
+     * Gets the number of tournaments in the summary.
+     *
+     * @return Number of tournaments
+     */
+    public int getTournamentCount() {
+        return tournamentCount;
+    }
+
+    /**
+     * Gets the number of gamers in every tournament.
+     *
+     * @return Number of gamers
+     */
+    public int getGamerCount() {
+        return gamerCount;
+    }
+
+    /**
+     * Gets the share of gamers that won a medal, over all tournaments.
+     *
+     * @param medal Medal string (GOLD, SILVER, BRONZE, or NONE)
+     * @return Rate between 0 and 1
+     * @throws IllegalArgumentException if medal is not a known medal
+     */
+    public double getMedalRate(String medal) {
+        long[] counts = medalCounts[medalIndex(medal)];
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        return tournamentCount == 0 ? 0.0 : (double) total / ((long) tournamentCount * gamerCount);
+    }
+
+    /**
+     * Gets the share of tournaments in which a gamer won a medal.
+     *
+     * @param gamerIndex The index of the gamer
+     * @param medal Medal string (GOLD, SILVER, BRONZE, or NONE)
+     * @return Rate between 0 and 1
+     * @throws IllegalArgumentException if gamerIndex or medal is invalid
+     */
+    public double getMedalRate(int gamerIndex, String medal) {
+        validateGamerIndex(gamerIndex);
+        long count = medalCounts[medalIndex(medal)][gamerIndex];
+        return tournamentCount == 0 ? 0.0 : (double) count / tournamentCount;
+    }
+
+    /**
+     * Gets the expected leaderboard rank of a gamer.
+     *
+     * @param gamerIndex The index of the gamer
+     * @return Average rank over all tournaments, 1 being the best
+     * @throws IllegalArgumentException if gamerIndex is invalid
+     */
+    public double getExpectedRank(int gamerIndex) {
+        validateGamerIndex(gamerIndex);
+        return tournamentCount == 0 ? 0.0 : (double) rankSums[gamerIndex] / tournamentCount;
+    }
+
+    /**
+     * Gets the expected total points of a gamer.
+     *
+     * @param gamerIndex The index of the gamer
+     * @return Average total points over all tournaments
+     * @throws IllegalArgumentException if gamerIndex is invalid
+     */
+    public double getExpectedPoints(int gamerIndex) {
+        validateGamerIndex(gamerIndex);
+        return tournamentCount == 0 ? 0.0 : (double) pointSums[gamerIndex] / tournamentCount;
+    }
+
+    /**
+     * Gets the mean of the gamers' total points over all tournaments.
+     *
+     * @return Mean total points
+     */
+    public double getMeanPoints() {
+        long samples = (long) tournamentCount * gamerCount;
+        return tournamentCount == 0 ? 0.0 : (double) pointsTotal / samples;
+    }
+
+    /**
+     * Gets the standard deviation of the gamers' total points over all tournaments.
+     *
+     * @return Standard deviation of total points
+     */
+    public double getPointsStandardDeviation() {
+        if (tournamentCount == 0) {
+            return 0.0;
+        }
+        long samples = (long) tournamentCount * gamerCount;
+        double mean = getMeanPoints();
+        return Math.sqrt(Math.max(0.0, (double) pointsSquaresTotal / samples - mean * mean));
+    }
+
+    /**
+     * Gets the lowest total points of any gamer in any tournament.
+     *
+     * @return Lowest total points, or 0 if there are no tournaments
+     */
+    public int getMinPoints() {
+        return tournamentCount == 0 ? 0 : minPoints;
+    }
+
+    /**
+     * Gets the highest total points of any gamer in any tournament.
+     *
+     * @return Highest total points, or 0 if there are no tournaments
+     */
+    public int getMaxPoints() {
+        return tournamentCount == 0 ? 0 : maxPoints;
+    }
+
+    /**
+     * Gets the number of buckets of the total points histogram.
+     *
+     * @return Number of buckets
+     */
+    public int getHistogramBucketCount() {
+        return histogram.length;
+    }
+
+    /**
+     * Gets the number of gamer results whose total points fall into a histogram bucket.
+     * Bucket b holds totals from b * BUCKET_WIDTH to (b + 1) * BUCKET_WIDTH - 1.
+     *
+     * @param bucket The bucket
+     * @return Number of results in the bucket
+     * @throws IllegalArgumentException if bucket is invalid
+     */
+    public long getHistogramCount(int bucket) {
+        if (bucket < 0 || bucket >= histogram.length) {
+            throw new IllegalArgumentException("Bucket out of bounds");
+        }
+        return histogram[bucket];
+    }
+
+    /**
+     * Estimates the total points below which a given share of gamer results fall,
+     * with the precision of one histogram bucket. Useful for choosing medal thresholds.
+     *
+     * @param percentile Percentile between 0 and 100
+     * @return Lower bound of the bucket holding the percentile
+     * @throws IllegalArgumentException if percentile is outside 0-100
+     */
+    public int getPointsAtPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+
+        long samples = (long) tournamentCount * gamerCount;
+        long target = (long) Math.ceil(samples * percentile / 100);
+        long cumulative = 0;
+        for (int bucket = 0; bucket < histogram.length; bucket++) {
+            cumulative += histogram[bucket];
+            if (cumulative >= target && cumulative > 0) {
+                return bucket * BUCKET_WIDTH;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns a string representation of this summary.
+     *
+     * @return String containing medal rates, points distribution and histogram
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format(Locale.US, "Simulated Tournaments: %,d (%,d gamers each)%n", tournamentCount, gamerCount));
+        sb.append("Medal Rates:\n");
+        for (String medal : MEDALS) {
+            sb.append(String.format(Locale.US, "%-7s %.2f%%%n", medal + ":", getMedalRate(medal) * 100));
+        }
+        sb.append(String.format(Locale.US, "Total Points: mean %.1f, std dev %.1f, min %d, max %d%n",
+                getMeanPoints(), getPointsStandardDeviation(), getMinPoints(), getMaxPoints()));
+        sb.append(String.format(Locale.US, "Percentiles: 50%% >=%d, 75%% >=%d, 90%% >=%d, 95%% >=%d, 99%% >=%d%n",
+                getPointsAtPercentile(50), getPointsAtPercentile(75), getPointsAtPercentile(90),
+                getPointsAtPercentile(95), getPointsAtPercentile(99)));
+        sb.append("Points Histogram:\n");
+        for (int bucket = 0; bucket < histogram.length; bucket++) {
+            if (histogram[bucket] > 0) {
+                sb.append(String.format(Locale.US, "%5d-%-5d %,d%n",
+                        bucket * BUCKET_WIDTH, (bucket + 1) * BUCKET_WIDTH - 1, histogram[bucket]));
+            }
+        }
+        return sb.toString();
+    }
+}
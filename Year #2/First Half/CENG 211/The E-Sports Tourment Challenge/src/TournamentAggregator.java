@@ -0,0 +1,112 @@
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Computes all tournament statistics in a single pass over the match store.
+ * Gamers are split into contiguous ranges; each range is aggregated into its own
+ * TournamentStatistics, in parallel for large tournaments, and the partial results
+ * are merged in gamer order at the end.
+ */
+public class TournamentAggregator {
+
+    /** Tournaments with fewer gamers than this are aggregated on the calling thread. */
+    private static final int PARALLEL_THRESHOLD = 4096;
+
+    /** Number of gamer ranges created per available processor. */
+    private static final int RANGES_PER_PROCESSOR = 4;
+
+    private final MatchStore matches;
+    private final PointsBoard pointsBoard;
+    private final List<MatchAggregation<?>> aggregations;
+
+    /**
+     * Constructor to create a TournamentAggregator object.
+     *
+     * @param matches Store holding all matches played
+     * @param pointsBoard PointsBoard containing the gamers' totals and medals
+     * @throws IllegalArgumentException if validation fails
+     */
+    public TournamentAggregator(MatchStore matches, PointsBoard pointsBoard) {
+        if (matches == null) {
+            throw new IllegalArgumentException("Match store cannot be null");
+        }
+        if (pointsBoard == null) {
+            throw new IllegalArgumentException("PointsBoard cannot be null");
+        }
+
+        this.matches = matches;
+        this.pointsBoard = pointsBoard;
+        this.aggregations = new ArrayList<>();
+    }
+
+    /**
+     * Copy constructor that keeps the registered aggregations of another aggregator
+     * but runs over the given store and board.
+     *
+     * @param another The aggregator whose registrations are copied
+     * @param matches Store holding all matches played
+     * @param pointsBoard PointsBoard containing the gamers' totals and medals
+     * @throws IllegalArgumentException if validation fails
+     */
+    public TournamentAggregator(TournamentAggregator another, MatchStore matches, PointsBoard pointsBoard) {
+        this(matches, pointsBoard);
+        if (another == null) {
+            throw new IllegalArgumentException("Cannot copy from null TournamentAggregator object");
+        }
+        this.aggregations.addAll(another.aggregations);
+    }
+
+    /**
+     * Registers an additional aggregation to be computed in the same pass.
+     *
+     * @param aggregation The aggregation to register
+     * @throws IllegalArgumentException if aggregation is null
+     */
+    public void register(MatchAggregation<?> aggregation) {
+        if (aggregation == null) {
+            throw new IllegalArgumentException("Aggregation cannot be null");
+        }
+        if (!aggregations.contains(aggregation)) {
+            aggregations.add(aggregation);
+        }
+    }
+
+    /**
+     * Runs the aggregation pass, in parallel when the tournament is large enough.
+     *
+     * @return Statistics of the whole tournament
+     */
+    public TournamentStatistics aggregate() {
+        List<MatchAggregation<?>> registered = List.copyOf(aggregations);
+        int gamerCount = matches.getGamerCount();
+        if (gamerCount < PARALLEL_THRESHOLD) {
+            return aggregateRange(registered, 0, gamerCount);
+        }
+
+        int ranges = Math.min(gamerCount, Runtime.getRuntime().availableProcessors() * RANGES_PER_PROCESSOR);
+        return IntStream.range(0, ranges)
+                .parallel()
+                .mapToObj(i -> aggregateRange(registered,
+                        (int) ((long) gamerCount * i / ranges),
+                        (int) ((long) gamerCount * (i + 1) / ranges)))
+                .reduce((earlier, later) -> earlier.merge(matches, later))
+                .orElseGet(() -> new TournamentStatistics(registered));
+    }
+
+    /**
+     * Aggregates a contiguous range of gamers on the calling thread.
+     *
+     * @param registered Snapshot of the registered aggregations
+     * @param fromGamer Index of the first gamer of the range
+     * @param toGamer Index just past the last gamer of the range
+     * @return Statistics of the range
+     */
+    private TournamentStatistics aggregateRange(List<MatchAggregation<?>> registered, int fromGamer, int toGamer) {
+        TournamentStatistics statistics = new TournamentStatistics(registered);
+        for (int gamer = fromGamer; gamer < toGamer; gamer++) {
+            statistics.accumulateGamer(matches, pointsBoard, gamer);
+        }
+        return statistics;
+    }
+}
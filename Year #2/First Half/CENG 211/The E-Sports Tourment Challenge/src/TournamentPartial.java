@@ -0,0 +1,451 @@
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Self-contained result of a tournament, or of a shard of gamers of a larger tournament,
+ * holding everything Query reports: the highest and lowest scoring matches, the match with the
+ * lowest bonus points, the highest scoring gamer, the total tournament points and the medal distribution.
+ *
+ * Unlike TournamentStatistics, a partial result does not refer to rows of a match store, so it can
+ * be sent to another process and merged there. Matches and gamers are ordered by their global
+ * position in the whole tournament, which makes merging independent of the order shards arrive in:
+ * merging the shards of a tournament gives the same result as one node aggregating all gamers.
+ */
+public class TournamentPartial {
+
+    private static final int FORMAT_VERSION = 1;
+
+    private final int firstGamerIndex;
+    private final int gamerCount;
+    private final int matchCount;
+
+    private final Match highestScoringMatch;
+    private final long highestScoringOrder;
+    private final Match lowestScoringMatch;
+    private final long lowestScoringOrder;
+    private final Match lowestBonusMatch;
+    private final long lowestBonusOrder;
+
+    private final int highestScoringGamerIndex;
+    private final String highestScoringGamerNickname;
+    private final String highestScoringGamerName;
+    private final int highestScoringGamerTotal;
+    private final double highestScoringGamerAverage;
+    private final String highestScoringGamerMedal;
+
+    private final long totalTournamentPoints;
+    private final int goldMedalCount;
+    private final int silverMedalCount;
+    private final int bronzeMedalCount;
+    private final int noneMedalCount;
+
+    /**
+     * Constructor to create a TournamentPartial object from all of its values.
+     * The parameters are the fields of the class, in declaration order.
+     */
+    TournamentPartial(int firstGamerIndex, int gamerCount, int matchCount,
+                              Match highestScoringMatch, long highestScoringOrder,
+                              Match lowestScoringMatch, long lowestScoringOrder,
+                              Match lowestBonusMatch, long lowestBonusOrder,
+                              int highestScoringGamerIndex, String highestScoringGamerNickname,
+                              String highestScoringGamerName, int highestScoringGamerTotal,
+                              double highestScoringGamerAverage, String highestScoringGamerMedal,
+                              long totalTournamentPoints, int goldMedalCount, int silverMedalCount,
+                              int bronzeMedalCount, int noneMedalCount) {
+        this.firstGamerIndex = firstGamerIndex;
+        this.gamerCount = gamerCount;
+        this.matchCount = matchCount;
+        this.highestScoringMatch = highestScoringMatch;
+        this.highestScoringOrder = highestScoringOrder;
+        this.lowestScoringMatch = lowestScoringMatch;
+        this.lowestScoringOrder = lowestScoringOrder;
+        this.lowestBonusMatch = lowestBonusMatch;
+        this.lowestBonusOrder = lowestBonusOrder;
+        this.highestScoringGamerIndex = highestScoringGamerIndex;
+        this.highestScoringGamerNickname = highestScoringGamerNickname;
+        this.highestScoringGamerName = highestScoringGamerName;
+        this.highestScoringGamerTotal = highestScoringGamerTotal;
+        this.highestScoringGamerAverage = highestScoringGamerAverage;
+        this.highestScoringGamerMedal = highestScoringGamerMedal;
+        this.totalTournamentPoints = totalTournamentPoints;
+        this.goldMedalCount = goldMedalCount;
+        this.silverMedalCount = silverMedalCount;
+        this.bronzeMedalCount = bronzeMedalCount;
+        this.noneMedalCount = noneMedalCount;
+    }
+
+    /**
+     * Aggregates the matches of a store into a partial result.
+     *
+     * @param store Store holding the matches of the shard
+     * @param pointsBoard PointsBoard of the same gamers
+     * @param firstGamerIndex Index of the store's first gamer in the whole tournament
+     * @return Partial result of the shard
+     * @throws IllegalArgumentException if an argument is invalid
+     */
+    public static TournamentPartial aggregate(MatchStore store, PointsBoard pointsBoard, int firstGamerIndex) {
+        if (store == null) {
+            throw new IllegalArgumentException("Match store cannot be null");
+        }
+        if (pointsBoard == null) {
+            throw new IllegalArgumentException("PointsBoard cannot be null");
+        }
+        return from(store, pointsBoard, new TournamentAggregator(store, pointsBoard).aggregate(), firstGamerIndex);
+    }
+
+    /**
+     * Builds a partial result from statistics already aggregated over a store.
+     *
+     * @param store Store the statistics were computed from
+     * @param pointsBoard PointsBoard the statistics were computed from
+     * @param statistics The statistics
+     * @param firstGamerIndex Index of the store's first gamer in the whole tournament
+     * @return Partial result with the same values
+     * @throws IllegalArgumentException if firstGamerIndex is negative
+     */
+    static TournamentPartial from(MatchStore store, PointsBoard pointsBoard, TournamentStatistics statistics,
+                                  int firstGamerIndex) {
+        if (firstGamerIndex < 0) {
+            throw new IllegalArgumentException("First gamer index cannot be negative");
+        }
+
+        long firstRow = (long) firstGamerIndex * store.getMatchesPerGamer();
+        int gamerIndex = statistics.getHighestScoringGamerIndex();
+
+        // Without any points the report falls back to the first gamer, with no total or medal
+        Gamer gamer = store.getGamer(Math.max(gamerIndex, 0));
+        int total = 0;
+        double average = 0.0;
+        String medal = "";
+        if (gamerIndex >= 0) {
+            total = pointsBoard.getTotalPoints(gamerIndex);
+            average = pointsBoard.getAveragePerMatch(gamerIndex);
+            medal = pointsBoard.getMedal(gamerIndex);
+        }
+
+        return new TournamentPartial(firstGamerIndex, statistics.getGamerCount(), statistics.getMatchCount(),
+                store.toMatch(statistics.getHighestScoringRow()), firstRow + statistics.getHighestScoringRow(),
+                store.toMatch(statistics.getLowestScoringRow()), firstRow + statistics.getLowestScoringRow(),
+                store.toMatch(statistics.getLowestBonusRow()), firstRow + statistics.getLowestBonusRow(),
+                gamerIndex < 0 ? -1 : firstGamerIndex + gamerIndex, gamer.getNickname(), gamer.getName(),
+                total, average, medal,
+                statistics.getTotalTournamentPoints(), statistics.getGoldMedalCount(),
+                statistics.getSilverMedalCount(), statistics.getBronzeMedalCount(), statistics.getNoneMedalCount());
+    }
+
+    /**
+     * Merges this partial result with the partial result of a disjoint range of gamers.
+     * Ties are broken in favor of the match or gamer that comes first in the whole tournament.
+     *
+     * @param other The other partial result
+     * @return New partial result covering the gamers of both
+     * @throws IllegalArgumentException if other is null
+     */
+    public TournamentPartial merge(TournamentPartial other) {
+        if (other == null) {
+            throw new IllegalArgumentException("Cannot merge with null TournamentPartial object");
+        }
+
+        boolean highestFromThis = isHigher(highestScoringMatch.getMatchPoints(), highestScoringOrder,
+                other.highestScoringMatch.getMatchPoints(), other.highestScoringOrder);
+        boolean lowestFromThis = isHigher(-lowestScoringMatch.getMatchPoints(), lowestScoringOrder,
+                -other.lowestScoringMatch.getMatchPoints(), other.lowestScoringOrder);
+        boolean lowestBonusFromThis = isHigher(-lowestBonusMatch.getBonusPoints(), lowestBonusOrder,
+                -other.lowestBonusMatch.getBonusPoints(), other.lowestBonusOrder);
+        TournamentPartial gamerSource = isHigher(highestScoringGamerTotal, highestScoringGamerOrder(),
+                other.highestScoringGamerTotal, other.highestScoringGamerOrder()) ? this : other;
+
+        return new TournamentPartial(Math.min(firstGamerIndex, other.firstGamerIndex),
+                gamerCount + other.gamerCount, matchCount + other.matchCount,
+                highestFromThis ? highestScoringMatch : other.highestScoringMatch,
+                highestFromThis ? highestScoringOrder : other.highestScoringOrder,
+                lowestFromThis ? lowestScoringMatch : other.lowestScoringMatch,
+                lowestFromThis ? lowestScoringOrder : other.lowestScoringOrder,
+                lowestBonusFromThis ? lowestBonusMatch : other.lowestBonusMatch,
+                lowestBonusFromThis ? lowestBonusOrder : other.lowestBonusOrder,
+                gamerSource.highestScoringGamerIndex, gamerSource.highestScoringGamerNickname,
+                gamerSource.highestScoringGamerName, gamerSource.highestScoringGamerTotal,
+                gamerSource.highestScoringGamerAverage, gamerSource.highestScoringGamerMedal,
+                totalTournamentPoints + other.totalTournamentPoints,
+                goldMedalCount + other.goldMedalCount, silverMedalCount + other.silverMedalCount,
+                bronzeMedalCount + other.bronzeMedalCount, noneMedalCount + other.noneMedalCount);
+    }
+
+    /**
+     * Gets the global position of the highest scoring gamer, used to break ties between partial results.
+     * A partial result without a highest scoring gamer comes last.
+     *
+     * @return The global gamer index, or Integer.MAX_VALUE if there is none
+     */
+    private long highestScoringGamerOrder() {
+        return highestScoringGamerIndex < 0 ? Integer.MAX_VALUE : highestScoringGamerIndex;
+    }
+
+    /**
+     * Checks whether the first candidate wins: a higher value wins, and on equal values the
+     * candidate that comes first in the whole tournament wins.
+     *
+     * @param value Value of the first candidate
+     * @param order Global position of the first candidate
+     * @param otherValue Value of the second candidate
+     * @param otherOrder Global position of the second candidate
+     * @return True if the first candidate wins
+     */
+    private static boolean isHigher(long value, long order, long otherValue, long otherOrder) {
+        return value > otherValue || (value == otherValue && order <= otherOrder);
+    }
+
+    /**
+     * Writes this partial result in a compact binary form.
+     *
+     * @param out The output to write to
+     * @throws IOException if writing fails
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(firstGamerIndex);
+        out.writeInt(gamerCount);
+        out.writeInt(matchCount);
+        writeMatch(out, highestScoringMatch);
+        out.writeLong(highestScoringOrder);
+        writeMatch(out, lowestScoringMatch);
+        out.writeLong(lowestScoringOrder);
+        writeMatch(out, lowestBonusMatch);
+        out.writeLong(lowestBonusOrder);
+        out.writeInt(highestScoringGamerIndex);
+        out.writeUTF(highestScoringGamerNickname);
+        out.writeUTF(highestScoringGamerName);
+        out.writeInt(highestScoringGamerTotal);
+        out.writeDouble(highestScoringGamerAverage);
+        out.writeUTF(highestScoringGamerMedal);
+        out.writeLong(totalTournamentPoints);
+        out.writeInt(goldMedalCount);
+        out.writeInt(silverMedalCount);
+        out.writeInt(bronzeMedalCount);
+        out.writeInt(noneMedalCount);
+    }
+
+    /**
+     * Reads a partial result written by {@link #writeTo(DataOutput)}.
+     *
+     * @param in The input to read from
+     * @return The partial result
+     * @throws IOException if reading fails or the data is not a valid partial result
+     */
+    public static TournamentPartial readFrom(DataInput in) throws IOException {
+        int version = in.readInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported partial result version " + version);
+        }
+        try {
+            return new TournamentPartial(in.readInt(), in.readInt(), in.readInt(),
+                    readMatch(in), in.readLong(),
+                    readMatch(in), in.readLong(),
+                    readMatch(in), in.readLong(),
+                    in.readInt(), in.readUTF(), in.readUTF(), in.readInt(), in.readDouble(), in.readUTF(),
+                    in.readLong(), in.readInt(), in.readInt(), in.readInt(), in.readInt());
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Invalid partial result: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Writes a match with its gamer and games.
+     *
+     * @param out The output to write to
+     * @param match The match
+     * @throws IOException if writing fails
+     */
+    private static void writeMatch(DataOutput out, Match match) throws IOException {
+        out.writeInt(match.getMatchID());
+        Gamer gamer = match.getGamer();
+        out.writeInt(gamer.getId());
+        out.writeUTF(gamer.getNickname());
+        out.writeUTF(gamer.getName());
+        out.writeUTF(gamer.getPhone());
+        out.writeInt(gamer.getExperienceYears());
+        Game[] games = match.getGames();
+        int[] rounds = match.getRounds();
+        for (int k = 0; k < Match.NUM_GAMES; k++) {
+            out.writeInt(games[k].getId());
+            out.writeUTF(games[k].getGameName());
+            out.writeInt(games[k].getBasePointPerRound());
+            out.writeInt(rounds[k]);
+        }
+    }
+
+    /**
+     * Reads a match written by writeMatch; its points are recalculated from the games and rounds.
+     *
+     * @param in The input to read from
+     * @return The match
+     * @throws IOException if reading fails
+     */
+    private static Match readMatch(DataInput in) throws IOException {
+        int matchID = in.readInt();
+        Gamer gamer = new Gamer(in.readInt(), in.readUTF(), in.readUTF(), in.readUTF(), in.readInt());
+        Game[] games = new Game[Match.NUM_GAMES];
+        int[] rounds = new int[Match.NUM_GAMES];
+        for (int k = 0; k < Match.NUM_GAMES; k++) {
+            int id = in.readInt();
+            String name = in.readUTF();
+            games[k] = new Game(id, name, in.readInt());
+            rounds[k] = in.readInt();
+        }
+        return new Match(matchID, gamer, games, rounds);
+    }
+
+    /**
+     * Gets the index of the first gamer covered, in the whole tournament.
+     *
+     * @return First gamer index
+     */
+    public int getFirstGamerIndex() {
+        return firstGamerIndex;
+    }
+
+    /**
+     * Gets the number of gamers covered.
+     *
+     * @return Number of gamers
+     */
+    public int getGamerCount() {
+        return gamerCount;
+    }
+
+    /**
+     * Gets the number of matches covered.
+     *
+     * @return Number of matches
+     */
+    public int getMatchCount() {
+        return matchCount;
+    }
+
+    /**
+     * Gets a copy of the match with the highest match points.
+     *
+     * @return The match
+     */
+    public Match getHighestScoringMatch() {
+        return new Match(highestScoringMatch);
+    }
+
+    /**
+     * Gets a copy of the match with the lowest match points.
+     *
+     * @return The match
+     */
+    public Match getLowestScoringMatch() {
+        return new Match(lowestScoringMatch);
+    }
+
+    /**
+     * Gets a copy of the match with the lowest bonus points.
+     *
+     * @return The match
+     */
+    public Match getLowestBonusMatch() {
+        return new Match(lowestBonusMatch);
+    }
+
+    /**
+     * Gets the index of the gamer with the highest total points, in the whole tournament.
+     *
+     * @return Gamer index, or -1 if no gamer scored any points
+     */
+    public int getHighestScoringGamerIndex() {
+        return highestScoringGamerIndex;
+    }
+
+    /**
+     * Gets the nickname of the highest scoring gamer, or of the first gamer if no gamer scored.
+     *
+     * @return Nickname
+     */
+    public String getHighestScoringGamerNickname() {
+        return highestScoringGamerNickname;
+    }
+
+    /**
+     * Gets the name of the highest scoring gamer, or of the first gamer if no gamer scored.
+     *
+     * @return Name
+     */
+    public String getHighestScoringGamerName() {
+        return highestScoringGamerName;
+    }
+
+    /**
+     * Gets the total points of the highest scoring gamer.
+     *
+     * @return Total points, or 0 if no gamer scored
+     */
+    public int getHighestScoringGamerTotal() {
+        return highestScoringGamerTotal;
+    }
+
+    /**
+     * Gets the average points per match of the highest scoring gamer.
+     *
+     * @return Average points, or 0.0 if no gamer scored
+     */
+    public double getHighestScoringGamerAverage() {
+        return highestScoringGamerAverage;
+    }
+
+    /**
+     * Gets the medal of the highest scoring gamer.
+     *
+     * @return Medal string, or an empty string if no gamer scored
+     */
+    public String getHighestScoringGamerMedal() {
+        return highestScoringGamerMedal;
+    }
+
+    /**
+     * Gets the sum of all gamers' total points.
+     *
+     * @return Total tournament points
+     */
+    public long getTotalTournamentPoints() {
+        return totalTournamentPoints;
+    }
+
+    /**
+     * Gets the number of gamers holding a GOLD medal.
+     *
+     * @return Number of gold medals
+     */
+    public int getGoldMedalCount() {
+        return goldMedalCount;
+    }
+
+    /**
+     * Gets the number of gamers holding a SILVER medal.
+     *
+     * @return Number of silver medals
+     */
+    public int getSilverMedalCount() {
+        return silverMedalCount;
+    }
+
+    /**
+     * Gets the number of gamers holding a BRONZE medal.
+     *
+     * @return Number of bronze medals
+     */
+    public int getBronzeMedalCount() {
+        return bronzeMedalCount;
+    }
+
+    /**
+     * Gets the number of gamers without a medal.
+     *
+     * @return Number of gamers without a medal
+     */
+    public int getNoneMedalCount() {
+        return noneMedalCount;
+    }
+}
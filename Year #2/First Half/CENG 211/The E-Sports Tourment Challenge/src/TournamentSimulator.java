@@ -0,0 +1,97 @@
+import java.util.stream.IntStream;
+
+/**
+ * Monte Carlo simulation of many independent tournaments with the same gamers and games.
+ * Tournaments are played in parallel, each from its own seed derived from the base seed,
+ * and folded into per-worker SimulationSummary objects that are merged at the end,
+ * so no tournament is kept in memory after it has been summarized.
+ */
+public class TournamentSimulator {
+
+    private final Gamer[] gamers;
+    private final Game[] games;
+
+    /**
+     * Constructor to create a TournamentSimulator object.
+     *
+     * @param gamers Array of gamers playing every tournament
+     * @param games Array of available games
+     * @throws IllegalArgumentException if validation fails
+     */
+    public TournamentSimulator(Gamer[] gamers, Game[] games) {
+        if (gamers == null || gamers.length == 0) {
+            throw new IllegalArgumentException("Gamers array cannot be null or empty");
+        }
+        if (games == null || games.length == 0) {
+            throw new IllegalArgumentException("Games array cannot be null or empty");
+        }
+        for (int i = 0; i < gamers.length; i++) {
+            if (gamers[i] == null) {
+                throw new IllegalArgumentException("Gamer at index " + i + " cannot be null");
+            }
+        }
+        for (int i = 0; i < games.length; i++) {
+            if (games[i] == null) {
+                throw new IllegalArgumentException("Game at index " + i + " cannot be null");
+            }
+        }
+
+        this.gamers = new Gamer[gamers.length];
+        for (int i = 0; i < gamers.length; i++) {
+            this.gamers[i] = new Gamer(gamers[i]);
+        }
+        this.games = new Game[games.length];
+        for (int i = 0; i < games.length; i++) {
+            this.games[i] = new Game(games[i]);
+        }
+    }
+
+    /**
+     * Plays a number of tournaments in parallel and summarizes them.
+     * The result only depends on the number of tournaments and the seed.
+     *
+     * @param tournaments Number of tournaments to play
+     * @param seed Base seed; tournament t uses a seed derived from it and t
+     * @return Summary of all tournaments
+     * @throws IllegalArgumentException if tournaments is not positive
+     */
+    public SimulationSummary simulate(int tournaments, long seed) {
+        if (tournaments <= 0) {
+            throw new IllegalArgumentException("Number of tournaments must be positive");
+        }
+
+        return IntStream.range(0, tournaments)
+                .parallel()
+                .collect(() -> new SimulationSummary(gamers.length),
+                        (summary, tournament) -> summary.addTournament(playTournament(tournament, seed)),
+                        SimulationSummary::merge);
+    }
+
+    /**
+     * Plays one tournament and calculates its final standings.
+     *
+     * @param tournament Index of the tournament
+     * @param seed Base seed of the simulation
+     * @return Board with the final standings of the tournament
+     */
+    private PointsBoard playTournament(int tournament, long seed) {
+        MatchManagement matchManagement = new MatchManagement(gamers, games);
+        matchManagement.generateMatches(tournamentSeed(seed, tournament));
+        return new PointsBoard(gamers, matchManagement.getMatchStore());
+    }
+
+    /**
+     * Derives the seed of one tournament from the base seed.
+     * Uses the SplitMix64 finalizer so that consecutive tournaments get unrelated seeds.
+     *
+     * @param seed Base seed of the simulation
+     * @param tournament Index of the tournament
+     * @return Seed of the tournament
+     */
+    private static long tournamentSeed(long seed, int tournament) {
+        long z = seed + (tournament + 1L) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
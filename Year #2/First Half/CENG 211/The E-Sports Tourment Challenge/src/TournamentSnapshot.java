@@ -0,0 +1,422 @@
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Binary snapshot of a tournament: gamers, games, every match and the PointsBoard totals.
+ * Snapshots are written through a FileChannel and reloaded by memory-mapping the file, so the
+ * match columns of the reloaded MatchStore are the mapped file itself and are never parsed or copied.
+ *
+ * File layout, all values little-endian:
+ * <pre>
+ * header   magic "ESPT", version, gamerCount, gameCount, matchesPerGamer, reserved, columnsOffset (long)
+ * catalog  games  (id, basePointPerRound, name)
+ *          gamers (id, experienceYears, nickname, name, phone)
+ *          strings are stored as a byte length followed by UTF-8 bytes
+ * columns  8-byte aligned; the MatchStore columns in MatchStore.columns() order,
+ *          then totalPoints, matchCount, recordedPoints and recordedMatches of the PointsBoard
+ * </pre>
+ */
+public class TournamentSnapshot {
+
+    private static final int MAGIC = 0x54505345; // "ESPT" in little-endian
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final int BOARD_COLUMN_COUNT = 4;
+    private static final int WRITE_BUFFER_BYTES = 1 << 20;
+
+    private final MatchStore matchStore;
+    private final PointsBoard pointsBoard;
+
+    /**
+     * Constructor to create a TournamentSnapshot object from loaded parts.
+     *
+     * @param matchStore Store of the loaded matches
+     * @param pointsBoard Board of the loaded totals
+     */
+    private TournamentSnapshot(MatchStore matchStore, PointsBoard pointsBoard) {
+        this.matchStore = matchStore;
+        this.pointsBoard = pointsBoard;
+    }
+
+    /**
+     * Gets the store of the loaded matches; its columns are mapped from the snapshot file.
+     *
+     * @return The match store
+     */
+    public MatchStore getMatchStore() {
+        return matchStore;
+    }
+
+    /**
+     * Gets a copy of the loaded PointsBoard.
+     *
+     * @return Copy of the PointsBoard
+     */
+    public PointsBoard getPointsBoard() {
+        return new PointsBoard(pointsBoard);
+    }
+
+    /**
+     * Gets copies of the loaded gamers, in store order.
+     *
+     * @return Array of gamers
+     */
+    public Gamer[] getGamers() {
+        Gamer[] gamers = new Gamer[matchStore.getGamerCount()];
+        for (int i = 0; i < gamers.length; i++) {
+            gamers[i] = matchStore.getGamer(i);
+        }
+        return gamers;
+    }
+
+    /**
+     * Gets copies of the loaded games, in catalog order.
+     *
+     * @return Array of games
+     */
+    public Game[] getGames() {
+        Game[] games = new Game[matchStore.getGameCount()];
+        for (int i = 0; i < games.length; i++) {
+            games[i] = matchStore.getGame(i);
+        }
+        return games;
+    }
+
+    /**
+     * Writes a snapshot of a tournament, replacing the file if it exists.
+     *
+     * @param file Path of the snapshot file
+     * @param matchStore Store holding all matches of the tournament
+     * @param pointsBoard PointsBoard of the same tournament
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if an argument is null or the board does not fit the store
+     */
+    public static void write(Path file, MatchStore matchStore, PointsBoard pointsBoard) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("File cannot be null");
+        }
+        if (matchStore == null) {
+            throw new IllegalArgumentException("Match store cannot be null");
+        }
+        if (pointsBoard == null) {
+            throw new IllegalArgumentException("PointsBoard cannot be null");
+        }
+        int gamerCount = matchStore.getGamerCount();
+        if (pointsBoard.getGamerCount() != gamerCount) {
+            throw new IllegalArgumentException("PointsBoard must have one entry per gamer of the match store");
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ChannelWriter writer = new ChannelWriter(channel);
+            writer.skip(HEADER_BYTES);
+
+            for (int i = 0; i < matchStore.getGameCount(); i++) {
+                Game game = matchStore.getGame(i);
+                writer.putInt(game.getId());
+                writer.putInt(game.getBasePointPerRound());
+                writer.putString(game.getGameName());
+            }
+            for (int i = 0; i < gamerCount; i++) {
+                Gamer gamer = matchStore.getGamer(i);
+                writer.putInt(gamer.getId());
+                writer.putInt(gamer.getExperienceYears());
+                writer.putString(gamer.getNickname());
+                writer.putString(gamer.getName());
+                writer.putString(gamer.getPhone());
+            }
+            writer.alignTo(Long.BYTES);
+            long columnsOffset = writer.position();
+
+            for (IntBuffer column : matchStore.columns()) {
+                writer.putColumn(column);
+            }
+            int[] values = new int[gamerCount];
+            for (int c = 0; c < BOARD_COLUMN_COUNT; c++) {
+                for (int i = 0; i < gamerCount; i++) {
+                    values[i] = boardValue(pointsBoard, c, i);
+                }
+                writer.putColumn(IntBuffer.wrap(values));
+            }
+            writer.flush();
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(VERSION).putInt(gamerCount).putInt(matchStore.getGameCount())
+                    .putInt(matchStore.getMatchesPerGamer()).putInt(0).putLong(columnsOffset).flip();
+            while (header.hasRemaining()) {
+                channel.write(header, header.position());
+            }
+        }
+    }
+
+    /**
+     * Gets one saved per-gamer value of a PointsBoard.
+     *
+     * @param pointsBoard The board
+     * @param column 0 total points, 1 match count, 2 recorded points, 3 recorded matches
+     * @param gamer The index of the gamer
+     * @return The value
+     */
+    private static int boardValue(PointsBoard pointsBoard, int column, int gamer) {
+        switch (column) {
+            case 0: return pointsBoard.getTotalPoints(gamer);
+            case 1: return pointsBoard.getMatchCount(gamer);
+            case 2: return pointsBoard.getRecordedPoints(gamer);
+            default: return pointsBoard.getRecordedMatches(gamer);
+        }
+    }
+
+    /**
+     * Loads a snapshot by memory-mapping the file.
+     * Only the header and the gamer and game catalogs are decoded; the match columns stay mapped
+     * and are not scanned, so loading does not grow with the number of matches.
+     * MatchStore checks each match value when it is read.
+     *
+     * @param file Path of the snapshot file
+     * @return The loaded snapshot
+     * @throws IOException if the file cannot be read or is not a valid snapshot
+     * @throws IllegalArgumentException if file is null
+     */
+    public static TournamentSnapshot load(Path file) throws IOException {
+        if (file == null) {
+            throw new IllegalArgumentException("File cannot be null");
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < HEADER_BYTES) {
+                throw new IOException("Not a tournament snapshot: " + file);
+            }
+            ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            if (header.getInt() != MAGIC) {
+                throw new IOException("Not a tournament snapshot: " + file);
+            }
+            int version = header.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported snapshot version " + version + ": " + file);
+            }
+            int gamerCount = header.getInt();
+            int gameCount = header.getInt();
+            int matchesPerGamer = header.getInt();
+            header.getInt(); // reserved
+            long columnsOffset = header.getLong();
+
+            long rows = (long) gamerCount * matchesPerGamer;
+            long expectedSize = columnsOffset
+                    + (rows * (MatchStore.COLUMN_COUNT - 2) + rows * Match.NUM_GAMES * 2) * Integer.BYTES
+                    + (long) gamerCount * BOARD_COLUMN_COUNT * Integer.BYTES;
+            if (gamerCount <= 0 || gameCount < 0 || matchesPerGamer <= 0
+                    || columnsOffset < HEADER_BYTES || columnsOffset - HEADER_BYTES > Integer.MAX_VALUE
+                    || expectedSize != fileSize) {
+                throw new IOException("Corrupt tournament snapshot: " + file);
+            }
+
+            ByteBuffer catalog = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_BYTES, columnsOffset - HEADER_BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            Game[] games = new Game[gameCount];
+            Gamer[] gamers = new Gamer[gamerCount];
+            try {
+                for (int i = 0; i < gameCount; i++) {
+                    int id = catalog.getInt();
+                    int basePointPerRound = catalog.getInt();
+                    games[i] = new Game(id, getString(catalog), basePointPerRound);
+                }
+                for (int i = 0; i < gamerCount; i++) {
+                    int id = catalog.getInt();
+                    int experienceYears = catalog.getInt();
+                    gamers[i] = new Gamer(id, getString(catalog), getString(catalog), getString(catalog), experienceYears);
+                }
+            } catch (RuntimeException e) {
+                throw new IOException("Corrupt tournament snapshot catalog: " + file, e);
+            }
+
+            long offset = columnsOffset;
+            IntBuffer[] columns = new IntBuffer[MatchStore.COLUMN_COUNT];
+            for (int c = 0; c < columns.length; c++) {
+                long length = MatchStore.isPerGameColumn(c) ? rows * Match.NUM_GAMES : rows;
+                columns[c] = mapColumn(channel, offset, length);
+                offset += length * Integer.BYTES;
+            }
+            int[][] board = new int[BOARD_COLUMN_COUNT][gamerCount];
+            for (int c = 0; c < BOARD_COLUMN_COUNT; c++) {
+                mapColumn(channel, offset, gamerCount).get(board[c]);
+                offset += (long) gamerCount * Integer.BYTES;
+            }
+
+            MatchStore matchStore = new MatchStore(gamers, games, matchesPerGamer, columns);
+            PointsBoard pointsBoard = new PointsBoard(matchStore, board[0], board[1], board[2], board[3]);
+            return new TournamentSnapshot(matchStore, pointsBoard);
+        }
+    }
+
+    /**
+     * Maps a column of the snapshot file as a read-only IntBuffer.
+     *
+     * @param channel The open snapshot file
+     * @param offset Byte offset of the column
+     * @param length Number of int values in the column
+     * @return The mapped column
+     * @throws IOException if the column cannot be mapped
+     */
+    private static IntBuffer mapColumn(FileChannel channel, long offset, long length) throws IOException {
+        long bytes = length * Integer.BYTES;
+        if (bytes > Integer.MAX_VALUE) {
+            throw new IOException("Snapshot column of " + length + " values is too large to map");
+        }
+        return channel.map(FileChannel.MapMode.READ_ONLY, offset, bytes).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+    }
+
+    /**
+     * Reads a length-prefixed UTF-8 string.
+     *
+     * @param buffer Buffer positioned at the string
+     * @return The string
+     */
+    private static String getString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Buffered little-endian writer on top of a FileChannel.
+     */
+    private static final class ChannelWriter {
+
+        private final FileChannel channel;
+        private final ByteBuffer buffer;
+        private long position;
+
+        /**
+         * Constructor to create a ChannelWriter object writing from the start of the channel.
+         *
+         * @param channel The channel to write to
+         */
+        ChannelWriter(FileChannel channel) {
+            this.channel = channel;
+            this.buffer = ByteBuffer.allocateDirect(WRITE_BUFFER_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        /**
+         * Gets the file position of the next byte written.
+         *
+         * @return The position
+         */
+        long position() {
+            return position + buffer.position();
+        }
+
+        /**
+         * Skips bytes that are written later.
+         *
+         * @param bytes Number of bytes to skip
+         * @throws IOException if the channel cannot be written
+         */
+        void skip(int bytes) throws IOException {
+            flush();
+            position += bytes;
+        }
+
+        /**
+         * Writes zero bytes until the position is a multiple of the alignment.
+         *
+         * @param alignment The alignment in bytes
+         * @throws IOException if the channel cannot be written
+         */
+        void alignTo(int alignment) throws IOException {
+            while (position() % alignment != 0) {
+                ensure(1);
+                buffer.put((byte) 0);
+            }
+        }
+
+        /**
+         * Writes an int.
+         *
+         * @param value The value
+         * @throws IOException if the channel cannot be written
+         */
+        void putInt(int value) throws IOException {
+            ensure(Integer.BYTES);
+            buffer.putInt(value);
+        }
+
+        /**
+         * Writes a length-prefixed UTF-8 string.
+         *
+         * @param value The string
+         * @throws IOException if the channel cannot be written
+         */
+        void putString(String value) throws IOException {
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            putInt(bytes.length);
+            if (bytes.length > buffer.capacity()) {
+                flush();
+                writeFully(ByteBuffer.wrap(bytes));
+                return;
+            }
+            ensure(bytes.length);
+            buffer.put(bytes);
+        }
+
+        /**
+         * Writes all values of a column.
+         *
+         * @param column The column
+         * @throws IOException if the channel cannot be written
+         */
+        void putColumn(IntBuffer column) throws IOException {
+            int length = column.capacity();
+            int done = 0;
+            while (done < length) {
+                ensure(Integer.BYTES);
+                int count = Math.min(length - done, buffer.remaining() / Integer.BYTES);
+                buffer.asIntBuffer().put(0, column, done, count);
+                buffer.position(buffer.position() + count * Integer.BYTES);
+                done += count;
+            }
+        }
+
+        /**
+         * Makes room for a number of bytes in the buffer.
+         *
+         * @param bytes Number of bytes needed
+         * @throws IOException if the channel cannot be written
+         */
+        private void ensure(int bytes) throws IOException {
+            if (buffer.remaining() < bytes) {
+                flush();
+            }
+        }
+
+        /**
+         * Writes the buffered bytes to the channel.
+         *
+         * @throws IOException if the channel cannot be written
+         */
+        void flush() throws IOException {
+            buffer.flip();
+            writeFully(buffer);
+            buffer.clear();
+        }
+
+        /**
+         * Writes all remaining bytes of a buffer at the current file position.
+         *
+         * @param bytes The bytes to write
+         * @throws IOException if the channel cannot be written
+         */
+        private void writeFully(ByteBuffer bytes) throws IOException {
+            while (bytes.hasRemaining()) {
+                position += channel.write(bytes, position);
+            }
+        }
+    }
+}
@@ -0,0 +1,270 @@
+import java.util.List;
+
+/**
+ * Result of the fused aggregation pass over a tournament.
+ * Holds every statistic that Query reports: the highest and lowest scoring matches, the match
+ * with the lowest bonus points, the highest scoring gamer, the total tournament points and the
+ * medal distribution, plus the results of any registered MatchAggregation.
+ *
+ * While the pass runs, one instance is a partial result for a contiguous range of gamers;
+ * partial results are merged in gamer order, keeping the earliest row on ties so that the
+ * outcome is the same as a sequential scan.
+ */
+public class TournamentStatistics {
+
+    private final List<MatchAggregation<?>> aggregations;
+    private final Object[] accumulators;
+
+    private int highestScoringRow;
+    private int lowestScoringRow;
+    private int lowestBonusRow;
+    private int highestScoringGamerIndex;
+    private int highestScoringGamerTotal;
+
+    private long totalTournamentPoints;
+    private int goldMedalCount;
+    private int silverMedalCount;
+    private int bronzeMedalCount;
+    private int noneMedalCount;
+    private int gamerCount;
+    private int matchCount;
+
+    /**
+     * Constructor to create an empty partial result.
+     *
+     * @param aggregations Additional aggregations computed in the same pass
+     * @throws IllegalArgumentException if aggregations is null
+     */
+    TournamentStatistics(List<MatchAggregation<?>> aggregations) {
+        if (aggregations == null) {
+            throw new IllegalArgumentException("Aggregations cannot be null");
+        }
+
+        this.aggregations = aggregations;
+        this.accumulators = new Object[aggregations.size()];
+        for (int i = 0; i < accumulators.length; i++) {
+            accumulators[i] = aggregations.get(i).createAccumulator();
+        }
+        this.highestScoringRow = -1;
+        this.lowestScoringRow = -1;
+        this.lowestBonusRow = -1;
+        this.highestScoringGamerIndex = -1;
+        this.highestScoringGamerTotal = 0;
+    }
+
+    /**
+     * Adds a gamer and all of the gamer's matches to this partial result.
+     *
+     * @param store The store holding the matches
+     * @param pointsBoard The board holding the gamer's total points and medal
+     * @param gamerIndex The index of the gamer
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    void accumulateGamer(MatchStore store, PointsBoard pointsBoard, int gamerIndex) {
+        int firstRow = store.getRow(gamerIndex, 0);
+        int endRow = firstRow + store.getMatchesPerGamer();
+
+        for (int row = firstRow; row < endRow; row++) {
+            int points = store.getMatchPoints(row);
+            if (highestScoringRow < 0 || points > store.getMatchPoints(highestScoringRow)) {
+                highestScoringRow = row;
+            }
+            if (lowestScoringRow < 0 || points < store.getMatchPoints(lowestScoringRow)) {
+                lowestScoringRow = row;
+            }
+            if (lowestBonusRow < 0 || store.getBonusPoints(row) < store.getBonusPoints(lowestBonusRow)) {
+                lowestBonusRow = row;
+            }
+            for (int i = 0; i < accumulators.length; i++) {
+                ((MatchAggregation) aggregations.get(i)).accumulate(accumulators[i], store, row);
+            }
+        }
+        matchCount += endRow - firstRow;
+
+        int total = pointsBoard.getTotalPoints(gamerIndex);
+        if (total > highestScoringGamerTotal) {
+            highestScoringGamerTotal = total;
+            highestScoringGamerIndex = gamerIndex;
+        }
+        totalTournamentPoints += total;
+        countMedal(pointsBoard.getMedal(gamerIndex));
+        gamerCount++;
+    }
+
+    /**
+     * Counts one gamer in the medal distribution.
+     *
+     * @param medal Medal string (GOLD, SILVER, BRONZE, or NONE)
+     */
+    private void countMedal(String medal) {
+        if ("GOLD".equals(medal)) {
+            goldMedalCount++;
+        }
+        else if ("SILVER".equals(medal)) {
+            silverMedalCount++;
+        }
+        else if ("BRONZE".equals(medal)) {
+            bronzeMedalCount++;
+        }
+        else {
+            noneMedalCount++;
+        }
+    }
+
+    /**
+     * Merges the partial result of the following gamers into this one.
+     *
+     * @param store The store both partial results were computed from
+     * @param later Partial result of gamers that come after the gamers of this one
+     * @return This partial result, now covering both ranges
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    TournamentStatistics merge(MatchStore store, TournamentStatistics later) {
+        if (later.highestScoringRow >= 0 && (highestScoringRow < 0
+                || store.getMatchPoints(later.highestScoringRow) > store.getMatchPoints(highestScoringRow))) {
+            highestScoringRow = later.highestScoringRow;
+        }
+        if (later.lowestScoringRow >= 0 && (lowestScoringRow < 0
+                || store.getMatchPoints(later.lowestScoringRow) < store.getMatchPoints(lowestScoringRow))) {
+            lowestScoringRow = later.lowestScoringRow;
+        }
+        if (later.lowestBonusRow >= 0 && (lowestBonusRow < 0
+                || store.getBonusPoints(later.lowestBonusRow) < store.getBonusPoints(lowestBonusRow))) {
+            lowestBonusRow = later.lowestBonusRow;
+        }
+        if (later.highestScoringGamerTotal > highestScoringGamerTotal) {
+            highestScoringGamerTotal = later.highestScoringGamerTotal;
+            highestScoringGamerIndex = later.highestScoringGamerIndex;
+        }
+
+        totalTournamentPoints += later.totalTournamentPoints;
+        goldMedalCount += later.goldMedalCount;
+        silverMedalCount += later.silverMedalCount;
+        bronzeMedalCount += later.bronzeMedalCount;
+        noneMedalCount += later.noneMedalCount;
+        gamerCount += later.gamerCount;
+        matchCount += later.matchCount;
+
+        for (int i = 0; i < accumulators.length; i++) {
+            accumulators[i] = ((MatchAggregation) aggregations.get(i)).combine(accumulators[i], later.accumulators[i]);
+        }
+        return this;
+    }
+
+    /**
+     * Gets the row of the match with the highest match points.
+     *
+     * @return Row index, or -1 if there were no matches
+     */
+    public int getHighestScoringRow() {
+        return highestScoringRow;
+    }
+
+    /**
+     * Gets the row of the match with the lowest match points.
+     *
+     * @return Row index, or -1 if there were no matches
+     */
+    public int getLowestScoringRow() {
+        return lowestScoringRow;
+    }
+
+    /**
+     * Gets the row of the match with the lowest bonus points.
+     *
+     * @return Row index, or -1 if there were no matches
+     */
+    public int getLowestBonusRow() {
+        return lowestBonusRow;
+    }
+
+    /**
+     * Gets the index of the gamer with the highest total points.
+     *
+     * @return Gamer index, or -1 if no gamer scored any points
+     */
+    public int getHighestScoringGamerIndex() {
+        return highestScoringGamerIndex;
+    }
+
+    /**
+     * Gets the sum of all gamers' total points.
+     *
+     * @return Total tournament points
+     */
+    public long getTotalTournamentPoints() {
+        return totalTournamentPoints;
+    }
+
+    /**
+     * Gets the number of gamers holding a GOLD medal.
+     *
+     * @return Number of gold medals
+     */
+    public int getGoldMedalCount() {
+        return goldMedalCount;
+    }
+
+    /**
+     * Gets the number of gamers holding a SILVER medal.
+     *
+     * @return Number of silver medals
+     */
+    public int getSilverMedalCount() {
+        return silverMedalCount;
+    }
+
+    /**
+     * Gets the number of gamers holding a BRONZE medal.
+     *
+     * @return Number of bronze medals
+     */
+    public int getBronzeMedalCount() {
+        return bronzeMedalCount;
+    }
+
+    /**
+     * Gets the number of gamers without a medal.
+     *
+     * @return Number of gamers without a medal
+     */
+    public int getNoneMedalCount() {
+        return noneMedalCount;
+    }
+
+    /**
+     * Gets the number of gamers covered by this result.
+     *
+     * @return Number of gamers
+     */
+    public int getGamerCount() {
+        return gamerCount;
+    }
+
+    /**
+     * Gets the number of matches covered by this result.
+     *
+     * @return Number of matches
+     */
+    public int getMatchCount() {
+        return matchCount;
+    }
+
+    /**
+     * Gets the result of an additional aggregation computed in the same pass.
+     *
+     * @param aggregation The registered aggregation
+     * @param <A> Type of the aggregation's accumulator
+     * @return The combined accumulator of the aggregation
+     * @throws IllegalArgumentException if the aggregation was not registered
+     */
+    @SuppressWarnings("unchecked")
+    public <A> A getResult(MatchAggregation<A> aggregation) {
+        for (int i = 0; i < aggregations.size(); i++) {
+            if (aggregations.get(i) == aggregation) {
+                return (A) accumulators[i];
+            }
+        }
+        throw new IllegalArgumentException("Aggregation was not registered");
+    }
+}